@@ -0,0 +1,95 @@
+package com.trading.journal.authentication.authentication;
+
+import com.allanweber.jwttoken.data.JwtProperties;
+import com.allanweber.jwttoken.data.TokenData;
+import com.allanweber.jwttoken.service.JwtTokenAuthenticationCheck;
+import com.allanweber.jwttoken.service.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token beans come from the jwt-token auto configuration bound to the test keys in {@code src/test/resources}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtTokenBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    private JwtTokenAuthenticationCheck jwtTokenAuthenticationCheck;
+
+    private AuthenticatedUser user;
+
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(JwtContext.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run();
+        jwtTokenProvider = context.getBean(JwtTokenProvider.class);
+        jwtTokenAuthenticationCheck = context.getBean(JwtTokenAuthenticationCheck.class);
+        user = new AuthenticatedUser(1L, "mail@mail.com", 1L, "tenancy", List.of("ROLE_USER", "ROLE_ADMIN"), 0L);
+
+        TokenData accessToken = jwtTokenProvider.generateAccessToken(user);
+        request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken.token());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TokenData generateAccessToken() {
+        return jwtTokenProvider.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public TokenData generateRefreshToken() {
+        return jwtTokenProvider.generateRefreshToken(user);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return jwtTokenAuthenticationCheck.getAuthentication(request);
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class, FlywayAutoConfiguration.class})
+    @EnableConfigurationProperties(JwtProperties.class)
+    static class JwtContext {
+    }
+}
@@ -0,0 +1,95 @@
+package com.trading.journal.authentication.authentication;
+
+import com.trading.journal.authentication.authentication.service.impl.UserPasswordAuthenticationManagerImpl;
+import com.trading.journal.authentication.authority.Authority;
+import com.trading.journal.authentication.authority.AuthorityCategory;
+import com.trading.journal.authentication.password.service.PasswordService;
+import com.trading.journal.authentication.tenancy.Tenancy;
+import com.trading.journal.authentication.user.User;
+import com.trading.journal.authentication.user.UserRepository;
+import com.trading.journal.authentication.userauthority.UserAuthority;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authentication flow without BCrypt and database, password matching is measured by {@code PasswordServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class UserPasswordAuthenticationBenchmark {
+
+    private static final String EMAIL = "mail@mail.com";
+
+    private static final String PASSWORD = "dad231#$#4";
+
+    private UserPasswordAuthenticationManagerImpl authenticationManager;
+
+    private Authentication authentication;
+
+    @Setup
+    public void setup() {
+        User user = User.builder()
+                .id(1L)
+                .email(EMAIL)
+                .password("encoded")
+                .enabled(true)
+                .verified(true)
+                .tenancy(Tenancy.builder().id(1L).name("tenancy").enabled(true).build())
+                .build();
+        user.setAuthorities(List.of(
+                new UserAuthority(user, new Authority(AuthorityCategory.COMMON_USER, "USER")),
+                new UserAuthority(user, new Authority(AuthorityCategory.ADMINISTRATOR, "ADMIN"))
+        ));
+        UserRepository userRepository = (UserRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> "findWithAuthoritiesByEmail".equals(method.getName()) ? Optional.of(user) : null);
+        authenticationManager = new UserPasswordAuthenticationManagerImpl(userRepository, new MatchingPasswordService());
+        authentication = new UsernamePasswordAuthenticationToken(EMAIL, PASSWORD);
+    }
+
+    @Benchmark
+    public Authentication authenticate() {
+        return authenticationManager.authenticate(authentication);
+    }
+
+    private static class MatchingPasswordService implements PasswordService {
+
+        @Override
+        public String encodePassword(String rawPassword) {
+            return rawPassword;
+        }
+
+        @Override
+        public String randomPassword() {
+            return PASSWORD;
+        }
+
+        @Override
+        public Boolean matches(String rawPassword, String encodedPassword) {
+            return true;
+        }
+
+        @Override
+        public Boolean upgradeEncoding(String encodedPassword) {
+            return false;
+        }
+    }
+}
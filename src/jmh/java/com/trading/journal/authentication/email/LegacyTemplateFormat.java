@@ -0,0 +1,43 @@
+package com.trading.journal.authentication.email;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Objects.requireNonNull;
+import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.joining;
+
+class LegacyTemplateFormat {
+
+    String format(String resourceName, List<EmailField> fields) {
+        final String template = getResource(resourceName);
+        return ofNullable(fields)
+                .orElse(emptyList())
+                .stream()
+                .reduce(template, (s, e) -> s.replace(e.name(), e.value().toString()), (s1, s2) -> null);
+    }
+
+    String addBodyToEmail(String body) {
+        List<EmailField> fields = singletonList(new EmailField(EmailConstants.MESSAGE_BODY, body));
+        return format(EmailConstants.EMAIL_TEMPLATE, fields);
+    }
+
+    private String getResource(String resourceName) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        try (InputStream resourceAsStream = classLoader.getResourceAsStream(resourceName)) {
+            requireNonNull(resourceAsStream, "Resource folder is not accessible.");
+            try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(resourceAsStream, UTF_8))) {
+                return bufferedReader.lines().collect(joining());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
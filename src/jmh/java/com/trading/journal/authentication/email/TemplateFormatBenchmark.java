@@ -0,0 +1,61 @@
+package com.trading.journal.authentication.email;
+
+import com.trading.journal.authentication.email.service.impl.TemplateFormatImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TemplateFormatBenchmark {
+
+    @Param({"mail/verification.html", "mail/change-password.html"})
+    public String template;
+
+    private List<EmailField> fields;
+
+    private LegacyTemplateFormat legacy;
+
+    private TemplateFormatImpl precompiled;
+
+    @Setup
+    public void setup() {
+        fields = List.of(
+                new EmailField("$NAME", "Application User Complete Name"),
+                new EmailField("$URL", "https://application.com/authentication/email/verify?hash=eyJhbGciOiJSUzI1NiJ9.payload.signature")
+        );
+        legacy = new LegacyTemplateFormat();
+        precompiled = new TemplateFormatImpl();
+        precompiled.preload();
+    }
+
+    @Benchmark
+    public String legacyReplaceChain() {
+        return legacy.addBodyToEmail(legacy.format(template, fields));
+    }
+
+    @Benchmark
+    public String format() {
+        return precompiled.format(template, fields);
+    }
+
+    @Benchmark
+    public String precompiledSegments() {
+        return precompiled.render(template, fields);
+    }
+}
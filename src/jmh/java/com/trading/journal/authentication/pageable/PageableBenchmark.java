@@ -0,0 +1,74 @@
+package com.trading.journal.authentication.pageable;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.trading.journal.authentication.user.UserInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PageableBenchmark {
+
+    @Param({"10", "100"})
+    public int size;
+
+    private PageableRequest pageableRequest;
+
+    private ObjectWriter writer;
+
+    private PageResponse<UserInfo> pageResponse;
+
+    @Setup
+    public void setup() {
+        pageableRequest = PageableRequest.builder()
+                .page(2)
+                .size(size)
+                .sort(new String[]{"email", "asc", "createdAt", "desc"})
+                .build();
+        writer = new ObjectMapper().registerModule(new JavaTimeModule()).writer();
+        List<UserInfo> users = LongStream.range(0, size)
+                .mapToObj(id -> UserInfo.builder()
+                        .id(id)
+                        .firstName("first" + id)
+                        .lastName("last" + id)
+                        .email("user" + id + "@mail.com")
+                        .enabled(true)
+                        .verified(true)
+                        .authorities(List.of("ROLE_USER"))
+                        .createdAt(LocalDateTime.of(2023, 1, 1, 10, 0).plusMinutes(id))
+                        .build())
+                .toList();
+        pageResponse = new PageResponse<>(1000L, 1000 / size, 2, users);
+    }
+
+    @Benchmark
+    public Pageable pageable() {
+        return pageableRequest.pageable();
+    }
+
+    @Benchmark
+    public byte[] serializePageResponse() throws Exception {
+        return writer.writeValueAsBytes(pageResponse);
+    }
+}
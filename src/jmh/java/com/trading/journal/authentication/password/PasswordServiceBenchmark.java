@@ -0,0 +1,61 @@
+package com.trading.journal.authentication.password;
+
+import com.trading.journal.authentication.password.encoder.AdaptivePasswordEncoder;
+import com.trading.journal.authentication.password.properties.PasswordHashingProperties;
+import com.trading.journal.authentication.password.service.impl.PasswordHashingExecutorImpl;
+import com.trading.journal.authentication.password.service.impl.PasswordServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PasswordServiceBenchmark {
+
+    private static final String PASSWORD = "dad231#$#4";
+
+    @Param({"10", "12"})
+    public int strength;
+
+    private PasswordHashingExecutorImpl hashingExecutor;
+
+    private PasswordServiceImpl passwordService;
+
+    private String encoded;
+
+    @Setup
+    public void setup() {
+        AdaptivePasswordEncoder encoder = new AdaptivePasswordEncoder(strength);
+        hashingExecutor = new PasswordHashingExecutorImpl(
+                new PasswordHashingProperties(1, 50, Duration.ofSeconds(10), Duration.ofSeconds(1), Duration.ofSeconds(5)), new SimpleMeterRegistry());
+        passwordService = new PasswordServiceImpl(encoder, hashingExecutor);
+        encoded = encoder.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        hashingExecutor.destroy();
+    }
+
+    @Benchmark
+    public Boolean matches() {
+        return passwordService.matches(PASSWORD, encoded);
+    }
+}
@@ -0,0 +1,215 @@
+package com.trading.journal.authentication.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.util.GreenMail;
+import com.trading.journal.authentication.authentication.LoginResponse;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class LoadClient {
+
+    private static final Pattern HASH = Pattern.compile("hash=([^\"&\\s]+)");
+
+    private static final Duration EMAIL_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+
+    private final HttpClient http;
+
+    private final ObjectMapper mapper;
+
+    private final GreenMail greenMail;
+
+    private final LoadSeeder.SeededUsers users;
+
+    private final BlockingQueue<String> passwordUsers;
+
+    public LoadClient(String baseUrl, HttpClient http, ObjectMapper mapper, GreenMail greenMail, LoadSeeder.SeededUsers users,
+                      BlockingQueue<String> passwordUsers) {
+        this.baseUrl = baseUrl;
+        this.http = http;
+        this.mapper = mapper;
+        this.greenMail = greenMail;
+        this.users = users;
+        this.passwordUsers = passwordUsers;
+    }
+
+    public Optional<LoginResponse> signIn(LoadRecorder recorder, String email) {
+        return send(recorder, "POST /auth/signin", post("/auth/signin", Map.of("email", email, "password", LoadSeeder.PASSWORD)).build())
+                .map(response -> read(response, LoginResponse.class));
+    }
+
+    public void run(Scenario scenario, Session session, LoadRecorder recorder) {
+        switch (scenario) {
+            case SIGN_IN -> signIn(recorder, session.email());
+            case REFRESH -> refresh(session, recorder);
+            case ME -> send(recorder, "GET /me", authorized("/me", session.login()).GET().build());
+            case ADMIN_USERS -> adminUsers(session, recorder);
+            case SIGN_UP -> signUp(recorder);
+            case CHANGE_PASSWORD -> changePassword(recorder);
+        }
+    }
+
+    private void refresh(Session session, LoadRecorder recorder) {
+        send(recorder, "POST /auth/refresh-token", request("/auth/refresh-token")
+                .header("refresh-token", session.refreshToken().get())
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build())
+                .map(response -> read(response, LoginResponse.class))
+                .ifPresent(login -> session.refreshToken().set(login.refreshToken()));
+    }
+
+    private void adminUsers(Session session, LoadRecorder recorder) {
+        int page = session.random().nextInt(Math.max(1, users.emails().size() / 20));
+        send(recorder, "GET /admin/users", authorized("/admin/users?size=20&page=" + page, session.admin())
+                .header("tenancy", String.valueOf(users.adminTenancyId()))
+                .GET()
+                .build());
+    }
+
+    private void signUp(LoadRecorder recorder) {
+        String email = "signup-" + UUID.randomUUID() + "@load.com";
+        send(recorder, "POST /auth/signup", post("/auth/signup", Map.of(
+                "firstName", "load",
+                "lastName", "signup",
+                "email", email,
+                "password", LoadSeeder.PASSWORD,
+                "confirmPassword", LoadSeeder.PASSWORD,
+                "newsletter", false)).build());
+    }
+
+    private void changePassword(LoadRecorder recorder) {
+        String email = passwordUsers.poll();
+        if (email == null) {
+            return;
+        }
+        try {
+            int received = greenMail.getReceivedMessagesForDomain(email).length;
+            long requested = System.nanoTime();
+            send(recorder, "POST /auth/change-password/request", request("/auth/change-password/request?email=" + URLEncoder.encode(email, UTF_8))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build())
+                    .flatMap(response -> hash(recorder, email, received, requested))
+                    .ifPresent(hash -> send(recorder, "POST /auth/change-password", post("/auth/change-password", Map.of(
+                            "email", email,
+                            "hash", hash,
+                            "password", LoadSeeder.PASSWORD,
+                            "confirmPassword", LoadSeeder.PASSWORD)).build()));
+        } finally {
+            passwordUsers.offer(email);
+        }
+    }
+
+    private Optional<String> hash(LoadRecorder recorder, String email, int received, long requested) {
+        long deadline = System.nanoTime() + EMAIL_TIMEOUT.toNanos();
+        MimeMessage[] messages = greenMail.getReceivedMessagesForDomain(email);
+        while (messages.length <= received && System.nanoTime() < deadline) {
+            if (!pause()) {
+                break;
+            }
+            messages = greenMail.getReceivedMessagesForDomain(email);
+        }
+        Optional<String> hash = messages.length > received ? hash(messages[messages.length - 1]) : Optional.empty();
+        recorder.record("SMTP change-password email", requested, hash.isPresent());
+        return hash;
+    }
+
+    private Optional<String> hash(MimeMessage message) {
+        Optional<String> hash = Optional.empty();
+        try {
+            Matcher matcher = HASH.matcher(String.valueOf(message.getContent()));
+            if (matcher.find()) {
+                hash = Optional.of(URLDecoder.decode(matcher.group(1), UTF_8));
+            }
+        } catch (IOException | MessagingException exception) {
+            hash = Optional.empty();
+        }
+        return hash;
+    }
+
+    private Optional<HttpResponse<String>> send(LoadRecorder recorder, String endpoint, HttpRequest request) {
+        long started = System.nanoTime();
+        Optional<HttpResponse<String>> result = Optional.empty();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            boolean success = response.statusCode() / 100 == 2;
+            recorder.record(endpoint, started, success);
+            if (success) {
+                result = Optional.of(response);
+            }
+        } catch (IOException exception) {
+            recorder.record(endpoint, started, false);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        return result;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private HttpRequest.Builder authorized(String path, LoginResponse login) {
+        return request(path).header(HttpHeaders.AUTHORIZATION, "Bearer " + login.accessToken());
+    }
+
+    private HttpRequest.Builder post(String path, Object body) {
+        try {
+            return request(path)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private <T> T read(HttpResponse<String> response, Class<T> type) {
+        try {
+            return mapper.readValue(response.body(), type);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static boolean pause() {
+        boolean paused = true;
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            paused = false;
+        }
+        return paused;
+    }
+
+    public record Session(String email, LoginResponse login, LoginResponse admin, Random random, AtomicReference<String> refreshToken) {
+
+        public Session(String email, LoginResponse login, LoginResponse admin, Random random) {
+            this(email, login, admin, random, new AtomicReference<>(login.refreshToken()));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.trading.journal.authentication.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public record LoadProperties(int tenancies,
+                             int usersPerTenancy,
+                             List<Integer> concurrency,
+                             Duration warmup,
+                             Duration duration,
+                             Map<Scenario, Integer> mix,
+                             Path report) {
+
+    public static LoadProperties fromSystemProperties() {
+        return new LoadProperties(
+                Integer.getInteger("load.tenancies", 10),
+                Integer.getInteger("load.users-per-tenancy", 20),
+                Arrays.stream(System.getProperty("load.concurrency", "10,25,50,100").split(","))
+                        .map(String::trim)
+                        .map(Integer::valueOf)
+                        .toList(),
+                Duration.parse(System.getProperty("load.warmup", "PT10S")),
+                Duration.parse(System.getProperty("load.duration", "PT30S")),
+                mix(System.getProperty("load.mix", "signin:40,refresh:15,me:20,admin-users:10,signup:10,change-password:5")),
+                Path.of(System.getProperty("load.report", "target/load-report.json"))
+        );
+    }
+
+    private static Map<Scenario, Integer> mix(String value) {
+        Map<Scenario, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] weight = entry.trim().split(":");
+            mix.put(Scenario.fromName(weight[0]), Integer.valueOf(weight[1]));
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,64 @@
+package com.trading.journal.authentication.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LoadRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long startedNanos, boolean success) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, unused -> new Endpoint());
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedNanos);
+        stats.latency.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    public LoadReport.Step report(int concurrency, Duration elapsed) {
+        double seconds = elapsed.toMillis() / 1000D;
+        List<LoadReport.EndpointResult> results = endpoints.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.naturalOrder()))
+                .map(entry -> result(entry.getKey(), entry.getValue(), seconds))
+                .toList();
+        long requests = results.stream().mapToLong(LoadReport.EndpointResult::requests).sum();
+        long errors = results.stream().mapToLong(LoadReport.EndpointResult::errors).sum();
+        return new LoadReport.Step(concurrency, elapsed.toMillis(), requests, errors, requests / seconds, results);
+    }
+
+    private LoadReport.EndpointResult result(String endpoint, Endpoint stats, double seconds) {
+        Histogram latency = stats.latency;
+        return new LoadReport.EndpointResult(endpoint,
+                latency.getTotalCount(),
+                stats.errors.sum(),
+                latency.getTotalCount() / seconds,
+                millis(latency.getMean()),
+                millis(latency.getValueAtPercentile(50)),
+                millis(latency.getValueAtPercentile(90)),
+                millis(latency.getValueAtPercentile(99)),
+                millis(latency.getValueAtPercentile(99.9)),
+                millis(latency.getMaxValue()));
+    }
+
+    private static double millis(double micros) {
+        return micros / 1000D;
+    }
+
+    private static class Endpoint {
+
+        private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+
+        private final LongAdder errors = new LongAdder();
+    }
+}
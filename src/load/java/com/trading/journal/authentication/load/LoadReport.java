@@ -0,0 +1,21 @@
+package com.trading.journal.authentication.load;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record LoadReport(String version,
+                         LocalDateTime startedAt,
+                         int availableProcessors,
+                         int tenancies,
+                         int users,
+                         List<Step> steps) {
+
+    public record Step(int concurrency, long durationMillis, long requests, long errors, double throughput,
+                       List<EndpointResult> endpoints) {
+    }
+
+    public record EndpointResult(String endpoint, long requests, long errors, double throughput,
+                                 double meanMillis, double p50Millis, double p90Millis, double p99Millis, double p999Millis,
+                                 double maxMillis) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.trading.journal.authentication.load;
+
+import com.trading.journal.authentication.password.service.PasswordService;
+import com.trading.journal.authentication.tenancy.Tenancy;
+import com.trading.journal.authentication.tenancy.service.TenancyService;
+import com.trading.journal.authentication.user.User;
+import com.trading.journal.authentication.user.UserRepository;
+import com.trading.journal.authentication.userauthority.service.UserAuthorityService;
+import org.springframework.context.ApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class LoadSeeder {
+
+    public static final String PASSWORD = "dad231#$#4";
+
+    private final TenancyService tenancyService;
+
+    private final UserRepository userRepository;
+
+    private final UserAuthorityService userAuthorityService;
+
+    private final String encodedPassword;
+
+    public LoadSeeder(ApplicationContext context) {
+        this.tenancyService = context.getBean(TenancyService.class);
+        this.userRepository = context.getBean(UserRepository.class);
+        this.userAuthorityService = context.getBean(UserAuthorityService.class);
+        this.encodedPassword = context.getBean(PasswordService.class).encodePassword(PASSWORD);
+    }
+
+    public SeededUsers seed(int tenancies, int usersPerTenancy) {
+        List<String> emails = new ArrayList<>(tenancies * usersPerTenancy);
+        Tenancy adminTenancy = null;
+        for (int tenancyIndex = 0; tenancyIndex < tenancies; tenancyIndex++) {
+            Tenancy tenancy = tenancyService.create(Tenancy.builder()
+                    .name("load-tenancy-" + tenancyIndex)
+                    .userLimit(usersPerTenancy + 1)
+                    .userUsage(usersPerTenancy)
+                    .enabled(true)
+                    .build());
+            if (adminTenancy == null) {
+                adminTenancy = tenancy;
+            }
+            for (int userIndex = 0; userIndex < usersPerTenancy; userIndex++) {
+                String email = "user-%s-%s@load.com".formatted(tenancyIndex, userIndex);
+                userAuthorityService.saveCommonUserAuthorities(userRepository.save(user(email, tenancy)));
+                emails.add(email);
+            }
+        }
+        String adminEmail = "admin@load.com";
+        userAuthorityService.saveAdminUserAuthorities(userRepository.save(user(adminEmail, adminTenancy)));
+        return new SeededUsers(emails, adminEmail, adminTenancy == null ? null : adminTenancy.getId());
+    }
+
+    private User user(String email, Tenancy tenancy) {
+        return User.builder()
+                .tenancy(tenancy)
+                .password(encodedPassword)
+                .firstName("load")
+                .lastName("user")
+                .email(email)
+                .enabled(true)
+                .verified(true)
+                .createdAt(LocalDateTime.now())
+                .newsletter(false)
+                .build();
+    }
+
+    public record SeededUsers(List<String> emails, String adminEmail, Long adminTenancyId) {
+    }
+}
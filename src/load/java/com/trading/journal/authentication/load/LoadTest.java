@@ -0,0 +1,164 @@
+package com.trading.journal.authentication.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.trading.journal.authentication.AuthenticationApplication;
+import com.trading.journal.authentication.authentication.LoginResponse;
+import com.trading.journal.authentication.configuration.VirtualThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boots the application against Postgres and GreenMail, seeds tenancies and users and drives a weighted mix of
+ * scenarios with a fixed number of concurrent clients per step, see the Load Test section of the README.
+ */
+public final class LoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+
+    private final LoadProperties properties;
+
+    private final LoadClient client;
+
+    private final LoadSeeder.SeededUsers users;
+
+    private final ThreadFactory threadFactory;
+
+    private LoadTest(LoadProperties properties, LoadClient client, LoadSeeder.SeededUsers users, ThreadFactory threadFactory) {
+        this.properties = properties;
+        this.client = client;
+        this.users = users;
+        this.threadFactory = threadFactory;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadProperties properties = LoadProperties.fromSystemProperties();
+        ThreadFactory threadFactory = VirtualThreads.isSupported() ? VirtualThreads.threadFactory("load-") : new CustomizableThreadFactory("load-");
+        GreenMail greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14.8")
+                .withDatabaseName("trade-journal")
+                .withUsername("trade-journal")
+                .withPassword("trade-journal")) {
+            postgres.start();
+            greenMail.start();
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AuthenticationApplication.class)
+                    .properties(applicationProperties(postgres, greenMail))
+                    .run(args)) {
+                LoadSeeder.SeededUsers users = new LoadSeeder(context).seed(properties.tenancies(), properties.usersPerTenancy());
+                ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+                HttpClient http = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(Executors.newCachedThreadPool(threadFactory))
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .build();
+                String baseUrl = "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port");
+                LoadClient client = new LoadClient(baseUrl, http, mapper, greenMail, users, new LinkedBlockingQueue<>(users.emails()));
+
+                LoadReport report = new LoadTest(properties, client, users, threadFactory).run();
+                Files.createDirectories(properties.report().toAbsolutePath().getParent());
+                mapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(properties.report().toFile(), report);
+                logger.info("Load report written to {}", properties.report().toAbsolutePath());
+            }
+        } finally {
+            greenMail.stop();
+        }
+    }
+
+    private LoadReport run() throws InterruptedException {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LoginResponse admin = login(users.adminEmail());
+
+        step(properties.concurrency().get(0), properties.warmup(), admin);
+        List<LoadReport.Step> steps = new ArrayList<>();
+        for (Integer concurrency : properties.concurrency()) {
+            LoadReport.Step step = step(concurrency, properties.duration(), admin);
+            logger.info("concurrency={} throughput={} req/s errors={}", step.concurrency(), Math.round(step.throughput()), step.errors());
+            step.endpoints().forEach(endpoint -> logger.info("  {} {} req/s p50={}ms p99={}ms p99.9={}ms errors={}", endpoint.endpoint(),
+                    Math.round(endpoint.throughput()), endpoint.p50Millis(), endpoint.p99Millis(), endpoint.p999Millis(), endpoint.errors()));
+            steps.add(step);
+        }
+        return new LoadReport(System.getProperty("load.version", "unknown"), startedAt, Runtime.getRuntime().availableProcessors(),
+                properties.tenancies(), users.emails().size(), steps);
+    }
+
+    private LoadReport.Step step(int concurrency, Duration duration, LoginResponse admin) throws InterruptedException {
+        LoadRecorder recorder = new LoadRecorder();
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency, threadFactory);
+        for (int worker = 0; worker < concurrency; worker++) {
+            Random random = new Random(worker);
+            workers.execute(() -> work(recorder, random, admin, deadline));
+        }
+        workers.shutdown();
+        workers.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        return recorder.report(concurrency, Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private void work(LoadRecorder recorder, Random random, LoginResponse admin, long deadline) {
+        String email = users.emails().get(random.nextInt(users.emails().size()));
+        client.signIn(recorder, email).ifPresent(login -> {
+            LoadClient.Session session = new LoadClient.Session(email, login, admin, random);
+            List<Scenario> mix = weighted();
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                client.run(mix.get(random.nextInt(mix.size())), session, recorder);
+            }
+        });
+    }
+
+    private List<Scenario> weighted() {
+        List<Scenario> weighted = new ArrayList<>();
+        properties.mix().forEach((scenario, weight) -> {
+            for (int index = 0; index < weight; index++) {
+                weighted.add(scenario);
+            }
+        });
+        return weighted;
+    }
+
+    private LoginResponse login(String email) {
+        return client.signIn(new LoadRecorder(), email).orElseThrow(() -> new IllegalStateException("Could not sign in " + email));
+    }
+
+    private static Map<String, Object> applicationProperties(PostgreSQLContainer<?> postgres, GreenMail greenMail) {
+        Map<String, Object> applicationProperties = new HashMap<>();
+        applicationProperties.put("server.port", 0);
+        applicationProperties.put("spring.datasource.url", postgres.getJdbcUrl());
+        applicationProperties.put("spring.datasource.username", postgres.getUsername());
+        applicationProperties.put("spring.datasource.password", postgres.getPassword());
+        applicationProperties.put("spring.mail.host", "localhost");
+        applicationProperties.put("spring.mail.port", greenMail.getSmtp().getPort());
+        applicationProperties.put("spring.mail.username", "sender@load.com");
+        applicationProperties.put("spring.mail.properties.mail.smtp.auth", false);
+        applicationProperties.put("spring.mail.properties.mail.smtp.starttls.enable", false);
+        applicationProperties.put("journal.authentication.email.outbox.enabled", true);
+        applicationProperties.put("journal.authentication.email.outbox.poll-interval", "100ms");
+        applicationProperties.put("journal.authentication.throttle.sign-in.enabled", false);
+        applicationProperties.put("journal.authentication.rate-limit.enabled", false);
+        applicationProperties.put("logging.level.root", "WARN");
+        applicationProperties.put("logging.level.com.trading.journal.authentication.load", "INFO");
+        return applicationProperties;
+    }
+}
@@ -0,0 +1,25 @@
+package com.trading.journal.authentication.load;
+
+import java.util.Arrays;
+
+public enum Scenario {
+    SIGN_IN("signin"),
+    REFRESH("refresh"),
+    ME("me"),
+    ADMIN_USERS("admin-users"),
+    SIGN_UP("signup"),
+    CHANGE_PASSWORD("change-password");
+
+    private final String label;
+
+    Scenario(String label) {
+        this.label = label;
+    }
+
+    public static Scenario fromName(String name) {
+        return Arrays.stream(values())
+                .filter(scenario -> scenario.label.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown scenario " + name));
+    }
+}
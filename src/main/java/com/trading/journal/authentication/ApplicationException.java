@@ -2,10 +2,12 @@ package com.trading.journal.authentication;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.web.client.HttpClientErrorException;
 
 import java.io.Serial;
+import java.nio.charset.StandardCharsets;
 
 public class ApplicationException extends HttpClientErrorException {
     @Serial
@@ -18,4 +20,8 @@ public class ApplicationException extends HttpClientErrorException {
     public ApplicationException(HttpStatusCode status, String message) {
         super(status, message);
     }
+
+    public ApplicationException(HttpStatusCode status, String message, HttpHeaders headers) {
+        super(status, message, headers, new byte[0], StandardCharsets.UTF_8);
+    }
 }
\ No newline at end of file
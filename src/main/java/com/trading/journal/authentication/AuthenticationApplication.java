@@ -5,11 +5,15 @@ import com.trading.journal.authentication.user.properties.AdminUserProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableConfigurationProperties({AdminUserProperties.class, JwtProperties.class})
 @EnableJpaRepositories
+@EnableScheduling
+@EnableCaching
 public class AuthenticationApplication {
 
     public static void main(String[] args) {
@@ -5,6 +5,7 @@ import com.trading.journal.authentication.authentication.LoginResponse;
 import com.trading.journal.authentication.password.ChangePassword;
 import com.trading.journal.authentication.registration.SignUpResponse;
 import com.trading.journal.authentication.registration.UserRegistration;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,7 +19,7 @@ public interface AuthenticationApi {
 
     @PostMapping("/signin")
     @ResponseStatus(HttpStatus.OK)
-    ResponseEntity<LoginResponse> signIn(@RequestBody Login login);
+    ResponseEntity<LoginResponse> signIn(@RequestBody Login login, HttpServletRequest request);
 
     @PostMapping("/refresh-token")
     @ResponseStatus(HttpStatus.OK)
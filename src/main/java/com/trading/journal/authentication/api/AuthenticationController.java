@@ -5,11 +5,15 @@ import com.trading.journal.authentication.authentication.Login;
 import com.trading.journal.authentication.authentication.LoginResponse;
 import com.trading.journal.authentication.authentication.service.AuthenticationService;
 import com.trading.journal.authentication.password.service.PasswordManagementService;
+import com.trading.journal.authentication.ratelimit.RateLimit;
+import com.trading.journal.authentication.ratelimit.service.RateLimiter;
 import com.trading.journal.authentication.registration.SignUpResponse;
 import com.trading.journal.authentication.registration.UserRegistration;
 import com.trading.journal.authentication.registration.service.RegistrationService;
 import io.micrometer.core.annotation.Timed;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -18,6 +22,7 @@ import jakarta.validation.Valid;
 import static org.springframework.http.ResponseEntity.ok;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 public class AuthenticationController implements AuthenticationApi {
 
@@ -26,17 +31,20 @@ public class AuthenticationController implements AuthenticationApi {
 
     private final PasswordManagementService passwordManagementService;
 
+    private final RateLimiter rateLimiter;
+
     @Timed(value = "signup_user", description = "Amount of time create a new user via signup")
     @Override
     public ResponseEntity<SignUpResponse> signUp(@Valid UserRegistration registration) {
+        rateLimiter.acquire(RateLimit.SIGN_UP);
         SignUpResponse signUpResponse = registrationService.signUp(registration);
         return ok(signUpResponse);
     }
 
     @Timed(value = "signin_user", description = "Amount of time to authenticate a user")
     @Override
-    public ResponseEntity<LoginResponse> signIn(@Valid Login login) {
-        LoginResponse loginResponse = authenticationService.signIn(login);
+    public ResponseEntity<LoginResponse> signIn(@Valid Login login, HttpServletRequest request) {
+        LoginResponse loginResponse = authenticationService.signIn(login, request.getRemoteAddr());
         return ok(loginResponse);
     }
 
@@ -57,6 +65,7 @@ public class AuthenticationController implements AuthenticationApi {
     @Timed(value = "send_new_verification", description = "Amount of time to send a new email verification to the user email")
     @Override
     public ResponseEntity<SignUpResponse> sendVerification(String email) {
+        rateLimiter.acquire(RateLimit.VERIFICATION_SEND);
         SignUpResponse signUpResponse = registrationService.sendVerification(email);
         return ok(signUpResponse);
     }
@@ -64,6 +73,7 @@ public class AuthenticationController implements AuthenticationApi {
     @Timed(value = "request_password_change", description = "Amount of time to request a password change")
     @Override
     public ResponseEntity<Void> requestPasswordChange(String email) {
+        rateLimiter.acquire(RateLimit.PASSWORD_CHANGE_REQUEST);
         passwordManagementService.requestPasswordChange(email);
         return ok().build();
     }
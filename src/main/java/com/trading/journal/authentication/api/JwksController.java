@@ -0,0 +1,27 @@
+package com.trading.journal.authentication.api;
+
+import com.trading.journal.authentication.jwks.JwksProperties;
+import com.trading.journal.authentication.jwks.service.JwksService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class JwksController implements JwksApi {
+
+    private final JwksService jwksService;
+
+    private final JwksProperties properties;
+
+    @Override
+    public ResponseEntity<String> jwks(String ifNoneMatch) {
+        boolean notModified = jwksService.matches(ifNoneMatch);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(jwksService.etag())
+                .cacheControl(CacheControl.maxAge(properties.getMaxAge()).cachePublic());
+        return notModified ? response.build() : response.body(jwksService.body());
+    }
+}
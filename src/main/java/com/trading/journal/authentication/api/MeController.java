@@ -6,6 +6,7 @@ import com.trading.journal.authentication.user.UserInfo;
 import com.trading.journal.authentication.user.service.UserManagementService;
 import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -14,6 +15,7 @@ import jakarta.validation.Valid;
 import static org.springframework.http.ResponseEntity.ok;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 public class MeController implements MeApi {
 
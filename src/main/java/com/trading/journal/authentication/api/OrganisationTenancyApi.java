@@ -2,7 +2,7 @@ package com.trading.journal.authentication.api;
 
 import com.allanweber.jwttoken.data.AccessTokenInfo;
 import com.trading.journal.authentication.authority.Authority;
-import com.trading.journal.authentication.tenancy.Tenancy;
+import com.trading.journal.authentication.tenancy.TenancyInfo;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,7 +16,7 @@ public interface OrganisationTenancyApi {
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    ResponseEntity<Tenancy> getById(AccessTokenInfo accessTokenInfo);
+    ResponseEntity<TenancyInfo> getById(AccessTokenInfo accessTokenInfo);
 
     @GetMapping("/authorities")
     @ResponseStatus(HttpStatus.OK)
@@ -3,9 +3,10 @@ package com.trading.journal.authentication.api;
 import com.allanweber.jwttoken.data.AccessTokenInfo;
 import com.trading.journal.authentication.authority.Authority;
 import com.trading.journal.authentication.authority.service.OrganisationAuthorityService;
-import com.trading.journal.authentication.tenancy.Tenancy;
+import com.trading.journal.authentication.tenancy.TenancyInfo;
 import com.trading.journal.authentication.tenancy.service.TenancyService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -15,6 +16,7 @@ import static org.springframework.http.ResponseEntity.ok;
 
 @RequiredArgsConstructor
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class OrganisationTenancyController implements OrganisationTenancyApi {
 
     private final TenancyService tenancyService;
@@ -22,7 +24,7 @@ public class OrganisationTenancyController implements OrganisationTenancyApi {
     private final OrganisationAuthorityService organisationAuthorityService;
 
     @Override
-    public ResponseEntity<Tenancy> getById(AccessTokenInfo accessTokenInfo) {
+    public ResponseEntity<TenancyInfo> getById(AccessTokenInfo accessTokenInfo) {
         return ok(tenancyService.getById(accessTokenInfo.tenancyId()));
     }
 
@@ -2,6 +2,7 @@ package com.trading.journal.authentication.api;
 
 import com.trading.journal.authentication.pageable.PageResponse;
 import com.trading.journal.authentication.tenancy.Tenancy;
+import com.trading.journal.authentication.tenancy.TenancyInfo;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,11 +16,12 @@ public interface TenanciesApi {
             @RequestParam(value = "page", defaultValue = "0", required = false) Integer page,
             @RequestParam(value = "size", defaultValue = "10", required = false) Integer size,
             @RequestParam(value = "sort", required = false) String[] sort,
-            @RequestParam(value = "filter", required = false) String filter);
+            @RequestParam(value = "filter", required = false) String filter,
+            @RequestParam(value = "cursor", required = false) String cursor);
 
     @GetMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
-    ResponseEntity<Tenancy> getById(@PathVariable Long id);
+    ResponseEntity<TenancyInfo> getById(@PathVariable Long id);
 
     @PatchMapping("/{id}/disable")
     @ResponseStatus(HttpStatus.OK)
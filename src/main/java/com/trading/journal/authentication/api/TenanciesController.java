@@ -3,8 +3,10 @@ package com.trading.journal.authentication.api;
 import com.trading.journal.authentication.pageable.PageResponse;
 import com.trading.journal.authentication.pageable.PageableRequest;
 import com.trading.journal.authentication.tenancy.Tenancy;
+import com.trading.journal.authentication.tenancy.TenancyInfo;
 import com.trading.journal.authentication.tenancy.service.TenancyService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -12,25 +14,27 @@ import static org.springframework.http.ResponseEntity.notFound;
 import static org.springframework.http.ResponseEntity.ok;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 public class TenanciesController implements TenanciesApi {
 
     private final TenancyService tenancyService;
 
     @Override
-    public ResponseEntity<PageResponse<Tenancy>> getAll(Integer page, Integer size, String[] sort, String filter) {
+    public ResponseEntity<PageResponse<Tenancy>> getAll(Integer page, Integer size, String[] sort, String filter, String cursor) {
         PageableRequest pageableRequest = PageableRequest.builder()
                 .page(page)
                 .size(size)
                 .sort(sort)
                 .filter(filter)
+                .cursor(cursor)
                 .build();
         PageResponse<Tenancy> pageResponse = tenancyService.getAll(pageableRequest);
         return ok(pageResponse);
     }
 
     @Override
-    public ResponseEntity<Tenancy> getById(Long id) {
+    public ResponseEntity<TenancyInfo> getById(Long id) {
         return ok(tenancyService.getById(id));
     }
 
@@ -22,7 +22,8 @@ public interface UsersApi {
             @RequestParam(value = "page", defaultValue = "0", required = false) Integer page,
             @RequestParam(value = "size", defaultValue = "10", required = false) Integer size,
             @RequestParam(value = "sort", required = false) String[] sort,
-            @RequestParam(value = "filter", required = false) String filter);
+            @RequestParam(value = "filter", required = false) String filter,
+            @RequestParam(value = "cursor", required = false) String cursor);
 
     @GetMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
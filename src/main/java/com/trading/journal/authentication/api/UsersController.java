@@ -7,6 +7,7 @@ import com.trading.journal.authentication.user.UserInfo;
 import com.trading.journal.authentication.user.service.UserManagementService;
 import com.trading.journal.authentication.userauthority.UserAuthorityResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -15,18 +16,20 @@ import java.util.List;
 import static org.springframework.http.ResponseEntity.ok;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 public class UsersController implements UsersApi {
 
     private final UserManagementService userManagementService;
 
     @Override
-    public ResponseEntity<PageResponse<UserInfo>> getAll(Long tenancy, Integer page, Integer size, String[] sort, String filter) {
+    public ResponseEntity<PageResponse<UserInfo>> getAll(Long tenancy, Integer page, Integer size, String[] sort, String filter, String cursor) {
         PageableRequest pageableRequest = PageableRequest.builder()
                 .page(page)
                 .size(size)
                 .sort(sort)
                 .filter(filter)
+                .cursor(cursor)
                 .build();
         PageResponse<UserInfo> pageResponse = userManagementService.getAll(tenancy, pageableRequest);
         return ok(pageResponse);
@@ -0,0 +1,29 @@
+package com.trading.journal.authentication.authentication;
+
+import com.allanweber.jwttoken.contract.JwtUserData;
+
+import java.util.List;
+
+public record AuthenticatedUser(Long id, String email, Long tenancyId, String tenancyName, List<String> authorities,
+                                Long securityVersion) implements JwtUserData {
+
+    @Override
+    public List<String> getUserAuthoritiesName() {
+        return authorities;
+    }
+
+    @Override
+    public String getUserEmail() {
+        return email;
+    }
+
+    @Override
+    public Long getUserTenancyId() {
+        return tenancyId;
+    }
+
+    @Override
+    public String getUserTenancyName() {
+        return tenancyName;
+    }
+}
@@ -0,0 +1,10 @@
+package com.trading.journal.authentication.authentication.service;
+
+import com.trading.journal.authentication.authentication.AuthenticatedUser;
+
+public interface AuthenticatedUserService {
+
+    AuthenticatedUser getById(Long id);
+
+    AuthenticatedUser reload(Long id);
+}
@@ -4,7 +4,7 @@ import com.trading.journal.authentication.authentication.Login;
 import com.trading.journal.authentication.authentication.LoginResponse;
 
 public interface AuthenticationService {
-    LoginResponse signIn(Login login);
+    LoginResponse signIn(Login login, String clientAddress);
 
     LoginResponse refreshToken(String refreshToken);
 }
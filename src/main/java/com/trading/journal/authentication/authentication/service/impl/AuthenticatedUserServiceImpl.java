@@ -0,0 +1,51 @@
+package com.trading.journal.authentication.authentication.service.impl;
+
+import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.authentication.AuthenticatedUser;
+import com.trading.journal.authentication.authentication.service.AuthenticatedUserService;
+import com.trading.journal.authentication.cache.CacheNames;
+import com.trading.journal.authentication.tenancy.Tenancy;
+import com.trading.journal.authentication.user.User;
+import com.trading.journal.authentication.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static java.util.Optional.ofNullable;
+
+@Service
+@RequiredArgsConstructor
+public class AuthenticatedUserServiceImpl implements AuthenticatedUserService {
+
+    private final UserRepository userRepository;
+
+    @Override
+    @Transactional
+    @Cacheable(cacheNames = CacheNames.USERS, key = "#id")
+    public AuthenticatedUser getById(Long id) {
+        return load(id);
+    }
+
+    @Override
+    @Transactional
+    @CachePut(cacheNames = CacheNames.USERS, key = "#id")
+    public AuthenticatedUser reload(Long id) {
+        return load(id);
+    }
+
+    private AuthenticatedUser load(Long id) {
+        User user = userRepository.findWithAuthoritiesById(id)
+                .orElseThrow(() -> new ApplicationException(HttpStatus.UNAUTHORIZED, "User not found"));
+        List<String> authorities = user.getUserAuthoritiesName();
+        if (authorities.isEmpty()) {
+            throw new ApplicationException(HttpStatus.UNAUTHORIZED, "No Authorities");
+        }
+        Tenancy tenancy = ofNullable(user.getTenancy()).orElse(Tenancy.builder().build());
+        return new AuthenticatedUser(user.getId(), user.getEmail(), tenancy.getId(), tenancy.getName(), authorities, user.getSecurityVersion());
+    }
+}
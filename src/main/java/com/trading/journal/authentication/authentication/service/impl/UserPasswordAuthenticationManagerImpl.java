@@ -2,6 +2,7 @@ package com.trading.journal.authentication.authentication.service.impl;
 
 import com.allanweber.jwttoken.data.ContextUser;
 import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.authentication.AuthenticatedUser;
 import com.trading.journal.authentication.authentication.service.UserPasswordAuthenticationManager;
 import com.trading.journal.authentication.password.service.PasswordService;
 import com.trading.journal.authentication.tenancy.Tenancy;
@@ -31,7 +32,7 @@ public class UserPasswordAuthenticationManagerImpl implements UserPasswordAuthen
     @Override
     public Authentication authenticate(Authentication authentication) {
         String email = (String) authentication.getPrincipal();
-        User user = userRepository.findByEmail(email).orElseThrow(() -> new ApplicationException(HttpStatus.UNAUTHORIZED, "Bad Credentials"));
+        User user = userRepository.findWithAuthoritiesByEmail(email).orElseThrow(() -> new ApplicationException(HttpStatus.UNAUTHORIZED, "Bad Credentials"));
         if (!user.getEnabled() || !user.getVerified()) {
             throw new ApplicationException(HttpStatus.UNAUTHORIZED, "Locked Credentials");
         }
@@ -46,6 +47,9 @@ public class UserPasswordAuthenticationManagerImpl implements UserPasswordAuthen
         if (!passwordService.matches(password, user.getPassword())) {
             throw new ApplicationException(HttpStatus.UNAUTHORIZED, "Bad Credentials");
         }
+        if (passwordService.upgradeEncoding(user.getPassword())) {
+            userRepository.rehashPassword(user.getId(), user.getPassword(), passwordService.encodePassword(password));
+        }
 
         List<SimpleGrantedAuthority> authorities = of(user).map(User::getAuthorities)
                 .orElse(emptyList()).stream().map(userAuthorities -> new SimpleGrantedAuthority(userAuthorities.getAuthority().getName())).toList();
@@ -56,6 +60,9 @@ public class UserPasswordAuthenticationManagerImpl implements UserPasswordAuthen
 
         Tenancy tenancy = ofNullable(user.getTenancy()).orElse(Tenancy.builder().build());
         ContextUser principal = new ContextUser(email, tenancy.getId(), tenancy.getName());
-        return new UsernamePasswordAuthenticationToken(principal, null, authorities);
+        UsernamePasswordAuthenticationToken authenticated = new UsernamePasswordAuthenticationToken(principal, null, authorities);
+        authenticated.setDetails(new AuthenticatedUser(user.getId(), user.getEmail(), tenancy.getId(), tenancy.getName(),
+                authorities.stream().map(SimpleGrantedAuthority::getAuthority).toList(), user.getSecurityVersion()));
+        return authenticated;
     }
 }
@@ -19,7 +19,8 @@ import jakarta.validation.constraints.NotNull;
 public class Authority {
 
     @Id
-    @GeneratedValue(strategy= GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "authoritiesIdGenerator")
+    @SequenceGenerator(name = "authoritiesIdGenerator", sequenceName = "authorities_id_seq", allocationSize = 50)
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private Long id;
 
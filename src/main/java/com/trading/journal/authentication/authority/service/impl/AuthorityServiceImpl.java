@@ -5,10 +5,14 @@ import com.trading.journal.authentication.authority.Authority;
 import com.trading.journal.authentication.authority.AuthorityCategory;
 import com.trading.journal.authentication.authority.AuthorityRepository;
 import com.trading.journal.authentication.authority.service.AuthorityService;
+import com.trading.journal.authentication.cache.CacheNames;
+import com.trading.journal.authentication.cache.service.CacheInvalidationService;
 import com.trading.journal.authentication.userauthority.UserAuthorityRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
 import java.util.List;
@@ -22,17 +26,25 @@ public class AuthorityServiceImpl implements AuthorityService {
 
     private final UserAuthorityRepository userAuthorityRepository;
 
+    private final CacheInvalidationService cacheInvalidationService;
+
     @Override
+    @Transactional
+    @Cacheable(cacheNames = CacheNames.AUTHORITIES, key = "'category:' + #category")
     public List<Authority> getAuthoritiesByCategory(AuthorityCategory category) {
         return authorityRepository.getByCategory(category);
     }
 
     @Override
+    @Transactional
+    @Cacheable(cacheNames = CacheNames.AUTHORITIES, key = "'all'")
     public List<Authority> getAll() {
         return authorityRepository.findAll();
     }
 
     @Override
+    @Transactional
+    @Cacheable(cacheNames = CacheNames.AUTHORITIES, key = "'name:' + #name")
     public Optional<Authority> getByName(String name) {
         return authorityRepository.getByName(name);
     }
@@ -43,6 +55,7 @@ public class AuthorityServiceImpl implements AuthorityService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Authority getById(Long id) {
         return authorityRepository.findById(id)
                 .orElseThrow(() -> new ApplicationException(HttpStatus.NOT_FOUND, "Authority id not found"));
@@ -53,7 +66,9 @@ public class AuthorityServiceImpl implements AuthorityService {
         if (this.getByName(authority.getName()).isPresent()) {
             throw new ApplicationException(HttpStatus.CONFLICT, "Authority name already exists");
         }
-        return authorityRepository.save(authority);
+        Authority saved = authorityRepository.save(authority);
+        cacheInvalidationService.clear(CacheNames.AUTHORITIES);
+        return saved;
     }
 
     @Override
@@ -66,7 +81,10 @@ public class AuthorityServiceImpl implements AuthorityService {
                     throw new ApplicationException(HttpStatus.CONFLICT, "Authority name already exists");
                 });
 
-        return authorityRepository.save(new Authority(id, authority.getCategory(), authority.getName()));
+        Authority saved = authorityRepository.save(new Authority(id, authority.getCategory(), authority.getName()));
+        cacheInvalidationService.clear(CacheNames.AUTHORITIES);
+        cacheInvalidationService.clear(CacheNames.USERS);
+        return saved;
     }
 
     @Override
@@ -78,5 +96,6 @@ public class AuthorityServiceImpl implements AuthorityService {
             throw new ApplicationException(HttpStatus.BAD_REQUEST, "Authority is used by one or more user");
         }
         authorityRepository.deleteById(id);
+        cacheInvalidationService.clear(CacheNames.AUTHORITIES);
     }
 }
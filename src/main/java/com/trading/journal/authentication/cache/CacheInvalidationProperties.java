@@ -0,0 +1,19 @@
+package com.trading.journal.authentication.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@ConfigurationProperties("journal.authentication.cache.invalidation")
+@Configuration
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheInvalidationProperties {
+
+    private boolean enabled = true;
+
+    private String channel = "cache_invalidation";
+}
@@ -0,0 +1,13 @@
+package com.trading.journal.authentication.cache;
+
+public final class CacheNames {
+
+    public static final String AUTHORITIES = "authorities";
+
+    public static final String TENANCIES = "tenancies";
+
+    public static final String USERS = "users";
+
+    private CacheNames() {
+    }
+}
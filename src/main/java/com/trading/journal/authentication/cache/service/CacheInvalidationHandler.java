@@ -0,0 +1,32 @@
+package com.trading.journal.authentication.cache.service;
+
+import com.trading.journal.authentication.cache.CacheInvalidationProperties;
+import com.trading.journal.authentication.notification.service.NotificationHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "journal.authentication.cache.invalidation", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CacheInvalidationHandler implements NotificationHandler {
+
+    private final CacheInvalidationService cacheInvalidationService;
+
+    private final CacheInvalidationProperties properties;
+
+    @Override
+    public String channel() {
+        return properties.getChannel();
+    }
+
+    @Override
+    public void connected() {
+        cacheInvalidationService.clearAll();
+    }
+
+    @Override
+    public void notified(String payload) {
+        cacheInvalidationService.apply(payload);
+    }
+}
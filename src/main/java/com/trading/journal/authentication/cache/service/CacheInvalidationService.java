@@ -0,0 +1,12 @@
+package com.trading.journal.authentication.cache.service;
+
+public interface CacheInvalidationService {
+
+    void evict(String cacheName, Long key);
+
+    void clear(String cacheName);
+
+    void apply(String payload);
+
+    void clearAll();
+}
@@ -0,0 +1,70 @@
+package com.trading.journal.authentication.cache.service.impl;
+
+import com.trading.journal.authentication.cache.CacheInvalidationProperties;
+import com.trading.journal.authentication.cache.service.CacheInvalidationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CacheInvalidationServiceImpl implements CacheInvalidationService {
+
+    private static final String SEPARATOR = ":";
+
+    private final CacheManager cacheManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final CacheInvalidationProperties properties;
+
+    @Override
+    public void evict(String cacheName, Long key) {
+        cache(cacheName).ifPresent(cache -> cache.evict(key));
+        publish(cacheName + SEPARATOR + key);
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        cache(cacheName).ifPresent(Cache::clear);
+        publish(cacheName);
+    }
+
+    @Override
+    public void apply(String payload) {
+        int separator = payload.indexOf(SEPARATOR);
+        if (separator < 0) {
+            cache(payload).ifPresent(Cache::clear);
+        } else {
+            String cacheName = payload.substring(0, separator);
+            try {
+                Long key = Long.valueOf(payload.substring(separator + 1));
+                cache(cacheName).ifPresent(cache -> cache.evict(key));
+            } catch (NumberFormatException e) {
+                log.warn("Cache invalidation '{}' has an invalid key, clearing the cache", payload, e);
+                cache(cacheName).ifPresent(Cache::clear);
+            }
+        }
+    }
+
+    @Override
+    public void clearAll() {
+        cacheManager.getCacheNames().forEach(cacheName -> cache(cacheName).ifPresent(Cache::clear));
+    }
+
+    private Optional<Cache> cache(String cacheName) {
+        return Optional.ofNullable(cacheManager.getCache(cacheName));
+    }
+
+    private void publish(String payload) {
+        if (properties.isEnabled()) {
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, properties.getChannel(), payload);
+        }
+    }
+}
@@ -33,7 +33,7 @@ public class ApiExceptionHandler {
         log.error(CLIENT_EXCEPTION_HAPPENED, ex);
         final Map<String, String> errors = new ConcurrentHashMap<>();
         errors.put("error", ex.getStatusText());
-        return status(ex.getStatusCode()).body(errors);
+        return status(ex.getStatusCode()).headers(ex.getResponseHeaders()).body(errors);
     }
 
     @ExceptionHandler(Exception.class)
@@ -1,5 +1,6 @@
 package com.trading.journal.authentication.configuration;
 
+import com.allanweber.jwttoken.service.JwtResolveToken;
 import com.allanweber.jwttoken.service.JwtTokenAuthenticationCheck;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -8,10 +9,12 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @RequiredArgsConstructor
 @Order(Ordered.HIGHEST_PRECEDENCE + 1)
@@ -19,9 +22,16 @@ public class JwtTokenAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenAuthenticationCheck jwtTokenAuthenticationCheck;
 
+    private final JwtResolveToken jwtResolveToken;
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
-        var authentication = jwtTokenAuthenticationCheck.getAuthentication(request);
+        String token = jwtResolveToken.resolve(request);
+        Authentication authentication = Optional.ofNullable(token)
+                .flatMap(verifiedTokenCache::get)
+                .orElseGet(() -> verify(request, token));
         if (authentication == null) {
             filterChain.doFilter(request, response);
             return;
@@ -29,4 +39,12 @@ public class JwtTokenAuthenticationFilter extends OncePerRequestFilter {
         SecurityContextHolder.getContext().setAuthentication(authentication);
         filterChain.doFilter(request, response);
     }
+
+    private Authentication verify(HttpServletRequest request, String token) {
+        Authentication authentication = jwtTokenAuthenticationCheck.getAuthentication(request);
+        if (authentication != null && token != null) {
+            verifiedTokenCache.put(token, authentication);
+        }
+        return authentication;
+    }
 }
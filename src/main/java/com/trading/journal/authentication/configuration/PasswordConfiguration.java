@@ -1,10 +1,11 @@
 package com.trading.journal.authentication.configuration;
 
+import com.trading.journal.authentication.password.encoder.AdaptivePasswordEncoder;
+import com.trading.journal.authentication.password.properties.PasswordEncoderProperties;
 import lombok.NoArgsConstructor;
 import org.passay.*;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.ArrayList;
@@ -36,7 +37,7 @@ public class PasswordConfiguration {
 	}
 
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder(12);
+	public PasswordEncoder passwordEncoder(PasswordEncoderProperties properties) {
+		return AdaptivePasswordEncoder.calibrated(properties);
 	}
 }
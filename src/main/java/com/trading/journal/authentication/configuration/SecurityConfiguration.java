@@ -1,10 +1,12 @@
 package com.trading.journal.authentication.configuration;
 
+import com.allanweber.jwttoken.service.JwtResolveToken;
 import com.allanweber.jwttoken.service.JwtTokenAuthenticationCheck;
 import com.trading.journal.authentication.authentication.service.UserPasswordAuthenticationManager;
 import com.trading.journal.authentication.authority.AuthorityCategory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -21,6 +23,7 @@ import java.util.Map;
 import java.util.stream.Stream;
 
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @Slf4j
 public class SecurityConfiguration {
@@ -28,6 +31,8 @@ public class SecurityConfiguration {
     private final UserPasswordAuthenticationManager authenticationManager;
     private final ServerAuthenticationExceptionEntryPoint serverAuthenticationExceptionEntryPoint;
     private final JwtTokenAuthenticationCheck jwtTokenAuthenticationCheck;
+    private final JwtResolveToken jwtResolveToken;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     private final LoadAuthorities loadAuthorities;
 
@@ -45,7 +50,7 @@ public class SecurityConfiguration {
                                 .requestMatchers(getOrganisationAdminPath()).hasAnyAuthority(authorityCategoryMap.get(AuthorityCategory.ORGANISATION))
                                 .anyRequest().hasAnyAuthority(authorityCategoryMap.get(AuthorityCategory.COMMON_USER))
                 )
-                .addFilterBefore(new JwtTokenAuthenticationFilter(jwtTokenAuthenticationCheck), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new JwtTokenAuthenticationFilter(jwtTokenAuthenticationCheck, jwtResolveToken, verifiedTokenCache), UsernamePasswordAuthenticationFilter.class)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .cors(cors -> cors.configurationSource(getCorsConfigurationSource()))
                 .csrf(AbstractHttpConfigurer::disable)
@@ -63,7 +68,7 @@ public class SecurityConfiguration {
 
     private String[] getPublicPath() {
         String[] monitoring = {"/health/**", "/prometheus", "/metrics*/**"};
-        String[] authentication = {"/auth/**"};
+        String[] authentication = {"/auth/**", "/.well-known/**"};
         return Stream.of(monitoring, authentication).flatMap(Stream::of).toArray(String[]::new);
     }
 
@@ -0,0 +1,96 @@
+package com.trading.journal.authentication.configuration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.trading.journal.authentication.configuration.properties.JwtCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final int JWT_PARTS = 3;
+
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(JwtCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "verified-jwt");
+    }
+
+    public Optional<Authentication> get(String token) {
+        return Optional.ofNullable(cache.getIfPresent(digest(token)))
+                .filter(verified -> verified.expiresAt().isAfter(Instant.now()))
+                .map(VerifiedToken::authentication);
+    }
+
+    public void put(String token, Authentication authentication) {
+        expiration(token)
+                .filter(expiresAt -> expiresAt.isAfter(Instant.now()))
+                .ifPresent(expiresAt -> cache.put(digest(token), new VerifiedToken(authentication, expiresAt)));
+    }
+
+    private static Optional<Instant> expiration(String token) {
+        String[] parts = token.split("\\.");
+        Optional<Instant> expiration = Optional.empty();
+        if (parts.length == JWT_PARTS) {
+            try {
+                JsonNode exp = MAPPER.readTree(Base64.getUrlDecoder().decode(parts[1])).path("exp");
+                expiration = Optional.of(exp).filter(JsonNode::canConvertToLong).map(JsonNode::asLong).map(Instant::ofEpochSecond);
+            } catch (IOException | IllegalArgumentException exception) {
+                log.warn("Unable to read token expiration, token will not be cached", exception);
+            }
+        }
+        return expiration;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private record VerifiedToken(Authentication authentication, Instant expiresAt) {
+    }
+
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            return Math.max(0L, value.expiresAt().toEpochMilli() - System.currentTimeMillis()) * 1_000_000L;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.trading.journal.authentication.configuration;
+
+import java.util.concurrent.ThreadFactory;
+
+@SuppressWarnings("PMD.DoNotUseThreads")
+public final class VirtualThreads {
+
+    private static final int MINIMUM_VERSION = 21;
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return Runtime.version().feature() >= MINIMUM_VERSION;
+    }
+
+    public static ThreadFactory threadFactory(String prefix) {
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual threads require Java %s or newer, running on %s".formatted(MINIMUM_VERSION, Runtime.version()));
+        }
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException("Virtual threads are not available", exception);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.trading.journal.authentication.configuration.datasource;
+
+public enum DataSourceRoute {
+    PRIMARY, REPLICA
+}
@@ -0,0 +1,51 @@
+package com.trading.journal.authentication.configuration.datasource;
+
+import com.trading.journal.authentication.configuration.properties.ReplicaProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END
+            """;
+
+    private final JdbcTemplate replica;
+
+    private final ReplicaProperties properties;
+
+    private final AtomicBoolean available = new AtomicBoolean(false);
+
+    public ReplicaLagMonitor(JdbcTemplate replica, ReplicaProperties properties) {
+        this.replica = replica;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "#{@replicaProperties.lagCheckInterval.toMillis()}")
+    public void check() {
+        boolean healthy;
+        try {
+            Double lagSeconds = replica.queryForObject(LAG_QUERY, Double.class);
+            healthy = lagSeconds != null && lagSeconds * 1000 <= properties.getMaxLag().toMillis();
+            if (!healthy) {
+                log.warn("Replica is {} seconds behind, reads are sent to the primary", lagSeconds);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Replica is not reachable, reads are sent to the primary", e);
+            healthy = false;
+        }
+        available.set(healthy);
+    }
+
+    public boolean isAvailable() {
+        return available.get();
+    }
+}
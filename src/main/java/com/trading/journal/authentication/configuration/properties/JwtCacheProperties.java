@@ -0,0 +1,17 @@
+package com.trading.journal.authentication.configuration.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@ConfigurationProperties("journal.authentication.jwt-cache")
+@Configuration
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JwtCacheProperties {
+
+    private long maximumSize = 10_000;
+}
@@ -0,0 +1,31 @@
+package com.trading.journal.authentication.configuration.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@ConfigurationProperties("journal.authentication.datasource.replica")
+@Configuration
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReplicaProperties {
+
+    private boolean enabled;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private int maximumPoolSize = 2;
+
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+}
@@ -0,0 +1,71 @@
+package com.trading.journal.authentication.email;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+import static java.util.Collections.emptyList;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Builder
+@Entity
+@Table(name = "EmailOutbox")
+public class EmailOutbox {
+
+    private static final int ERROR_MAX_LENGTH = 2000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "emailOutboxIdGenerator")
+    @SequenceGenerator(name = "emailOutboxIdGenerator", sequenceName = "emailoutbox_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Convert(converter = EmailRequestConverter.class)
+    private EmailRequest request;
+
+    @Enumerated(EnumType.STRING)
+    private EmailOutboxStatus status;
+
+    private Integer attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    public static EmailOutbox pending(EmailRequest request) {
+        LocalDateTime now = LocalDateTime.now();
+        return EmailOutbox.builder()
+                .request(request)
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+
+    public void lease(LocalDateTime until) {
+        this.nextAttemptAt = until;
+    }
+
+    public void sent() {
+        this.attempts++;
+        this.status = EmailOutboxStatus.SENT;
+        this.request = new EmailRequest(request.subject(), request.template(), emptyList(), request.receipts());
+    }
+
+    public void failed(String error, LocalDateTime nextAttemptAt, int maxAttempts) {
+        this.attempts++;
+        this.lastError = error == null || error.length() <= ERROR_MAX_LENGTH ? error : error.substring(0, ERROR_MAX_LENGTH);
+        this.nextAttemptAt = nextAttemptAt;
+        if (this.attempts >= maxAttempts) {
+            this.status = EmailOutboxStatus.DEAD;
+        }
+    }
+}
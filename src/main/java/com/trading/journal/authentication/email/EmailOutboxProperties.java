@@ -0,0 +1,35 @@
+package com.trading.journal.authentication.email;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@ConfigurationProperties("journal.authentication.email.outbox")
+@Configuration
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmailOutboxProperties {
+
+    private boolean enabled = true;
+
+    private Duration pollInterval = Duration.ofSeconds(5);
+
+    private int batchSize = 20;
+
+    private int maxAttempts = 8;
+
+    private Duration initialBackoff = Duration.ofSeconds(30);
+
+    private Duration maxBackoff = Duration.ofHours(1);
+
+    private Duration leaseDuration = Duration.ofMinutes(5);
+
+    private Duration retention = Duration.ofDays(7);
+
+    private Duration purgeInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,22 @@
+package com.trading.journal.authentication.email;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailOutboxRepository extends CrudRepository<EmailOutbox, Long> {
+
+    @Query(value = "SELECT * FROM EmailOutbox WHERE status = 'PENDING' AND nextAttemptAt <= :now ORDER BY nextAttemptAt LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutbox> findDispatchable(LocalDateTime now, int limit);
+
+    List<EmailOutbox> findByStatus(EmailOutboxStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e WHERE e.status IN :statuses AND e.createdAt < :before")
+    int deleteFinished(List<EmailOutboxStatus> statuses, LocalDateTime before);
+}
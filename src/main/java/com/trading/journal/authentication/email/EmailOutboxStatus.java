@@ -0,0 +1,7 @@
+package com.trading.journal.authentication.email;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENT,
+    DEAD
+}
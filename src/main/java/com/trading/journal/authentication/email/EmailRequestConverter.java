@@ -0,0 +1,32 @@
+package com.trading.journal.authentication.email;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import lombok.NoArgsConstructor;
+
+@Converter
+@NoArgsConstructor
+public class EmailRequestConverter implements AttributeConverter<EmailRequest, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Override
+    public String convertToDatabaseColumn(EmailRequest request) {
+        try {
+            return MAPPER.writeValueAsString(request);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalArgumentException("Email request can not be serialized", exception);
+        }
+    }
+
+    @Override
+    public EmailRequest convertToEntityAttribute(String value) {
+        try {
+            return MAPPER.readValue(value, EmailRequest.class);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalArgumentException("Email request can not be deserialized", exception);
+        }
+    }
+}
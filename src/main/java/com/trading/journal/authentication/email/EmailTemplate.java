@@ -0,0 +1,74 @@
+package com.trading.journal.authentication.email;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class EmailTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$[A-Z][A-Z0-9_]*");
+
+    private final List<Segment> segments;
+
+    private final int literalLength;
+
+    private EmailTemplate(List<Segment> segments) {
+        this.segments = List.copyOf(segments);
+        this.literalLength = segments.stream()
+                .filter(segment -> !segment.placeholder())
+                .mapToInt(segment -> segment.text().length())
+                .sum();
+    }
+
+    public static EmailTemplate compile(String source) {
+        List<Segment> segments = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER.matcher(source);
+        int position = 0;
+        while (matcher.find()) {
+            if (matcher.start() > position) {
+                segments.add(new Segment(source.substring(position, matcher.start()), false));
+            }
+            segments.add(new Segment(matcher.group(), true));
+            position = matcher.end();
+        }
+        if (position < source.length()) {
+            segments.add(new Segment(source.substring(position), false));
+        }
+        return new EmailTemplate(segments);
+    }
+
+    public EmailTemplate compose(String placeholder, EmailTemplate inner) {
+        List<Segment> composed = new ArrayList<>(segments.size() + inner.segments.size());
+        for (Segment segment : segments) {
+            if (segment.placeholder() && segment.text().equals(placeholder)) {
+                composed.addAll(inner.segments);
+            } else {
+                composed.add(segment);
+            }
+        }
+        return new EmailTemplate(composed);
+    }
+
+    public String render(Map<String, String> values) {
+        int length = literalLength;
+        for (Segment segment : segments) {
+            if (segment.placeholder()) {
+                length += values.getOrDefault(segment.text(), segment.text()).length();
+            }
+        }
+        StringBuilder builder = new StringBuilder(length);
+        for (Segment segment : segments) {
+            if (segment.placeholder()) {
+                builder.append(values.getOrDefault(segment.text(), segment.text()));
+            } else {
+                builder.append(segment.text());
+            }
+        }
+        return builder.toString();
+    }
+
+    private record Segment(String text, boolean placeholder) {
+    }
+}
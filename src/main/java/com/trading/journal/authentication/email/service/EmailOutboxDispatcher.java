@@ -0,0 +1,30 @@
+package com.trading.journal.authentication.email.service;
+
+import com.trading.journal.authentication.email.EmailOutboxProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "journal.authentication.email.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxService emailOutboxService;
+
+    private final EmailOutboxProperties properties;
+
+    @Scheduled(fixedDelayString = "#{@emailOutboxProperties.pollInterval.toMillis()}")
+    public void dispatch() {
+        int dispatched;
+        do {
+            dispatched = emailOutboxService.dispatchBatch();
+        } while (dispatched >= properties.getBatchSize());
+    }
+
+    @Scheduled(fixedDelayString = "#{@emailOutboxProperties.purgeInterval.toMillis()}", initialDelayString = "#{@emailOutboxProperties.purgeInterval.toMillis()}")
+    public void purge() {
+        emailOutboxService.purge();
+    }
+}
@@ -0,0 +1,7 @@
+package com.trading.journal.authentication.email.service;
+
+public interface EmailOutboxService {
+    int dispatchBatch();
+
+    int purge();
+}
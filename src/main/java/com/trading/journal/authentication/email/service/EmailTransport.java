@@ -0,0 +1,7 @@
+package com.trading.journal.authentication.email.service;
+
+import com.trading.journal.authentication.email.EmailRequest;
+
+public interface EmailTransport {
+    void deliver(EmailRequest request);
+}
@@ -9,4 +9,6 @@ public interface TemplateFormat {
     String format(String resourceName, List<EmailField> fields);
 
     String addBodyToEmail(String body);
+
+    String render(String resourceName, List<EmailField> fields);
 }
@@ -0,0 +1,89 @@
+package com.trading.journal.authentication.email.service.impl;
+
+import com.trading.journal.authentication.email.EmailOutbox;
+import com.trading.journal.authentication.email.EmailOutboxProperties;
+import com.trading.journal.authentication.email.EmailOutboxRepository;
+import com.trading.journal.authentication.email.EmailOutboxStatus;
+import com.trading.journal.authentication.email.service.EmailOutboxService;
+import com.trading.journal.authentication.email.service.EmailTransport;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Slf4j
+public class EmailOutboxServiceImpl implements EmailOutboxService {
+
+    private static final String METRIC = "email.outbox.dispatched";
+
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    private final EmailTransport emailTransport;
+
+    private final EmailOutboxProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public EmailOutboxServiceImpl(EmailOutboxRepository emailOutboxRepository, EmailTransport emailTransport, EmailOutboxProperties properties,
+                                  MeterRegistry meterRegistry, PlatformTransactionManager transactionManager) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailTransport = emailTransport;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public int dispatchBatch() {
+        List<EmailOutbox> batch = transactionTemplate.execute(status -> lease());
+        if (batch != null && !batch.isEmpty()) {
+            batch.forEach(this::dispatch);
+            transactionTemplate.executeWithoutResult(status -> emailOutboxRepository.saveAll(batch));
+        }
+        return batch == null ? 0 : batch.size();
+    }
+
+    @Override
+    public int purge() {
+        int purged = emailOutboxRepository.deleteFinished(List.of(EmailOutboxStatus.SENT, EmailOutboxStatus.DEAD),
+                LocalDateTime.now().minus(properties.getRetention()));
+        log.info("{} sent and dead emails purged from the outbox", purged);
+        return purged;
+    }
+
+    private List<EmailOutbox> lease() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> batch = emailOutboxRepository.findDispatchable(now, properties.getBatchSize());
+        batch.forEach(email -> email.lease(now.plus(properties.getLeaseDuration())));
+        emailOutboxRepository.saveAll(batch);
+        return batch;
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void dispatch(EmailOutbox email) {
+        try {
+            emailTransport.deliver(email.getRequest());
+            email.sent();
+        } catch (RuntimeException exception) {
+            log.error("Error sending email {} on attempt {}", email.getId(), email.getAttempts() + 1, exception);
+            email.failed(exception.getMessage(), LocalDateTime.now().plus(backoff(email.getAttempts() + 1)), properties.getMaxAttempts());
+        }
+        meterRegistry.counter(METRIC, "status", email.getStatus().name()).increment();
+        if (EmailOutboxStatus.DEAD.equals(email.getStatus())) {
+            log.error("Email {} moved to dead letter after {} attempts", email.getId(), email.getAttempts());
+        }
+    }
+
+    private Duration backoff(int attempt) {
+        Duration delay = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempt - 1, 20));
+        return delay.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : delay;
+    }
+}
@@ -2,9 +2,13 @@ package com.trading.journal.authentication.email.service.impl;
 
 import com.trading.journal.authentication.email.EmailConstants;
 import com.trading.journal.authentication.email.EmailField;
+import com.trading.journal.authentication.email.EmailTemplate;
 import com.trading.journal.authentication.email.service.TemplateFormat;
+import jakarta.annotation.PostConstruct;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.stereotype.Component;
 
 import java.io.BufferedReader;
@@ -12,32 +16,74 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.emptyList;
-import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static java.util.Objects.requireNonNull;
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toMap;
 
 @Component
 @Slf4j
 @NoArgsConstructor
 public class TemplateFormatImpl implements TemplateFormat {
 
+    private static final String TEMPLATES_LOCATION = "classpath*:mail/*.html";
+
+    private static final String TEMPLATES_FOLDER = "mail/";
+
+    private final Map<String, EmailTemplate> templates = new ConcurrentHashMap<>();
+
+    private final Map<String, EmailTemplate> layouts = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void preload() {
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver().getResources(TEMPLATES_LOCATION);
+            for (Resource resource : resources) {
+                String resourceName = TEMPLATES_FOLDER + resource.getFilename();
+                if (!EmailConstants.EMAIL_TEMPLATE.equals(resourceName)) {
+                    layouts.computeIfAbsent(resourceName, this::layout);
+                }
+            }
+            log.info("{} email templates compiled", templates.size());
+        } catch (IOException e) {
+            log.error("Error listing the email templates", e);
+        }
+    }
+
     @Override
     public String format(String resourceName, List<EmailField> fields) {
-        final String template = getResource(resourceName);
-        return ofNullable(fields)
-                .orElse(emptyList())
-                .stream()
-                .reduce(template, (s, e) -> s.replace(e.name(), e.value().toString()), (s1, s2) -> null);
+        return template(resourceName).render(values(fields));
     }
 
     @Override
     public String addBodyToEmail(String body) {
-        List<EmailField> fields = singletonList(new EmailField(EmailConstants.MESSAGE_BODY, body));
-        return format(EmailConstants.EMAIL_TEMPLATE, fields);
+        return template(EmailConstants.EMAIL_TEMPLATE).render(singletonMap(EmailConstants.MESSAGE_BODY, body));
+    }
+
+    @Override
+    public String render(String resourceName, List<EmailField> fields) {
+        return layouts.computeIfAbsent(resourceName, this::layout).render(values(fields));
+    }
+
+    private EmailTemplate layout(String resourceName) {
+        return template(EmailConstants.EMAIL_TEMPLATE).compose(EmailConstants.MESSAGE_BODY, template(resourceName));
+    }
+
+    private EmailTemplate template(String resourceName) {
+        return templates.computeIfAbsent(resourceName, name -> EmailTemplate.compile(getResource(name)));
+    }
+
+    private Map<String, String> values(List<EmailField> fields) {
+        return ofNullable(fields)
+                .orElse(emptyList())
+                .stream()
+                .collect(toMap(EmailField::name, field -> field.value().toString(), (first, second) -> second));
     }
 
     private String getResource(String resourceName) {
@@ -0,0 +1,30 @@
+package com.trading.journal.authentication.helper;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class PublicKeyHelper {
+
+    public static RSAPublicKey readPublicKey(Resource resource) throws IOException {
+        try (InputStream inputStream = resource.getInputStream()) {
+            String pem = new String(inputStream.readAllBytes(), US_ASCII)
+                    .replaceAll("-----(BEGIN|END) PUBLIC KEY-----", "")
+                    .replaceAll("\\s", "");
+            return (RSAPublicKey) KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(pem)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IOException("Public key " + resource.getDescription() + " is not a PEM encoded RSA key", e);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.trading.journal.authentication.jwks;
+
+public record JsonWebKey(String kty, String use, String alg, String kid, String n, String e) {
+}
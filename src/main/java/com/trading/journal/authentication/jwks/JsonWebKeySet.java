@@ -0,0 +1,6 @@
+package com.trading.journal.authentication.jwks;
+
+import java.util.List;
+
+public record JsonWebKeySet(List<JsonWebKey> keys) {
+}
@@ -0,0 +1,24 @@
+package com.trading.journal.authentication.jwks;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties("journal.authentication.jwks")
+@Configuration
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JwksProperties {
+
+    private List<Resource> additionalPublicKeys = new ArrayList<>();
+
+    private Duration maxAge = Duration.ofDays(1);
+}
@@ -0,0 +1,10 @@
+package com.trading.journal.authentication.jwks.service;
+
+public interface JwksService {
+
+    String body();
+
+    String etag();
+
+    boolean matches(String ifNoneMatch);
+}
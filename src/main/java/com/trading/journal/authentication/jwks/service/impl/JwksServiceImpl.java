@@ -0,0 +1,94 @@
+package com.trading.journal.authentication.jwks.service.impl;
+
+import com.allanweber.jwttoken.data.JwtProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trading.journal.authentication.helper.PublicKeyHelper;
+import com.trading.journal.authentication.jwks.JsonWebKey;
+import com.trading.journal.authentication.jwks.JsonWebKeySet;
+import com.trading.journal.authentication.jwks.JwksProperties;
+import com.trading.journal.authentication.jwks.service.JwksService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@Slf4j
+@Service
+public class JwksServiceImpl implements JwksService {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private final String keySet;
+
+    private final String keySetEtag;
+
+    public JwksServiceImpl(JwtProperties jwtProperties, JwksProperties properties) throws IOException {
+        List<Resource> resources = new ArrayList<>();
+        resources.add(jwtProperties.getPublicKey());
+        resources.addAll(properties.getAdditionalPublicKeys());
+        List<JsonWebKey> keys = new ArrayList<>();
+        for (Resource resource : resources) {
+            JsonWebKey key = toJsonWebKey(PublicKeyHelper.readPublicKey(resource));
+            if (keys.stream().noneMatch(added -> added.kid().equals(key.kid()))) {
+                keys.add(key);
+            }
+        }
+        this.keySet = MAPPER.writeValueAsString(new JsonWebKeySet(List.copyOf(keys)));
+        this.keySetEtag = "\"" + BASE64_URL.encodeToString(sha256(keySet)) + "\"";
+        log.info("{} public keys published as JWKS, kid {}", keys.size(), keys.stream().map(JsonWebKey::kid).toList());
+    }
+
+    @Override
+    public String body() {
+        return keySet;
+    }
+
+    @Override
+    public String etag() {
+        return keySetEtag;
+    }
+
+    @Override
+    public boolean matches(String ifNoneMatch) {
+        return ifNoneMatch != null && Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag)
+                .anyMatch(tag -> "*".equals(tag) || keySetEtag.equals(tag));
+    }
+
+    private static JsonWebKey toJsonWebKey(RSAPublicKey publicKey) {
+        String modulus = BASE64_URL.encodeToString(unsigned(publicKey.getModulus()));
+        String exponent = BASE64_URL.encodeToString(unsigned(publicKey.getPublicExponent()));
+        String thumbprint = "{\"e\":\"" + exponent + "\",\"kty\":\"RSA\",\"n\":\"" + modulus + "\"}";
+        String kid = BASE64_URL.encodeToString(sha256(thumbprint));
+        return new JsonWebKey("RSA", "sig", "RS256", kid, modulus, exponent);
+    }
+
+    private static byte[] unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        return bytes.length > 1 && bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
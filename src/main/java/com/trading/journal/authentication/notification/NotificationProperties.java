@@ -0,0 +1,21 @@
+package com.trading.journal.authentication.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@ConfigurationProperties("journal.authentication.notification")
+@Configuration
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationProperties {
+
+    private Duration pollTimeout = Duration.ofMillis(500);
+
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+}
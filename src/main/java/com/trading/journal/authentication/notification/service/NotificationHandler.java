@@ -0,0 +1,10 @@
+package com.trading.journal.authentication.notification.service;
+
+public interface NotificationHandler {
+
+    String channel();
+
+    void connected();
+
+    void notified(String payload);
+}
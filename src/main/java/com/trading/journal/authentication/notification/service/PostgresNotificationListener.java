@@ -0,0 +1,131 @@
+package com.trading.journal.authentication.notification.service;
+
+import com.trading.journal.authentication.notification.NotificationProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@SuppressWarnings("PMD.DoNotUseThreads")
+public class PostgresNotificationListener implements SmartLifecycle {
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final Map<String, NotificationHandler> handlers;
+
+    private final NotificationProperties properties;
+
+    private final DataSourceProperties dataSourceProperties;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private final AtomicBoolean listening = new AtomicBoolean(false);
+
+    private ExecutorService executor;
+
+    public PostgresNotificationListener(ObjectProvider<NotificationHandler> handlers, NotificationProperties properties,
+                                        DataSourceProperties dataSourceProperties) {
+        this.handlers = handlers.orderedStream().collect(Collectors.toMap(NotificationHandler::channel, Function.identity()));
+        this.handlers.keySet().stream()
+                .filter(channel -> !CHANNEL.matcher(channel).matches())
+                .findFirst()
+                .ifPresent(channel -> {
+                    throw new IllegalStateException("Notification channel '%s' must be a lower case identifier matching %s".formatted(channel, CHANNEL));
+                });
+        this.properties = properties;
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    @Override
+    public void start() {
+        if (!handlers.isEmpty() && running.compareAndSet(false, true)) {
+            executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("postgres-notification-"));
+            executor.execute(this::listen);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (running.compareAndSet(true, false)) {
+            listening.set(false);
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public boolean isListening() {
+        return listening.get();
+    }
+
+    private void listen() {
+        while (running.get()) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    for (String channel : handlers.keySet()) {
+                        statement.execute("LISTEN " + channel);
+                    }
+                }
+                log.info("Listening notifications on channels {}", handlers.keySet());
+                handlers.values().forEach(NotificationHandler::connected);
+                listening.set(true);
+                receive(connection.unwrap(PGConnection.class));
+            } catch (SQLException | DataAccessException e) {
+                listening.set(false);
+                if (running.get()) {
+                    log.warn("Notification listener lost its connection, reconnecting", e);
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void receive(PGConnection connection) throws SQLException {
+        while (running.get()) {
+            PGNotification[] notifications = connection.getNotifications((int) properties.getPollTimeout().toMillis());
+            if (notifications != null) {
+                for (PGNotification notification : notifications) {
+                    NotificationHandler handler = handlers.get(notification.getName());
+                    if (handler == null) {
+                        log.warn("Notification on channel {} has no handler", notification.getName());
+                    } else {
+                        handler.notified(notification.getParameter());
+                    }
+                }
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(properties.getReconnectDelay().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running.set(false);
+        }
+    }
+}
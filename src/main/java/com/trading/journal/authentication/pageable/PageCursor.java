@@ -0,0 +1,65 @@
+package com.trading.journal.authentication.pageable;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.trading.journal.authentication.ApplicationException;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+
+public record PageCursor(List<Object> values) {
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private static final String INVALID = "Cursor is invalid";
+
+    public static String encode(Object row, Sort sort) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(row);
+        List<Object> values = sort.stream()
+                .map(order -> wrapper.getPropertyValue(order.getProperty()))
+                .toList();
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(values));
+        } catch (IOException e) {
+            throw (ApplicationException) new ApplicationException(HttpStatus.INTERNAL_SERVER_ERROR, "Cursor could not be created").initCause(e);
+        }
+    }
+
+    public static PageCursor decode(String cursor, Sort sort) {
+        try {
+            List<Object> values = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), new TypeReference<>() {
+            });
+            if (values.size() != sort.toList().size()) {
+                throw new ApplicationException(HttpStatus.BAD_REQUEST, INVALID);
+            }
+            return new PageCursor(values);
+        } catch (IOException | IllegalArgumentException e) {
+            throw invalid(e);
+        }
+    }
+
+    public <V> V value(int index, Class<V> type) {
+        if (values.get(index) == null) {
+            throw new ApplicationException(HttpStatus.BAD_REQUEST, INVALID);
+        }
+        try {
+            return MAPPER.convertValue(values.get(index), type);
+        } catch (IllegalArgumentException e) {
+            throw invalid(e);
+        }
+    }
+
+    private static ApplicationException invalid(Exception cause) {
+        return (ApplicationException) new ApplicationException(HttpStatus.BAD_REQUEST, INVALID).initCause(cause);
+    }
+}
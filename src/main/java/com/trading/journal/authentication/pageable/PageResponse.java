@@ -1,9 +1,26 @@
 package com.trading.journal.authentication.pageable;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
 import java.util.List;
+import java.util.function.Function;
 
-@JsonPropertyOrder({"totalItems", "totalPages", "currentPage", "items"})
-public record PageResponse<T>(long totalItems, int totalPages, int currentPage, List<T> items) {
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"totalItems", "totalPages", "currentPage", "items", "nextCursor"})
+public record PageResponse<T>(Long totalItems, Integer totalPages, Integer currentPage, List<T> items, String nextCursor) {
+
+    public PageResponse(long totalItems, int totalPages, int currentPage, List<T> items) {
+        this(totalItems, totalPages, currentPage, items, null);
+    }
+
+    public static <E, T> PageResponse<T> keyset(List<E> rows, PageableRequest pageRequest, Function<List<E>, List<T>> mapper) {
+        List<E> page = rows;
+        String nextCursor = null;
+        if (rows.size() > pageRequest.getSize()) {
+            page = rows.subList(0, pageRequest.getSize());
+            nextCursor = PageCursor.encode(page.get(page.size() - 1), pageRequest.keysetSort());
+        }
+        return new PageResponse<>(null, null, null, mapper.apply(page), nextCursor);
+    }
 }
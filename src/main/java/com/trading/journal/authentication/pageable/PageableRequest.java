@@ -1,6 +1,7 @@
 package com.trading.journal.authentication.pageable;
 
 import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.pageable.specifications.FilterKeyset;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -8,6 +9,7 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
@@ -19,8 +21,12 @@ import java.util.List;
 public class PageableRequest {
 
     private static final String COMMA = ",";
+
+    private static final String ID = "id";
+
     private int page;
 
+    @Getter
     private int size;
 
     private String[] sort;
@@ -28,6 +34,8 @@ public class PageableRequest {
     @Getter
     private String filter;
 
+    private String cursor;
+
     public Pageable pageable() {
         Sort sortable = loadSort();
         return PageRequest.of(page, size, sortable);
@@ -37,8 +45,30 @@ public class PageableRequest {
         return StringUtils.hasText(filter);
     }
 
+    public boolean isKeyset() {
+        return cursor != null;
+    }
+
+    public int keysetLimit() {
+        return size + 1;
+    }
+
+    public Sort keysetSort() {
+        Sort sortable = loadSort();
+        if (sortable.getOrderFor(ID) == null) {
+            sortable = sortable.and(Sort.by(ID).ascending());
+        }
+        return sortable;
+    }
+
+    public <T> Specification<T> keyset() {
+        Sort sortable = keysetSort();
+        PageCursor pageCursor = StringUtils.hasText(cursor) ? PageCursor.decode(cursor, sortable) : null;
+        return new FilterKeyset<T>(sortable, pageCursor).apply();
+    }
+
     private Sort loadSort() {
-        Sort sortable = Sort.by("id").ascending();
+        Sort sortable = Sort.by(ID).ascending();
         if (sort != null && sort.length > 0) {
             if (sort.length % 2 != 0) {
                 throw new ApplicationException("Sort is invalid. It must be a pair of column and direction");
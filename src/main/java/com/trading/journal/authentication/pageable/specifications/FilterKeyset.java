@@ -0,0 +1,62 @@
+package com.trading.journal.authentication.pageable.specifications;
+
+import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.pageable.PageCursor;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Attribute;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class FilterKeyset<T> {
+
+    private final Sort sort;
+
+    private final PageCursor cursor;
+
+    public Specification<T> apply() {
+        return (root, query, criteriaBuilder) -> {
+            List<Sort.Order> orders = sort.toList();
+            List<Path<?>> paths = orders.stream().<Path<?>>map(order -> path(root, order.getProperty())).toList();
+            Predicate predicate = null;
+            if (cursor != null) {
+                List<Predicate> alternatives = new ArrayList<>();
+                for (int index = 0; index < orders.size(); index++) {
+                    List<Predicate> conditions = new ArrayList<>();
+                    for (int previous = 0; previous < index; previous++) {
+                        Path<?> path = paths.get(previous);
+                        conditions.add(criteriaBuilder.equal(path, cursor.value(previous, path.getJavaType())));
+                    }
+                    conditions.add(after(criteriaBuilder, paths.get(index), orders.get(index), index));
+                    alternatives.add(criteriaBuilder.and(conditions.toArray(new Predicate[0])));
+                }
+                predicate = criteriaBuilder.or(alternatives.toArray(new Predicate[0]));
+            }
+            return predicate;
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate after(CriteriaBuilder criteriaBuilder, Path path, Sort.Order order, int index) {
+        Comparable value = (Comparable) cursor.value(index, path.getJavaType());
+        return order.isAscending() ? criteriaBuilder.greaterThan(path, value) : criteriaBuilder.lessThan(path, value);
+    }
+
+    private static Path<?> path(Root<?> root, String property) {
+        boolean basic = root.getModel().getSingularAttributes().stream()
+                .anyMatch(attribute -> attribute.getName().equals(property)
+                        && attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC);
+        if (!basic) {
+            throw new ApplicationException(HttpStatus.BAD_REQUEST, "Cursor pagination cannot sort by %s".formatted(property));
+        }
+        return root.get(property);
+    }
+}
@@ -8,10 +8,31 @@ import java.util.Locale;
 @RequiredArgsConstructor
 public class FilterLike<T> {
 
+    private static final char ESCAPE_CHARACTER = '\\';
+
     private final String value;
 
     public Specification<T> apply(String column) {
         return (root, query, criteriaBuilder)
-                -> criteriaBuilder.like(root.get(column), "%" + value.toLowerCase(Locale.getDefault()) + "%");
+                -> criteriaBuilder.like(criteriaBuilder.lower(root.get(column)), "%" + escape(value.toLowerCase(Locale.ROOT)) + "%", ESCAPE_CHARACTER);
+    }
+
+    public Specification<T> anyOf(String... columns) {
+        Specification<T> specification = Specification.where(null);
+        for (String column : columns) {
+            specification = specification.or(apply(column));
+        }
+        return specification;
+    }
+
+    private static String escape(String term) {
+        StringBuilder escaped = new StringBuilder(term.length());
+        for (char character : term.toCharArray()) {
+            if (character == ESCAPE_CHARACTER || character == '%' || character == '_') {
+                escaped.append(ESCAPE_CHARACTER);
+            }
+            escaped.append(character);
+        }
+        return escaped.toString();
     }
 }
@@ -0,0 +1,86 @@
+package com.trading.journal.authentication.password.encoder;
+
+import com.trading.journal.authentication.password.properties.PasswordEncoderProperties;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Slf4j
+public class AdaptivePasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2[abxy]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    @Getter
+    private final int strength;
+
+    @Getter
+    private final int minStrength;
+
+    private final BCryptPasswordEncoder encoder;
+
+    public AdaptivePasswordEncoder(int strength) {
+        this(strength, strength);
+    }
+
+    public AdaptivePasswordEncoder(int strength, int minStrength) {
+        this.strength = strength;
+        this.minStrength = minStrength;
+        this.encoder = new BCryptPasswordEncoder(strength);
+    }
+
+    public static AdaptivePasswordEncoder calibrated(PasswordEncoderProperties properties) {
+        int strength = Optional.ofNullable(properties.getStrength())
+                .orElseGet(() -> calibrate(properties.getTargetLatency(), properties.getMinStrength(), properties.getMaxStrength()));
+        int minStrength = Math.min(strength, properties.getMinStrength());
+        log.info("Password encoder using BCrypt strength {}, rehashing passwords below strength {}", strength, minStrength);
+        return new AdaptivePasswordEncoder(strength, minStrength);
+    }
+
+    public static int calibrate(Duration targetLatency, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode("calibration");
+        long fastest = Long.MAX_VALUE;
+        for (int round = 0; round < CALIBRATION_ROUNDS; round++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        int strength = minStrength;
+        long estimated = fastest;
+        while (strength < maxStrength && estimated * 2 <= targetLatency.toNanos()) {
+            strength++;
+            estimated *= 2;
+        }
+        log.info("BCrypt strength {} takes {}ms, calibrated strength {} for target {}ms",
+                minStrength, Duration.ofNanos(fastest).toMillis(), strength, targetLatency.toMillis());
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encoder.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return encoder.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return Optional.ofNullable(encodedPassword)
+                .map(BCRYPT_PATTERN::matcher)
+                .filter(Matcher::matches)
+                .map(matcher -> Integer.parseInt(matcher.group(1)))
+                .map(cost -> cost < minStrength)
+                .orElse(false);
+    }
+}
@@ -0,0 +1,25 @@
+package com.trading.journal.authentication.password.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@ConfigurationProperties("journal.authentication.password.encoder")
+@Configuration
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PasswordEncoderProperties {
+
+    private Integer strength;
+
+    private Duration targetLatency = Duration.ofMillis(250);
+
+    private int minStrength = 10;
+
+    private int maxStrength = 14;
+}
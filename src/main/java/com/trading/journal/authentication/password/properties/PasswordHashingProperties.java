@@ -0,0 +1,33 @@
+package com.trading.journal.authentication.password.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@ConfigurationProperties("journal.authentication.password.hashing")
+@Configuration
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PasswordHashingProperties {
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    private Integer queueCapacity;
+
+    private Duration maxQueueTime = Duration.ofSeconds(2);
+
+    private Duration expectedHashTime = Duration.ofMillis(250);
+
+    private Duration retryAfter = Duration.ofSeconds(5);
+
+    public int queueCapacity() {
+        return Optional.ofNullable(queueCapacity)
+                .orElseGet(() -> Math.max(1, (int) (threads * maxQueueTime.toMillis() / Math.max(1, expectedHashTime.toMillis()))));
+    }
+}
@@ -0,0 +1,7 @@
+package com.trading.journal.authentication.password.service;
+
+import java.util.function.Supplier;
+
+public interface PasswordHashingExecutor {
+    <T> T execute(Supplier<T> hashing);
+}
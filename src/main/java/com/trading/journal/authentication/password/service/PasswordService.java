@@ -6,4 +6,6 @@ public interface PasswordService {
     String randomPassword();
 
     Boolean matches(String rawPassword, String encodedPassword);
+
+    Boolean upgradeEncoding(String encodedPassword);
 }
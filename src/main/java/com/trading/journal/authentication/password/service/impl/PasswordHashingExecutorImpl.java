@@ -0,0 +1,115 @@
+package com.trading.journal.authentication.password.service.impl;
+
+import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.password.properties.PasswordHashingProperties;
+import com.trading.journal.authentication.password.service.PasswordHashingExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+@Service
+@SuppressWarnings("PMD.DoNotUseThreads")
+public class PasswordHashingExecutorImpl implements PasswordHashingExecutor, DisposableBean {
+
+    private static final String BUSY_MESSAGE = "Server is busy, try again later";
+
+    private final ThreadPoolExecutor executor;
+
+    private final Duration maxQueueTime;
+
+    private final Duration timeout;
+
+    private final Duration retryAfter;
+
+    private final Timer queueWait;
+
+    private final Counter rejected;
+
+    public PasswordHashingExecutorImpl(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()), new CustomizableThreadFactory("password-hashing-"));
+        this.maxQueueTime = properties.getMaxQueueTime();
+        this.timeout = properties.getMaxQueueTime().plus(properties.getExpectedHashTime());
+        this.retryAfter = properties.getRetryAfter();
+        this.queueWait = Timer.builder("password.hashing.queue.wait")
+                .description("Time password hashing tasks wait before running")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .description("Password hashing tasks rejected by admission control")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.queue.size", executor, pool -> pool.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks running")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public <T> T execute(Supplier<T> hashing) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                Duration waited = Duration.ofNanos(System.nanoTime() - queuedAt);
+                queueWait.record(waited);
+                if (waited.compareTo(maxQueueTime) > 0) {
+                    throw busy();
+                }
+                return hashing.get();
+            });
+        } catch (RejectedExecutionException exception) {
+            throw busy();
+        }
+        return await(future);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException exception) {
+            future.cancel(true);
+            if (future instanceof Runnable task) {
+                executor.remove(task);
+            }
+            throw busy();
+        } catch (InterruptedException exception) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private ApplicationException busy() {
+        rejected.increment();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter.toSeconds()));
+        return new ApplicationException(HttpStatus.SERVICE_UNAVAILABLE, BUSY_MESSAGE, headers);
+    }
+}
@@ -6,6 +6,7 @@ import com.trading.journal.authentication.email.EmailRequest;
 import com.trading.journal.authentication.email.service.EmailSender;
 import com.trading.journal.authentication.password.ChangePassword;
 import com.trading.journal.authentication.password.service.PasswordManagementService;
+import com.trading.journal.authentication.password.service.PasswordService;
 import com.trading.journal.authentication.user.User;
 import com.trading.journal.authentication.user.service.UserService;
 import com.trading.journal.authentication.verification.Verification;
@@ -14,6 +15,8 @@ import com.trading.journal.authentication.verification.service.VerificationServi
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 import static java.util.Collections.singletonList;
 
@@ -29,7 +32,12 @@ public class PasswordManagementServiceImpl implements PasswordManagementService
 
     private final EmailSender emailSender;
 
+    private final PasswordService passwordService;
+
+    private final TransactionOperations transactionOperations;
+
     @Override
+    @Transactional
     public void requestPasswordChange(String email) {
         User user = userService.getUserByEmail(email)
                 .orElseThrow(() -> new ApplicationException(HttpStatus.BAD_REQUEST, "User not found"));
@@ -41,11 +49,14 @@ public class PasswordManagementServiceImpl implements PasswordManagementService
     public void changePassword(ChangePassword changePassword) {
         Verification verification = verificationService.retrieve(changePassword.hash());
         if (validateVerification(changePassword, verification)) {
-            User applicationUser = userService.changePassword(changePassword.email(), changePassword.getPassword());
-            EmailRequest emailRequest = passwordChangeConfirmation(applicationUser);
-            userService.verifyUser(applicationUser.getEmail());
-            emailSender.send(emailRequest);
-            verificationService.verify(verification);
+            String encodedPassword = passwordService.encodePassword(changePassword.getPassword());
+            transactionOperations.executeWithoutResult(status -> {
+                User applicationUser = userService.changePassword(changePassword.email(), encodedPassword);
+                EmailRequest emailRequest = passwordChangeConfirmation(applicationUser);
+                userService.verifyUser(applicationUser.getEmail());
+                emailSender.send(emailRequest);
+                verificationService.verify(verification);
+            });
         } else {
             throw new ApplicationException(HttpStatus.BAD_REQUEST, "Change password request is invalid");
         }
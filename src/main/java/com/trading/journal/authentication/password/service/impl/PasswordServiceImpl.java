@@ -1,5 +1,6 @@
 package com.trading.journal.authentication.password.service.impl;
 
+import com.trading.journal.authentication.password.service.PasswordHashingExecutor;
 import com.trading.journal.authentication.password.service.PasswordService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -12,18 +13,25 @@ import java.util.UUID;
 public class PasswordServiceImpl implements PasswordService {
     private final PasswordEncoder encoder;
 
+    private final PasswordHashingExecutor hashingExecutor;
+
     @Override
     public String encodePassword(String rawPassword) {
-        return encoder.encode(rawPassword);
+        return hashingExecutor.execute(() -> encoder.encode(rawPassword));
     }
 
     @Override
     public String randomPassword() {
-        return encoder.encode(UUID.randomUUID().toString()) ;
+        return encodePassword(UUID.randomUUID().toString());
     }
 
     @Override
     public Boolean matches(String rawPassword, String encodedPassword) {
-        return encoder.matches(rawPassword, encodedPassword);
+        return hashingExecutor.execute(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public Boolean upgradeEncoding(String encodedPassword) {
+        return encoder.upgradeEncoding(encodedPassword);
     }
 }
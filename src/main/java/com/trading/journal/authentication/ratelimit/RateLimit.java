@@ -0,0 +1,8 @@
+package com.trading.journal.authentication.ratelimit;
+
+public enum RateLimit {
+    SIGN_IN,
+    SIGN_UP,
+    PASSWORD_CHANGE_REQUEST,
+    VERIFICATION_SEND
+}
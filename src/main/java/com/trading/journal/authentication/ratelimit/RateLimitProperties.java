@@ -0,0 +1,50 @@
+package com.trading.journal.authentication.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@ConfigurationProperties("journal.authentication.rate-limit")
+@Configuration
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private Duration leaseDuration = Duration.ofSeconds(5);
+
+    private Bucket signIn = new Bucket(2000, 50, 100);
+
+    private Bucket signUp = new Bucket(200, 2, 10);
+
+    private Bucket passwordChangeRequest = new Bucket(200, 2, 10);
+
+    private Bucket verificationSend = new Bucket(200, 2, 10);
+
+    public Bucket bucket(RateLimit rateLimit) {
+        return switch (rateLimit) {
+            case SIGN_IN -> signIn;
+            case SIGN_UP -> signUp;
+            case PASSWORD_CHANGE_REQUEST -> passwordChangeRequest;
+            case VERIFICATION_SEND -> verificationSend;
+        };
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Bucket {
+
+        private int capacity;
+
+        private double refillPerSecond;
+
+        private int lease;
+    }
+}
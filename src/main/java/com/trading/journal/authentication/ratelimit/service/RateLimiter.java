@@ -0,0 +1,8 @@
+package com.trading.journal.authentication.ratelimit.service;
+
+import com.trading.journal.authentication.ratelimit.RateLimit;
+
+public interface RateLimiter {
+
+    void acquire(RateLimit rateLimit);
+}
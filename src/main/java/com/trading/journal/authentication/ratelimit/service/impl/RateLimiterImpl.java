@@ -0,0 +1,201 @@
+package com.trading.journal.authentication.ratelimit.service.impl;
+
+import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.ratelimit.RateLimit;
+import com.trading.journal.authentication.ratelimit.RateLimitProperties;
+import com.trading.journal.authentication.ratelimit.service.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+@Service
+public class RateLimiterImpl implements RateLimiter {
+
+    private static final String LIMITED_MESSAGE = "Too many requests, try again later";
+
+    private static final String DEFINE_BUCKET = """
+            INSERT INTO RateLimitBuckets (name, tokens, capacity, refillPerSecond, updatedAt)
+            VALUES (?, ?, ?, ?, clock_timestamp())
+            ON CONFLICT (name) DO UPDATE SET capacity = EXCLUDED.capacity, refillPerSecond = EXCLUDED.refillPerSecond
+            """;
+
+    private static final String LEASE_TOKENS = """
+            WITH bucket AS (
+                SELECT name, clock_timestamp() AS leasedAt,
+                    LEAST(capacity, tokens + ? + GREATEST(0, EXTRACT(EPOCH FROM clock_timestamp() - updatedAt)) * refillPerSecond) AS available
+                FROM RateLimitBuckets
+                WHERE name = ?
+                FOR UPDATE
+            ), granted AS (
+                SELECT name, leasedAt, available, CAST(FLOOR(LEAST(available, ?)) AS BIGINT) AS tokens
+                FROM bucket
+            )
+            UPDATE RateLimitBuckets
+            SET tokens = granted.available - granted.tokens, updatedAt = granted.leasedAt
+            FROM granted
+            WHERE RateLimitBuckets.name = granted.name
+            RETURNING granted.tokens
+            """;
+
+    private static final String RETURN_TOKENS = "UPDATE RateLimitBuckets SET tokens = LEAST(capacity, tokens + ?) WHERE name = ?";
+
+    private final RateLimitProperties properties;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final LongSupplier nanoClock;
+
+    private final Map<RateLimit, Lease> leases = new ConcurrentHashMap<>();
+
+    private final Map<RateLimit, Counter> leased = new ConcurrentHashMap<>();
+
+    private final Map<RateLimit, Counter> rejected = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RateLimiterImpl(RateLimitProperties properties, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this(properties, jdbcTemplate, meterRegistry, System::nanoTime);
+    }
+
+    public RateLimiterImpl(RateLimitProperties properties, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.nanoClock = nanoClock;
+        long now = nanoClock.getAsLong();
+        for (RateLimit rateLimit : RateLimit.values()) {
+            String tag = rateLimit.name().toLowerCase(Locale.ROOT);
+            leases.put(rateLimit, new Lease(now));
+            leased.put(rateLimit, Counter.builder("rate.limit.leased")
+                    .description("Tokens leased from the shared rate limit bucket")
+                    .tag("limit", tag)
+                    .register(meterRegistry));
+            rejected.put(rateLimit, Counter.builder("rate.limit.rejected")
+                    .description("Requests rejected because the shared rate limit bucket is empty")
+                    .tag("limit", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public void acquire(RateLimit rateLimit) {
+        Lease lease = leases.get(rateLimit);
+        long now = nanoClock.getAsLong();
+        if (properties.isEnabled() && !lease.take(now)) {
+            if (lease.isEmpty(now)) {
+                throw limited(rateLimit);
+            }
+            renew(rateLimit, lease);
+        }
+    }
+
+    private void renew(RateLimit rateLimit, Lease lease) {
+        lease.lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            if (!lease.take(now)) {
+                if (lease.isEmpty(now)) {
+                    throw limited(rateLimit);
+                }
+                long granted = reserve(rateLimit, lease, lease.drain());
+                if (granted == 0) {
+                    lease.emptyUntil.set(now + backoff(rateLimit).toNanos());
+                    throw limited(rateLimit);
+                }
+                leased.get(rateLimit).increment(granted);
+                lease.grant(granted - 1, now + properties.getLeaseDuration().toNanos());
+            }
+        } finally {
+            lease.lock.unlock();
+        }
+    }
+
+    private long reserve(RateLimit rateLimit, Lease lease, long unused) {
+        if (lease.defined.compareAndSet(false, true)) {
+            define(rateLimit);
+        }
+        List<Long> granted = jdbcTemplate.queryForList(LEASE_TOKENS, Long.class, unused, rateLimit.name(), properties.bucket(rateLimit).getLease());
+        if (granted.isEmpty()) {
+            define(rateLimit);
+            granted = jdbcTemplate.queryForList(LEASE_TOKENS, Long.class, unused, rateLimit.name(), properties.bucket(rateLimit).getLease());
+        }
+        return granted.isEmpty() ? 0 : granted.get(0);
+    }
+
+    @PreDestroy
+    public void release() {
+        leases.forEach((rateLimit, lease) -> {
+            long unused = lease.drain();
+            if (unused > 0) {
+                jdbcTemplate.update(RETURN_TOKENS, unused, rateLimit.name());
+            }
+        });
+    }
+
+    private void define(RateLimit rateLimit) {
+        RateLimitProperties.Bucket bucket = properties.bucket(rateLimit);
+        jdbcTemplate.update(DEFINE_BUCKET, rateLimit.name(), bucket.getCapacity(), bucket.getCapacity(), bucket.getRefillPerSecond());
+    }
+
+    private Duration backoff(RateLimit rateLimit) {
+        RateLimitProperties.Bucket bucket = properties.bucket(rateLimit);
+        long refillMillis = (long) Math.ceil(bucket.getLease() * 1000 / Math.max(bucket.getRefillPerSecond(), 0.001));
+        Duration refill = Duration.ofMillis(refillMillis);
+        return refill.compareTo(properties.getLeaseDuration()) < 0 ? refill : properties.getLeaseDuration();
+    }
+
+    private ApplicationException limited(RateLimit rateLimit) {
+        rejected.get(rateLimit).increment();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (backoff(rateLimit).toMillis() + 999) / 1000)));
+        return new ApplicationException(HttpStatus.TOO_MANY_REQUESTS, LIMITED_MESSAGE, headers);
+    }
+
+    private static final class Lease {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final AtomicBoolean defined = new AtomicBoolean(false);
+
+        private final AtomicLong tokens = new AtomicLong();
+
+        private final AtomicLong expiresAt;
+
+        private final AtomicLong emptyUntil;
+
+        private Lease(long now) {
+            this.expiresAt = new AtomicLong(now);
+            this.emptyUntil = new AtomicLong(now);
+        }
+
+        private boolean take(long now) {
+            return now - expiresAt.get() < 0 && tokens.getAndUpdate(available -> available > 0 ? available - 1 : 0) > 0;
+        }
+
+        private boolean isEmpty(long now) {
+            return now - emptyUntil.get() < 0;
+        }
+
+        private long drain() {
+            return tokens.getAndSet(0);
+        }
+
+        private void grant(long granted, long expiry) {
+            tokens.set(granted);
+            expiresAt.set(expiry);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.trading.journal.authentication.refreshtoken;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@ConfigurationProperties("journal.authentication.refresh-token")
+@Configuration
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshTokenProperties {
+
+    private int expectedRevocations = 100_000;
+
+    private double falsePositiveRate = 0.01;
+
+    private Duration purgeInterval = Duration.ofHours(1);
+
+    private Sync sync = new Sync();
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Sync {
+
+        private boolean enabled = true;
+
+        private String channel = "refresh_token_revocation";
+    }
+}
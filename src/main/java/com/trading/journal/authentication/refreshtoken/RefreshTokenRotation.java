@@ -0,0 +1,7 @@
+package com.trading.journal.authentication.refreshtoken;
+
+import com.allanweber.jwttoken.data.TokenData;
+import com.trading.journal.authentication.authentication.AuthenticatedUser;
+
+public record RefreshTokenRotation(AuthenticatedUser user, TokenData refreshToken) {
+}
@@ -0,0 +1,128 @@
+package com.trading.journal.authentication.refreshtoken;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+public final class RevocationIndex {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int expectedRevocations;
+
+    private final double falsePositiveRate;
+
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+
+    private final AtomicReference<BloomFilter> filter;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public RevocationIndex(int expectedRevocations, double falsePositiveRate) {
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new AtomicReference<>(new BloomFilter(expectedRevocations, falsePositiveRate));
+    }
+
+    public boolean isRevoked(String family) {
+        return filter.get().mightContain(hash(family)) && revoked.containsKey(family);
+    }
+
+    public void revoke(String family, LocalDateTime expiresAt) {
+        lock.lock();
+        try {
+            revoked.put(family, expiresAt);
+            filter.get().put(hash(family));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void revokeAll(Map<String, LocalDateTime> revocations) {
+        lock.lock();
+        try {
+            revocations.forEach((family, expiresAt) -> {
+                revoked.put(family, expiresAt);
+                filter.get().put(hash(family));
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void purge(LocalDateTime now) {
+        lock.lock();
+        try {
+            revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2), falsePositiveRate);
+            revoked.keySet().forEach(family -> rebuilt.put(hash(family)));
+            filter.set(rebuilt);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    private static long hash(String key) {
+        long hash = FNV_OFFSET;
+        for (int index = 0; index < key.length(); index++) {
+            hash ^= key.charAt(index);
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+
+        private final long size;
+
+        private final int hashes;
+
+        private BloomFilter(int expectedInsertions, double falsePositiveRate) {
+            double ln2 = Math.log(2);
+            long optimal = (long) Math.ceil(-Math.max(expectedInsertions, 1) * Math.log(falsePositiveRate) / (ln2 * ln2));
+            this.bits = new AtomicLongArray((int) Math.max(1, (optimal + 63) / 64));
+            this.size = bits.length() * 64L;
+            this.hashes = Math.max(1, (int) Math.round((double) size / Math.max(expectedInsertions, 1) * ln2));
+        }
+
+        private void put(long hash) {
+            for (int index = 0; index < hashes; index++) {
+                long bit = bit(hash, index);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                bits.getAndUpdate(word, value -> value | mask);
+            }
+        }
+
+        private boolean mightContain(long hash) {
+            boolean contains = true;
+            for (int index = 0; contains && index < hashes; index++) {
+                long bit = bit(hash, index);
+                contains = (bits.get((int) (bit >>> 6)) & (1L << bit)) != 0;
+            }
+            return contains;
+        }
+
+        private long bit(long hash, int index) {
+            int first = (int) hash;
+            int second = (int) (hash >>> 32);
+            return ((first + (long) index * second) & Long.MAX_VALUE) % size;
+        }
+    }
+}
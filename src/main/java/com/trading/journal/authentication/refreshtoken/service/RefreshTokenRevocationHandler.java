@@ -0,0 +1,32 @@
+package com.trading.journal.authentication.refreshtoken.service;
+
+import com.trading.journal.authentication.notification.service.NotificationHandler;
+import com.trading.journal.authentication.refreshtoken.RefreshTokenProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "journal.authentication.refresh-token.sync", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RefreshTokenRevocationHandler implements NotificationHandler {
+
+    private final RefreshTokenService refreshTokenService;
+
+    private final RefreshTokenProperties properties;
+
+    @Override
+    public String channel() {
+        return properties.getSync().getChannel();
+    }
+
+    @Override
+    public void connected() {
+        refreshTokenService.reload();
+    }
+
+    @Override
+    public void notified(String payload) {
+        refreshTokenService.apply(payload);
+    }
+}
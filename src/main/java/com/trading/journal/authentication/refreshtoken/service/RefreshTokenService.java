@@ -0,0 +1,18 @@
+package com.trading.journal.authentication.refreshtoken.service;
+
+import com.allanweber.jwttoken.data.TokenData;
+import com.trading.journal.authentication.authentication.AuthenticatedUser;
+import com.trading.journal.authentication.refreshtoken.RefreshTokenRotation;
+
+public interface RefreshTokenService {
+
+    TokenData issue(AuthenticatedUser user);
+
+    RefreshTokenRotation rotate(String refreshToken);
+
+    void revokeUser(String email);
+
+    void apply(String payload);
+
+    void reload();
+}
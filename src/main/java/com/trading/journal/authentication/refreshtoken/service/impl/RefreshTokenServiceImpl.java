@@ -0,0 +1,307 @@
+package com.trading.journal.authentication.refreshtoken.service.impl;
+
+import com.allanweber.jwttoken.data.JwtProperties;
+import com.allanweber.jwttoken.data.TokenData;
+import com.allanweber.jwttoken.helper.JwtConstants;
+import com.allanweber.jwttoken.service.PrivateKeyProvider;
+import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.authentication.AuthenticatedUser;
+import com.trading.journal.authentication.authentication.service.AuthenticatedUserService;
+import com.trading.journal.authentication.helper.PublicKeyHelper;
+import com.trading.journal.authentication.refreshtoken.RefreshTokenProperties;
+import com.trading.journal.authentication.refreshtoken.RefreshTokenRotation;
+import com.trading.journal.authentication.refreshtoken.RevocationIndex;
+import com.trading.journal.authentication.refreshtoken.service.RefreshTokenService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Collections.singletonList;
+
+@Slf4j
+@Service
+@SuppressWarnings({"PMD.ExcessiveImports", "PMD.TooManyMethods"})
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final String FAMILY = "family";
+
+    private static final String USER_ID = "userId";
+
+    private static final String SECURITY_VERSION = "securityVersion";
+
+    private static final String EXPIRED = "Refresh token is expired";
+
+    private static final String INVALID = "Refresh token is invalid or is not a refresh token";
+
+    private static final String REVOKED = "Refresh token was revoked";
+
+    private static final String ENTRY_SEPARATOR = ";";
+
+    private static final String VALUE_SEPARATOR = "=";
+
+    private static final int ENTRIES_PER_NOTIFICATION = 100;
+
+    private static final String INSERT = "INSERT INTO RefreshTokens (jti, family, email, expiresAt) VALUES (?, ?, ?, ?)";
+
+    private static final String USE = """
+            WITH used AS (UPDATE RefreshTokens SET used = TRUE WHERE jti = ? AND NOT used RETURNING family, email)
+            INSERT INTO RefreshTokens (jti, family, email, expiresAt) SELECT ?, family, email, ? FROM used
+            """;
+
+    private static final String USE_LEGACY = "INSERT INTO RefreshTokens (jti, family, email, expiresAt, used) VALUES (?, ?, ?, ?, TRUE) ON CONFLICT (jti) DO NOTHING";
+
+    private static final String LEGACY_USER = "SELECT id FROM Users WHERE email = ? AND enabled AND securityVersion = 0";
+
+    private static final Long LEGACY_SECURITY_VERSION = 0L;
+
+    private static final String DELETE_FAMILY = "DELETE FROM RefreshTokens WHERE family = ?";
+
+    private static final String REVOKE_FAMILY = "INSERT INTO RevokedRefreshTokenFamilies (family, expiresAt) VALUES (?, ?) ON CONFLICT (family) DO NOTHING";
+
+    private static final String REVOKE_USER = """
+            WITH revoked AS (DELETE FROM RefreshTokens WHERE email = ? RETURNING family, expiresAt)
+            INSERT INTO RevokedRefreshTokenFamilies (family, expiresAt) SELECT family, max(expiresAt) FROM revoked GROUP BY family
+            ON CONFLICT (family) DO UPDATE SET expiresAt = GREATEST(RevokedRefreshTokenFamilies.expiresAt, EXCLUDED.expiresAt)
+            RETURNING family, expiresAt
+            """;
+
+    private static final String REVOKED_FAMILIES = "SELECT family, expiresAt FROM RevokedRefreshTokenFamilies WHERE expiresAt > ?";
+
+    private static final String PURGE_EXPIRED = "DELETE FROM RefreshTokens WHERE expiresAt < ?";
+
+    private static final String PURGE_REVOKED = "DELETE FROM RevokedRefreshTokenFamilies WHERE expiresAt < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final JwtProperties jwtProperties;
+
+    private final RefreshTokenProperties properties;
+
+    private final AuthenticatedUserService authenticatedUserService;
+
+    private final Key privateKey;
+
+    private final JwtParser parser;
+
+    private final RevocationIndex index;
+
+    public RefreshTokenServiceImpl(JdbcTemplate jdbcTemplate, JwtProperties jwtProperties, PrivateKeyProvider privateKeyProvider,
+                                   RefreshTokenProperties properties, AuthenticatedUserService authenticatedUserService) throws IOException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jwtProperties = jwtProperties;
+        this.properties = properties;
+        this.authenticatedUserService = authenticatedUserService;
+        this.privateKey = privateKeyProvider.provide(jwtProperties.getPrivateKey());
+        this.parser = Jwts.parserBuilder().setSigningKey(PublicKeyHelper.readPublicKey(jwtProperties.getPublicKey())).build();
+        this.index = new RevocationIndex(properties.getExpectedRevocations(), properties.getFalsePositiveRate());
+    }
+
+    @Override
+    public TokenData issue(AuthenticatedUser user) {
+        String jti = UUID.randomUUID().toString();
+        String family = UUID.randomUUID().toString();
+        LocalDateTime issuedAt = LocalDateTime.now();
+        LocalDateTime expiresAt = issuedAt.plusSeconds(jwtProperties.getRefreshTokenExpiration());
+        jdbcTemplate.update(INSERT, jti, family, user.email(), expiresAt);
+        return sign(user, jti, family, issuedAt, expiresAt);
+    }
+
+    @Override
+    @Transactional(noRollbackFor = ApplicationException.class)
+    public RefreshTokenRotation rotate(String refreshToken) {
+        Claims claims = claims(refreshToken);
+        return isLegacy(claims) ? rotateLegacy(refreshToken, claims) : rotate(claims);
+    }
+
+    @Override
+    public void revokeUser(String email) {
+        Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+        jdbcTemplate.query(REVOKE_USER, resultSet -> {
+            revoked.put(resultSet.getString(1), resultSet.getTimestamp(2).toLocalDateTime());
+        }, email);
+        publish(revoked);
+    }
+
+    @Override
+    public void apply(String payload) {
+        Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+        for (String entry : payload.split(ENTRY_SEPARATOR)) {
+            int separator = entry.indexOf(VALUE_SEPARATOR);
+            if (separator > 0) {
+                revoked.put(entry.substring(0, separator), LocalDateTime.parse(entry.substring(separator + 1)));
+            } else {
+                log.warn("Refresh token revocation '{}' is invalid", entry);
+            }
+        }
+        index.revokeAll(revoked);
+    }
+
+    @Override
+    @PostConstruct
+    public void reload() {
+        Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+        jdbcTemplate.query(REVOKED_FAMILIES, resultSet -> {
+            revoked.put(resultSet.getString(1), resultSet.getTimestamp(2).toLocalDateTime());
+        }, LocalDateTime.now());
+        index.revokeAll(revoked);
+        log.info("{} revoked refresh token families loaded", revoked.size());
+    }
+
+    @Scheduled(fixedDelayString = "#{@refreshTokenProperties.purgeInterval.toMillis()}", initialDelayString = "#{@refreshTokenProperties.purgeInterval.toMillis()}")
+    public void purge() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = jdbcTemplate.update(PURGE_EXPIRED, now);
+        jdbcTemplate.update(PURGE_REVOKED, now);
+        index.purge(now);
+        log.info("{} expired refresh tokens purged, {} revoked families left", purged, index.size());
+    }
+
+    private RefreshTokenRotation rotate(Claims claims) {
+        String family = claims.get(FAMILY, String.class);
+        if (index.isRevoked(family)) {
+            throw new ApplicationException(HttpStatus.UNAUTHORIZED, REVOKED);
+        }
+        String jti = UUID.randomUUID().toString();
+        LocalDateTime issuedAt = LocalDateTime.now();
+        LocalDateTime expiresAt = issuedAt.plusSeconds(jwtProperties.getRefreshTokenExpiration());
+        if (jdbcTemplate.update(USE, claims.getId(), jti, expiresAt) == 0) {
+            throw reused(claims.getId(), family, expiresAt);
+        }
+        AuthenticatedUser user = currentUser(claims.get(USER_ID, Long.class), claims.get(SECURITY_VERSION, Long.class));
+        return new RefreshTokenRotation(user, sign(user, jti, family, issuedAt, expiresAt));
+    }
+
+    private RefreshTokenRotation rotateLegacy(String refreshToken, Claims claims) {
+        String family = UUID.nameUUIDFromBytes(refreshToken.getBytes(StandardCharsets.UTF_8)).toString();
+        if (index.isRevoked(family)) {
+            throw new ApplicationException(HttpStatus.UNAUTHORIZED, REVOKED);
+        }
+        List<Long> users = jdbcTemplate.queryForList(LEGACY_USER, Long.class, claims.getSubject());
+        if (users.isEmpty()) {
+            throw new ApplicationException(HttpStatus.UNAUTHORIZED, REVOKED);
+        }
+        LocalDateTime issuedAt = LocalDateTime.now();
+        LocalDateTime expiresAt = issuedAt.plusSeconds(jwtProperties.getRefreshTokenExpiration());
+        LocalDateTime legacyExpiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        if (jdbcTemplate.update(USE_LEGACY, family, family, claims.getSubject(), legacyExpiresAt) == 0) {
+            throw reused(family, family, expiresAt);
+        }
+        String jti = UUID.randomUUID().toString();
+        jdbcTemplate.update(INSERT, jti, family, claims.getSubject(), expiresAt);
+        AuthenticatedUser user = currentUser(users.get(0), LEGACY_SECURITY_VERSION);
+        return new RefreshTokenRotation(user, sign(user, jti, family, issuedAt, expiresAt));
+    }
+
+    private ApplicationException reused(String jti, String family, LocalDateTime expiresAt) {
+        log.warn("Refresh token {} was used again, revoking its family {}", jti, family);
+        jdbcTemplate.update(DELETE_FAMILY, family);
+        jdbcTemplate.update(REVOKE_FAMILY, family, expiresAt);
+        Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+        revoked.put(family, expiresAt);
+        publish(revoked);
+        return new ApplicationException(HttpStatus.UNAUTHORIZED, REVOKED);
+    }
+
+    private AuthenticatedUser currentUser(Long userId, Long securityVersion) {
+        AuthenticatedUser user = authenticatedUserService.getById(userId);
+        if (!Objects.equals(user.securityVersion(), securityVersion)) {
+            user = authenticatedUserService.reload(userId);
+        }
+        return user;
+    }
+
+    private TokenData sign(AuthenticatedUser user, String jti, String family, LocalDateTime issuedAt, LocalDateTime expiresAt) {
+        String token = Jwts.builder()
+                .signWith(privateKey, SignatureAlgorithm.RS256)
+                .setHeaderParam(JwtConstants.HEADER_TYP, JwtConstants.TOKEN_TYPE)
+                .setIssuer(jwtProperties.getIssuer())
+                .setAudience(jwtProperties.getAudience())
+                .setSubject(user.email())
+                .setId(jti)
+                .setIssuedAt(Date.from(issuedAt.atZone(ZoneId.systemDefault()).toInstant()))
+                .setExpiration(Date.from(expiresAt.atZone(ZoneId.systemDefault()).toInstant()))
+                .claim(FAMILY, family)
+                .claim(USER_ID, user.id())
+                .claim(SECURITY_VERSION, user.securityVersion())
+                .claim(JwtConstants.SCOPES, singletonList(JwtConstants.REFRESH_TOKEN))
+                .compact();
+        return new TokenData(token, issuedAt);
+    }
+
+    private Claims claims(String refreshToken) {
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(refreshToken).getBody();
+        } catch (ExpiredJwtException e) {
+            throw (ApplicationException) new ApplicationException(HttpStatus.UNAUTHORIZED, EXPIRED).initCause(e);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw (ApplicationException) new ApplicationException(HttpStatus.UNAUTHORIZED, INVALID).initCause(e);
+        }
+        if (!isRefreshToken(claims)) {
+            throw new ApplicationException(HttpStatus.UNAUTHORIZED, INVALID);
+        }
+        return claims;
+    }
+
+    private boolean isRefreshToken(Claims claims) {
+        List<?> scopes = claims.get(JwtConstants.SCOPES, List.class);
+        return scopes != null && scopes.contains(JwtConstants.REFRESH_TOKEN)
+                && (isLegacy(claims) || claims.getId() != null && claims.get(FAMILY) != null && claims.get(USER_ID) != null);
+    }
+
+    private boolean isLegacy(Claims claims) {
+        return claims.get(FAMILY) == null && claims.get(USER_ID) == null && claims.getSubject() != null;
+    }
+
+    private void publish(Map<String, LocalDateTime> revoked) {
+        if (!revoked.isEmpty()) {
+            afterCommit(() -> index.revokeAll(revoked));
+            if (properties.getSync().isEnabled()) {
+                List<String> entries = new ArrayList<>(revoked.size());
+                revoked.forEach((key, expiresAt) -> entries.add(key + VALUE_SEPARATOR + expiresAt));
+                for (int from = 0; from < entries.size(); from += ENTRIES_PER_NOTIFICATION) {
+                    String payload = String.join(ENTRY_SEPARATOR, entries.subList(from, Math.min(entries.size(), from + ENTRIES_PER_NOTIFICATION)));
+                    jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, properties.getSync().getChannel(), payload);
+                }
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.trading.journal.authentication.registration.service.impl;
 
 import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.password.service.PasswordService;
 import com.trading.journal.authentication.registration.SignUpResponse;
 import com.trading.journal.authentication.registration.UserRegistration;
 import com.trading.journal.authentication.registration.service.RegistrationService;
@@ -16,6 +17,8 @@ import com.trading.journal.authentication.verification.properties.VerificationPr
 import com.trading.journal.authentication.verification.service.VerificationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.util.Optional;
 
@@ -33,28 +36,18 @@ public class RegistrationServiceImpl implements RegistrationService {
 
     private final VerificationProperties verificationProperties;
 
-    @Override
-    public SignUpResponse signUp(UserRegistration userRegistration) {
-        Tenancy tenancy;
-        try {
-            tenancy = tenancyService.create(Tenancy.builder().name(userRegistration.getCompanyName()).userUsage(1).build());
-        } catch (TenancyException e) {
-            throw (ApplicationException) new ApplicationException(e.getStatusCode(), "Organisation already exist").initCause(e);
-        }
+    private final PasswordService passwordService;
 
-        User user;
-        try {
-            user = userService.createNewUser(userRegistration, tenancy);
-        } catch (ApplicationException e) {
-            tenancyService.delete(tenancy.getId());
-            throw e;
-        }
+    private final TransactionOperations transactionOperations;
 
-        userAuthorityService.saveOrganisationAdminUserAuthorities(user);
-        return sendVerification(user.getEmail());
+    @Override
+    public SignUpResponse signUp(UserRegistration userRegistration) {
+        String encodedPassword = passwordService.encodePassword(userRegistration.getPassword());
+        return transactionOperations.execute(status -> register(userRegistration, encodedPassword));
     }
 
     @Override
+    @Transactional
     public void verify(String hash) {
         Verification verification = verificationService.retrieve(hash);
         userService.verifyUser(verification.getEmail());
@@ -62,6 +55,7 @@ public class RegistrationServiceImpl implements RegistrationService {
     }
 
     @Override
+    @Transactional
     public SignUpResponse sendVerification(String email) {
         SignUpResponse signUpResponse = new SignUpResponse(email, true);
         if (verificationProperties.isEnabled()) {
@@ -73,4 +67,17 @@ public class RegistrationServiceImpl implements RegistrationService {
         }
         return signUpResponse;
     }
+
+    private SignUpResponse register(UserRegistration userRegistration, String encodedPassword) {
+        Tenancy tenancy;
+        try {
+            tenancy = tenancyService.create(Tenancy.builder().name(userRegistration.getCompanyName()).userUsage(1).build());
+        } catch (TenancyException e) {
+            throw (ApplicationException) new ApplicationException(e.getStatusCode(), "Organisation already exist").initCause(e);
+        }
+
+        User user = userService.createNewUser(userRegistration, tenancy, encodedPassword);
+        userAuthorityService.saveOrganisationAdminUserAuthorities(user);
+        return sendVerification(user.getEmail());
+    }
 }
@@ -17,7 +17,8 @@ import jakarta.validation.constraints.NotBlank;
 public class Tenancy {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tenancyIdGenerator")
+    @SequenceGenerator(name = "tenancyIdGenerator", sequenceName = "tenancy_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
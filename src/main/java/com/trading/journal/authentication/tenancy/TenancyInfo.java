@@ -0,0 +1,31 @@
+package com.trading.journal.authentication.tenancy;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+@AllArgsConstructor
+@Getter
+@Builder
+@ToString
+public class TenancyInfo {
+
+    private final Long id;
+
+    private final String name;
+
+    private final Integer userLimit;
+
+    private final Integer userUsage;
+
+    private final Boolean enabled;
+
+    public TenancyInfo(Tenancy tenancy) {
+        this.id = tenancy.getId();
+        this.name = tenancy.getName();
+        this.userLimit = tenancy.getUserLimit();
+        this.userUsage = tenancy.getUserUsage();
+        this.enabled = tenancy.getEnabled();
+    }
+}
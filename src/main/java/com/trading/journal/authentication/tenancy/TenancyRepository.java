@@ -1,12 +1,35 @@
 package com.trading.journal.authentication.tenancy;
 
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 public interface TenancyRepository extends PagingAndSortingRepository<Tenancy, Long>, JpaSpecificationExecutor<Tenancy>, CrudRepository<Tenancy, Long> {
 
     Optional<Tenancy> findByName(String name);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Tenancy t SET t.userUsage = t.userUsage + 1 WHERE t.id = :id AND t.userUsage < t.userLimit")
+    int reserveSeat(Long id);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Tenancy t SET t.userUsage = t.userUsage - 1 WHERE t.id = :id AND t.userUsage > 0")
+    int releaseSeat(Long id);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Tenancy t SET t.enabled = :enabled WHERE t.id = :id")
+    int updateEnabled(Long id, Boolean enabled);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Tenancy t SET t.userLimit = :limit WHERE t.id = :id AND t.userUsage <= :limit")
+    int updateLimit(Long id, Integer limit);
 }
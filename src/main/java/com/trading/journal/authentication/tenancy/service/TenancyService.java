@@ -3,13 +3,14 @@ package com.trading.journal.authentication.tenancy.service;
 import com.trading.journal.authentication.pageable.PageResponse;
 import com.trading.journal.authentication.pageable.PageableRequest;
 import com.trading.journal.authentication.tenancy.Tenancy;
+import com.trading.journal.authentication.tenancy.TenancyInfo;
 
 import java.util.Optional;
 
 public interface TenancyService {
     PageResponse<Tenancy> getAll(PageableRequest pageRequest);
 
-    Tenancy getById(Long id);
+    TenancyInfo getById(Long id);
 
     Tenancy create(Tenancy tenancy);
 
@@ -23,8 +24,6 @@ public interface TenancyService {
 
     Tenancy increaseUsage(Long id);
 
-    boolean increaseUsageAllowed(Long id);
-
     Optional<Tenancy> getByEmail(String email);
 
     void delete(Long id);
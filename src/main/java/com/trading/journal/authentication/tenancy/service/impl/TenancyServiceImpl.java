@@ -1,47 +1,69 @@
 package com.trading.journal.authentication.tenancy.service.impl;
 
+import com.trading.journal.authentication.cache.CacheNames;
+import com.trading.journal.authentication.cache.service.CacheInvalidationService;
 import com.trading.journal.authentication.pageable.PageResponse;
 import com.trading.journal.authentication.pageable.PageableRequest;
 import com.trading.journal.authentication.pageable.specifications.FilterLike;
 import com.trading.journal.authentication.tenancy.Tenancy;
+import com.trading.journal.authentication.tenancy.TenancyInfo;
 import com.trading.journal.authentication.tenancy.TenancyException;
 import com.trading.journal.authentication.tenancy.TenancyRepository;
 import com.trading.journal.authentication.tenancy.service.TenancyService;
 import com.trading.journal.authentication.user.User;
 import com.trading.journal.authentication.user.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 @RequiredArgsConstructor
 @Service
 public class TenancyServiceImpl implements TenancyService {
 
+    private static final String TENANCY_NOT_FOUND = "Tenancy id not found";
+
     private final TenancyRepository tenancyRepository;
 
     private final UserService userService;
 
+    private final CacheInvalidationService cacheInvalidationService;
+
     @Override
+    @Transactional(readOnly = true)
     public PageResponse<Tenancy> getAll(PageableRequest pageRequest) {
         Specification<Tenancy> specification = Specification.where(null);
         if (pageRequest.hasFilter()) {
             specification = new FilterLike<Tenancy>(pageRequest.getFilter()).apply(Columns.NAME);
         }
-        Page<Tenancy> tenancies = tenancyRepository.findAll(specification, pageRequest.pageable());
-        return new PageResponse<>(tenancies.getTotalElements(), tenancies.getTotalPages(), tenancies.getNumber(), tenancies.toList());
+        PageResponse<Tenancy> pageResponse;
+        if (pageRequest.isKeyset()) {
+            List<Tenancy> tenancies = tenancyRepository.findBy(specification.and(pageRequest.keyset()),
+                    query -> query.sortBy(pageRequest.keysetSort()).limit(pageRequest.keysetLimit()).all());
+            pageResponse = PageResponse.keyset(tenancies, pageRequest, Function.identity());
+        } else {
+            Page<Tenancy> tenancies = tenancyRepository.findAll(specification, pageRequest.pageable());
+            pageResponse = new PageResponse<>(tenancies.getTotalElements(), tenancies.getTotalPages(), tenancies.getNumber(), tenancies.toList());
+        }
+        return pageResponse;
     }
 
     @Override
-    public Tenancy getById(Long id) {
-        return tenancyRepository.findById(id)
-                .orElseThrow(() -> new TenancyException(HttpStatus.NOT_FOUND, "Tenancy id not found"));
+    @Transactional
+    @Cacheable(cacheNames = CacheNames.TENANCIES, key = "#id")
+    public TenancyInfo getById(Long id) {
+        return new TenancyInfo(find(id));
     }
 
     @Override
+    @Transactional
     public Tenancy create(Tenancy tenancy) {
         if (tenancyRepository.findByName(tenancy.getName()).isPresent()) {
             throw new TenancyException(HttpStatus.CONFLICT, String.format("Tenancy name '%s' already exist", tenancy.getName()));
@@ -50,69 +72,80 @@ public class TenancyServiceImpl implements TenancyService {
     }
 
     @Override
+    @Transactional
     public void disable(Long id) {
-        Tenancy tenancy = getById(id);
-        tenancy.disable();
-        tenancyRepository.save(tenancy);
+        updateEnabled(id, false);
     }
 
     @Override
+    @Transactional
     public void enable(Long id) {
-        Tenancy tenancy = getById(id);
-        tenancy.enable();
-        tenancyRepository.save(tenancy);
+        updateEnabled(id, true);
     }
 
     @Override
+    @Transactional
     public Tenancy newLimit(Long id, Integer limit) {
-        Tenancy tenancy = getById(id);
-        if (tenancy.getUserUsage() > limit) {
+        if (tenancyRepository.updateLimit(id, limit) == 0) {
+            find(id);
             throw new TenancyException(HttpStatus.BAD_REQUEST, "New tenancy limit is lower than the current usage");
         }
-        tenancy.newLimit(limit);
-        return tenancyRepository.save(tenancy);
+        cacheInvalidationService.evict(CacheNames.TENANCIES, id);
+        return find(id);
     }
 
     @Override
+    @Transactional
     public Tenancy lowerUsage(Long id) {
-        Tenancy tenancy = getById(id);
-        tenancy.lowerUsage();
-        return tenancyRepository.save(tenancy);
+        tenancyRepository.releaseSeat(id);
+        cacheInvalidationService.evict(CacheNames.TENANCIES, id);
+        return find(id);
     }
 
     @Override
+    @Transactional
     public Tenancy increaseUsage(Long id) {
-        Tenancy tenancy = getById(id);
-        if (tenancy.increaseUsageAllowed()) {
-            tenancy.increaseUsage();
-            return tenancyRepository.save(tenancy);
+        boolean reserved = tenancyRepository.reserveSeat(id) > 0;
+        cacheInvalidationService.evict(CacheNames.TENANCIES, id);
+        Tenancy tenancy = find(id);
+        if (reserved) {
+            return tenancy;
         }
         throw new TenancyException("Tenancy has reach its user limit");
     }
 
     @Override
-    public boolean increaseUsageAllowed(Long id) {
-        Tenancy tenancy = getById(id);
-        return tenancy.increaseUsageAllowed();
-    }
-
-    @Override
+    @Transactional(readOnly = true)
     public Optional<Tenancy> getByEmail(String email) {
         return userService.getUserByEmail(email)
                 .map(User::getTenancy);
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
         Boolean userInTenancy = userService.existsByTenancyId(id);
         if (userInTenancy) {
             throw new TenancyException(HttpStatus.CONFLICT, "Delete this tenancy not allowed because there are users using it");
         } else {
             tenancyRepository.deleteById(id);
+            cacheInvalidationService.evict(CacheNames.TENANCIES, id);
         }
     }
 
     private static class Columns {
         public static final String NAME = "name";
     }
+
+    private void updateEnabled(Long id, Boolean enabled) {
+        if (tenancyRepository.updateEnabled(id, enabled) == 0) {
+            throw new TenancyException(HttpStatus.NOT_FOUND, TENANCY_NOT_FOUND);
+        }
+        cacheInvalidationService.evict(CacheNames.TENANCIES, id);
+    }
+
+    private Tenancy find(Long id) {
+        return tenancyRepository.findById(id)
+                .orElseThrow(() -> new TenancyException(HttpStatus.NOT_FOUND, TENANCY_NOT_FOUND));
+    }
 }
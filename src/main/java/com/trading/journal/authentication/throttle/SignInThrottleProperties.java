@@ -0,0 +1,31 @@
+package com.trading.journal.authentication.throttle;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@ConfigurationProperties("journal.authentication.throttle.sign-in")
+@Configuration
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SignInThrottleProperties {
+
+    private boolean enabled = true;
+
+    private Duration window = Duration.ofMinutes(1);
+
+    private int buckets = 6;
+
+    private int maxAttemptsPerEmail = 10;
+
+    private int maxAttemptsPerAddress = 60;
+
+    private int width = 32_768;
+
+    private int depth = 4;
+}
@@ -0,0 +1,147 @@
+package com.trading.journal.authentication.throttle;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Count-min sketch keeping one counter per sub-window in every cell.
+ * Memory is depth * width * (buckets + 1) ints whatever the key count,
+ * colliding keys can only overcount.
+ */
+public final class SlidingWindowSketch {
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int depth;
+
+    private final int width;
+
+    private final int buckets;
+
+    private final int slots;
+
+    private final long bucketNanos;
+
+    private final long seed;
+
+    private final AtomicIntegerArray counters;
+
+    private final ReentrantLock rotation = new ReentrantLock();
+
+    private final AtomicLong epoch;
+
+    public SlidingWindowSketch(int depth, int width, int buckets, Duration window, long seed, long nowNanos) {
+        if (depth < 1 || width < 1 || buckets < 1 || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Sketch depth, width, buckets and window must be positive");
+        }
+        this.depth = depth;
+        this.width = Integer.highestOneBit(width) == width ? width : Integer.highestOneBit(width) << 1;
+        this.buckets = buckets;
+        this.slots = buckets + 1;
+        this.bucketNanos = Math.max(1, window.toNanos() / buckets);
+        this.seed = seed;
+        this.counters = new AtomicIntegerArray(depth * this.width * slots);
+        this.epoch = new AtomicLong(Math.floorDiv(nowNanos, bucketNanos));
+    }
+
+    public int add(String key, long nowNanos) {
+        long current = advance(nowNanos);
+        int slot = (int) Math.floorMod(current, slots);
+        long hash = hash(key);
+        int[] cells = new int[depth];
+        int[] sums = new int[depth];
+        int minimum = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            cells[row] = cell(row, hash);
+            sums[row] = sum(cells[row], current);
+            minimum = Math.min(minimum, sums[row]);
+        }
+        for (int row = 0; row < depth; row++) {
+            if (sums[row] == minimum) {
+                counters.incrementAndGet(cells[row] * slots + slot);
+            }
+        }
+        return minimum + 1;
+    }
+
+    public int estimate(String key, long nowNanos) {
+        long current = advance(nowNanos);
+        long hash = hash(key);
+        int minimum = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            minimum = Math.min(minimum, sum(cell(row, hash), current));
+        }
+        return minimum;
+    }
+
+    public Duration bucketDuration() {
+        return Duration.ofNanos(bucketNanos);
+    }
+
+    private int sum(int cell, long current) {
+        int sum = 0;
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            sum += counters.get(cell * slots + (int) Math.floorMod(current - bucket, slots));
+        }
+        return sum;
+    }
+
+    /*
+     * The slot after the current one is kept empty, moving forward
+     * only clears slots nobody reads or writes.
+     */
+    private long advance(long nowNanos) {
+        long target = Math.floorDiv(nowNanos, bucketNanos);
+        long current = epoch.get();
+        if (target > current) {
+            rotation.lock();
+            try {
+                current = epoch.get();
+                if (target > current) {
+                    if (target - current >= slots) {
+                        clear(0, slots);
+                    } else {
+                        for (long next = current + 2; next <= target + 1; next++) {
+                            clear((int) Math.floorMod(next, slots), 1);
+                        }
+                    }
+                    epoch.set(target);
+                    current = target;
+                }
+            } finally {
+                rotation.unlock();
+            }
+        }
+        return current;
+    }
+
+    private void clear(int fromSlot, int count) {
+        for (int cell = 0; cell < depth * width; cell++) {
+            for (int slot = fromSlot; slot < fromSlot + count; slot++) {
+                counters.set(cell * slots + slot, 0);
+            }
+        }
+    }
+
+    private int cell(int row, long hash) {
+        int first = (int) hash;
+        int second = (int) (hash >>> 32) | 1;
+        return row * width + ((first + row * second) & (width - 1));
+    }
+
+    private long hash(String key) {
+        long hash = seed;
+        for (int index = 0; index < key.length(); index++) {
+            hash ^= key.charAt(index);
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,6 @@
+package com.trading.journal.authentication.throttle.service;
+
+public interface SignInThrottle {
+
+    void check(String email, String clientAddress);
+}
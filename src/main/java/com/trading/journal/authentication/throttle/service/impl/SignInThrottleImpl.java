@@ -0,0 +1,76 @@
+package com.trading.journal.authentication.throttle.service.impl;
+
+import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.throttle.SignInThrottleProperties;
+import com.trading.journal.authentication.throttle.SlidingWindowSketch;
+import com.trading.journal.authentication.throttle.service.SignInThrottle;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+@Service
+public class SignInThrottleImpl implements SignInThrottle {
+
+    private static final String THROTTLED_MESSAGE = "Too many sign in attempts, try again later";
+
+    private final SignInThrottleProperties properties;
+
+    private final LongSupplier nanoClock;
+
+    private final SlidingWindowSketch emails;
+
+    private final SlidingWindowSketch addresses;
+
+    private final Counter throttledEmails;
+
+    private final Counter throttledAddresses;
+
+    @Autowired
+    public SignInThrottleImpl(SignInThrottleProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime, new SecureRandom().nextLong());
+    }
+
+    public SignInThrottleImpl(SignInThrottleProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock, long seed) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        long now = nanoClock.getAsLong();
+        this.emails = new SlidingWindowSketch(properties.getDepth(), properties.getWidth(), properties.getBuckets(), properties.getWindow(), seed, now);
+        this.addresses = new SlidingWindowSketch(properties.getDepth(), properties.getWidth(), properties.getBuckets(), properties.getWindow(), ~seed, now);
+        this.throttledEmails = Counter.builder("sign.in.throttled")
+                .description("Sign in attempts rejected by the throttle")
+                .tag("key", "email")
+                .register(meterRegistry);
+        this.throttledAddresses = Counter.builder("sign.in.throttled")
+                .description("Sign in attempts rejected by the throttle")
+                .tag("key", "address")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void check(String email, String clientAddress) {
+        if (properties.isEnabled()) {
+            long now = nanoClock.getAsLong();
+            if (clientAddress != null && addresses.add(clientAddress, now) > properties.getMaxAttemptsPerAddress()) {
+                throttledAddresses.increment();
+                throw throttled();
+            }
+            if (email != null && emails.add(email.trim().toLowerCase(Locale.ROOT), now) > properties.getMaxAttemptsPerEmail()) {
+                throttledEmails.increment();
+                throw throttled();
+            }
+        }
+    }
+
+    private ApplicationException throttled() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, emails.bucketDuration().toSeconds())));
+        return new ApplicationException(HttpStatus.TOO_MANY_REQUESTS, THROTTLED_MESSAGE, headers);
+    }
+}
@@ -27,7 +27,8 @@ import static java.util.Optional.ofNullable;
 public class User implements JwtUserData {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usersIdGenerator")
+    @SequenceGenerator(name = "usersIdGenerator", sequenceName = "users_id_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne
@@ -54,6 +55,9 @@ public class User implements JwtUserData {
     @Builder.Default
     private Boolean newsletter = false;
 
+    @Builder.Default
+    private Long securityVersion = 0L;
+
     public void enable() {
         this.enabled = true;
     }
@@ -74,6 +78,10 @@ public class User implements JwtUserData {
         this.password = newPassword;
     }
 
+    public void increaseSecurityVersion() {
+        this.securityVersion = ofNullable(securityVersion).orElse(0L) + 1;
+    }
+
     public void setAuthorities(List<UserAuthority> authorities) {
         this.authorities = authorities;
     }
@@ -37,7 +37,7 @@ public class UserInfo {
     @JsonFormat(pattern = DateHelper.DATE_TIME_FORMAT)
     private LocalDateTime createdAt;
 
-    public UserInfo(User applicationUser) {
+    public UserInfo(User applicationUser, List<String> authorities) {
         this.id = applicationUser.getId();
         this.firstName = applicationUser.getFirstName();
         this.lastName = applicationUser.getLastName();
@@ -45,11 +45,15 @@ public class UserInfo {
         this.enabled = applicationUser.getEnabled();
         this.verified = applicationUser.getVerified();
         this.createdAt = applicationUser.getCreatedAt();
-        this.authorities = ofNullable(applicationUser.getAuthorities())
+        this.authorities = authorities;
+    }
+
+    public UserInfo(User applicationUser) {
+        this(applicationUser, ofNullable(applicationUser.getAuthorities())
                 .orElse(emptyList())
                 .stream()
                 .map(UserAuthority::getAuthority)
                 .map(Authority::getName)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,9 @@
 package com.trading.journal.authentication.user;
 
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,8 +14,19 @@ public interface UserRepository extends CrudRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.tenancy LEFT JOIN FETCH u.authorities ua LEFT JOIN FETCH ua.authority WHERE u.email = :email")
+    Optional<User> findWithAuthoritiesByEmail(String email);
+
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.tenancy LEFT JOIN FETCH u.authorities ua LEFT JOIN FETCH ua.authority WHERE u.id = :id")
+    Optional<User> findWithAuthoritiesById(Long id);
+
     @Query(value = "SELECT COUNT(Users.id) FROM Users inner join UserAuthorities on Users.id = UserAuthorities.userId inner join Authorities on Authorities.id = UserAuthorities.authorityId where Authorities.name in  (:roles)", nativeQuery = true)
     Integer countAdmins(List<String> roles);
 
     Boolean existsByTenancyId (Long tenancyId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id AND u.password = :previousPassword")
+    int rehashPassword(Long id, String previousPassword, String password);
 }
\ No newline at end of file
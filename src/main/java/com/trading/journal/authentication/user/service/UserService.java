@@ -13,7 +13,7 @@ public interface UserService {
 
     Optional<User> getUserByEmail(String email);
 
-    User createNewUser(@NotNull UserRegistration userRegistration, Tenancy tenancy);
+    User createNewUser(@NotNull UserRegistration userRegistration, Tenancy tenancy, String encodedPassword);
 
     Boolean validateNewUser(String email);
 
@@ -23,7 +23,7 @@ public interface UserService {
 
     void unprovenUser(String email);
 
-    User changePassword(String email, String password);
+    User changePassword(String email, String encodedPassword);
 
     Boolean existsByTenancyId(Long tenancyId);
 }
@@ -12,6 +12,7 @@ import com.trading.journal.authentication.verification.VerificationType;
 import com.trading.journal.authentication.verification.service.VerificationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -29,6 +30,7 @@ public class AdminUserServiceImpl implements AdminUserService {
     private final PasswordService passwordService;
 
     @Override
+    @Transactional(readOnly = true)
     public Boolean thereIsAdmin() {
         List<String> roles = AuthoritiesHelper.getByCategory(AuthorityCategory.ADMINISTRATOR).stream().map(AuthoritiesHelper::getLabel).toList();
         Integer admins = userRepository.countAdmins(roles);
@@ -36,6 +38,7 @@ public class AdminUserServiceImpl implements AdminUserService {
     }
 
     @Override
+    @Transactional
     public void createAdmin(UserRegistration userRegistration) {
         User applicationUser = userRepository.save(adminUser(userRegistration));
         userAuthorityService.saveAdminUserAuthorities(applicationUser);
@@ -1,10 +1,14 @@
 package com.trading.journal.authentication.user.service.impl;
 
 import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.cache.CacheNames;
+import com.trading.journal.authentication.cache.service.CacheInvalidationService;
 import com.trading.journal.authentication.pageable.PageResponse;
 import com.trading.journal.authentication.pageable.PageableRequest;
 import com.trading.journal.authentication.pageable.specifications.FilterLike;
 import com.trading.journal.authentication.pageable.specifications.FilterTenancy;
+import com.trading.journal.authentication.password.service.PasswordService;
+import com.trading.journal.authentication.refreshtoken.service.RefreshTokenService;
 import com.trading.journal.authentication.registration.UserRegistration;
 import com.trading.journal.authentication.tenancy.Tenancy;
 import com.trading.journal.authentication.tenancy.service.TenancyService;
@@ -22,12 +26,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
+import static java.util.Collections.emptyList;
+
 @Service
+@SuppressWarnings({"PMD.ExcessiveImports", "PMD.TooManyMethods"})
 @RequiredArgsConstructor
 public class UserManagementServiceImpl implements UserManagementService {
 
@@ -42,29 +52,44 @@ public class UserManagementServiceImpl implements UserManagementService {
 
     private final UserAuthorityService userAuthorityService;
 
+    private final RefreshTokenService refreshTokenService;
+
+    private final CacheInvalidationService cacheInvalidationService;
+
+    private final PasswordService passwordService;
+
+    private final TransactionOperations transactionOperations;
+
     @Override
+    @Transactional(readOnly = true)
     public PageResponse<UserInfo> getAll(Long tenancyId, PageableRequest pageRequest) {
         Specification<User> specification = new FilterTenancy<User>(tenancyId).apply();
         if (pageRequest.hasFilter()) {
             Specification<User> filter = new FilterLike<User>(pageRequest.getFilter())
-                    .apply(Columns.FIRST_NAME)
-                    .or(new FilterLike<User>(pageRequest.getFilter()).apply(Columns.FIRST_NAME))
-                    .or(new FilterLike<User>(pageRequest.getFilter()).apply(Columns.LAST_NAME))
-                    .or(new FilterLike<User>(pageRequest.getFilter()).apply(Columns.EMAIL));
+                    .anyOf(Columns.FIRST_NAME, Columns.LAST_NAME, Columns.EMAIL);
             specification = specification.and(filter);
         }
-        Page<User> users = userManagementRepository.findAll(specification, pageRequest.pageable());
-        List<UserInfo> list = users.stream().map(UserInfo::new).collect(Collectors.toList());
-        return new PageResponse<>(users.getTotalElements(), users.getTotalPages(), users.getNumber(), list);
+        PageResponse<UserInfo> pageResponse;
+        if (pageRequest.isKeyset()) {
+            List<User> users = userManagementRepository.findBy(specification.and(pageRequest.keyset()),
+                    query -> query.sortBy(pageRequest.keysetSort()).limit(pageRequest.keysetLimit()).all());
+            pageResponse = PageResponse.keyset(users, pageRequest, this::toUserInfo);
+        } else {
+            Page<User> users = userManagementRepository.findAll(specification, pageRequest.pageable());
+            pageResponse = new PageResponse<>(users.getTotalElements(), users.getTotalPages(), users.getNumber(), toUserInfo(users.getContent()));
+        }
+        return pageResponse;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserInfo getUserById(Long tenancyId, Long id) {
         User user = getUser(tenancyId, id);
         return new UserInfo(user);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserInfo getUserByEmail(Long tenancyId, String email) {
         return userManagementRepository.findByTenancyIdAndEmail(tenancyId, email)
                 .map(UserInfo::new)
@@ -73,25 +98,29 @@ public class UserManagementServiceImpl implements UserManagementService {
 
     @Override
     public UserInfo create(Long tenancyId, UserRegistration userRegistration) {
-        Tenancy tenancy = tenancyService.getById(tenancyId);
-        if (tenancy.increaseUsageAllowed()) {
-            userRegistration.randomPassword();
-            User user = userService.createNewUser(userRegistration, tenancy);
+        userRegistration.randomPassword();
+        String encodedPassword = passwordService.encodePassword(userRegistration.getPassword());
+        return transactionOperations.execute(status -> {
+            Tenancy tenancy = tenancyService.increaseUsage(tenancyId);
+            User user = userService.createNewUser(userRegistration, tenancy, encodedPassword);
             verificationService.send(VerificationType.NEW_ORGANISATION_USER, user);
-            tenancyService.increaseUsage(tenancy.getId());
             return new UserInfo(user);
-        }
-        throw new ApplicationException("Tenancy has reach its user limit");
+        });
     }
 
     @Override
+    @Transactional
     public void disableUserById(Long tenancyId, Long id) {
         User user = getUser(tenancyId, id);
         user.disable();
+        user.increaseSecurityVersion();
         userManagementRepository.save(user);
+        refreshTokenService.revokeUser(user.getEmail());
+        cacheInvalidationService.evict(CacheNames.USERS, id);
     }
 
     @Override
+    @Transactional
     public void enableUserById(Long tenancyId, Long id) {
         User user = getUser(tenancyId, id);
         user.enable();
@@ -99,16 +128,21 @@ public class UserManagementServiceImpl implements UserManagementService {
     }
 
     @Override
+    @Transactional
     public void deleteUserById(Long tenancyId, Long id) {
         User user = getUser(tenancyId, id);
         userManagementRepository.delete(user);
         tenancyService.lowerUsage(tenancyId);
+        refreshTokenService.revokeUser(user.getEmail());
+        cacheInvalidationService.evict(CacheNames.USERS, id);
     }
 
     @Override
+    @Transactional
     public List<UserAuthorityResponse> addAuthorities(Long tenancyId, Long id, AuthoritiesChange authorities) {
         User user = getUser(tenancyId, id);
         List<UserAuthority> userAuthorities = userAuthorityService.addAuthorities(user, authorities);
+        securityChanged(user);
         return userAuthorities
                 .stream()
                 .map(auth -> new UserAuthorityResponse(auth.getId(), auth.getAuthority().getName(), auth.getAuthority().getCategory()))
@@ -116,9 +150,11 @@ public class UserManagementServiceImpl implements UserManagementService {
     }
 
     @Override
+    @Transactional
     public List<UserAuthorityResponse> deleteAuthorities(Long tenancyId, Long id, AuthoritiesChange authorities) {
         User user = getUser(tenancyId, id);
         List<UserAuthority> userAuthorities = userAuthorityService.deleteAuthorities(user, authorities);
+        securityChanged(user);
         return userAuthorities
                 .stream()
                 .map(auth -> new UserAuthorityResponse(auth.getId(), auth.getAuthority().getName(), auth.getAuthority().getCategory()))
@@ -126,6 +162,7 @@ public class UserManagementServiceImpl implements UserManagementService {
     }
 
     @Override
+    @Transactional
     public void deleteMeRequest(Long tenancyId, String email) {
         userManagementRepository.findByTenancyIdAndEmail(tenancyId, email)
                 .ifPresentOrElse(user -> verificationService.send(VerificationType.DELETE_ME, user),
@@ -135,6 +172,7 @@ public class UserManagementServiceImpl implements UserManagementService {
     }
 
     @Override
+    @Transactional
     public void deleteMe(Long tenancyId, String email, String hash) {
         Verification verification = verificationService.retrieve(hash);
         if (!Objects.equals(verification.getEmail(), email)) {
@@ -152,6 +190,7 @@ public class UserManagementServiceImpl implements UserManagementService {
     }
 
     @Override
+    @Transactional
     public UserInfo update(Long tenancyId, String email, MeUpdate meUpdate) {
         User user = userManagementRepository.findByTenancyIdAndEmail(tenancyId, email)
                 .orElseThrow(() -> new ApplicationException(HttpStatus.BAD_REQUEST, "User not found"));
@@ -166,6 +205,19 @@ public class UserManagementServiceImpl implements UserManagementService {
         return new UserInfo(user);
     }
 
+    private List<UserInfo> toUserInfo(List<User> users) {
+        Map<Long, List<String>> authorities = userAuthorityService.getAuthoritiesName(users.stream().map(User::getId).toList());
+        return users.stream()
+                .map(user -> new UserInfo(user, authorities.getOrDefault(user.getId(), emptyList())))
+                .toList();
+    }
+
+    private void securityChanged(User user) {
+        user.increaseSecurityVersion();
+        userManagementRepository.save(user);
+        cacheInvalidationService.evict(CacheNames.USERS, user.getId());
+    }
+
     private User getUser(Long tenancyId, Long id) {
         return userManagementRepository.findByTenancyIdAndId(tenancyId, id)
                 .orElseThrow(() -> new ApplicationException(HttpStatus.NOT_FOUND, MESSAGE));
@@ -1,7 +1,9 @@
 package com.trading.journal.authentication.user.service.impl;
 
 import com.trading.journal.authentication.ApplicationException;
-import com.trading.journal.authentication.password.service.PasswordService;
+import com.trading.journal.authentication.cache.CacheNames;
+import com.trading.journal.authentication.cache.service.CacheInvalidationService;
+import com.trading.journal.authentication.refreshtoken.service.RefreshTokenService;
 import com.trading.journal.authentication.registration.UserRegistration;
 import com.trading.journal.authentication.tenancy.Tenancy;
 import com.trading.journal.authentication.user.User;
@@ -15,6 +17,7 @@ import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -31,18 +34,22 @@ public class UserServiceImpl implements UserService {
 
     private final VerificationProperties verificationProperties;
 
-    private final PasswordService passwordService;
+    private final RefreshTokenService refreshTokenService;
+
+    private final CacheInvalidationService cacheInvalidationService;
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<User> getUserByEmail(@NotBlank String email) {
         return userRepository.findByEmail(email);
     }
 
     @Override
-    public User createNewUser(@NotNull UserRegistration userRegistration, Tenancy tenancy) {
+    @Transactional
+    public User createNewUser(@NotNull UserRegistration userRegistration, Tenancy tenancy, @NotBlank String encodedPassword) {
         Boolean validUser = validateNewUser(userRegistration.getEmail());
         if (validUser) {
-            User user = userRepository.save(buildUser(userRegistration, tenancy));
+            User user = userRepository.save(buildUser(userRegistration, tenancy, encodedPassword));
             List<UserAuthority> userAuthorities = userAuthorityService.saveCommonUserAuthorities(user);
             user.setAuthorities(userAuthorities);
             return user;
@@ -57,11 +64,13 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Boolean emailExists(@NotBlank String email) {
         return userRepository.existsByEmail(email);
     }
 
     @Override
+    @Transactional
     public void verifyUser(@NotBlank String email) {
         User user = this.getUserByEmail(email)
                 .orElseThrow(() -> new ApplicationException(HttpStatus.BAD_REQUEST, USER_NOT_FOUND));
@@ -71,6 +80,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void unprovenUser(String email) {
         User user = this.getUserByEmail(email)
                 .orElseThrow(() -> new ApplicationException(HttpStatus.BAD_REQUEST, USER_NOT_FOUND));
@@ -80,23 +90,29 @@ public class UserServiceImpl implements UserService {
 
 
     @Override
-    public User changePassword(@NotBlank String email, @NotBlank String password) {
+    @Transactional
+    public User changePassword(@NotBlank String email, @NotBlank String encodedPassword) {
         User user = this.getUserByEmail(email)
                 .orElseThrow(() -> new ApplicationException(HttpStatus.BAD_REQUEST, USER_NOT_FOUND));
-        user.changePassword(passwordService.encodePassword(password));
-        return userRepository.save(user);
+        user.changePassword(encodedPassword);
+        user.increaseSecurityVersion();
+        User saved = userRepository.save(user);
+        refreshTokenService.revokeUser(email);
+        cacheInvalidationService.evict(CacheNames.USERS, user.getId());
+        return saved;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Boolean existsByTenancyId(Long tenancyId) {
         return userRepository.existsByTenancyId(tenancyId);
     }
 
-    private User buildUser(UserRegistration userRegistration, Tenancy tenancy) {
+    private User buildUser(UserRegistration userRegistration, Tenancy tenancy, String encodedPassword) {
         boolean enabledAndVerified = !verificationProperties.isEnabled();
         return User.builder()
                 .tenancy(tenancy)
-                .password(passwordService.encodePassword(userRegistration.getPassword()))
+                .password(encodedPassword)
                 .firstName(userRegistration.getFirstName())
                 .lastName(userRegistration.getLastName())
                 .email(userRegistration.getEmail())
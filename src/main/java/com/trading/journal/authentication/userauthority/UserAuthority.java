@@ -18,7 +18,8 @@ import jakarta.persistence.*;
 public class UserAuthority {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "userAuthoritiesIdGenerator")
+    @SequenceGenerator(name = "userAuthoritiesIdGenerator", sequenceName = "userauthorities_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -0,0 +1,4 @@
+package com.trading.journal.authentication.userauthority;
+
+public record UserAuthorityName(Long userId, String name) {
+}
@@ -1,7 +1,9 @@
 package com.trading.journal.authentication.userauthority;
 
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface UserAuthorityRepository extends CrudRepository<UserAuthority, Long> {
@@ -9,7 +11,13 @@ public interface UserAuthorityRepository extends CrudRepository<UserAuthority, L
     @Override
     List<UserAuthority> findAll();
 
+    @Override
+    <S extends UserAuthority> List<S> saveAll(Iterable<S> entities);
+
     Boolean existsByAuthorityId(Long authorityId);
 
     List<UserAuthority> findByUserId(Long userId);
+
+    @Query("SELECT new com.trading.journal.authentication.userauthority.UserAuthorityName(ua.user.id, a.name) FROM UserAuthority ua JOIN ua.authority a WHERE ua.user.id IN :userIds")
+    List<UserAuthorityName> findNamesByUserIds(Collection<Long> userIds);
 }
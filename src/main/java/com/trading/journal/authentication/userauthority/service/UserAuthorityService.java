@@ -4,7 +4,9 @@ import com.trading.journal.authentication.user.User;
 import com.trading.journal.authentication.user.AuthoritiesChange;
 import com.trading.journal.authentication.userauthority.UserAuthority;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface UserAuthorityService {
 
@@ -17,4 +19,6 @@ public interface UserAuthorityService {
     List<UserAuthority> addAuthorities(User applicationUser, AuthoritiesChange authorities);
 
     List<UserAuthority> deleteAuthorities(User applicationUser, AuthoritiesChange authorities);
+
+    Map<Long, List<String>> getAuthoritiesName(Collection<Long> userIds);
 }
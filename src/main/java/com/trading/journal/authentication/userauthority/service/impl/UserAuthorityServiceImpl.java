@@ -6,17 +6,25 @@ import com.trading.journal.authentication.authority.service.AuthorityService;
 import com.trading.journal.authentication.user.AuthoritiesChange;
 import com.trading.journal.authentication.user.User;
 import com.trading.journal.authentication.userauthority.UserAuthority;
+import com.trading.journal.authentication.userauthority.UserAuthorityName;
 import com.trading.journal.authentication.userauthority.UserAuthorityRepository;
 import com.trading.journal.authentication.userauthority.service.UserAuthorityService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import static java.util.Collections.emptyMap;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+
 @Service
 @RequiredArgsConstructor
 public class UserAuthorityServiceImpl implements UserAuthorityService {
@@ -27,48 +35,33 @@ public class UserAuthorityServiceImpl implements UserAuthorityService {
 
     @Override
     public List<UserAuthority> saveCommonUserAuthorities(User user) {
-        return authorityService.getAuthoritiesByCategory(AuthorityCategory.COMMON_USER)
-                .stream()
-                .map(authority -> new UserAuthority(user, authority))
-                .map(userAuthorityRepository::save)
-                .collect(Collectors.toList());
+        return grant(user, authorityService.getAuthoritiesByCategory(AuthorityCategory.COMMON_USER));
     }
 
     @Override
     public List<UserAuthority> saveAdminUserAuthorities(User user) {
-        return authorityService.getAll()
-                .stream()
-                .map(authority -> new UserAuthority(user, authority))
-                .map(userAuthorityRepository::save)
-                .collect(Collectors.toList());
+        return grant(user, authorityService.getAll());
     }
 
     @Override
     public List<UserAuthority> saveOrganisationAdminUserAuthorities(User user) {
-        return authorityService.getAuthoritiesByCategory(AuthorityCategory.ORGANISATION)
-                .stream()
-                .map(authority -> new UserAuthority(user, authority))
-                .map(userAuthorityRepository::save)
-                .collect(Collectors.toList());
+        return grant(user, authorityService.getAuthoritiesByCategory(AuthorityCategory.ORGANISATION));
     }
 
     @Override
+    @Transactional
     public List<UserAuthority> addAuthorities(User user, AuthoritiesChange authoritiesChange) {
         List<Authority> authorities = authoritiesChange.authorities().stream()
                 .map(authorityService::getByName)
                 .filter(Optional::isPresent)
                 .map(Optional::get).toList();
 
-        List<UserAuthority> userAuthoritiesToAdd = authorities.stream()
-                .filter(filterOutEqualAuthorities(user))
-                .map(authority -> new UserAuthority(user, authority))
-                .toList();
-
-        userAuthoritiesToAdd.forEach(userAuthorityRepository::save);
+        grant(user, authorities.stream().filter(filterOutEqualAuthorities(user)).toList());
         return userAuthorityRepository.findByUserId(user.getId());
     }
 
     @Override
+    @Transactional
     public List<UserAuthority> deleteAuthorities(User user, AuthoritiesChange authoritiesChange) {
         List<Authority> authorities = authoritiesChange.authorities().stream()
                 .map(authorityService::getByName)
@@ -79,10 +72,26 @@ public class UserAuthorityServiceImpl implements UserAuthorityService {
                 .stream()
                 .filter(filterUserRolesToRemove(authorities)).toList();
 
-        userAuthoritiesToRemove.forEach(userAuthorityRepository::delete);
+        userAuthorityRepository.deleteAll(userAuthoritiesToRemove);
         return userAuthorityRepository.findByUserId(user.getId());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<String>> getAuthoritiesName(Collection<Long> userIds) {
+        Map<Long, List<String>> authorities = emptyMap();
+        if (!userIds.isEmpty()) {
+            authorities = userAuthorityRepository.findNamesByUserIds(userIds)
+                    .stream()
+                    .collect(groupingBy(UserAuthorityName::userId, mapping(UserAuthorityName::name, Collectors.toList())));
+        }
+        return authorities;
+    }
+
+    private List<UserAuthority> grant(User user, List<Authority> authorities) {
+        return userAuthorityRepository.saveAll(authorities.stream().map(authority -> new UserAuthority(user, authority)).toList());
+    }
+
     private Predicate<Authority> filterOutEqualAuthorities(User user) {
         return authority -> user
                 .getAuthorities()
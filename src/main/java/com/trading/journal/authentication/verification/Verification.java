@@ -1,6 +1,7 @@
 package com.trading.journal.authentication.verification;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.trading.journal.authentication.helper.DateHelper;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,7 +21,8 @@ import java.time.LocalDateTime;
 public class Verification {
 
     @Id
-    @GeneratedValue(strategy= GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "verificationsIdGenerator")
+    @SequenceGenerator(name = "verificationsIdGenerator", sequenceName = "verifications_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -40,10 +42,19 @@ public class Verification {
     @JsonFormat(pattern = DateHelper.DATE_TIME_FORMAT)
     private LocalDateTime lastChange;
 
-    public Verification renew(String hash) {
+    @JsonFormat(pattern = DateHelper.DATE_TIME_FORMAT)
+    private LocalDateTime expiresAt;
+
+    @JsonIgnore
+    @Transient
+    private String token;
+
+    public Verification renew(String token, String hash, LocalDateTime expiresAt) {
         this.status = VerificationStatus.PENDING;
         this.lastChange = LocalDateTime.now();
+        this.token = token;
         this.hash = hash;
+        this.expiresAt = expiresAt;
         return this;
     }
 }
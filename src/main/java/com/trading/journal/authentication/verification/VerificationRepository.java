@@ -10,7 +10,7 @@ public interface VerificationRepository extends CrudRepository<Verification, Lon
     @Override
     List<Verification> findAll();
 
-    Optional<Verification> getByHashAndEmail(String hash, String email);
+    Optional<Verification> getByHash(String hash);
 
     Optional<Verification> getByTypeAndEmail(VerificationType type, String email);
 
@@ -6,6 +6,8 @@ import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @ConfigurationProperties("journal.authentication.verification")
 @Configuration
 @Data
@@ -14,4 +16,10 @@ import org.springframework.context.annotation.Configuration;
 public class VerificationProperties {
 
     private boolean enabled;
+
+    private String hashProvider = "jwt";
+
+    private boolean legacyJwtFallback = true;
+
+    private Duration expiration = Duration.ofHours(24);
 }
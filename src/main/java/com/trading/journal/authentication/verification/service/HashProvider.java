@@ -1,8 +1,18 @@
 package com.trading.journal.authentication.verification.service;
 
+import com.trading.journal.authentication.verification.Verification;
+
+import java.util.List;
+
 public interface HashProvider {
 
     String generateHash(String value);
 
-    String readHashValue(String hash);
+    String storedHash(String hash);
+
+    default List<String> lookupHashes(String hash) {
+        return List.of(storedHash(hash));
+    }
+
+    void validate(String hash, Verification verification);
 }
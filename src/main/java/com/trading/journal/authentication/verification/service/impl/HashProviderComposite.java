@@ -0,0 +1,56 @@
+package com.trading.journal.authentication.verification.service.impl;
+
+import com.allanweber.jwttoken.service.JwtTokenProvider;
+import com.allanweber.jwttoken.service.JwtTokenReader;
+import com.trading.journal.authentication.verification.Verification;
+import com.trading.journal.authentication.verification.properties.VerificationProperties;
+import com.trading.journal.authentication.verification.service.HashProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(prefix = "journal.authentication.verification", name = "hash-provider", havingValue = "opaque")
+public class HashProviderComposite implements HashProvider {
+
+    private final HashProviderOpaque opaque;
+
+    private final HashProviderJwt legacy;
+
+    private final VerificationProperties verificationProperties;
+
+    public HashProviderComposite(JwtTokenProvider jwtTokenProvider, JwtTokenReader jwtTokenReader, VerificationProperties verificationProperties) {
+        this.opaque = new HashProviderOpaque();
+        this.legacy = new HashProviderJwt(jwtTokenProvider, jwtTokenReader);
+        this.verificationProperties = verificationProperties;
+    }
+
+    @Override
+    public String generateHash(String value) {
+        return opaque.generateHash(value);
+    }
+
+    @Override
+    public String storedHash(String hash) {
+        return opaque.storedHash(hash);
+    }
+
+    @Override
+    public List<String> lookupHashes(String hash) {
+        List<String> hashes = List.of(opaque.storedHash(hash));
+        if (verificationProperties.isLegacyJwtFallback()) {
+            hashes = List.of(opaque.storedHash(hash), legacy.storedHash(hash));
+        }
+        return hashes;
+    }
+
+    @Override
+    public void validate(String hash, Verification verification) {
+        if (opaque.storedHash(hash).equals(verification.getHash())) {
+            opaque.validate(hash, verification);
+        } else {
+            legacy.validate(hash, verification);
+        }
+    }
+}
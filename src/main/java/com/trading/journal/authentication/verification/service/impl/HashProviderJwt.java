@@ -5,8 +5,10 @@ import com.allanweber.jwttoken.helper.JwtConstants;
 import com.allanweber.jwttoken.service.JwtTokenProvider;
 import com.allanweber.jwttoken.service.JwtTokenReader;
 import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.verification.Verification;
 import com.trading.journal.authentication.verification.service.HashProvider;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
@@ -16,6 +18,7 @@ import static java.util.Collections.emptyList;
 import static java.util.Optional.ofNullable;
 
 @Component
+@ConditionalOnProperty(prefix = "journal.authentication.verification", name = "hash-provider", havingValue = "jwt", matchIfMissing = true)
 @RequiredArgsConstructor
 public class HashProviderJwt implements HashProvider {
 
@@ -29,6 +32,17 @@ public class HashProviderJwt implements HashProvider {
     }
 
     @Override
+    public String storedHash(String hash) {
+        return hash;
+    }
+
+    @Override
+    public void validate(String hash, Verification verification) {
+        if (!readHashValue(hash).equals(verification.getEmail())) {
+            throw new ApplicationException(HttpStatus.BAD_REQUEST, "Request is invalid");
+        }
+    }
+
     public String readHashValue(String hash) {
         if (!jwtTokenReader.isTokenValid(hash)) {
             throw new ApplicationException(HttpStatus.UNAUTHORIZED, "Invalid hash value");
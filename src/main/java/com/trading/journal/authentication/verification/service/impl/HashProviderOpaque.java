@@ -0,0 +1,42 @@
+package com.trading.journal.authentication.verification.service.impl;
+
+import com.trading.journal.authentication.verification.Verification;
+import com.trading.journal.authentication.verification.service.HashProvider;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+@NoArgsConstructor
+public class HashProviderOpaque implements HashProvider {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Override
+    public String generateHash(String value) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    @Override
+    public String storedHash(String hash) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(hash.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    @Override
+    public void validate(String hash, Verification verification) {
+        // the digest lookup already matched the token, there is nothing else to verify
+    }
+}
@@ -69,7 +69,7 @@ public class VerificationEmailServiceImpl implements VerificationEmailService {
                 new EmailField(VerificationFields.URL.getValue(), UriComponentsBuilder.newInstance()
                         .uri(URI.create(hostProperties.getFrontEnd()))
                         .path(webpage)
-                        .queryParam(VerificationFields.HASH.getValue(), verification.getHash())
+                        .queryParam(VerificationFields.HASH.getValue(), verification.getToken())
                         .build()
                         .toUriString())
         );
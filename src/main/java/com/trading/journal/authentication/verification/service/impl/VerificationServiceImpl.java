@@ -14,8 +14,11 @@ import com.trading.journal.authentication.verification.service.VerificationServi
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -31,22 +34,29 @@ public class VerificationServiceImpl implements VerificationService {
     private final VerificationProperties verificationProperties;
 
     @Override
+    @Transactional
     public void send(VerificationType verificationType, User applicationUser) {
         Verification verification = verificationRepository.getByTypeAndEmail(verificationType, applicationUser.getEmail())
                 .orElseGet(() -> Verification.builder().email(applicationUser.getEmail()).type(verificationType).build());
         if (doNotSendVerification(verification)) {
             return;
         }
-        verification = verification.renew(hashProvider.generateHash(verification.getEmail()));
-        verification = verificationRepository.save(verification);
+        String token = hashProvider.generateHash(verification.getEmail());
+        verification.renew(token, hashProvider.storedHash(token), LocalDateTime.now().plus(verificationProperties.getExpiration()));
+        verificationRepository.save(verification);
         verificationEmailService.sendEmail(verification, applicationUser);
     }
 
     @Override
     public Verification retrieve(String hash) {
-        String email = hashProvider.readHashValue(hash);
-        return verificationRepository.getByHashAndEmail(hash, email)
+        Verification verification = hashProvider.lookupHashes(hash).stream()
+                .map(verificationRepository::getByHash)
+                .flatMap(Optional::stream)
+                .findFirst()
+                .filter(VerificationServiceImpl::notExpired)
                 .orElseThrow(() -> new ApplicationException(HttpStatus.BAD_REQUEST, "Request is invalid"));
+        hashProvider.validate(hash, verification);
+        return verification;
     }
 
     @Override
@@ -83,6 +93,10 @@ public class VerificationServiceImpl implements VerificationService {
                 || VerificationType.NEW_ORGANISATION_USER.equals(verification.getType());
     }
 
+    private static boolean notExpired(Verification verification) {
+        return verification.getExpiresAt() == null || verification.getExpiresAt().isAfter(LocalDateTime.now());
+    }
+
     private boolean doNotSendVerification(Verification verification) {
         return isUserRegistration(verification) && !verificationProperties.isEnabled();
     }
@@ -0,0 +1,12 @@
+CREATE TABLE EmailOutbox (
+  id SERIAL NOT NULL,
+  request TEXT NOT NULL,
+  status VARCHAR(45) NOT NULL,
+  attempts int NOT NULL DEFAULT 0,
+  nextAttemptAt TIMESTAMP NOT NULL,
+  lastError VARCHAR(2000) NULL,
+  createdAt TIMESTAMP NOT NULL,
+  PRIMARY KEY (id)
+);
+
+CREATE INDEX emailOutboxPendingIdx ON EmailOutbox (nextAttemptAt) WHERE status = 'PENDING';
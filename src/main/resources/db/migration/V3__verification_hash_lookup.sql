@@ -0,0 +1,3 @@
+ALTER TABLE Verifications ADD COLUMN expiresAt TIMESTAMP NULL;
+
+CREATE INDEX verificationsHashIdx ON Verifications USING hash (hash);
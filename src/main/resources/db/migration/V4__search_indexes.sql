@@ -0,0 +1,6 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX usersFirstNameTrgmIdx ON Users USING gin (lower(firstName) gin_trgm_ops);
+CREATE INDEX usersLastNameTrgmIdx ON Users USING gin (lower(lastName) gin_trgm_ops);
+CREATE INDEX usersEmailTrgmIdx ON Users USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX tenancyNameTrgmIdx ON Tenancy USING gin (lower(name) gin_trgm_ops);
@@ -0,0 +1,13 @@
+CREATE INDEX usersEmailIdx ON Users (email);
+CREATE INDEX usersTenancyEmailIdx ON Users (tenancyId, email);
+
+DELETE FROM UserAuthorities duplicate
+USING UserAuthorities kept
+WHERE duplicate.userId = kept.userId
+  AND duplicate.authorityId = kept.authorityId
+  AND duplicate.id > kept.id;
+
+CREATE UNIQUE INDEX userAuthoritiesUserAuthorityIdx ON UserAuthorities (userId, authorityId);
+CREATE INDEX userAuthoritiesAuthorityUserIdx ON UserAuthorities (authorityId, userId);
+
+CREATE INDEX verificationsEmailTypeIdx ON Verifications (email, type);
@@ -0,0 +1,6 @@
+ALTER SEQUENCE tenancy_id_seq INCREMENT BY 50;
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE authorities_id_seq INCREMENT BY 50;
+ALTER SEQUENCE userauthorities_id_seq INCREMENT BY 50;
+ALTER SEQUENCE verifications_id_seq INCREMENT BY 50;
+ALTER SEQUENCE emailoutbox_id_seq INCREMENT BY 50;
@@ -0,0 +1,9 @@
+CREATE TABLE RateLimitBuckets
+(
+    name            VARCHAR(64)      NOT NULL,
+    tokens          DOUBLE PRECISION NOT NULL,
+    capacity        INT              NOT NULL,
+    refillPerSecond DOUBLE PRECISION NOT NULL,
+    updatedAt       TIMESTAMP        NOT NULL,
+    PRIMARY KEY (name)
+);
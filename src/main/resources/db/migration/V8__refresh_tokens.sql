@@ -0,0 +1,21 @@
+CREATE TABLE RefreshTokens
+(
+    jti       VARCHAR(36)  NOT NULL,
+    family    VARCHAR(36)  NOT NULL,
+    email     VARCHAR(150) NOT NULL,
+    expiresAt TIMESTAMP    NOT NULL,
+    used      BOOLEAN      NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (jti)
+);
+
+CREATE TABLE RevokedRefreshTokenFamilies
+(
+    family    VARCHAR(36) NOT NULL,
+    expiresAt TIMESTAMP   NOT NULL,
+    PRIMARY KEY (family)
+);
+
+CREATE INDEX refreshTokensEmailIdx ON RefreshTokens (email);
+CREATE INDEX refreshTokensFamilyIdx ON RefreshTokens (family);
+CREATE INDEX refreshTokensExpiresAtIdx ON RefreshTokens (expiresAt);
+CREATE INDEX revokedRefreshTokenFamiliesExpiresAtIdx ON RevokedRefreshTokenFamilies (expiresAt);
@@ -0,0 +1 @@
+ALTER TABLE Users ADD COLUMN securityVersion BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,24 @@
+package com.trading.journal.authentication;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.support.TestPropertySourceUtils;
+
+import static java.lang.String.format;
+
+public class PostgresReactiveTestContainerInitializer extends PostgresTestContainerInitializer {
+
+    @Override
+    public void initialize(@NotNull ConfigurableApplicationContext configurableApplicationContext) {
+        super.initialize(configurableApplicationContext);
+
+        TestPropertySourceUtils.addInlinedPropertiesToEnvironment(configurableApplicationContext,
+                format("spring.r2dbc.url=r2dbc:postgresql://%s:%s/trade-journal", container.getHost(), container.getMappedPort(5432)));
+
+        TestPropertySourceUtils.addInlinedPropertiesToEnvironment(configurableApplicationContext,
+                "spring.r2dbc.username=trade-journal");
+
+        TestPropertySourceUtils.addInlinedPropertiesToEnvironment(configurableApplicationContext,
+                "spring.r2dbc.password=trade-journal");
+    }
+}
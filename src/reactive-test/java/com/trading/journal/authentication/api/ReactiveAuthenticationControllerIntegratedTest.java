@@ -0,0 +1,195 @@
+package com.trading.journal.authentication.api;
+
+import com.allanweber.jwttoken.data.TokenData;
+import com.allanweber.jwttoken.service.JwtTokenProvider;
+import com.trading.journal.authentication.PostgresReactiveTestContainerInitializer;
+import com.trading.journal.authentication.authentication.Login;
+import com.trading.journal.authentication.authentication.LoginResponse;
+import com.trading.journal.authentication.email.EmailOutboxRepository;
+import com.trading.journal.authentication.email.EmailOutboxStatus;
+import com.trading.journal.authentication.password.ChangePassword;
+import com.trading.journal.authentication.password.service.PasswordService;
+import com.trading.journal.authentication.registration.UserRegistration;
+import com.trading.journal.authentication.user.User;
+import com.trading.journal.authentication.user.UserRepository;
+import com.trading.journal.authentication.user.service.UserService;
+import com.trading.journal.authentication.verification.Verification;
+import com.trading.journal.authentication.verification.VerificationRepository;
+import com.trading.journal.authentication.verification.VerificationStatus;
+import com.trading.journal.authentication.verification.VerificationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "reactive"})
+@Testcontainers
+@ContextConfiguration(initializers = PostgresReactiveTestContainerInitializer.class)
+class ReactiveAuthenticationControllerIntegratedTest {
+
+    private static final String EMAIL = "mail@mail.com";
+
+    private static final String PASSWORD = "dad231#$#4";
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    PasswordService passwordService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    VerificationRepository verificationRepository;
+
+    @Autowired
+    EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository.deleteAll();
+        verificationRepository.deleteAll();
+        emailOutboxRepository.deleteAll();
+        userService.createNewUser(new UserRegistration(null, "allan", "weber", EMAIL, PASSWORD, PASSWORD, false), null, passwordService.encodePassword(PASSWORD));
+    }
+
+    @Test
+    @DisplayName("When signIn user on the reactive stack return success and token")
+    void signIn() {
+        webTestClient
+                .post()
+                .uri("/auth/signin")
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(new Login(EMAIL, PASSWORD))
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody(LoginResponse.class)
+                .value(response -> {
+                    assertThat(response.accessToken()).isNotBlank();
+                    assertThat(response.refreshToken()).isNotBlank();
+                    assertThat(response.user()).isEqualTo(EMAIL);
+                });
+    }
+
+    @Test
+    @DisplayName("When signIn with wrong password on the reactive stack, return 401")
+    void signInFailsPassword() {
+        webTestClient
+                .post()
+                .uri("/auth/signin")
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(new Login(EMAIL, "wrong_password"))
+                .exchange()
+                .expectStatus()
+                .isUnauthorized()
+                .expectBody(new ParameterizedTypeReference<Map<String, Object>>() {
+                })
+                .value(response -> assertThat(response.get("error")).isEqualTo("Bad Credentials"));
+    }
+
+    @Test
+    @DisplayName("When signIn inputs are invalid on the reactive stack, return 400")
+    void signInFailsInvalidInput() {
+        webTestClient
+                .post()
+                .uri("/auth/signin")
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(new Login("password", PASSWORD))
+                .exchange()
+                .expectStatus()
+                .isBadRequest()
+                .expectBody(new ParameterizedTypeReference<Map<String, List<String>>>() {
+                })
+                .value(response -> assertThat(response.get("errors")).contains("Email is invalid"));
+    }
+
+    @Test
+    @DisplayName("Refresh token on the reactive stack return a new access token")
+    void refreshToken() {
+        LoginResponse login = webTestClient
+                .post()
+                .uri("/auth/signin")
+                .bodyValue(new Login(EMAIL, PASSWORD))
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody(LoginResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        webTestClient
+                .post()
+                .uri("/auth/refresh-token")
+                .header("refresh-token", login.refreshToken())
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody(LoginResponse.class)
+                .value(response -> assertThat(response.accessToken()).isNotBlank());
+    }
+
+    @Test
+    @DisplayName("Change password on the reactive stack stores the password, queues the confirmation and removes the verification")
+    void changePassword() {
+        String oldPassword = userRepository.findByEmail(EMAIL).map(User::getPassword).orElseThrow();
+        TokenData tokenData = jwtTokenProvider.generateTemporaryToken(EMAIL);
+        verificationRepository.save(Verification.builder()
+                .hash(tokenData.token())
+                .email(EMAIL)
+                .type(VerificationType.CHANGE_PASSWORD)
+                .status(VerificationStatus.PENDING)
+                .lastChange(LocalDateTime.now())
+                .build()
+        );
+
+        webTestClient
+                .post()
+                .uri("/auth/change-password")
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(new ChangePassword(EMAIL, tokenData.token(), "&UeK0j@tYRnhVGS&S64d", "&UeK0j@tYRnhVGS&S64d"))
+                .exchange()
+                .expectStatus()
+                .isOk();
+
+        User user = userRepository.findByEmail(EMAIL).orElseThrow();
+        assertThat(user.getPassword()).isNotEqualTo(oldPassword);
+        assertThat(user.getVerified()).isTrue();
+        assertThat(verificationRepository.getByTypeAndEmail(VerificationType.CHANGE_PASSWORD, EMAIL)).isEmpty();
+        assertThat(emailOutboxRepository.findByStatus(EmailOutboxStatus.PENDING))
+                .singleElement()
+                .satisfies(outbox -> assertThat(outbox.getRequest().receipts()).containsExactly(EMAIL));
+    }
+
+    @Test
+    @DisplayName("Endpoints outside /auth are not served by the reactive stack")
+    void otherEndpointsDenied() {
+        webTestClient
+                .get()
+                .uri("/admin/users")
+                .exchange()
+                .expectStatus()
+                .is4xxClientError();
+    }
+}
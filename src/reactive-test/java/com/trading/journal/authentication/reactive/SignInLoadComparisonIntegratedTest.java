@@ -0,0 +1,148 @@
+package com.trading.journal.authentication.reactive;
+
+import com.trading.journal.authentication.AuthenticationApplication;
+import com.trading.journal.authentication.PostgresTestContainerInitializer;
+import com.trading.journal.authentication.authentication.Login;
+import com.trading.journal.authentication.password.service.PasswordService;
+import com.trading.journal.authentication.registration.UserRegistration;
+import com.trading.journal.authentication.user.UserRepository;
+import com.trading.journal.authentication.user.service.UserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+@ContextConfiguration(initializers = PostgresTestContainerInitializer.class)
+@Tag("load")
+class SignInLoadComparisonIntegratedTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SignInLoadComparisonIntegratedTest.class);
+
+    private static final int USERS = Integer.getInteger("load.users", 20);
+
+    private static final int REQUESTS = Integer.getInteger("load.requests", 400);
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 64);
+
+    private static final String PASSWORD = "dad231#$#4";
+
+    @LocalServerPort
+    int servletPort;
+
+    @Autowired
+    Environment environment;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    PasswordService passwordService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Test
+    @DisplayName("Sign-in load against the servlet and the reactive deployment modes")
+    void compare() {
+        userRepository.deleteAll();
+        String encodedPassword = passwordService.encodePassword(PASSWORD);
+        IntStream.range(0, USERS).forEach(user -> userService.createNewUser(
+                new UserRegistration(null, "load", "user", email(user), PASSWORD, PASSWORD, false), null, encodedPassword));
+
+        LoadResult servlet = run("servlet", servletPort);
+        LoadResult reactive;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AuthenticationApplication.class)
+                .profiles("test", "reactive")
+                .properties(reactiveProperties())
+                .run()) {
+            reactive = run("reactive", context.getEnvironment().getRequiredProperty("local.server.port", Integer.class));
+        }
+
+        logger.info("{}", servlet);
+        logger.info("{}", reactive);
+        assertThat(servlet.errors()).isZero();
+        assertThat(reactive.errors()).isZero();
+    }
+
+    private LoadResult run(String mode, int port) {
+        WebClient client = WebClient.create("http://localhost:" + port);
+        run(client, Math.min(REQUESTS, CONCURRENCY));
+
+        long started = System.nanoTime();
+        List<Long> latencies = run(client, REQUESTS);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        List<Long> succeeded = latencies.stream().filter(latency -> latency >= 0).sorted().toList();
+        return new LoadResult(mode, REQUESTS, REQUESTS - succeeded.size(),
+                succeeded.size() * 1000D / Math.max(1, elapsed.toMillis()),
+                percentile(succeeded, 0.5), percentile(succeeded, 0.99));
+    }
+
+    private List<Long> run(WebClient client, int requests) {
+        return Flux.range(0, requests)
+                .flatMap(request -> signIn(client, email(request % USERS)), CONCURRENCY)
+                .collectList()
+                .block();
+    }
+
+    private Mono<Long> signIn(WebClient client, String email) {
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return client.post()
+                    .uri("/auth/signin")
+                    .bodyValue(new Login(email, PASSWORD))
+                    .retrieve()
+                    .toBodilessEntity()
+                    .map(response -> Duration.ofNanos(System.nanoTime() - started).toMillis())
+                    .onErrorReturn(-1L);
+        });
+    }
+
+    private Map<String, Object> reactiveProperties() {
+        String url = environment.getRequiredProperty("spring.datasource.url");
+        return Map.of(
+                "server.port", 0,
+                "spring.datasource.url", url,
+                "spring.datasource.username", environment.getRequiredProperty("spring.datasource.username"),
+                "spring.datasource.password", environment.getRequiredProperty("spring.datasource.password"),
+                "spring.r2dbc.url", url.replace("jdbc:", "r2dbc:"),
+                "spring.r2dbc.username", environment.getRequiredProperty("spring.datasource.username"),
+                "spring.r2dbc.password", environment.getRequiredProperty("spring.datasource.password")
+        );
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return -1;
+        }
+        return sorted.get((int) Math.ceil(percentile * sorted.size()) - 1);
+    }
+
+    private static String email(int user) {
+        return "load" + user + "@mail.com";
+    }
+
+    private record LoadResult(String mode, int requests, long errors, double throughput, long p50, long p99) {
+    }
+}
@@ -0,0 +1,363 @@
+package com.trading.journal.authentication.reactive.service.impl;
+
+import com.allanweber.jwttoken.data.TokenData;
+import com.allanweber.jwttoken.service.JwtTokenProvider;
+import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.authentication.AuthenticatedUser;
+import com.trading.journal.authentication.authentication.Login;
+import com.trading.journal.authentication.authentication.LoginResponse;
+import com.trading.journal.authentication.cache.CacheNames;
+import com.trading.journal.authentication.cache.service.CacheInvalidationService;
+import com.trading.journal.authentication.password.ChangePassword;
+import com.trading.journal.authentication.reactive.ReactiveEmailOutbox;
+import com.trading.journal.authentication.reactive.ReactiveEmailOutboxRepository;
+import com.trading.journal.authentication.reactive.ReactiveUser;
+import com.trading.journal.authentication.reactive.ReactiveUserRepository;
+import com.trading.journal.authentication.reactive.ReactiveVerification;
+import com.trading.journal.authentication.reactive.ReactiveVerificationRepository;
+import com.trading.journal.authentication.reactive.service.ReactivePasswordService;
+import com.trading.journal.authentication.refreshtoken.RefreshTokenRotation;
+import com.trading.journal.authentication.refreshtoken.service.RefreshTokenService;
+import com.trading.journal.authentication.registration.service.RegistrationService;
+import com.trading.journal.authentication.ratelimit.RateLimit;
+import com.trading.journal.authentication.ratelimit.service.RateLimiter;
+import com.trading.journal.authentication.throttle.service.SignInThrottle;
+import com.trading.journal.authentication.verification.VerificationStatus;
+import com.trading.journal.authentication.verification.VerificationType;
+import com.trading.journal.authentication.verification.service.HashProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class ReactiveAuthenticationServiceImplTest {
+
+    private static final String EMAIL = "mail@mail.com";
+
+    @Mock
+    ReactiveUserRepository userRepository;
+
+    @Mock
+    ReactiveVerificationRepository verificationRepository;
+
+    @Mock
+    ReactiveEmailOutboxRepository emailOutboxRepository;
+
+    @Mock
+    ReactivePasswordService passwordService;
+
+    @Mock
+    TransactionalOperator transactionalOperator;
+
+    @Mock
+    JwtTokenProvider jwtTokenProvider;
+
+    @Mock
+    RefreshTokenService refreshTokenService;
+
+    @Mock
+    CacheInvalidationService cacheInvalidationService;
+
+    @Mock
+    HashProvider hashProvider;
+
+    @Mock
+    RegistrationService registrationService;
+
+    @Mock
+    SignInThrottle signInThrottle;
+
+    @Mock
+    RateLimiter rateLimiter;
+
+    @InjectMocks
+    ReactiveAuthenticationServiceImpl authenticationService;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(hashProvider.lookupHashes(anyString())).thenAnswer(invocation -> List.of(invocation.<String>getArgument(0)));
+    }
+
+    @DisplayName("Given correct credentials return access and refresh tokens")
+    @Test
+    void signIn() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Mono.just(user(true, true, true)));
+        when(passwordService.matches("raw_password", "encoded_password")).thenReturn(Mono.just(true));
+        when(userRepository.findAuthoritiesName(1L)).thenReturn(Flux.just("ROLE_USER"));
+        AuthenticatedUser authenticated = new AuthenticatedUser(1L, EMAIL, 1L, "tenancy", List.of("ROLE_USER"), 3L);
+        when(jwtTokenProvider.generateAccessToken(authenticated)).thenReturn(new TokenData("token", LocalDateTime.now()));
+        when(refreshTokenService.issue(authenticated)).thenReturn(new TokenData("refreshToken", LocalDateTime.now()));
+
+        LoginResponse response = authenticationService.signIn(new Login(EMAIL, "raw_password"), "127.0.0.1").block();
+
+        assertThat(response.accessToken()).isEqualTo("token");
+        assertThat(response.refreshToken()).isEqualTo("refreshToken");
+        assertThat(response.user()).isEqualTo(EMAIL);
+        verify(userRepository, never()).changePassword(anyString(), anyString());
+    }
+
+    @DisplayName("Given correct credentials with a hash from another strength, rehash the password")
+    @Test
+    void signInRehash() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Mono.just(user(true, true, true)));
+        when(passwordService.matches("raw_password", "encoded_password")).thenReturn(Mono.just(true));
+        when(passwordService.upgradeEncoding("encoded_password")).thenReturn(true);
+        when(passwordService.encodePassword("raw_password")).thenReturn(Mono.just("rehashed_password"));
+        when(userRepository.changePassword(EMAIL, "rehashed_password")).thenReturn(Mono.just(1));
+        when(userRepository.findAuthoritiesName(1L)).thenReturn(Flux.just("ROLE_USER"));
+        when(jwtTokenProvider.generateAccessToken(any())).thenReturn(new TokenData("token", LocalDateTime.now()));
+        when(refreshTokenService.issue(any())).thenReturn(new TokenData("refreshToken", LocalDateTime.now()));
+
+        authenticationService.signIn(new Login(EMAIL, "raw_password"), "127.0.0.1").block();
+
+        verify(userRepository).changePassword(EMAIL, "rehashed_password");
+    }
+
+    @DisplayName("Given an unknown email return bad credentials")
+    @Test
+    void signInNotFound() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Mono.empty());
+
+        Mono<LoginResponse> signIn = authenticationService.signIn(new Login(EMAIL, "raw_password"), "127.0.0.1");
+        ApplicationException exception = assertThrows(ApplicationException.class, signIn::block);
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(exception.getStatusText()).isEqualTo("Bad Credentials");
+        verify(passwordService, never()).matches(anyString(), anyString());
+    }
+
+    @DisplayName("Given a throttled sign in return too many requests without loading the user")
+    @Test
+    void signInThrottled() {
+        doThrow(new ApplicationException(HttpStatus.TOO_MANY_REQUESTS, "Too many sign in attempts, try again later"))
+                .when(signInThrottle).check(EMAIL, "127.0.0.1");
+
+        Mono<LoginResponse> signIn = authenticationService.signIn(new Login(EMAIL, "raw_password"), "127.0.0.1");
+        ApplicationException exception = assertThrows(ApplicationException.class, signIn::block);
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(passwordService, never()).matches(anyString(), anyString());
+        verify(rateLimiter, never()).acquire(any());
+    }
+
+    @DisplayName("Given a rate limited sign in return too many requests after the throttle check")
+    @Test
+    void signInRateLimited() {
+        doThrow(new ApplicationException(HttpStatus.TOO_MANY_REQUESTS, "Too many requests"))
+                .when(rateLimiter).acquire(RateLimit.SIGN_IN);
+
+        Mono<LoginResponse> signIn = authenticationService.signIn(new Login(EMAIL, "raw_password"), "127.0.0.1");
+        ApplicationException exception = assertThrows(ApplicationException.class, signIn::block);
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        InOrder inOrder = inOrder(signInThrottle, rateLimiter);
+        inOrder.verify(signInThrottle).check(EMAIL, "127.0.0.1");
+        inOrder.verify(rateLimiter).acquire(RateLimit.SIGN_IN);
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @DisplayName("Given a not verified user return locked credentials without hashing the password")
+    @Test
+    void signInLocked() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Mono.just(user(true, false, true)));
+
+        Mono<LoginResponse> signIn = authenticationService.signIn(new Login(EMAIL, "raw_password"), "127.0.0.1");
+        ApplicationException exception = assertThrows(ApplicationException.class, signIn::block);
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(exception.getStatusText()).isEqualTo("Locked Credentials");
+        verify(passwordService, never()).matches(anyString(), anyString());
+    }
+
+    @DisplayName("Given a user of a disabled tenancy return forbidden")
+    @Test
+    void signInTenancyDisabled() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Mono.just(user(true, true, false)));
+
+        Mono<LoginResponse> signIn = authenticationService.signIn(new Login(EMAIL, "raw_password"), "127.0.0.1");
+        ApplicationException exception = assertThrows(ApplicationException.class, signIn::block);
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(exception.getStatusText()).isEqualTo("Your tenancy is disabled by the system admin");
+    }
+
+    @DisplayName("Given a wrong password return bad credentials")
+    @Test
+    void signInWrongPassword() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Mono.just(user(true, true, true)));
+        when(passwordService.matches("raw_password", "encoded_password")).thenReturn(Mono.just(false));
+        when(userRepository.findAuthoritiesName(1L)).thenReturn(Flux.just("ROLE_USER"));
+
+        Mono<LoginResponse> signIn = authenticationService.signIn(new Login(EMAIL, "raw_password"), "127.0.0.1");
+        ApplicationException exception = assertThrows(ApplicationException.class, signIn::block);
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(exception.getStatusText()).isEqualTo("Bad Credentials");
+        verify(jwtTokenProvider, never()).generateAccessToken(any());
+    }
+
+    @DisplayName("Given a user without authorities return no authorities")
+    @Test
+    void signInNoAuthorities() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Mono.just(user(true, true, true)));
+        when(passwordService.matches("raw_password", "encoded_password")).thenReturn(Mono.just(true));
+        when(userRepository.findAuthoritiesName(1L)).thenReturn(Flux.empty());
+
+        Mono<LoginResponse> signIn = authenticationService.signIn(new Login(EMAIL, "raw_password"), "127.0.0.1");
+        ApplicationException exception = assertThrows(ApplicationException.class, signIn::block);
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(exception.getStatusText()).isEqualTo("No Authorities");
+    }
+
+    @DisplayName("Given a valid refresh token return a new access token and a rotated refresh token")
+    @Test
+    void refreshToken() {
+        AuthenticatedUser authenticated = new AuthenticatedUser(1L, EMAIL, 1L, "tenancy", List.of("ROLE_USER"), 3L);
+        when(refreshTokenService.rotate("refresh")).thenReturn(new RefreshTokenRotation(authenticated, new TokenData("rotated", LocalDateTime.now())));
+        when(jwtTokenProvider.generateAccessToken(authenticated)).thenReturn(new TokenData("token", LocalDateTime.now()));
+
+        LoginResponse response = authenticationService.refreshToken("refresh").block();
+
+        assertThat(response.accessToken()).isEqualTo("token");
+        assertThat(response.refreshToken()).isEqualTo("rotated");
+        assertThat(response.user()).isEqualTo(EMAIL);
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(userRepository, never()).findAuthoritiesName(any());
+    }
+
+    @DisplayName("Given an expired refresh token return unauthorized")
+    @Test
+    void refreshTokenExpired() {
+        when(refreshTokenService.rotate("refresh")).thenThrow(new ApplicationException(HttpStatus.UNAUTHORIZED, "Refresh token is expired"));
+
+        Mono<LoginResponse> refresh = authenticationService.refreshToken("refresh");
+        ApplicationException exception = assertThrows(ApplicationException.class, refresh::block);
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(exception.getStatusText()).isEqualTo("Refresh token is expired");
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @DisplayName("Verify a registration enables the user and removes the verification")
+    @Test
+    void verifyRegistration() {
+        ReactiveVerification verification = verification(VerificationType.REGISTRATION);
+        when(verificationRepository.getByHash("hash")).thenReturn(Mono.just(verification));
+        when(userRepository.verify(EMAIL)).thenReturn(Mono.just(1));
+        when(verificationRepository.delete(verification)).thenReturn(Mono.empty());
+
+        authenticationService.verify("hash").block();
+
+        verify(hashProvider).validate(eq("hash"), any());
+        verify(verificationRepository).delete(verification);
+        verify(registrationService, never()).verify(anyString());
+    }
+
+    @DisplayName("Verify an admin registration sends the change password through the registration service")
+    @Test
+    void verifyAdminRegistration() {
+        when(verificationRepository.getByHash("hash")).thenReturn(Mono.just(verification(VerificationType.ADMIN_REGISTRATION)));
+
+        authenticationService.verify("hash").block();
+
+        verify(registrationService).verify("hash");
+        verify(userRepository, never()).verify(anyString());
+    }
+
+    @DisplayName("Verify an expired verification return bad request")
+    @Test
+    void verifyExpired() {
+        ReactiveVerification verification = ReactiveVerification.builder().email(EMAIL).type(VerificationType.REGISTRATION)
+                .hash("hash").expiresAt(LocalDateTime.now().minusMinutes(1)).build();
+        when(verificationRepository.getByHash("hash")).thenReturn(Mono.just(verification));
+
+        Mono<Void> verify = authenticationService.verify("hash");
+        ApplicationException exception = assertThrows(ApplicationException.class, verify::block);
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(exception.getStatusText()).isEqualTo("Request is invalid");
+    }
+
+    @DisplayName("Change password stores the new hash, queues the confirmation and removes the verification")
+    @Test
+    void changePassword() {
+        ReactiveVerification verification = verification(VerificationType.CHANGE_PASSWORD);
+        when(verificationRepository.getByHash("hash")).thenReturn(Mono.just(verification));
+        when(passwordService.encodePassword("dad231#$#4")).thenReturn(Mono.just("encoded"));
+        when(userRepository.resetPassword(EMAIL, "encoded")).thenReturn(Mono.just(1));
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Mono.just(user(true, false, true)));
+        when(emailOutboxRepository.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(userRepository.verify(EMAIL)).thenReturn(Mono.just(1));
+        when(verificationRepository.delete(verification)).thenReturn(Mono.empty());
+
+        authenticationService.changePassword(new ChangePassword(EMAIL, "hash", "dad231#$#4", "dad231#$#4")).block();
+
+        verify(emailOutboxRepository).save(argThat((ReactiveEmailOutbox outbox) -> outbox.getRequest().contains(EMAIL)));
+        verify(userRepository).verify(EMAIL);
+        verify(verificationRepository).delete(verification);
+        verify(refreshTokenService).revokeUser(EMAIL);
+        verify(cacheInvalidationService).evict(CacheNames.USERS, 1L);
+        verify(userRepository, never()).changePassword(anyString(), anyString());
+    }
+
+    @DisplayName("Change password with a verification of another type return bad request")
+    @Test
+    void changePasswordInvalid() {
+        when(verificationRepository.getByHash("hash")).thenReturn(Mono.just(verification(VerificationType.REGISTRATION)));
+
+        Mono<Void> changePassword = authenticationService.changePassword(new ChangePassword(EMAIL, "hash", "dad231#$#4", "dad231#$#4"));
+        ApplicationException exception = assertThrows(ApplicationException.class, changePassword::block);
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(exception.getStatusText()).isEqualTo("Change password request is invalid");
+        verify(passwordService, never()).encodePassword(anyString());
+    }
+
+    private ReactiveUser user(boolean enabled, boolean verified, boolean tenancyEnabled) {
+        return ReactiveUser.builder()
+                .id(1L)
+                .tenancyId(1L)
+                .tenancyName("tenancy")
+                .tenancyEnabled(tenancyEnabled)
+                .password("encoded_password")
+                .firstName("firstName")
+                .lastName("lastName")
+                .email(EMAIL)
+                .enabled(enabled)
+                .verified(verified)
+                .securityVersion(3L)
+                .build();
+    }
+
+    private ReactiveVerification verification(VerificationType type) {
+        return ReactiveVerification.builder()
+                .id(1L)
+                .email(EMAIL)
+                .type(type)
+                .status(VerificationStatus.PENDING)
+                .hash("hash")
+                .lastChange(LocalDateTime.now())
+                .build();
+    }
+}
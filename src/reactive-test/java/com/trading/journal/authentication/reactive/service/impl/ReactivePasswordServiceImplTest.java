@@ -0,0 +1,114 @@
+package com.trading.journal.authentication.reactive.service.impl;
+
+import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.password.properties.PasswordHashingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReactivePasswordServiceImplTest {
+
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    PasswordEncoder encoder = mock(PasswordEncoder.class);
+
+    Scheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+    }
+
+    @DisplayName("Password matching runs on the bounded hashing scheduler")
+    @Test
+    void matches() {
+        scheduler = Schedulers.newBoundedElastic(2, 10, "password-hashing");
+        ReactivePasswordServiceImpl passwordService = new ReactivePasswordServiceImpl(encoder, scheduler, properties(Duration.ofSeconds(1)), meterRegistry);
+        String[] thread = new String[1];
+        when(encoder.matches("raw", "encoded")).thenAnswer(invocation -> {
+            thread[0] = Thread.currentThread().getName();
+            return true;
+        });
+
+        Boolean matches = passwordService.matches("raw", "encoded").block();
+
+        assertThat(matches).isTrue();
+        assertThat(thread[0]).startsWith("password-hashing");
+    }
+
+    @DisplayName("Password encoding runs on the bounded hashing scheduler")
+    @Test
+    void encodePassword() {
+        scheduler = Schedulers.newBoundedElastic(2, 10, "password-hashing");
+        ReactivePasswordServiceImpl passwordService = new ReactivePasswordServiceImpl(encoder, scheduler, properties(Duration.ofSeconds(1)), meterRegistry);
+        when(encoder.encode("raw")).thenReturn("encoded");
+
+        assertThat(passwordService.encodePassword("raw").block()).isEqualTo("encoded");
+    }
+
+    @DisplayName("When the hashing queue is full, reject with service unavailable and retry after")
+    @Test
+    void queueFull() throws InterruptedException {
+        scheduler = Schedulers.newBoundedElastic(1, 1, "password-hashing");
+        ReactivePasswordServiceImpl passwordService = new ReactivePasswordServiceImpl(encoder, scheduler, properties(Duration.ofSeconds(5)), meterRegistry);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(encoder.matches("raw", "encoded")).thenAnswer(invocation -> {
+            running.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+
+        passwordService.matches("raw", "encoded").subscribe();
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        passwordService.matches("raw", "encoded").subscribe();
+
+        Mono<Boolean> rejected = passwordService.matches("raw", "encoded");
+        ApplicationException exception = assertThrows(ApplicationException.class, rejected::block);
+        release.countDown();
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(exception.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1D);
+    }
+
+    @DisplayName("When the hashing waited longer than allowed, reject with service unavailable")
+    @Test
+    void queueTimeout() throws InterruptedException {
+        scheduler = Schedulers.newBoundedElastic(1, 10, "password-hashing");
+        ReactivePasswordServiceImpl passwordService = new ReactivePasswordServiceImpl(encoder, scheduler, properties(Duration.ofMillis(50)), meterRegistry);
+        CountDownLatch running = new CountDownLatch(1);
+        when(encoder.matches("raw", "encoded")).thenAnswer(invocation -> {
+            running.countDown();
+            TimeUnit.MILLISECONDS.sleep(200);
+            return true;
+        });
+
+        passwordService.matches("raw", "encoded").subscribe();
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Mono<Boolean> late = passwordService.matches("raw", "encoded");
+        ApplicationException exception = assertThrows(ApplicationException.class, late::block);
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private PasswordHashingProperties properties(Duration maxQueueTime) {
+        return new PasswordHashingProperties(1, 1, maxQueueTime, Duration.ofMillis(250), Duration.ofSeconds(3));
+    }
+}
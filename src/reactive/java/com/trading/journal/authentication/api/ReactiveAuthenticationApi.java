@@ -0,0 +1,44 @@
+package com.trading.journal.authentication.api;
+
+import com.trading.journal.authentication.authentication.Login;
+import com.trading.journal.authentication.authentication.LoginResponse;
+import com.trading.journal.authentication.password.ChangePassword;
+import com.trading.journal.authentication.registration.SignUpResponse;
+import com.trading.journal.authentication.registration.UserRegistration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RequestMapping("/auth")
+public interface ReactiveAuthenticationApi {
+
+    @PostMapping("/signup")
+    @ResponseStatus(HttpStatus.OK)
+    Mono<ResponseEntity<SignUpResponse>> signUp(@RequestBody UserRegistration registration);
+
+    @PostMapping("/signin")
+    @ResponseStatus(HttpStatus.OK)
+    Mono<ResponseEntity<LoginResponse>> signIn(@RequestBody Login login, ServerHttpRequest request);
+
+    @PostMapping("/refresh-token")
+    @ResponseStatus(HttpStatus.OK)
+    Mono<ResponseEntity<LoginResponse>> refreshToken(@RequestHeader("refresh-token") String refreshToken);
+
+    @PostMapping("/verify")
+    Mono<ResponseEntity<Void>> verify(@RequestParam("hash") String hash);
+
+    @PostMapping("/verify/send")
+    Mono<ResponseEntity<SignUpResponse>> sendVerification(@RequestParam("email") String email);
+
+    @PostMapping("/change-password/request")
+    Mono<ResponseEntity<Void>> requestPasswordChange(@RequestParam("email") String email);
+
+    @PostMapping("/change-password")
+    @ResponseStatus(HttpStatus.OK)
+    Mono<ResponseEntity<Void>> changePassword(@RequestBody ChangePassword changePassword);
+
+    @GetMapping("/hello")
+    Mono<ResponseEntity<String>> hello();
+}
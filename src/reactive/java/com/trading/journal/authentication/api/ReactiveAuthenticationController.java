@@ -0,0 +1,109 @@
+package com.trading.journal.authentication.api;
+
+import com.trading.journal.authentication.authentication.Login;
+import com.trading.journal.authentication.authentication.LoginResponse;
+import com.trading.journal.authentication.password.ChangePassword;
+import com.trading.journal.authentication.password.service.PasswordManagementService;
+import com.trading.journal.authentication.ratelimit.RateLimit;
+import com.trading.journal.authentication.ratelimit.service.RateLimiter;
+import com.trading.journal.authentication.reactive.service.ReactiveAuthenticationService;
+import com.trading.journal.authentication.registration.SignUpResponse;
+import com.trading.journal.authentication.registration.UserRegistration;
+import com.trading.journal.authentication.registration.service.RegistrationService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.InetSocketAddress;
+
+import static org.springframework.http.ResponseEntity.ok;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveAuthenticationController implements ReactiveAuthenticationApi {
+
+    private final ReactiveAuthenticationService authenticationService;
+
+    private final RegistrationService registrationService;
+
+    private final PasswordManagementService passwordManagementService;
+
+    private final RateLimiter rateLimiter;
+
+    @Timed(value = "signup_user", description = "Amount of time create a new user via signup")
+    @Override
+    public Mono<ResponseEntity<SignUpResponse>> signUp(@Valid UserRegistration registration) {
+        return Mono.fromCallable(() -> {
+                    rateLimiter.acquire(RateLimit.SIGN_UP);
+                    return registrationService.signUp(registration);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok);
+    }
+
+    @Timed(value = "signin_user", description = "Amount of time to authenticate a user")
+    @Override
+    public Mono<ResponseEntity<LoginResponse>> signIn(@Valid Login login, ServerHttpRequest request) {
+        return authenticationService.signIn(login, clientAddress(request.getRemoteAddress())).map(ResponseEntity::ok);
+    }
+
+    @Timed(value = "refresh_token", description = "Amount of time to refresh the user token")
+    @Override
+    public Mono<ResponseEntity<LoginResponse>> refreshToken(String refreshToken) {
+        return authenticationService.refreshToken(refreshToken).map(ResponseEntity::ok);
+    }
+
+    @Timed(value = "verify_new_user", description = "Amount of time to verify a new user email")
+    @Override
+    public Mono<ResponseEntity<Void>> verify(String hash) {
+        return authenticationService.verify(hash).then(Mono.fromSupplier(() -> ok().build()));
+    }
+
+    @Timed(value = "send_new_verification", description = "Amount of time to send a new email verification to the user email")
+    @Override
+    public Mono<ResponseEntity<SignUpResponse>> sendVerification(String email) {
+        return Mono.fromCallable(() -> {
+                    rateLimiter.acquire(RateLimit.VERIFICATION_SEND);
+                    return registrationService.sendVerification(email);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok);
+    }
+
+    @Timed(value = "request_password_change", description = "Amount of time to request a password change")
+    @Override
+    public Mono<ResponseEntity<Void>> requestPasswordChange(String email) {
+        return Mono.fromRunnable(() -> {
+                    rateLimiter.acquire(RateLimit.PASSWORD_CHANGE_REQUEST);
+                    passwordManagementService.requestPasswordChange(email);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(Mono.fromSupplier(() -> ok().build()));
+    }
+
+    @Timed(value = "password_change", description = "Amount of time to apply a password change")
+    @Override
+    public Mono<ResponseEntity<Void>> changePassword(@Valid ChangePassword changePassword) {
+        return authenticationService.changePassword(changePassword).then(Mono.fromSupplier(() -> ok().build()));
+    }
+
+    @Override
+    public Mono<ResponseEntity<String>> hello() {
+        return Mono.just(ok("hello"));
+    }
+
+    private String clientAddress(InetSocketAddress remoteAddress) {
+        String address = null;
+        if (remoteAddress != null) {
+            address = remoteAddress.getAddress() == null ? remoteAddress.getHostString() : remoteAddress.getAddress().getHostAddress();
+        }
+        return address;
+    }
+}
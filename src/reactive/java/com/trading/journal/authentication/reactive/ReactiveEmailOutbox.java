@@ -0,0 +1,46 @@
+package com.trading.journal.authentication.reactive;
+
+import com.trading.journal.authentication.email.EmailOutboxStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Builder
+@Table("EmailOutbox")
+public class ReactiveEmailOutbox {
+
+    @Id
+    private Long id;
+
+    private String request;
+
+    private EmailOutboxStatus status;
+
+    private Integer attempts;
+
+    @Column("nextAttemptAt")
+    private LocalDateTime nextAttemptAt;
+
+    @Column("createdAt")
+    private LocalDateTime createdAt;
+
+    public static ReactiveEmailOutbox pending(String request) {
+        LocalDateTime now = LocalDateTime.now();
+        return ReactiveEmailOutbox.builder()
+                .request(request)
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+}
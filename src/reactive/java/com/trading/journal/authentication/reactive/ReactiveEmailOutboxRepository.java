@@ -0,0 +1,6 @@
+package com.trading.journal.authentication.reactive;
+
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+public interface ReactiveEmailOutboxRepository extends ReactiveCrudRepository<ReactiveEmailOutbox, Long> {
+}
@@ -0,0 +1,56 @@
+package com.trading.journal.authentication.reactive;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Builder
+@Table("Users")
+public class ReactiveUser {
+
+    @Id
+    private Long id;
+
+    @Column("tenancyId")
+    private Long tenancyId;
+
+    @ReadOnlyProperty
+    @Column("tenancyName")
+    private String tenancyName;
+
+    @ReadOnlyProperty
+    @Column("tenancyEnabled")
+    private Boolean tenancyEnabled;
+
+    private String password;
+
+    @Column("firstName")
+    private String firstName;
+
+    @Column("lastName")
+    private String lastName;
+
+    private String email;
+
+    private Boolean enabled;
+
+    private Boolean verified;
+
+    @Column("createdAt")
+    private LocalDateTime createdAt;
+
+    private Boolean newsletter;
+
+    @Column("securityVersion")
+    private Long securityVersion;
+}
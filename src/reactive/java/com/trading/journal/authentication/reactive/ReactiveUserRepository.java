@@ -0,0 +1,28 @@
+package com.trading.journal.authentication.reactive;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserRepository extends ReactiveCrudRepository<ReactiveUser, Long> {
+
+    @Query("SELECT u.*, t.name AS tenancyName, t.enabled AS tenancyEnabled FROM Users u LEFT JOIN Tenancy t ON t.id = u.tenancyId WHERE u.email = :email")
+    Mono<ReactiveUser> findByEmail(String email);
+
+    @Query("SELECT a.name FROM Authorities a INNER JOIN UserAuthorities ua ON ua.authorityId = a.id WHERE ua.userId = :userId")
+    Flux<String> findAuthoritiesName(Long userId);
+
+    @Modifying
+    @Query("UPDATE Users SET enabled = true, verified = true WHERE email = :email")
+    Mono<Integer> verify(String email);
+
+    @Modifying
+    @Query("UPDATE Users SET password = :password WHERE email = :email")
+    Mono<Integer> changePassword(String email, String password);
+
+    @Modifying
+    @Query("UPDATE Users SET password = :password, securityVersion = securityVersion + 1 WHERE email = :email")
+    Mono<Integer> resetPassword(String email, String password);
+}
@@ -0,0 +1,51 @@
+package com.trading.journal.authentication.reactive;
+
+import com.trading.journal.authentication.verification.Verification;
+import com.trading.journal.authentication.verification.VerificationStatus;
+import com.trading.journal.authentication.verification.VerificationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Builder
+@Table("Verifications")
+public class ReactiveVerification {
+
+    @Id
+    private Long id;
+
+    private String email;
+
+    private VerificationType type;
+
+    private VerificationStatus status;
+
+    private String hash;
+
+    @Column("lastChange")
+    private LocalDateTime lastChange;
+
+    @Column("expiresAt")
+    private LocalDateTime expiresAt;
+
+    public Verification toVerification() {
+        return Verification.builder()
+                .id(id)
+                .email(email)
+                .type(type)
+                .status(status)
+                .hash(hash)
+                .lastChange(lastChange)
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package com.trading.journal.authentication.reactive;
+
+import com.trading.journal.authentication.verification.VerificationType;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveVerificationRepository extends ReactiveCrudRepository<ReactiveVerification, Long> {
+
+    Mono<ReactiveVerification> getByHash(String hash);
+
+    Mono<ReactiveVerification> getByTypeAndEmail(VerificationType type, String email);
+
+    Flux<ReactiveVerification> getByEmail(String email);
+}
@@ -0,0 +1,17 @@
+package com.trading.journal.authentication.reactive.service;
+
+import com.trading.journal.authentication.authentication.Login;
+import com.trading.journal.authentication.authentication.LoginResponse;
+import com.trading.journal.authentication.password.ChangePassword;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveAuthenticationService {
+
+    Mono<LoginResponse> signIn(Login login, String clientAddress);
+
+    Mono<LoginResponse> refreshToken(String refreshToken);
+
+    Mono<Void> verify(String hash);
+
+    Mono<Void> changePassword(ChangePassword changePassword);
+}
@@ -0,0 +1,12 @@
+package com.trading.journal.authentication.reactive.service;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactivePasswordService {
+
+    Mono<String> encodePassword(String rawPassword);
+
+    Mono<Boolean> matches(String rawPassword, String encodedPassword);
+
+    boolean upgradeEncoding(String encodedPassword);
+}
@@ -0,0 +1,202 @@
+package com.trading.journal.authentication.reactive.service.impl;
+
+import com.allanweber.jwttoken.data.TokenData;
+import com.allanweber.jwttoken.helper.JwtConstants;
+import com.allanweber.jwttoken.service.JwtTokenProvider;
+import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.authentication.AuthenticatedUser;
+import com.trading.journal.authentication.authentication.Login;
+import com.trading.journal.authentication.authentication.LoginResponse;
+import com.trading.journal.authentication.cache.CacheNames;
+import com.trading.journal.authentication.cache.service.CacheInvalidationService;
+import com.trading.journal.authentication.email.EmailField;
+import com.trading.journal.authentication.email.EmailRequest;
+import com.trading.journal.authentication.email.EmailRequestConverter;
+import com.trading.journal.authentication.password.ChangePassword;
+import com.trading.journal.authentication.ratelimit.RateLimit;
+import com.trading.journal.authentication.ratelimit.service.RateLimiter;
+import com.trading.journal.authentication.reactive.ReactiveEmailOutbox;
+import com.trading.journal.authentication.reactive.ReactiveEmailOutboxRepository;
+import com.trading.journal.authentication.reactive.ReactiveUser;
+import com.trading.journal.authentication.reactive.ReactiveUserRepository;
+import com.trading.journal.authentication.reactive.ReactiveVerification;
+import com.trading.journal.authentication.reactive.ReactiveVerificationRepository;
+import com.trading.journal.authentication.reactive.service.ReactiveAuthenticationService;
+import com.trading.journal.authentication.reactive.service.ReactivePasswordService;
+import com.trading.journal.authentication.refreshtoken.service.RefreshTokenService;
+import com.trading.journal.authentication.registration.service.RegistrationService;
+import com.trading.journal.authentication.throttle.service.SignInThrottle;
+import com.trading.journal.authentication.verification.VerificationType;
+import com.trading.journal.authentication.verification.service.HashProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+
+import static java.util.Collections.singletonList;
+
+@Service
+@SuppressWarnings({"PMD.ExcessiveImports", "PMD.TooManyMethods"})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveAuthenticationServiceImpl implements ReactiveAuthenticationService {
+
+    private static final String BAD_CREDENTIALS = "Bad Credentials";
+    private static final String REQUEST_INVALID = "Request is invalid";
+    private static final String USER_NOT_FOUND = "User not found";
+    private static final String CONFIRMATION_PASSWORD_EMAIL_TEMPLATE = "mail/change-password-confirmation.html";
+    private static final String NAME = "$NAME";
+
+    private final ReactiveUserRepository userRepository;
+
+    private final ReactiveVerificationRepository verificationRepository;
+
+    private final ReactiveEmailOutboxRepository emailOutboxRepository;
+
+    private final ReactivePasswordService passwordService;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final JwtTokenProvider jwtTokenProvider;
+
+    private final RefreshTokenService refreshTokenService;
+
+    private final CacheInvalidationService cacheInvalidationService;
+
+    private final HashProvider hashProvider;
+
+    private final RegistrationService registrationService;
+
+    private final SignInThrottle signInThrottle;
+
+    private final RateLimiter rateLimiter;
+
+    private final EmailRequestConverter emailRequestConverter = new EmailRequestConverter();
+
+    @Override
+    public Mono<LoginResponse> signIn(Login login, String clientAddress) {
+        return Mono.fromRunnable(() -> signInThrottle.check(login.email(), clientAddress))
+                .then(Mono.fromRunnable(() -> rateLimiter.acquire(RateLimit.SIGN_IN)).subscribeOn(Schedulers.boundedElastic()))
+                .then(Mono.defer(() -> userRepository.findByEmail(login.email())))
+                .switchIfEmpty(Mono.error(() -> new ApplicationException(HttpStatus.UNAUTHORIZED, BAD_CREDENTIALS)))
+                .flatMap(user -> checkUser(user)
+                        .then(Mono.defer(() -> passwordService.matches(login.password(), user.getPassword())))
+                        .flatMap(matches -> matches ? upgradePassword(user, login.password()) : Mono.error(new ApplicationException(HttpStatus.UNAUTHORIZED, BAD_CREDENTIALS)))
+                        .then(Mono.defer(() -> authenticatedUser(user))))
+                .flatMap(user -> Mono.fromCallable(() -> refreshTokenService.issue(user))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .map(refreshToken -> {
+                            TokenData accessToken = jwtTokenProvider.generateAccessToken(user);
+                            return new LoginResponse(JwtConstants.TOKEN_TYPE, accessToken.token(), refreshToken.token(), accessToken.issuedAt(), user.getUserEmail());
+                        }));
+    }
+
+    @Override
+    public Mono<LoginResponse> refreshToken(String refreshToken) {
+        return Mono.fromCallable(() -> refreshTokenService.rotate(refreshToken))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(rotation -> {
+                    TokenData accessToken = jwtTokenProvider.generateAccessToken(rotation.user());
+                    return new LoginResponse(JwtConstants.TOKEN_TYPE, accessToken.token(), rotation.refreshToken().token(), accessToken.issuedAt(), rotation.user().getUserEmail());
+                });
+    }
+
+    @Override
+    public Mono<Void> verify(String hash) {
+        return retrieve(hash)
+                .flatMap(verification -> {
+                    if (sendsChangePassword(verification)) {
+                        return Mono.fromRunnable(() -> registrationService.verify(hash)).subscribeOn(Schedulers.boundedElastic());
+                    }
+                    return verifyUser(verification.getEmail())
+                            .then(verificationRepository.delete(verification))
+                            .as(transactionalOperator::transactional);
+                })
+                .then();
+    }
+
+    @Override
+    public Mono<Void> changePassword(ChangePassword changePassword) {
+        return retrieve(changePassword.hash())
+                .filter(verification -> verification.getEmail().equals(changePassword.email()) && VerificationType.CHANGE_PASSWORD.equals(verification.getType()))
+                .switchIfEmpty(Mono.error(() -> new ApplicationException(HttpStatus.BAD_REQUEST, "Change password request is invalid")))
+                .flatMap(verification -> passwordService.encodePassword(changePassword.getPassword())
+                        .flatMap(password -> userRepository.resetPassword(changePassword.email(), password))
+                        .flatMap(updated -> updated > 0 ? userRepository.findByEmail(changePassword.email()) : Mono.error(new ApplicationException(HttpStatus.BAD_REQUEST, USER_NOT_FOUND)))
+                        .flatMap(user -> emailOutboxRepository.save(ReactiveEmailOutbox.pending(emailRequestConverter.convertToDatabaseColumn(passwordChangeConfirmation(user))))
+                                .then(verifyUser(changePassword.email()))
+                                .then(verificationRepository.delete(verification))
+                                .thenReturn(user.getId()))
+                        .as(transactionalOperator::transactional))
+                .flatMap(userId -> Mono.fromRunnable(() -> {
+                            refreshTokenService.revokeUser(changePassword.email());
+                            cacheInvalidationService.evict(CacheNames.USERS, userId);
+                        })
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .then();
+    }
+
+    private Mono<Void> checkUser(ReactiveUser user) {
+        Mono<Void> check = Mono.empty();
+        if (user.getEnabled() && user.getVerified()) {
+            if (Boolean.FALSE.equals(user.getTenancyEnabled())) {
+                check = Mono.error(new ApplicationException(HttpStatus.FORBIDDEN, "Your tenancy is disabled by the system admin"));
+            }
+        } else {
+            check = Mono.error(new ApplicationException(HttpStatus.UNAUTHORIZED, "Locked Credentials"));
+        }
+        return check;
+    }
+
+    private Mono<Void> upgradePassword(ReactiveUser user, String rawPassword) {
+        Mono<Void> upgrade = Mono.empty();
+        if (passwordService.upgradeEncoding(user.getPassword())) {
+            upgrade = passwordService.encodePassword(rawPassword)
+                    .flatMap(password -> userRepository.changePassword(user.getEmail(), password))
+                    .then();
+        }
+        return upgrade;
+    }
+
+    private Mono<AuthenticatedUser> authenticatedUser(ReactiveUser user) {
+        return userRepository.findAuthoritiesName(user.getId())
+                .collectList()
+                .filter(authorities -> !authorities.isEmpty())
+                .switchIfEmpty(Mono.error(() -> new ApplicationException(HttpStatus.UNAUTHORIZED, "No Authorities")))
+                .map(authorities -> new AuthenticatedUser(user.getId(), user.getEmail(), user.getTenancyId(), user.getTenancyName(), authorities, user.getSecurityVersion()));
+    }
+
+    private Mono<ReactiveVerification> retrieve(String hash) {
+        return Flux.defer(() -> Flux.fromIterable(hashProvider.lookupHashes(hash)))
+                .concatMap(verificationRepository::getByHash)
+                .next()
+                .filter(verification -> verification.getExpiresAt() == null || verification.getExpiresAt().isAfter(LocalDateTime.now()))
+                .switchIfEmpty(Mono.error(() -> new ApplicationException(HttpStatus.BAD_REQUEST, REQUEST_INVALID)))
+                .doOnNext(verification -> hashProvider.validate(hash, verification.toVerification()));
+    }
+
+    private Mono<Void> verifyUser(String email) {
+        return userRepository.verify(email)
+                .flatMap(updated -> updated > 0 ? Mono.<Void>empty() : Mono.error(new ApplicationException(HttpStatus.BAD_REQUEST, USER_NOT_FOUND)));
+    }
+
+    private static boolean sendsChangePassword(ReactiveVerification verification) {
+        return VerificationType.ADMIN_REGISTRATION.equals(verification.getType())
+                || VerificationType.NEW_ORGANISATION_USER.equals(verification.getType());
+    }
+
+    private static EmailRequest passwordChangeConfirmation(ReactiveUser user) {
+        return new EmailRequest(
+                "Confirmação de alteração senha",
+                CONFIRMATION_PASSWORD_EMAIL_TEMPLATE,
+                singletonList(new EmailField(NAME, user.getFirstName().concat(" ").concat(user.getLastName()))),
+                singletonList(user.getEmail())
+        );
+    }
+}
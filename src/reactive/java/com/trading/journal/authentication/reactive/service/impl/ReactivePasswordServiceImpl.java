@@ -0,0 +1,83 @@
+package com.trading.journal.authentication.reactive.service.impl;
+
+import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.password.properties.PasswordHashingProperties;
+import com.trading.journal.authentication.reactive.service.ReactivePasswordService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePasswordServiceImpl implements ReactivePasswordService {
+
+    private static final String BUSY_MESSAGE = "Server is busy, try again later";
+
+    private final PasswordEncoder encoder;
+
+    private final Scheduler scheduler;
+
+    private final Duration maxQueueTime;
+
+    private final Duration retryAfter;
+
+    private final Counter rejected;
+
+    public ReactivePasswordServiceImpl(PasswordEncoder encoder, @Qualifier("passwordHashingScheduler") Scheduler scheduler,
+                                       PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this.encoder = encoder;
+        this.scheduler = scheduler;
+        this.maxQueueTime = properties.getMaxQueueTime();
+        this.retryAfter = properties.getRetryAfter();
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .description("Password hashing tasks rejected by admission control")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<String> encodePassword(String rawPassword) {
+        return hash(() -> encoder.encode(rawPassword));
+    }
+
+    @Override
+    public Mono<Boolean> matches(String rawPassword, String encodedPassword) {
+        return hash(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> Mono<T> hash(Callable<T> hashing) {
+        return Mono.defer(() -> {
+            long queuedAt = System.nanoTime();
+            return Mono.fromCallable(() -> {
+                        if (Duration.ofNanos(System.nanoTime() - queuedAt).compareTo(maxQueueTime) > 0) {
+                            throw busy();
+                        }
+                        return hashing.call();
+                    })
+                    .subscribeOn(scheduler)
+                    .onErrorMap(RejectedExecutionException.class, exception -> busy());
+        });
+    }
+
+    private ApplicationException busy() {
+        rejected.increment();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter.toSeconds()));
+        return new ApplicationException(HttpStatus.SERVICE_UNAVAILABLE, BUSY_MESSAGE, headers);
+    }
+}
@@ -0,0 +1,84 @@
+package com.trading.journal.authentication;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class JdbcStatementCounter implements BeanPostProcessor {
+
+    private static final Set<String> PREPARE = Set.of("prepareStatement", "prepareCall");
+
+    private static final Set<String> EXECUTE = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "addBatch");
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Object processed = bean;
+        if (bean instanceof DataSource dataSource) {
+            processed = proxy(DataSource.class, dataSource, (method, result) ->
+                    "getConnection".equals(method.getName()) ? connection((Connection) result) : result);
+        }
+        return processed;
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    private static Connection connection(Connection connection) {
+        return proxy(Connection.class, connection, (method, result) ->
+                "createStatement".equals(method.getName()) ? statement((Statement) result) : result, (method, args) -> {
+            if (PREPARE.contains(method.getName())) {
+                STATEMENTS.add((String) args[0]);
+            }
+        });
+    }
+
+    private static Statement statement(Statement statement) {
+        return proxy(Statement.class, statement, (method, result) -> result, (method, args) -> {
+            if (EXECUTE.contains(method.getName()) && args != null && args.length > 0 && args[0] instanceof String sql) {
+                STATEMENTS.add(sql);
+            }
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, T target, ResultMapper mapper) {
+        return proxy(type, target, mapper, (method, args) -> {
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, ResultMapper mapper, CallRecorder recorder) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            recorder.record(method, args);
+            try {
+                return mapper.map(method, method.invoke(target, args));
+            } catch (InvocationTargetException exception) {
+                throw exception.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(JdbcStatementCounter.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private interface ResultMapper {
+        Object map(Method method, Object result);
+    }
+
+    private interface CallRecorder {
+        void record(Method method, Object[] args);
+    }
+}
@@ -0,0 +1,65 @@
+package com.trading.journal.authentication;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.support.TestPropertySourceUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.output.Slf4jLogConsumer;
+import org.testcontainers.containers.wait.strategy.Wait;
+
+import static java.lang.String.format;
+
+public class PostgresReplicaTestContainerInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresReplicaTestContainerInitializer.class);
+    private static final String IMAGE = "bitnami/postgresql:14";
+    private static final int PORT = 5432;
+    protected static final GenericContainer<?> primary;
+    protected static final GenericContainer<?> replica;
+
+    static {
+        Network network = Network.newNetwork();
+        primary = new GenericContainer<>(IMAGE)
+                .withNetwork(network)
+                .withNetworkAliases("primary")
+                .withEnv("POSTGRESQL_REPLICATION_MODE", "master")
+                .withEnv("POSTGRESQL_REPLICATION_USER", "replicator")
+                .withEnv("POSTGRESQL_REPLICATION_PASSWORD", "replicator")
+                .withEnv("POSTGRESQL_USERNAME", "trade-journal")
+                .withEnv("POSTGRESQL_PASSWORD", "trade-journal")
+                .withEnv("POSTGRESQL_DATABASE", "trade-journal")
+                .withExposedPorts(PORT)
+                .waitingFor(Wait.forLogMessage(".*database system is ready to accept connections.*", 1))
+                .withLogConsumer(new Slf4jLogConsumer(logger).withPrefix("primary"));
+        primary.start();
+        replica = new GenericContainer<>(IMAGE)
+                .withNetwork(network)
+                .withEnv("POSTGRESQL_REPLICATION_MODE", "slave")
+                .withEnv("POSTGRESQL_REPLICATION_USER", "replicator")
+                .withEnv("POSTGRESQL_REPLICATION_PASSWORD", "replicator")
+                .withEnv("POSTGRESQL_MASTER_HOST", "primary")
+                .withEnv("POSTGRESQL_MASTER_PORT_NUMBER", String.valueOf(PORT))
+                .withEnv("POSTGRESQL_PASSWORD", "trade-journal")
+                .withExposedPorts(PORT)
+                .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1))
+                .withLogConsumer(new Slf4jLogConsumer(logger).withPrefix("replica"));
+        replica.start();
+    }
+
+    @Override
+    public void initialize(@NotNull ConfigurableApplicationContext configurableApplicationContext) {
+        TestPropertySourceUtils.addInlinedPropertiesToEnvironment(configurableApplicationContext,
+                format("spring.datasource.url=jdbc:postgresql://%s:%s/trade-journal", primary.getHost(), primary.getMappedPort(PORT)),
+                "spring.datasource.username=trade-journal",
+                "spring.datasource.password=trade-journal",
+                "spring.datasource.driver-class-name=org.postgresql.Driver",
+                "journal.authentication.datasource.replica.enabled=true",
+                format("journal.authentication.datasource.replica.url=jdbc:postgresql://%s:%s/trade-journal", replica.getHost(), replica.getMappedPort(PORT)),
+                "journal.authentication.datasource.replica.username=trade-journal",
+                "journal.authentication.datasource.replica.password=trade-journal");
+    }
+}
@@ -17,12 +17,11 @@ public class PostgresTestContainerInitializer implements ApplicationContextIniti
     protected static final PostgreSQLContainer<?> container;
 
     static {
-        container = new PostgreSQLContainer<>("postgres:9.6.12")
+        container = new PostgreSQLContainer<>("postgres:14.8")
                 .withUrlParam("allowMultiQueries", "true")
                 .withDatabaseName("trade-journal")
                 .withUsername("trade-journal")
                 .withPassword("trade-journal")
-                .withInitScript("init_test_container_databases.sql")
                 .withLogConsumer(new Slf4jLogConsumer(logger));
         container.start();
     }
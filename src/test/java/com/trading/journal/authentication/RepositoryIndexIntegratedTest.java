@@ -0,0 +1,184 @@
+package com.trading.journal.authentication;
+
+import com.trading.journal.authentication.email.EmailOutboxRepository;
+import com.trading.journal.authentication.tenancy.TenancyRepository;
+import com.trading.journal.authentication.user.UserManagementRepository;
+import com.trading.journal.authentication.user.UserRepository;
+import com.trading.journal.authentication.userauthority.UserAuthorityRepository;
+import com.trading.journal.authentication.verification.VerificationRepository;
+import com.trading.journal.authentication.verification.VerificationType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = StatementCaptor.PROPERTY)
+@Testcontainers
+@ContextConfiguration(initializers = PostgresTestContainerInitializer.class)
+class RepositoryIndexIntegratedTest {
+
+    private static final int ROWS = 20_000;
+
+    private static final String DOMAIN = "@repository-index.com";
+
+    private static final String EMAIL = "user77" + DOMAIN;
+
+    private static final String HASH = "hash77";
+
+    private static Long tenancyId;
+
+    private static Long userId;
+
+    private static Long adminAuthorityId;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    UserManagementRepository userManagementRepository;
+
+    @Autowired
+    UserAuthorityRepository userAuthorityRepository;
+
+    @Autowired
+    VerificationRepository verificationRepository;
+
+    @Autowired
+    TenancyRepository tenancyRepository;
+
+    @Autowired
+    EmailOutboxRepository emailOutboxRepository;
+
+    @BeforeAll
+    public static void seed(@Autowired JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO Tenancy (name) SELECT 'Repository index ' || i FROM generate_series(1, ?) AS i", ROWS / 20);
+        jdbcTemplate.update("""
+                INSERT INTO Users (tenancyId, password, firstName, lastName, email, enabled, verified, createdAt)
+                SELECT t.id, md5(i::text), 'First' || i, 'Last' || i, 'user' || i || ?, true, true, now()
+                FROM generate_series(1, ?) AS i
+                JOIN Tenancy t ON t.name = 'Repository index ' || (i % ? + 1)
+                """, DOMAIN, ROWS, ROWS / 20);
+        jdbcTemplate.update("""
+                INSERT INTO UserAuthorities (userId, authorityId)
+                SELECT u.id, a.id FROM Users u, Authorities a WHERE u.email LIKE ? AND a.name = 'ROLE_USER'
+                """, "%" + DOMAIN);
+        jdbcTemplate.update("""
+                INSERT INTO UserAuthorities (userId, authorityId)
+                SELECT u.id, a.id FROM Users u, Authorities a WHERE u.email IN ('user1' || ?, 'user2' || ?) AND a.name = 'ROLE_ADMIN'
+                """, DOMAIN, DOMAIN);
+        jdbcTemplate.update("""
+                INSERT INTO Verifications (email, type, status, hash, lastChange, expiresAt)
+                SELECT 'user' || i || ?, 'REGISTRATION', 'PENDING', 'hash' || i, now(), now() + interval '1 day'
+                FROM generate_series(1, ?) AS i
+                """, DOMAIN, ROWS);
+        jdbcTemplate.update("""
+                INSERT INTO EmailOutbox (request, status, attempts, nextAttemptAt, createdAt)
+                SELECT 'repository-index', CASE WHEN i % 100 = 0 THEN 'PENDING' ELSE 'SENT' END, 1, now() + interval '1 day', now()
+                FROM generate_series(1, ?) AS i
+                """, ROWS);
+        tenancyId = jdbcTemplate.queryForObject("SELECT tenancyId FROM Users WHERE email = ?", Long.class, EMAIL);
+        userId = jdbcTemplate.queryForObject("SELECT id FROM Users WHERE email = ?", Long.class, EMAIL);
+        adminAuthorityId = jdbcTemplate.queryForObject("SELECT id FROM Authorities WHERE name = 'ROLE_ADMIN'", Long.class);
+        Stream.of("Tenancy", "Users", "UserAuthorities", "Verifications", "EmailOutbox")
+                .forEach(table -> jdbcTemplate.execute("ANALYZE " + table));
+    }
+
+    @AfterAll
+    public static void shutdown(@Autowired JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("DELETE FROM EmailOutbox WHERE request = 'repository-index'");
+        jdbcTemplate.update("DELETE FROM Verifications WHERE email LIKE ?", "%" + DOMAIN);
+        jdbcTemplate.update("DELETE FROM Users WHERE email LIKE ?", "%" + DOMAIN);
+        jdbcTemplate.update("DELETE FROM Tenancy WHERE name LIKE 'Repository index %'");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("finders")
+    void finderUsesIndex(String finder, Consumer<RepositoryIndexIntegratedTest> call, Supplier<Object[]> parameters, String[] indexes) {
+        StatementCaptor.clear();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            call.accept(this);
+            status.setRollbackOnly();
+        });
+        String sql = StatementCaptor.first(statement -> true);
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, bind(sql, parameters.get())));
+
+        assertThat(plan).as(finder + "\n" + sql).containsAnyOf(indexes);
+    }
+
+    private static Stream<Arguments> finders() {
+        return Stream.of(
+                finder("UserRepository.findByEmail", test -> test.userRepository.findByEmail(EMAIL),
+                        () -> new Object[]{EMAIL}, "usersemailidx"),
+                finder("UserRepository.existsByEmail", test -> test.userRepository.existsByEmail(EMAIL),
+                        () -> new Object[]{EMAIL}, "usersemailidx"),
+                finder("UserRepository.findWithAuthoritiesByEmail", test -> test.userRepository.findWithAuthoritiesByEmail(EMAIL),
+                        () -> new Object[]{EMAIL}, "usersemailidx"),
+                finder("UserRepository.existsByTenancyId", test -> test.userRepository.existsByTenancyId(tenancyId),
+                        () -> new Object[]{tenancyId}, "userstenancyemailidx"),
+                finder("UserManagementRepository.findByTenancyIdAndId", test -> test.userManagementRepository.findByTenancyIdAndId(tenancyId, userId),
+                        () -> new Object[]{tenancyId, userId}, "users_pkey"),
+                finder("UserManagementRepository.findByTenancyIdAndEmail", test -> test.userManagementRepository.findByTenancyIdAndEmail(tenancyId, EMAIL),
+                        () -> new Object[]{tenancyId, EMAIL}, "userstenancyemailidx", "usersemailidx"),
+                finder("UserManagementRepository.existsByTenancyIdAndEmailAndIdNot", test -> test.userManagementRepository.existsByTenancyIdAndEmailAndIdNot(tenancyId, EMAIL, userId),
+                        () -> new Object[]{tenancyId, EMAIL, userId}, "userstenancyemailidx", "usersemailidx"),
+                finder("UserAuthorityRepository.findByUserId", test -> test.userAuthorityRepository.findByUserId(userId),
+                        () -> new Object[]{userId}, "userauthoritiesuserauthorityidx"),
+                finder("UserAuthorityRepository.existsByAuthorityId", test -> test.userAuthorityRepository.existsByAuthorityId(adminAuthorityId),
+                        () -> new Object[]{adminAuthorityId}, "userauthoritiesauthorityuseridx"),
+                finder("UserAuthorityRepository.findNamesByUserIds", test -> test.userAuthorityRepository.findNamesByUserIds(List.of(userId, userId + 1)),
+                        () -> new Object[]{userId, userId + 1}, "userauthoritiesuserauthorityidx"),
+                finder("VerificationRepository.getByHash", test -> test.verificationRepository.getByHash(HASH),
+                        () -> new Object[]{HASH}, "verificationshashidx"),
+                finder("VerificationRepository.getByTypeAndEmail", test -> test.verificationRepository.getByTypeAndEmail(VerificationType.REGISTRATION, EMAIL),
+                        () -> new Object[]{VerificationType.REGISTRATION.name(), EMAIL}, "verificationsemailtypeidx"),
+                finder("VerificationRepository.getByEmail", test -> test.verificationRepository.getByEmail(EMAIL),
+                        () -> new Object[]{EMAIL}, "verificationsemailtypeidx"),
+                finder("TenancyRepository.findByName", test -> test.tenancyRepository.findByName("Repository index 7"),
+                        () -> new Object[]{"Repository index 7"}, "tenancy_name_key"),
+                finder("TenancyRepository.reserveSeat", test -> test.tenancyRepository.reserveSeat(tenancyId),
+                        () -> new Object[]{tenancyId}, "tenancy_pkey"),
+                finder("EmailOutboxRepository.findDispatchable", test -> test.emailOutboxRepository.findDispatchable(LocalDateTime.now(), 10),
+                        () -> new Object[]{LocalDateTime.now(), 10}, "emailoutboxpendingidx")
+        );
+    }
+
+    private static Arguments finder(String name, Consumer<RepositoryIndexIntegratedTest> call, Supplier<Object[]> parameters, String... indexes) {
+        return Arguments.of(name, call, parameters, indexes);
+    }
+
+    private static Object[] bind(String sql, Object... parameters) {
+        long placeholders = sql.chars().filter(character -> character == '?').count();
+        List<Object> bound = new ArrayList<>(Arrays.asList(parameters));
+        if (placeholders == parameters.length + 1 && sql.contains("fetch first ? rows only")) {
+            bound.add(1);
+        }
+        assertThat(bound).as(sql).hasSize((int) placeholders);
+        return bound.toArray();
+    }
+}
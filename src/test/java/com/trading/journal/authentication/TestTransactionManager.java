@@ -0,0 +1,30 @@
+package com.trading.journal.authentication;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+public class TestTransactionManager extends AbstractPlatformTransactionManager {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected Object doGetTransaction() {
+        return new Object();
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        // nothing to bind, the transaction only exists for TransactionSynchronizationManager
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        // nothing to commit
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+        // nothing to roll back
+    }
+}
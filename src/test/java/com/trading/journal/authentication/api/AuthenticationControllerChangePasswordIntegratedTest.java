@@ -7,6 +7,7 @@ import com.trading.journal.authentication.email.EmailField;
 import com.trading.journal.authentication.email.EmailRequest;
 import com.trading.journal.authentication.email.service.EmailSender;
 import com.trading.journal.authentication.password.ChangePassword;
+import com.trading.journal.authentication.password.service.PasswordService;
 import com.trading.journal.authentication.registration.UserRegistration;
 import com.trading.journal.authentication.user.User;
 import com.trading.journal.authentication.user.UserRepository;
@@ -46,6 +47,9 @@ public class AuthenticationControllerChangePasswordIntegratedTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private PasswordService passwordService;
+
     @Autowired
     UserRepository userRepository;
 
@@ -85,7 +89,7 @@ public class AuthenticationControllerChangePasswordIntegratedTest {
                 false
         );
 
-        userService.createNewUser(user, null);
+        userService.createNewUser(user, null, passwordService.encodePassword(user.getPassword()));
         User applicationUser = userRepository.findByEmail(email).orElse(null);
         assertThat(applicationUser).isNotNull();
         applicationUser.enable();
@@ -271,7 +275,7 @@ public class AuthenticationControllerChangePasswordIntegratedTest {
                 false
         );
 
-        userService.createNewUser(user, null);
+        userService.createNewUser(user, null, passwordService.encodePassword(user.getPassword()));
         User applicationUser = userRepository.findByEmail(email).orElse(null);
         assertThat(applicationUser).isNotNull();
         applicationUser.enable();
@@ -9,6 +9,7 @@ import com.trading.journal.authentication.authentication.LoginResponse;
 import com.trading.journal.authentication.authentication.service.AuthenticationService;
 import com.trading.journal.authentication.email.service.EmailSender;
 import com.trading.journal.authentication.helper.DateHelper;
+import com.trading.journal.authentication.password.service.PasswordService;
 import com.trading.journal.authentication.registration.UserRegistration;
 import com.trading.journal.authentication.user.UserRepository;
 import com.trading.journal.authentication.user.service.UserService;
@@ -23,6 +24,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.reactive.server.StatusAssertions;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
@@ -46,6 +48,9 @@ public class AuthenticationControllerRefreshTokenIntegratedTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private PasswordService passwordService;
+
     @Autowired
     private AuthenticationService authenticationService;
 
@@ -83,11 +88,11 @@ public class AuthenticationControllerRefreshTokenIntegratedTest {
                 false
         );
 
-        userService.createNewUser(user, null);
+        userService.createNewUser(user, null, passwordService.encodePassword(user.getPassword()));
 
         Login login = new Login(user.getEmail(), user.getPassword());
 
-        LoginResponse loginResponse = authenticationService.signIn(login);
+        LoginResponse loginResponse = authenticationService.signIn(login, "127.0.0.1");
 
         assert loginResponse != null;
         webTestClient
@@ -105,6 +110,55 @@ public class AuthenticationControllerRefreshTokenIntegratedTest {
                 });
     }
 
+    @Test
+    @DisplayName("When a refresh token is used twice, revoke it and the token it was rotated to")
+    void refreshTokenReused() {
+        UserRegistration user = new UserRegistration(
+                null,
+                "Uma",
+                "Thurman",
+                "umathurman@mail.com",
+                "dad231#$#4",
+                "dad231#$#4",
+                false
+        );
+
+        userService.createNewUser(user, null, passwordService.encodePassword(user.getPassword()));
+
+        LoginResponse loginResponse = authenticationService.signIn(new Login(user.getEmail(), user.getPassword()), "127.0.0.1");
+        LoginResponse rotated = authenticationService.refreshToken(loginResponse.refreshToken());
+        assertThat(rotated.refreshToken()).isNotEqualTo(loginResponse.refreshToken());
+
+        refresh(loginResponse.refreshToken())
+                .isUnauthorized()
+                .expectBody(new ParameterizedTypeReference<Map<String, Object>>() {
+                })
+                .value(response -> assertThat(response.get("error")).isEqualTo("Refresh token was revoked"));
+
+        refresh(rotated.refreshToken()).isUnauthorized();
+    }
+
+    @Test
+    @DisplayName("When the password changes, refresh tokens issued before are revoked")
+    void refreshTokenRevokedByPasswordChange() {
+        UserRegistration user = new UserRegistration(
+                null,
+                "Samuel",
+                "Jackson",
+                "samueljackson@mail.com",
+                "dad231#$#4",
+                "dad231#$#4",
+                false
+        );
+
+        userService.createNewUser(user, null, passwordService.encodePassword(user.getPassword()));
+
+        LoginResponse loginResponse = authenticationService.signIn(new Login(user.getEmail(), user.getPassword()), "127.0.0.1");
+        userService.changePassword(user.getEmail(), passwordService.encodePassword("new231#$#4"));
+
+        refresh(loginResponse.refreshToken()).isUnauthorized();
+    }
+
     @Test
     @DisplayName("When refreshing token with access token, return unauthorized exception")
     void refreshTokenUnauthorized() {
@@ -118,11 +172,11 @@ public class AuthenticationControllerRefreshTokenIntegratedTest {
                 false
         );
 
-        userService.createNewUser(user, null);
+        userService.createNewUser(user, null, passwordService.encodePassword(user.getPassword()));
 
         Login login = new Login(user.getEmail(), user.getPassword());
 
-        LoginResponse loginResponse = authenticationService.signIn(login);
+        LoginResponse loginResponse = authenticationService.signIn(login, "127.0.0.1");
 
         assert loginResponse != null;
         webTestClient
@@ -173,4 +227,14 @@ public class AuthenticationControllerRefreshTokenIntegratedTest {
                 .value(response -> assertThat(response.get("error"))
                         .isEqualTo("Refresh token is expired"));
     }
+
+    private StatusAssertions refresh(String refreshToken) {
+        return webTestClient
+                .post()
+                .uri("/auth/refresh-token")
+                .header("refresh-token", refreshToken)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus();
+    }
 }
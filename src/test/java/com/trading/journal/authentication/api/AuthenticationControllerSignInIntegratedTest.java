@@ -1,9 +1,11 @@
 package com.trading.journal.authentication.api;
 
+import com.trading.journal.authentication.JdbcStatementCounter;
 import com.trading.journal.authentication.PostgresTestContainerInitializer;
 import com.trading.journal.authentication.authentication.Login;
 import com.trading.journal.authentication.authentication.LoginResponse;
 import com.trading.journal.authentication.email.service.EmailSender;
+import com.trading.journal.authentication.password.service.PasswordService;
 import com.trading.journal.authentication.registration.UserRegistration;
 import com.trading.journal.authentication.user.UserRepository;
 import com.trading.journal.authentication.user.service.UserService;
@@ -13,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
@@ -20,6 +23,7 @@ import org.springframework.test.web.reactive.server.WebTestClient;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -29,11 +33,15 @@ import static org.mockito.Mockito.doNothing;
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Testcontainers
 @ContextConfiguration(initializers = PostgresTestContainerInitializer.class)
+@Import(JdbcStatementCounter.class)
 public class AuthenticationControllerSignInIntegratedTest {
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private PasswordService passwordService;
+
     @Autowired
     UserRepository userRepository;
 
@@ -62,7 +70,7 @@ public class AuthenticationControllerSignInIntegratedTest {
                 false
         );
 
-        userService.createNewUser(userRegistration, null);
+        userService.createNewUser(userRegistration, null, passwordService.encodePassword(userRegistration.getPassword()));
 
         Login login = new Login("mail@mail.com", "dad231#$#4");
 
@@ -81,6 +89,40 @@ public class AuthenticationControllerSignInIntegratedTest {
                 });
     }
 
+    @Test
+    @DisplayName("When signIn user, load user, tenancy and authorities in a single statement and record the refresh token in another")
+    void signInStatements() {
+        UserRegistration userRegistration = new UserRegistration(
+                null,
+                "firstName",
+                "lastName",
+                "mail5@mail.com",
+                "dad231#$#4",
+                "dad231#$#4",
+                false
+        );
+
+        userService.createNewUser(userRegistration, null, passwordService.encodePassword(userRegistration.getPassword()));
+
+        Login login = new Login("mail5@mail.com", "dad231#$#4");
+
+        JdbcStatementCounter.clear();
+        webTestClient
+                .post()
+                .uri("/auth/signin")
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(login)
+                .exchange()
+                .expectStatus()
+                .isOk();
+
+        assertThat(JdbcStatementCounter.statements())
+                .extracting(sql -> sql.toLowerCase(Locale.ROOT))
+                .satisfiesExactly(
+                        user -> assertThat(user).startsWith("select").contains("users", "tenancy", "authorities"),
+                        refreshToken -> assertThat(refreshToken).startsWith("insert into refreshtokens"));
+    }
+
     @Test
     @DisplayName("When signIn user that does not exist, return 401")
     void signInFails() {
@@ -112,7 +154,7 @@ public class AuthenticationControllerSignInIntegratedTest {
                 false
         );
 
-        userService.createNewUser(userRegistration, null);
+        userService.createNewUser(userRegistration, null, passwordService.encodePassword(userRegistration.getPassword()));
 
         Login login = new Login("mail4@mail.com", "wrong_password");
 
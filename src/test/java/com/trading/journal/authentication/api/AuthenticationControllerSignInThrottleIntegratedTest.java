@@ -0,0 +1,77 @@
+package com.trading.journal.authentication.api;
+
+import com.trading.journal.authentication.PostgresTestContainerInitializer;
+import com.trading.journal.authentication.authentication.Login;
+import com.trading.journal.authentication.password.service.PasswordService;
+import com.trading.journal.authentication.registration.UserRegistration;
+import com.trading.journal.authentication.user.UserRepository;
+import com.trading.journal.authentication.user.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.stream.IntStream;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "journal.authentication.throttle.sign-in.enabled=true",
+        "journal.authentication.throttle.sign-in.max-attempts-per-email=3",
+        "journal.authentication.throttle.sign-in.max-attempts-per-address=1000"
+})
+@Testcontainers
+@ContextConfiguration(initializers = PostgresTestContainerInitializer.class)
+class AuthenticationControllerSignInThrottleIntegratedTest {
+
+    private static final String PASSWORD = "dad231#$#4";
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    PasswordService passwordService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository.deleteAll();
+        userService.createNewUser(new UserRegistration(null, "firstName", "lastName", "throttled@mail.com", PASSWORD, PASSWORD, false), null, passwordService.encodePassword(PASSWORD));
+    }
+
+    @Test
+    @DisplayName("When the same email signs in too often return too many requests, even with the right password")
+    void throttled() {
+        IntStream.range(0, 3).forEach(attempt -> signIn(new Login("throttled@mail.com", "wrong_password"))
+                .expectStatus()
+                .isUnauthorized());
+
+        signIn(new Login("throttled@mail.com", PASSWORD))
+                .expectStatus()
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS)
+                .expectHeader()
+                .exists(HttpHeaders.RETRY_AFTER)
+                .expectBody()
+                .jsonPath("$.error")
+                .isEqualTo("Too many sign in attempts, try again later");
+    }
+
+    private WebTestClient.ResponseSpec signIn(Login login) {
+        return webTestClient
+                .post()
+                .uri("/auth/signin")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(login)
+                .exchange();
+    }
+}
@@ -0,0 +1,117 @@
+package com.trading.journal.authentication.api;
+
+import com.trading.journal.authentication.PostgresTestContainerInitializer;
+import com.trading.journal.authentication.registration.UserRegistration;
+import com.trading.journal.authentication.tenancy.TenancyRepository;
+import com.trading.journal.authentication.user.User;
+import com.trading.journal.authentication.user.UserRepository;
+import com.trading.journal.authentication.verification.Verification;
+import com.trading.journal.authentication.verification.VerificationRepository;
+import com.trading.journal.authentication.verification.VerificationType;
+import com.trading.journal.authentication.verification.service.VerificationEmailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+@ContextConfiguration(initializers = PostgresTestContainerInitializer.class)
+@TestPropertySource(properties = {
+        "journal.authentication.verification.enabled=true",
+        "journal.authentication.verification.hash-provider=opaque"
+})
+public class AuthenticationControllerWithOpaqueVerificationTest {
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TenancyRepository tenancyRepository;
+
+    @Autowired
+    VerificationRepository verificationRepository;
+
+    @MockBean
+    VerificationEmailService verificationEmailService;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository.deleteAll();
+        verificationRepository.deleteAll();
+        tenancyRepository.deleteAll();
+        doNothing().when(verificationEmailService).sendEmail(any(), any());
+    }
+
+    @Test
+    @DisplayName("Verify the user with the opaque token sent by email, the stored digest is not accepted")
+    void verifyUser() {
+        UserRegistration userRegistration = new UserRegistration(
+                null,
+                "firstName",
+                "lastName",
+                "mail2@mail.com",
+                "dad231#$#4",
+                "dad231#$#4",
+                false
+        );
+
+        webTestClient
+                .post()
+                .uri("/auth/signup")
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(userRegistration)
+                .exchange()
+                .expectStatus()
+                .isOk();
+
+        ArgumentCaptor<Verification> captor = ArgumentCaptor.forClass(Verification.class);
+        verify(verificationEmailService).sendEmail(captor.capture(), any());
+        String token = captor.getValue().getToken();
+
+        Verification verification = verificationRepository.getByTypeAndEmail(VerificationType.REGISTRATION, "mail2@mail.com").get();
+        assertThat(verification.getHash()).hasSize(64).isNotEqualTo(token);
+        assertThat(verification.getExpiresAt()).isNotNull();
+
+        webTestClient
+                .post()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/auth/verify")
+                        .queryParam("hash", verification.getHash())
+                        .build())
+                .exchange()
+                .expectStatus()
+                .isBadRequest();
+
+        webTestClient
+                .post()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/auth/verify")
+                        .queryParam("hash", token)
+                        .build())
+                .exchange()
+                .expectStatus()
+                .isOk();
+
+        assertThat(verificationRepository.getByTypeAndEmail(VerificationType.REGISTRATION, "mail2@mail.com")).isEmpty();
+        User applicationUser = userRepository.findByEmail("mail2@mail.com").get();
+        assertThat(applicationUser.getEnabled()).isTrue();
+        assertThat(applicationUser.getVerified()).isTrue();
+    }
+}
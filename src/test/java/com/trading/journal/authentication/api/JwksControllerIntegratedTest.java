@@ -0,0 +1,75 @@
+package com.trading.journal.authentication.api;
+
+import com.trading.journal.authentication.PostgresTestContainerInitializer;
+import com.trading.journal.authentication.email.service.EmailSender;
+import com.trading.journal.authentication.jwks.JsonWebKeySet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+@ContextConfiguration(initializers = PostgresTestContainerInitializer.class)
+class JwksControllerIntegratedTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    EmailSender emailSender;
+
+    @Test
+    @DisplayName("Publish the public keys without authentication, with a strong ETag and a long Cache-Control")
+    void jwks() {
+        webTestClient
+                .get()
+                .uri("/.well-known/jwks.json")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader().valueMatches(HttpHeaders.ETAG, "^\"[A-Za-z0-9_-]+\"$")
+                .expectHeader().cacheControl(CacheControl.maxAge(Duration.ofDays(1)).cachePublic())
+                .expectBody(JsonWebKeySet.class)
+                .value(keySet -> {
+                    assertThat(keySet.keys()).hasSize(1);
+                    assertThat(keySet.keys().get(0).kid()).isNotBlank();
+                    assertThat(keySet.keys().get(0).alg()).isEqualTo("RS256");
+                });
+    }
+
+    @Test
+    @DisplayName("When the ETag did not change, return not modified without a body")
+    void jwksNotModified() {
+        String etag = webTestClient
+                .get()
+                .uri("/.well-known/jwks.json")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient
+                .get()
+                .uri("/.well-known/jwks.json")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus()
+                .isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+                .expectBody()
+                .isEmpty();
+    }
+}
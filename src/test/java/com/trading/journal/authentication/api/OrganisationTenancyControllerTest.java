@@ -10,6 +10,7 @@ import com.trading.journal.authentication.authority.Authority;
 import com.trading.journal.authentication.authority.AuthorityCategory;
 import com.trading.journal.authentication.authority.service.OrganisationAuthorityService;
 import com.trading.journal.authentication.tenancy.Tenancy;
+import com.trading.journal.authentication.tenancy.TenancyInfo;
 import com.trading.journal.authentication.tenancy.service.TenancyService;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -73,7 +74,7 @@ class OrganisationTenancyControllerTest {
     @DisplayName("Get tenancy info")
     @Test
     void getTenancy() {
-        Tenancy tenancy = Tenancy.builder().id(1L).name("admin-user").userLimit(10).userUsage(0).enabled(true).build();
+        TenancyInfo tenancy = TenancyInfo.builder().id(1L).name("admin-user").userLimit(10).userUsage(0).enabled(true).build();
 
         when(tenancyService.getById(1L)).thenReturn(tenancy);
 
@@ -8,6 +8,7 @@ import com.trading.journal.authentication.WithCustomMockUser;
 import com.trading.journal.authentication.pageable.PageResponse;
 import com.trading.journal.authentication.registration.UserRegistration;
 import com.trading.journal.authentication.tenancy.Tenancy;
+import com.trading.journal.authentication.tenancy.TenancyException;
 import com.trading.journal.authentication.tenancy.service.TenancyService;
 import com.trading.journal.authentication.user.AuthoritiesChange;
 import com.trading.journal.authentication.user.User;
@@ -540,7 +541,6 @@ class OrganisationUsersControllerMultiTenancyTest {
                 .thenReturn(new AccessTokenInfo("user", 20L, "tenancy10", singletonList("TENANCY_ADMIN")));
 
         Tenancy tenancy = Tenancy.builder().userLimit(10).userUsage(1).build();
-        when(tenancyService.getById(20L)).thenReturn(tenancy);
 
         UserRegistration userRegistration = new UserRegistration(
                 null,
@@ -561,7 +561,7 @@ class OrganisationUsersControllerMultiTenancyTest {
                 .enabled(true)
                 .verified(true)
                 .build();
-        when(userService.createNewUser(any(), eq(tenancy))).thenReturn(user);
+        when(userService.createNewUser(any(), eq(tenancy), any())).thenReturn(user);
 
         doNothing().when(verificationService).send(VerificationType.NEW_ORGANISATION_USER, user);
 
@@ -590,8 +590,7 @@ class OrganisationUsersControllerMultiTenancyTest {
         when(tokenReader.getAccessTokenInfo(anyString()))
                 .thenReturn(new AccessTokenInfo("user", 20L, "tenancy10", singletonList("TENANCY_ADMIN")));
 
-        Tenancy tenancy = Tenancy.builder().userLimit(10).userUsage(10).build();
-        when(tenancyService.getById(20L)).thenReturn(tenancy);
+        when(tenancyService.increaseUsage(20L)).thenThrow(new TenancyException("Tenancy has reach its user limit"));
 
         UserRegistration userRegistration = new UserRegistration(
                 null,
@@ -615,8 +614,7 @@ class OrganisationUsersControllerMultiTenancyTest {
                 })
                 .value(response -> assertThat(response.get("error")).isEqualTo("Tenancy has reach its user limit"));
 
-        verify(userService, never()).createNewUser(any(), any());
+        verify(userService, never()).createNewUser(any(), any(), any());
         verify(verificationService, never()).send(any(), any());
-        verify(tenancyService, never()).increaseUsage(anyLong());
     }
 }
\ No newline at end of file
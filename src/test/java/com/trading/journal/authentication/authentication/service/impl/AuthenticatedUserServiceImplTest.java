@@ -0,0 +1,67 @@
+package com.trading.journal.authentication.authentication.service.impl;
+
+import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.authentication.AuthenticatedUser;
+import com.trading.journal.authentication.authority.Authority;
+import com.trading.journal.authentication.authority.AuthorityCategory;
+import com.trading.journal.authentication.tenancy.Tenancy;
+import com.trading.journal.authentication.user.User;
+import com.trading.journal.authentication.user.UserRepository;
+import com.trading.journal.authentication.userauthority.UserAuthority;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class AuthenticatedUserServiceImplTest {
+
+    @Mock
+    UserRepository userRepository;
+
+    @InjectMocks
+    AuthenticatedUserServiceImpl authenticatedUserService;
+
+    @DisplayName("Load the user with its tenancy, authorities and security version")
+    @Test
+    void getById() {
+        User user = User.builder()
+                .id(1L)
+                .email("mail@mail.com")
+                .tenancy(Tenancy.builder().id(2L).name("tenancy").build())
+                .authorities(List.of(new UserAuthority(null, new Authority(1L, AuthorityCategory.COMMON_USER, "ROLE_USER"))))
+                .securityVersion(4L)
+                .build();
+        when(userRepository.findWithAuthoritiesById(1L)).thenReturn(Optional.of(user));
+
+        AuthenticatedUser authenticated = authenticatedUserService.getById(1L);
+
+        assertThat(authenticated).isEqualTo(new AuthenticatedUser(1L, "mail@mail.com", 2L, "tenancy", List.of("ROLE_USER"), 4L));
+    }
+
+    @DisplayName("A user without authorities or not found is unauthorized")
+    @Test
+    void unauthorized() {
+        User user = User.builder().id(1L).email("mail@mail.com").authorities(emptyList()).build();
+        when(userRepository.findWithAuthoritiesById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findWithAuthoritiesById(2L)).thenReturn(Optional.empty());
+
+        ApplicationException noAuthorities = assertThrows(ApplicationException.class, () -> authenticatedUserService.reload(1L));
+        ApplicationException notFound = assertThrows(ApplicationException.class, () -> authenticatedUserService.reload(2L));
+
+        assertThat(noAuthorities.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(noAuthorities.getStatusText()).isEqualTo("No Authorities");
+        assertThat(notFound.getStatusText()).isEqualTo("User not found");
+    }
+}
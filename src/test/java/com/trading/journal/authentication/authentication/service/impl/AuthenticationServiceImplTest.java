@@ -1,47 +1,43 @@
 package com.trading.journal.authentication.authentication.service.impl;
 
-import com.allanweber.jwttoken.data.AccessTokenInfo;
 import com.allanweber.jwttoken.data.ContextUser;
 import com.allanweber.jwttoken.data.TokenData;
 import com.allanweber.jwttoken.service.JwtTokenProvider;
-import com.allanweber.jwttoken.service.JwtTokenReader;
 import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.authentication.AuthenticatedUser;
 import com.trading.journal.authentication.authentication.Login;
 import com.trading.journal.authentication.authentication.LoginResponse;
-import com.trading.journal.authentication.user.User;
-import com.trading.journal.authentication.user.service.UserService;
+import com.trading.journal.authentication.refreshtoken.RefreshTokenRotation;
+import com.trading.journal.authentication.refreshtoken.service.RefreshTokenService;
+import com.trading.journal.authentication.ratelimit.RateLimit;
+import com.trading.journal.authentication.ratelimit.service.RateLimiter;
+import com.trading.journal.authentication.throttle.service.SignInThrottle;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
-import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(SpringExtension.class)
 public class AuthenticationServiceImplTest {
 
-    @Mock
-    UserService userService;
-
     @Mock
     AuthenticationManager authenticationManager;
 
@@ -49,7 +45,13 @@ public class AuthenticationServiceImplTest {
     JwtTokenProvider jwtTokenProvider;
 
     @Mock
-    JwtTokenReader jwtTokenReader;
+    RefreshTokenService refreshTokenService;
+
+    @Mock
+    SignInThrottle signInThrottle;
+
+    @Mock
+    RateLimiter rateLimiter;
 
     @InjectMocks
     AuthenticationServiceImpl authenticationService;
@@ -61,32 +63,22 @@ public class AuthenticationServiceImplTest {
 
         List<SimpleGrantedAuthority> authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
         ContextUser principal = new ContextUser("mail@mail.com", 1L, "username");
-        Authentication authentication = new UsernamePasswordAuthenticationToken(principal, authorities);
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(principal, null, authorities);
+        AuthenticatedUser user = new AuthenticatedUser(1L, "mail@mail.com", 1L, "username", List.of("ROLE_USER"), 0L);
+        authentication.setDetails(user);
         when(authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(login.email(), login.password())))
                 .thenReturn(authentication);
 
-        User user = User.builder()
-                .id(1L)
-                .password("12345679")
-                .firstName("lastName")
-                .lastName("Wick")
-                .email("mail@mail.com")
-                .enabled(true)
-                .verified(true)
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        when(userService.getUserByEmail(login.email())).thenReturn(Optional.of(user));
-
         TokenData accessToken = new TokenData("token", LocalDateTime.now());
         when(jwtTokenProvider.generateAccessToken(user)).thenReturn(accessToken);
 
         TokenData refreshToken = new TokenData("refreshToken", LocalDateTime.now());
-        when(jwtTokenProvider.generateRefreshToken(user)).thenReturn(refreshToken);
+        when(refreshTokenService.issue(user)).thenReturn(refreshToken);
 
-        LoginResponse loginResponse = authenticationService.signIn(login);
+        LoginResponse loginResponse = authenticationService.signIn(login, "127.0.0.1");
         assertThat(loginResponse.accessToken()).isEqualTo("token");
         assertThat(loginResponse.refreshToken()).isEqualTo("refreshToken");
+        assertThat(loginResponse.user()).isEqualTo("mail@mail.com");
     }
 
     @Test
@@ -97,75 +89,72 @@ public class AuthenticationServiceImplTest {
                 .authenticate(new UsernamePasswordAuthenticationToken(login.email(), login.password())))
                 .thenThrow(new AuthenticationServiceException("Authentication failed"));
 
-        assertThrows(AuthenticationServiceException.class, () -> authenticationService.signIn(login),
+        assertThrows(AuthenticationServiceException.class, () -> authenticationService.signIn(login, "127.0.0.1"),
                 "Authentication failed");
 
-        verify(userService, never()).getUserByEmail(anyString());
         verify(jwtTokenProvider, never()).generateAccessToken(any());
     }
 
     @Test
-    @DisplayName("Given a valid refresh token returns a new access token and keep the same refresh token")
-    void refreshToken() {
-        String refreshToken = UUID.randomUUID().toString();
+    @DisplayName("When sign in is throttled does not authenticate")
+    void testAuthenticateThrottled() {
+        Login login = new Login("mail@mail.com", "123456");
+        doThrow(new ApplicationException(HttpStatus.TOO_MANY_REQUESTS, "Too many sign in attempts, try again later"))
+                .when(signInThrottle).check("mail@mail.com", "127.0.0.1");
 
-        when(jwtTokenReader.isTokenValid(refreshToken)).thenReturn(true);
+        ApplicationException exception = assertThrows(ApplicationException.class, () -> authenticationService.signIn(login, "127.0.0.1"));
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
 
-        AccessTokenInfo tokenInfo = new AccessTokenInfo("email@mail.com", 1L, null, Collections.singletonList("REFRESH_TOKEN"));
-        when(jwtTokenReader.getTokenInfo(refreshToken)).thenReturn(tokenInfo);
+        verify(authenticationManager, never()).authenticate(any());
+        verify(jwtTokenProvider, never()).generateAccessToken(any());
+        verify(rateLimiter, never()).acquire(any());
+    }
 
-        User user = User.builder()
-                .id(1L)
-                .password("12345679")
-                .firstName("lastName")
-                .lastName("Wick")
-                .email("mail@mail.com")
-                .enabled(true)
-                .verified(true)
-                .createdAt(LocalDateTime.now())
-                .authorities(emptyList())
-                .build();
-        when(userService.getUserByEmail("email@mail.com")).thenReturn(Optional.of(user));
+    @Test
+    @DisplayName("When sign in is rate limited does not authenticate, the throttle is checked first")
+    void testAuthenticateRateLimited() {
+        Login login = new Login("mail@mail.com", "123456");
+        doThrow(new ApplicationException(HttpStatus.TOO_MANY_REQUESTS, "Too many requests"))
+                .when(rateLimiter).acquire(RateLimit.SIGN_IN);
 
-        TokenData tokenData = new TokenData("new_token", LocalDateTime.now());
-        when(jwtTokenProvider.generateAccessToken(user)).thenReturn(tokenData);
+        ApplicationException exception = assertThrows(ApplicationException.class, () -> authenticationService.signIn(login, "127.0.0.1"));
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
 
-        LoginResponse loginResponse = authenticationService.refreshToken(refreshToken);
-        assertThat(loginResponse.accessToken()).isEqualTo("new_token");
-        assertThat(loginResponse.refreshToken()).isEqualTo(refreshToken);
+        InOrder inOrder = inOrder(signInThrottle, rateLimiter);
+        inOrder.verify(signInThrottle).check("mail@mail.com", "127.0.0.1");
+        inOrder.verify(rateLimiter).acquire(RateLimit.SIGN_IN);
+        verify(authenticationManager, never()).authenticate(any());
     }
 
     @Test
-    @DisplayName("Given a invalid refresh token returns a Unauthorized exception")
-    void invalidRefreshToken() {
+    @DisplayName("Given a valid refresh token returns a new access token and a rotated refresh token")
+    void refreshToken() {
         String refreshToken = UUID.randomUUID().toString();
 
-        when(jwtTokenReader.isTokenValid(refreshToken)).thenReturn(false);
+        AuthenticatedUser user = new AuthenticatedUser(1L, "mail@mail.com", 1L, "username", List.of("ROLE_USER"), 2L);
+        TokenData rotated = new TokenData("rotated_refresh_token", LocalDateTime.now());
+        when(refreshTokenService.rotate(refreshToken)).thenReturn(new RefreshTokenRotation(user, rotated));
 
-        ApplicationException exception = assertThrows(ApplicationException.class, () -> authenticationService.refreshToken(refreshToken));
-        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
-        assertThat(exception.getStatusText()).isEqualTo("Refresh token is expired");
+        TokenData tokenData = new TokenData("new_token", LocalDateTime.now());
+        when(jwtTokenProvider.generateAccessToken(user)).thenReturn(tokenData);
 
-        verify(jwtTokenReader, never()).getTokenInfo(anyString());
-        verify(userService, never()).getUserByEmail(anyString());
-        verify(jwtTokenProvider, never()).generateAccessToken(any());
+        LoginResponse loginResponse = authenticationService.refreshToken(refreshToken);
+        assertThat(loginResponse.accessToken()).isEqualTo("new_token");
+        assertThat(loginResponse.refreshToken()).isEqualTo("rotated_refresh_token");
+        assertThat(loginResponse.user()).isEqualTo("mail@mail.com");
     }
 
     @Test
-    @DisplayName("Given a valid refresh token but the roles are not REFRESH_TOKEN returns a Unauthorized exception")
-    void invalidRolesToken() {
+    @DisplayName("Given a revoked or invalid refresh token returns a Unauthorized exception")
+    void invalidRefreshToken() {
         String refreshToken = UUID.randomUUID().toString();
 
-        when(jwtTokenReader.isTokenValid(refreshToken)).thenReturn(true);
-
-        AccessTokenInfo tokenInfo = new AccessTokenInfo("subject", 1L, null, Collections.singletonList("USER_ROLE"));
-        when(jwtTokenReader.getTokenInfo(refreshToken)).thenReturn(tokenInfo);
+        when(refreshTokenService.rotate(refreshToken)).thenThrow(new ApplicationException(HttpStatus.UNAUTHORIZED, "Refresh token was revoked"));
 
         ApplicationException exception = assertThrows(ApplicationException.class, () -> authenticationService.refreshToken(refreshToken));
         assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
-        assertThat(exception.getStatusText()).isEqualTo("Refresh token is invalid or is not a refresh token");
+        assertThat(exception.getStatusText()).isEqualTo("Refresh token was revoked");
 
-        verify(userService, never()).getUserByEmail(anyString());
         verify(jwtTokenProvider, never()).generateAccessToken(any());
     }
 }
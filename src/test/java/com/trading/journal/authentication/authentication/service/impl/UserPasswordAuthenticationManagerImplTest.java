@@ -2,6 +2,7 @@ package com.trading.journal.authentication.authentication.service.impl;
 
 import com.allanweber.jwttoken.data.ContextUser;
 import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.authentication.AuthenticatedUser;
 import com.trading.journal.authentication.authority.Authority;
 import com.trading.journal.authentication.authority.AuthorityCategory;
 import com.trading.journal.authentication.password.service.PasswordService;
@@ -57,7 +58,7 @@ class UserPasswordAuthenticationManagerImplTest {
                 .authorities(singletonList(new UserAuthority(null, new Authority(1L, AuthorityCategory.COMMON_USER, "ROLE_USER"))))
                 .tenancy(Tenancy.builder().name("UserAdm").build())
                 .build();
-        when(userRepository.findByEmail("mail@mail.com")).thenReturn(Optional.of(applicationUser));
+        when(userRepository.findWithAuthoritiesByEmail("mail@mail.com")).thenReturn(Optional.of(applicationUser));
         when(passwordService.matches("raw_password", "encoded_password")).thenReturn(true);
 
         Authentication authenticated = authenticationManager.authenticate(authenticationToken);
@@ -67,13 +68,44 @@ class UserPasswordAuthenticationManagerImplTest {
         assertThat(authenticated.getCredentials()).isNull();
         assertThat(authenticated.getAuthorities()).hasSize(1);
         assertThat(authenticated.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+        AuthenticatedUser details = (AuthenticatedUser) authenticated.getDetails();
+        assertThat(details.getUserEmail()).isEqualTo("mail@mail.com");
+        assertThat(details.getUserTenancyName()).isEqualTo("UserAdm");
+        assertThat(details.getUserAuthoritiesName()).containsExactly("ROLE_USER");
+        verify(userRepository, never()).rehashPassword(any(), any(), any());
+    }
+
+    @DisplayName("Given correct authentication with a weaker hash, rehash the password with a targeted update")
+    @Test
+    void authenticatedRehash() {
+        UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken("mail@mail.com", "raw_password");
+        User applicationUser = User.builder()
+                .id(1L)
+                .password("encoded_password")
+                .firstName("lastName")
+                .lastName("Wick")
+                .email("mail@mail.com")
+                .enabled(true)
+                .verified(true)
+                .createdAt(LocalDateTime.now())
+                .authorities(singletonList(new UserAuthority(null, new Authority(1L, AuthorityCategory.COMMON_USER, "ROLE_USER"))))
+                .build();
+        when(userRepository.findWithAuthoritiesByEmail("mail@mail.com")).thenReturn(Optional.of(applicationUser));
+        when(passwordService.matches("raw_password", "encoded_password")).thenReturn(true);
+        when(passwordService.upgradeEncoding("encoded_password")).thenReturn(true);
+        when(passwordService.encodePassword("raw_password")).thenReturn("new_encoded_password");
+
+        Authentication authenticated = authenticationManager.authenticate(authenticationToken);
+        assertThat(authenticated.getAuthorities()).hasSize(1);
+        verify(userRepository).rehashPassword(1L, "encoded_password", "new_encoded_password");
+        verify(userRepository, never()).save(any());
     }
 
     @DisplayName("User not found by Principal/Email return 401 Bad Credentials")
     @Test
     void userNotFound() {
         UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken("mail@mail.com", "raw_password");
-        when(userRepository.findByEmail("mail@mail.com")).thenReturn(Optional.empty());
+        when(userRepository.findWithAuthoritiesByEmail("mail@mail.com")).thenReturn(Optional.empty());
 
         ApplicationException exception = assertThrows(ApplicationException.class, () -> authenticationManager.authenticate(authenticationToken));
         assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
@@ -98,7 +130,7 @@ class UserPasswordAuthenticationManagerImplTest {
                 .createdAt(LocalDateTime.now())
                 .authorities(emptyList())
                 .build();
-        when(userRepository.findByEmail("mail@mail.com")).thenReturn(Optional.of(applicationUser));
+        when(userRepository.findWithAuthoritiesByEmail("mail@mail.com")).thenReturn(Optional.of(applicationUser));
 
         ApplicationException exception = assertThrows(ApplicationException.class, () -> authenticationManager.authenticate(authenticationToken));
         assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
@@ -123,7 +155,7 @@ class UserPasswordAuthenticationManagerImplTest {
                 .createdAt(LocalDateTime.now())
                 .authorities(emptyList())
                 .build();
-        when(userRepository.findByEmail("mail@mail.com")).thenReturn(Optional.of(applicationUser));
+        when(userRepository.findWithAuthoritiesByEmail("mail@mail.com")).thenReturn(Optional.of(applicationUser));
 
         ApplicationException exception = assertThrows(ApplicationException.class, () -> authenticationManager.authenticate(authenticationToken));
         assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
@@ -148,7 +180,7 @@ class UserPasswordAuthenticationManagerImplTest {
                 .createdAt(LocalDateTime.now())
                 .authorities(emptyList())
                 .build();
-        when(userRepository.findByEmail("mail@mail.com")).thenReturn(Optional.of(applicationUser));
+        when(userRepository.findWithAuthoritiesByEmail("mail@mail.com")).thenReturn(Optional.of(applicationUser));
         when(passwordService.matches("raw_password", "encoded_password")).thenReturn(false);
 
         ApplicationException exception = assertThrows(ApplicationException.class, () -> authenticationManager.authenticate(authenticationToken));
@@ -172,7 +204,7 @@ class UserPasswordAuthenticationManagerImplTest {
                 .createdAt(LocalDateTime.now())
                 .authorities(emptyList())
                 .build();
-        when(userRepository.findByEmail("mail@mail.com")).thenReturn(Optional.of(applicationUser));
+        when(userRepository.findWithAuthoritiesByEmail("mail@mail.com")).thenReturn(Optional.of(applicationUser));
         when(passwordService.matches("raw_password", "encoded_password")).thenReturn(true);
 
         ApplicationException exception = assertThrows(ApplicationException.class, () -> authenticationManager.authenticate(authenticationToken));
@@ -196,7 +228,7 @@ class UserPasswordAuthenticationManagerImplTest {
                 .createdAt(LocalDateTime.now())
                 .authorities(null)
                 .build();
-        when(userRepository.findByEmail("mail@mail.com")).thenReturn(Optional.of(applicationUser));
+        when(userRepository.findWithAuthoritiesByEmail("mail@mail.com")).thenReturn(Optional.of(applicationUser));
         when(passwordService.matches("raw_password", "encoded_password")).thenReturn(true);
 
         ApplicationException exception = assertThrows(ApplicationException.class, () -> authenticationManager.authenticate(authenticationToken));
@@ -220,7 +252,7 @@ class UserPasswordAuthenticationManagerImplTest {
                 .authorities(singletonList(new UserAuthority(null, new Authority(1L, AuthorityCategory.COMMON_USER, "ROLE_USER"))))
                 .tenancy(Tenancy.builder().name("UserAdm").enabled(false).build())
                 .build();
-        when(userRepository.findByEmail("mail@mail.com")).thenReturn(Optional.of(applicationUser));
+        when(userRepository.findWithAuthoritiesByEmail("mail@mail.com")).thenReturn(Optional.of(applicationUser));
 
         ApplicationException exception = assertThrows(ApplicationException.class, () -> authenticationManager.authenticate(authenticationToken));
         assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
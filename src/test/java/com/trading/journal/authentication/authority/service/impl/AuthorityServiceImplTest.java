@@ -4,6 +4,8 @@ import com.trading.journal.authentication.ApplicationException;
 import com.trading.journal.authentication.authority.Authority;
 import com.trading.journal.authentication.authority.AuthorityCategory;
 import com.trading.journal.authentication.authority.AuthorityRepository;
+import com.trading.journal.authentication.cache.CacheNames;
+import com.trading.journal.authentication.cache.service.CacheInvalidationService;
 import com.trading.journal.authentication.userauthority.UserAuthorityRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -31,6 +33,9 @@ class AuthorityServiceImplTest {
     @Mock
     UserAuthorityRepository userAuthorityRepository;
 
+    @Mock
+    CacheInvalidationService cacheInvalidationService;
+
     @InjectMocks
     AuthorityServiceImpl authorityService;
 
@@ -113,6 +118,8 @@ class AuthorityServiceImplTest {
 
         Authority authorityReturned = authorityService.add(authority);
         assertThat(authorityReturned).isSameAs(authoritySaved);
+
+        verify(cacheInvalidationService).clear(CacheNames.AUTHORITIES);
     }
 
     @DisplayName("Add a new Authority with a existing name return an exception")
@@ -128,6 +135,7 @@ class AuthorityServiceImplTest {
         assertThat(exception.getStatusText()).isEqualTo("Authority name already exists");
 
         verify(authorityRepository, never()).save(any());
+        verify(cacheInvalidationService, never()).clear(anyString());
     }
 
 
@@ -145,6 +153,9 @@ class AuthorityServiceImplTest {
 
         Authority authorityReturned = authorityService.update(id, authority);
         assertThat(authorityReturned).isSameAs(authorityUpdated);
+
+        verify(cacheInvalidationService).clear(CacheNames.AUTHORITIES);
+        verify(cacheInvalidationService).clear(CacheNames.USERS);
     }
 
     @DisplayName("Update a Authority but the authority id is not found return exception")
@@ -192,6 +203,7 @@ class AuthorityServiceImplTest {
         authorityService.delete(id);
 
         verify(authorityRepository).deleteById(id);
+        verify(cacheInvalidationService).clear(CacheNames.AUTHORITIES);
     }
 
     @DisplayName("Delete a Authority but the authority id is not found return exception")
@@ -221,5 +233,6 @@ class AuthorityServiceImplTest {
         assertThat(exception.getStatusText()).isEqualTo("Authority is used by one or more user");
 
         verify(authorityRepository, never()).deleteById(anyLong());
+        verify(cacheInvalidationService, never()).clear(anyString());
     }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.trading.journal.authentication.cache;
+
+import com.trading.journal.authentication.PostgresTestContainerInitializer;
+import com.trading.journal.authentication.notification.service.PostgresNotificationListener;
+import com.trading.journal.authentication.tenancy.Tenancy;
+import com.trading.journal.authentication.tenancy.TenancyRepository;
+import com.trading.journal.authentication.tenancy.service.TenancyService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.cache.type=caffeine",
+        "journal.authentication.cache.invalidation.enabled=true"
+})
+@Testcontainers
+@ContextConfiguration(initializers = PostgresTestContainerInitializer.class)
+class CacheInvalidationIntegratedTest {
+
+    @Autowired
+    TenancyRepository tenancyRepository;
+
+    @Autowired
+    TenancyService tenancyService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    PostgresNotificationListener notificationListener;
+
+    @BeforeEach
+    public void listening() throws InterruptedException {
+        for (int attempt = 0; attempt < 50 && !notificationListener.isListening(); attempt++) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+        assertThat(notificationListener.isListening()).isTrue();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        tenancyRepository.deleteAll();
+    }
+
+    @DisplayName("Tenancy lookups are served from the cache")
+    @Test
+    void cached() {
+        Long id = tenancyRepository.save(Tenancy.builder().name("cached").build()).getId();
+
+        tenancyService.getById(id);
+        jdbcTemplate.update("UPDATE Tenancy SET enabled = false WHERE id = ?", id);
+
+        assertThat(tenancyService.getById(id).getEnabled()).isTrue();
+        assertThat(meterRegistry.find("cache.gets").tag("cache", CacheNames.TENANCIES).tag("result", "hit").functionCounter()).isNotNull();
+    }
+
+    @DisplayName("Invalidation notified by another node evicts the cached tenancy within a second")
+    @Test
+    void invalidatedByAnotherNode() throws InterruptedException {
+        Long id = tenancyRepository.save(Tenancy.builder().name("invalidated").build()).getId();
+        assertThat(tenancyService.getById(id).getEnabled()).isTrue();
+
+        jdbcTemplate.update("UPDATE Tenancy SET enabled = false WHERE id = ?", id);
+        jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, "cache_invalidation", CacheNames.TENANCIES + ":" + id);
+
+        boolean disabled = false;
+        for (int attempt = 0; attempt < 20 && !disabled; attempt++) {
+            TimeUnit.MILLISECONDS.sleep(50);
+            disabled = !tenancyService.getById(id).getEnabled();
+        }
+        assertThat(disabled).isTrue();
+    }
+
+    @DisplayName("Changes made through the service evict the cached tenancy")
+    @Test
+    void evictedOnChange() {
+        Long id = tenancyRepository.save(Tenancy.builder().name("changed").build()).getId();
+        assertThat(tenancyService.getById(id).getEnabled()).isTrue();
+
+        tenancyService.disable(id);
+
+        assertThat(tenancyService.getById(id).getEnabled()).isFalse();
+    }
+}
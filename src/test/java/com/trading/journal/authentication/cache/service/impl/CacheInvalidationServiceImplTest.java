@@ -0,0 +1,129 @@
+package com.trading.journal.authentication.cache.service.impl;
+
+import com.trading.journal.authentication.cache.CacheInvalidationProperties;
+import com.trading.journal.authentication.cache.CacheNames;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class CacheInvalidationServiceImplTest {
+
+    JdbcTemplate jdbcTemplate;
+
+    Cache tenancies;
+
+    Cache authorities;
+
+    CacheInvalidationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheNames.AUTHORITIES, CacheNames.TENANCIES);
+        tenancies = cacheManager.getCache(CacheNames.TENANCIES);
+        authorities = cacheManager.getCache(CacheNames.AUTHORITIES);
+        tenancies.put(1L, "tenancy1");
+        tenancies.put(2L, "tenancy2");
+        authorities.put("all", "authorities");
+        service = new CacheInvalidationServiceImpl(cacheManager, jdbcTemplate, properties(true));
+    }
+
+    @DisplayName("Evict a key locally and notify the other nodes")
+    @Test
+    void evict() {
+        service.evict(CacheNames.TENANCIES, 1L);
+
+        assertThat(tenancies.get(1L)).isNull();
+        assertThat(tenancies.get(2L)).isNotNull();
+        verify(jdbcTemplate).queryForObject(anyString(), eq(Object.class), eq("cache_invalidation"), eq("tenancies:1"));
+    }
+
+    @DisplayName("Clear every cache locally without notifying the other nodes")
+    @Test
+    void clearAll() {
+        service.clearAll();
+
+        assertThat(authorities.get("all")).isNull();
+        assertThat(tenancies.get(1L)).isNull();
+        assertThat(tenancies.get(2L)).isNull();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @DisplayName("Clear a cache locally and notify the other nodes")
+    @Test
+    void clear() {
+        service.clear(CacheNames.AUTHORITIES);
+
+        assertThat(authorities.get("all")).isNull();
+        assertThat(tenancies.get(1L)).isNotNull();
+        verify(jdbcTemplate).queryForObject(anyString(), eq(Object.class), eq("cache_invalidation"), eq("authorities"));
+    }
+
+    @DisplayName("Invalidation disabled only evicts the local cache")
+    @Test
+    void disabled() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheNames.TENANCIES);
+        cacheManager.getCache(CacheNames.TENANCIES).put(1L, "tenancy1");
+        CacheInvalidationServiceImpl localService = new CacheInvalidationServiceImpl(cacheManager, jdbcTemplate, properties(false));
+
+        localService.evict(CacheNames.TENANCIES, 1L);
+
+        assertThat(cacheManager.getCache(CacheNames.TENANCIES).get(1L)).isNull();
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Object.class), any(Object[].class));
+    }
+
+    @DisplayName("Apply a key notification evicts only the key")
+    @Test
+    void applyKey() {
+        service.apply("tenancies:2");
+
+        assertThat(tenancies.get(1L)).isNotNull();
+        assertThat(tenancies.get(2L)).isNull();
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Object.class), any(Object[].class));
+    }
+
+    @DisplayName("Apply a cache notification clears the cache")
+    @Test
+    void applyCache() {
+        service.apply("tenancies");
+
+        assertThat(tenancies.get(1L)).isNull();
+        assertThat(tenancies.get(2L)).isNull();
+        assertThat(authorities.get("all")).isNotNull();
+    }
+
+    @DisplayName("Apply a notification with an invalid key clears the cache")
+    @Test
+    void applyInvalidKey() {
+        service.apply("tenancies:abc");
+
+        assertThat(tenancies.get(1L)).isNull();
+        assertThat(tenancies.get(2L)).isNull();
+    }
+
+    @DisplayName("Apply a notification for an unknown cache is ignored")
+    @Test
+    void applyUnknownCache() {
+        service.apply("unknown:1");
+
+        assertThat(tenancies.get(1L)).isNotNull();
+        assertThat(authorities.get("all")).isNotNull();
+    }
+
+    private CacheInvalidationProperties properties(boolean enabled) {
+        return new CacheInvalidationProperties(enabled, "cache_invalidation");
+    }
+}
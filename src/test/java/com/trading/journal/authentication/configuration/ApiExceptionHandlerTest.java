@@ -8,10 +8,13 @@ import java.util.Objects;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpClientErrorException;
 
+import com.trading.journal.authentication.ApplicationException;
+
 public class ApiExceptionHandlerTest {
     final ApiExceptionHandler apiExceptionHandler = new ApiExceptionHandler();
 
@@ -35,6 +38,18 @@ public class ApiExceptionHandlerTest {
         assertEquals("any message", Objects.requireNonNull(response.getBody()).get("error"));
     }
 
+    @Test
+    @DisplayName("When handle ApplicationException with headers, return the headers")
+    void handleClientExceptionWithHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "5");
+        ResponseEntity<Map<String, String>> response = apiExceptionHandler.handleClientException(
+                new ApplicationException(HttpStatus.SERVICE_UNAVAILABLE, "busy", headers));
+        assertEquals(503, response.getStatusCode().value());
+        assertEquals("5", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("busy", Objects.requireNonNull(response.getBody()).get("error"));
+    }
+
     @Test
     @DisplayName("When handle Exception, return message and status 500")
     void handleException() {
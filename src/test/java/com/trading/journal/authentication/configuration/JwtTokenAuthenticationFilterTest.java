@@ -1,6 +1,7 @@
 package com.trading.journal.authentication.configuration;
 
 import com.allanweber.jwttoken.helper.JwtConstants;
+import com.allanweber.jwttoken.service.JwtResolveToken;
 import com.allanweber.jwttoken.service.JwtTokenAuthenticationCheck;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,15 +11,17 @@ import org.mockito.Mock;
 import org.springframework.http.HttpHeaders;
 import org.springframework.mock.web.MockFilterChain;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Optional;
 
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(SpringExtension.class)
 public class JwtTokenAuthenticationFilterTest {
@@ -26,11 +29,17 @@ public class JwtTokenAuthenticationFilterTest {
     @Mock
     JwtTokenAuthenticationCheck jwtTokenAuthenticationCheck;
 
+    @Mock
+    JwtResolveToken jwtResolveToken;
+
+    @Mock
+    VerifiedTokenCache verifiedTokenCache;
+
     JwtTokenAuthenticationFilter jwtTokenAuthenticationFilter;
 
     @BeforeEach
     public void setUp() {
-        jwtTokenAuthenticationFilter = new JwtTokenAuthenticationFilter(jwtTokenAuthenticationCheck);
+        jwtTokenAuthenticationFilter = new JwtTokenAuthenticationFilter(jwtTokenAuthenticationCheck, jwtResolveToken, verifiedTokenCache);
     }
 
     @Test
@@ -42,9 +51,30 @@ public class JwtTokenAuthenticationFilterTest {
         MockFilterChain chain = new MockFilterChain();
 
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer 123456789");
-        when(jwtTokenAuthenticationCheck.getAuthentication(request)).thenReturn(new UsernamePasswordAuthenticationToken("user", null));
+        when(jwtResolveToken.resolve(request)).thenReturn("123456789");
+        when(verifiedTokenCache.get("123456789")).thenReturn(Optional.empty());
+        Authentication authentication = new UsernamePasswordAuthenticationToken("user", null);
+        when(jwtTokenAuthenticationCheck.getAuthentication(request)).thenReturn(authentication);
+
+        jwtTokenAuthenticationFilter.doFilterInternal(request, response, chain);
+
+        verify(verifiedTokenCache).put("123456789", authentication);
+    }
+
+    @Test
+    @DisplayName("Given server request with a cached token do not verify it again")
+    void serverRequestCachedToken() throws ServletException, IOException {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        MockFilterChain chain = new MockFilterChain();
+
+        when(jwtResolveToken.resolve(request)).thenReturn("123456789");
+        when(verifiedTokenCache.get("123456789")).thenReturn(Optional.of(new UsernamePasswordAuthenticationToken("user", null)));
 
         jwtTokenAuthenticationFilter.doFilterInternal(request, response, chain);
+
+        verify(jwtTokenAuthenticationCheck, never()).getAuthentication(any());
+        verify(verifiedTokenCache, never()).put(any(), any());
     }
 
     @Test
@@ -56,5 +86,8 @@ public class JwtTokenAuthenticationFilterTest {
 
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn(null);
         jwtTokenAuthenticationFilter.doFilterInternal(request, response, chain);
+
+        verify(verifiedTokenCache, never()).get(any());
+        verify(verifiedTokenCache, never()).put(any(), any());
     }
-}
\ No newline at end of file
+}
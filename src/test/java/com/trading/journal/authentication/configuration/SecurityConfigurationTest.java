@@ -147,7 +147,7 @@ public class SecurityConfigurationTest {
                 false
         );
 
-        userService.createNewUser(userRegistration, null);
+        userService.createNewUser(userRegistration, null, encoder.encode(userRegistration.getPassword()));
         User user = userRepository.findByEmail("johnwick@mail.com").get();
         user.enable();
         user.verify();
@@ -155,7 +155,7 @@ public class SecurityConfigurationTest {
         userRepository.save(user);
 
         Login login = new Login(userRegistration.getEmail(), userRegistration.getPassword());
-        LoginResponse loginResponse = authenticationService.signIn(login);
+        LoginResponse loginResponse = authenticationService.signIn(login, "127.0.0.1");
         assertThat(loginResponse).isNotNull();
 
         webTestClient
@@ -190,7 +190,7 @@ public class SecurityConfigurationTest {
         userRepository.save(applicationUser);
 
         Login login = new Login(userRegistration.getEmail(), userRegistration.getPassword());
-        LoginResponse loginResponse = authenticationService.signIn(login);
+        LoginResponse loginResponse = authenticationService.signIn(login, "127.0.0.1");
         assertThat(loginResponse).isNotNull();
 
         webTestClient
@@ -217,7 +217,7 @@ public class SecurityConfigurationTest {
                 false
         );
 
-        userService.createNewUser(userRegistration, null);
+        userService.createNewUser(userRegistration, null, encoder.encode(userRegistration.getPassword()));
         User user = userRepository.findByEmail("johnwick@mail.com").get();
         user.enable();
         user.verify();
@@ -225,7 +225,7 @@ public class SecurityConfigurationTest {
         userRepository.save(user);
 
         Login login = new Login(userRegistration.getEmail(), userRegistration.getPassword());
-        LoginResponse loginResponse = authenticationService.signIn(login);
+        LoginResponse loginResponse = authenticationService.signIn(login, "127.0.0.1");
         assertThat(loginResponse).isNotNull();
 
         webTestClient
@@ -260,7 +260,7 @@ public class SecurityConfigurationTest {
         userRepository.save(applicationUser);
 
         Login login = new Login(userRegistration.getEmail(), userRegistration.getPassword());
-        LoginResponse loginResponse = authenticationService.signIn(login);
+        LoginResponse loginResponse = authenticationService.signIn(login, "127.0.0.1");
         assertThat(loginResponse).isNotNull();
 
         webTestClient
@@ -295,7 +295,7 @@ public class SecurityConfigurationTest {
         userRepository.save(applicationUser);
 
         Login login = new Login(userRegistration.getEmail(), userRegistration.getPassword());
-        LoginResponse loginResponse = authenticationService.signIn(login);
+        LoginResponse loginResponse = authenticationService.signIn(login, "127.0.0.1");
         assertThat(loginResponse).isNotNull();
 
         webTestClient
@@ -321,7 +321,7 @@ public class SecurityConfigurationTest {
                 false
         );
 
-        userService.createNewUser(userRegistration, null);
+        userService.createNewUser(userRegistration, null, encoder.encode(userRegistration.getPassword()));
         User user = userRepository.findByEmail("johnwick@mail.com").get();
         user.enable();
         user.verify();
@@ -329,7 +329,7 @@ public class SecurityConfigurationTest {
         userRepository.save(user);
 
         Login login = new Login(userRegistration.getEmail(), userRegistration.getPassword());
-        LoginResponse loginResponse = authenticationService.signIn(login);
+        LoginResponse loginResponse = authenticationService.signIn(login, "127.0.0.1");
         assertThat(loginResponse).isNotNull();
 
         webTestClient
@@ -355,7 +355,7 @@ public class SecurityConfigurationTest {
                 false
         );
 
-        userService.createNewUser(userRegistration, null);
+        userService.createNewUser(userRegistration, null, encoder.encode(userRegistration.getPassword()));
         User user = userRepository.findByEmail("johnwick@mail.com").get();
         user.enable();
         user.verify();
@@ -363,7 +363,7 @@ public class SecurityConfigurationTest {
         userRepository.save(user);
 
         Login login = new Login(userRegistration.getEmail(), userRegistration.getPassword());
-        LoginResponse loginResponse = authenticationService.signIn(login);
+        LoginResponse loginResponse = authenticationService.signIn(login, "127.0.0.1");
         assertThat(loginResponse).isNotNull();
 
         webTestClient
@@ -389,7 +389,7 @@ public class SecurityConfigurationTest {
                 false
         );
 
-        userService.createNewUser(userRegistration, null);
+        userService.createNewUser(userRegistration, null, encoder.encode(userRegistration.getPassword()));
         User user = userRepository.findByEmail("johnwick@mail.com").get();
         user.enable();
         user.verify();
@@ -399,7 +399,7 @@ public class SecurityConfigurationTest {
         userAuthorityService.addAuthorities(user, new AuthoritiesChange(singletonList(authority.getName())));
 
         Login login = new Login(userRegistration.getEmail(), userRegistration.getPassword());
-        LoginResponse loginResponse = authenticationService.signIn(login);
+        LoginResponse loginResponse = authenticationService.signIn(login, "127.0.0.1");
         assertThat(loginResponse).isNotNull();
 
         webTestClient
@@ -425,7 +425,7 @@ public class SecurityConfigurationTest {
                 false
         );
 
-        userService.createNewUser(userRegistration, null);
+        userService.createNewUser(userRegistration, null, encoder.encode(userRegistration.getPassword()));
         User user = userRepository.findByEmail("johnwick@mail.com").get();
         user.enable();
         user.verify();
@@ -436,7 +436,7 @@ public class SecurityConfigurationTest {
         userAuthorityService.addAuthorities(user, new AuthoritiesChange(singletonList(authority.getName())));
 
         Login login = new Login(userRegistration.getEmail(), userRegistration.getPassword());
-        LoginResponse loginResponse = authenticationService.signIn(login);
+        LoginResponse loginResponse = authenticationService.signIn(login, "127.0.0.1");
         assertThat(loginResponse).isNotNull();
 
         webTestClient
@@ -463,7 +463,7 @@ public class SecurityConfigurationTest {
                 false
         );
 
-        userService.createNewUser(userRegistration, tenancy);
+        userService.createNewUser(userRegistration, tenancy, encoder.encode(userRegistration.getPassword()));
         User user = userRepository.findByEmail("johnwick@mail.com").get();
         user.enable();
         user.verify();
@@ -473,7 +473,7 @@ public class SecurityConfigurationTest {
         userAuthorityService.addAuthorities(user, new AuthoritiesChange(singletonList(authority.getName())));
 
         Login login = new Login(userRegistration.getEmail(), userRegistration.getPassword());
-        LoginResponse loginResponse = authenticationService.signIn(login);
+        LoginResponse loginResponse = authenticationService.signIn(login, "127.0.0.1");
         assertThat(loginResponse).isNotNull();
 
         webTestClient
@@ -501,7 +501,7 @@ public class SecurityConfigurationTest {
                 false
         );
 
-        userService.createNewUser(userRegistration, tenancy);
+        userService.createNewUser(userRegistration, tenancy, encoder.encode(userRegistration.getPassword()));
         User user = userRepository.findByEmail("johnwick@mail.com").get();
         user.enable();
         user.verify();
@@ -509,7 +509,7 @@ public class SecurityConfigurationTest {
         userRepository.save(user);
 
         Login login = new Login(userRegistration.getEmail(), userRegistration.getPassword());
-        LoginResponse loginResponse = authenticationService.signIn(login);
+        LoginResponse loginResponse = authenticationService.signIn(login, "127.0.0.1");
         assertThat(loginResponse).isNotNull();
 
         webTestClient
@@ -546,7 +546,7 @@ public class SecurityConfigurationTest {
         userRepository.save(applicationUser);
 
         Login login = new Login(userRegistration.getEmail(), userRegistration.getPassword());
-        LoginResponse loginResponse = authenticationService.signIn(login);
+        LoginResponse loginResponse = authenticationService.signIn(login, "127.0.0.1");
         assertThat(loginResponse).isNotNull();
 
         String email = "mail@mail.com";
@@ -586,7 +586,7 @@ public class SecurityConfigurationTest {
                 false
         );
 
-        userService.createNewUser(userRegistration, tenancy);
+        userService.createNewUser(userRegistration, tenancy, encoder.encode(userRegistration.getPassword()));
         User user = userRepository.findByEmail("johnwick@mail.com").get();
         user.enable();
         user.verify();
@@ -594,7 +594,7 @@ public class SecurityConfigurationTest {
         userRepository.save(user);
 
         Login login = new Login(userRegistration.getEmail(), userRegistration.getPassword());
-        LoginResponse loginResponse = authenticationService.signIn(login);
+        LoginResponse loginResponse = authenticationService.signIn(login, "127.0.0.1");
         assertThat(loginResponse).isNotNull();
 
         String email = "mail@mail.com";
@@ -625,7 +625,7 @@ public class SecurityConfigurationTest {
                 false
         );
 
-        userService.createNewUser(userRegistration, tenancy);
+        userService.createNewUser(userRegistration, tenancy, encoder.encode(userRegistration.getPassword()));
         User user = userRepository.findByEmail("johnwick@mail.com").get();
         user.enable();
         user.verify();
@@ -635,7 +635,7 @@ public class SecurityConfigurationTest {
         userAuthorityService.addAuthorities(user, new AuthoritiesChange(singletonList(authority.getName())));
 
         Login login = new Login(userRegistration.getEmail(), userRegistration.getPassword());
-        LoginResponse loginResponse = authenticationService.signIn(login);
+        LoginResponse loginResponse = authenticationService.signIn(login, "127.0.0.1");
         assertThat(loginResponse).isNotNull();
 
         String email = "mail@mail.com";
@@ -0,0 +1,75 @@
+package com.trading.journal.authentication.configuration;
+
+import com.trading.journal.authentication.configuration.properties.JwtCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    MeterRegistry meterRegistry;
+
+    VerifiedTokenCache verifiedTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        verifiedTokenCache = new VerifiedTokenCache(new JwtCacheProperties(100), meterRegistry);
+    }
+
+    @DisplayName("Given a verified token, return the same authentication until it expires")
+    @Test
+    void cached() {
+        String token = token(Instant.now().plusSeconds(60).getEpochSecond());
+        Authentication authentication = new UsernamePasswordAuthenticationToken("user", null);
+
+        assertThat(verifiedTokenCache.get(token)).isEmpty();
+        verifiedTokenCache.put(token, authentication);
+
+        assertThat(verifiedTokenCache.get(token)).contains(authentication);
+        assertThat(verifiedTokenCache.get(token(Instant.now().plusSeconds(61).getEpochSecond()))).isEmpty();
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "verified-jwt").tag("result", "hit").functionCounter().count()).isEqualTo(1D);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "verified-jwt").tag("result", "miss").functionCounter().count()).isEqualTo(2D);
+    }
+
+    @DisplayName("Expired tokens are not cached")
+    @Test
+    void expired() {
+        String token = token(Instant.now().minusSeconds(1).getEpochSecond());
+
+        verifiedTokenCache.put(token, new UsernamePasswordAuthenticationToken("user", null));
+
+        assertThat(verifiedTokenCache.get(token)).isEmpty();
+    }
+
+    @DisplayName("Tokens without a readable expiration are not cached")
+    @Test
+    void noExpiration() {
+        String withoutExp = encode("{\"alg\":\"RS256\"}") + "." + encode("{\"sub\":\"user\"}") + ".signature";
+        String notJwt = "not-a-jwt";
+
+        verifiedTokenCache.put(withoutExp, new UsernamePasswordAuthenticationToken("user", null));
+        verifiedTokenCache.put(notJwt, new UsernamePasswordAuthenticationToken("user", null));
+
+        assertThat(verifiedTokenCache.get(withoutExp)).isEmpty();
+        assertThat(verifiedTokenCache.get(notJwt)).isEmpty();
+    }
+
+    private static String token(long exp) {
+        return encode("{\"alg\":\"RS256\"}") + "." + encode("{\"sub\":\"user\",\"exp\":" + exp + "}") + ".signature";
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,120 @@
+package com.trading.journal.authentication.configuration;
+
+import com.trading.journal.authentication.PostgresTestContainerInitializer;
+import com.trading.journal.authentication.authentication.Login;
+import com.trading.journal.authentication.email.service.EmailOutboxService;
+import com.trading.journal.authentication.password.service.PasswordService;
+import com.trading.journal.authentication.registration.UserRegistration;
+import com.trading.journal.authentication.user.UserRepository;
+import com.trading.journal.authentication.user.service.UserService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "journal.authentication.virtual-threads.enabled=true")
+@Testcontainers
+@ContextConfiguration(initializers = PostgresTestContainerInitializer.class)
+class VirtualThreadPinningIntegratedTest {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final String PASSWORD = "dad231#$#4";
+
+    private static final int REQUESTS = 50;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    PasswordService passwordService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    EmailOutboxService emailOutboxService;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository.deleteAll();
+        userService.createNewUser(new UserRegistration(null, "allan", "weber", "mail@mail.com", PASSWORD, PASSWORD, false), null, passwordService.encodePassword(PASSWORD));
+    }
+
+    @Test
+    @DisplayName("Sign in, sign up and email dispatch on virtual threads do not pin their carrier")
+    void noPinning() throws Exception {
+        Path dump = Files.createTempFile("virtual-thread-pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+
+            Flux.range(0, REQUESTS)
+                    .flatMap(request -> Mono.fromRunnable(this::signIn).subscribeOn(Schedulers.boundedElastic()), REQUESTS)
+                    .blockLast();
+            webTestClient
+                    .post()
+                    .uri("/auth/signup")
+                    .accept(MediaType.APPLICATION_JSON)
+                    .bodyValue(new UserRegistration(null, "new", "user", "new@mail.com", PASSWORD, PASSWORD, false))
+                    .exchange()
+                    .expectStatus()
+                    .isOk();
+            emailOutboxService.dispatchBatch();
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<String> pinned = RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> PINNED_EVENT.equals(event.getEventType().getName()))
+                .filter(VirtualThreadPinningIntegratedTest::fromApplication)
+                .map(RecordedEvent::toString)
+                .toList();
+        Files.deleteIfExists(dump);
+
+        assertThat(pinned).isEmpty();
+    }
+
+    private void signIn() {
+        webTestClient
+                .post()
+                .uri("/auth/signin")
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(new Login("mail@mail.com", PASSWORD))
+                .exchange()
+                .expectStatus()
+                .isOk();
+    }
+
+    private static boolean fromApplication(RecordedEvent event) {
+        return event.getStackTrace() != null && event.getStackTrace().getFrames().stream()
+                .map(RecordedFrame::getMethod)
+                .anyMatch(method -> method.getType().getName().startsWith("com.trading.journal"));
+    }
+}
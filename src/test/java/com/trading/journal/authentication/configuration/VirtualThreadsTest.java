@@ -0,0 +1,40 @@
+package com.trading.journal.authentication.configuration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.util.concurrent.ThreadFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VirtualThreadsTest {
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    @DisplayName("Virtual threads are not supported before Java 21")
+    void notSupported() {
+        assertThat(VirtualThreads.isSupported()).isFalse();
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> VirtualThreads.threadFactory("virtual-"));
+        assertThat(exception.getMessage()).startsWith("Virtual threads require Java 21 or newer");
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("Thread factory creates named virtual threads")
+    void virtualThreads() throws Exception {
+        ThreadFactory threadFactory = VirtualThreads.threadFactory("virtual-");
+
+        Thread first = threadFactory.newThread(() -> {
+        });
+        Thread second = threadFactory.newThread(() -> {
+        });
+
+        assertThat(VirtualThreads.isSupported()).isTrue();
+        assertThat(Thread.class.getMethod("isVirtual").invoke(first)).isEqualTo(true);
+        assertThat(first.getName()).isEqualTo("virtual-0");
+        assertThat(second.getName()).isEqualTo("virtual-1");
+    }
+}
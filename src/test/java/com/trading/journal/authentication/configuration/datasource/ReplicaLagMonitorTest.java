@@ -0,0 +1,68 @@
+package com.trading.journal.authentication.configuration.datasource;
+
+import com.trading.journal.authentication.configuration.properties.ReplicaProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaLagMonitorTest {
+
+    JdbcTemplate replica;
+
+    ReplicaLagMonitor replicaLagMonitor;
+
+    @BeforeEach
+    void setUp() {
+        replica = mock(JdbcTemplate.class);
+        ReplicaProperties properties = new ReplicaProperties(true, "url", "user", "password", 2, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        replicaLagMonitor = new ReplicaLagMonitor(replica, properties);
+    }
+
+    @DisplayName("Replica is not used before the first check")
+    @Test
+    void notCheckedYet() {
+        assertThat(replicaLagMonitor.isAvailable()).isFalse();
+    }
+
+    @DisplayName("Replica within the lag tolerance is available")
+    @Test
+    void withinLag() {
+        when(replica.queryForObject(anyString(), eq(Double.class))).thenReturn(1.5);
+
+        replicaLagMonitor.check();
+
+        assertThat(replicaLagMonitor.isAvailable()).isTrue();
+    }
+
+    @DisplayName("Replica behind the lag tolerance is not available")
+    @Test
+    void behindLag() {
+        when(replica.queryForObject(anyString(), eq(Double.class))).thenReturn(0.0, 12.0);
+
+        replicaLagMonitor.check();
+        assertThat(replicaLagMonitor.isAvailable()).isTrue();
+
+        replicaLagMonitor.check();
+        assertThat(replicaLagMonitor.isAvailable()).isFalse();
+    }
+
+    @DisplayName("Replica that can not be reached is not available")
+    @Test
+    void unreachable() {
+        when(replica.queryForObject(anyString(), eq(Double.class))).thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        replicaLagMonitor.check();
+
+        assertThat(replicaLagMonitor.isAvailable()).isFalse();
+    }
+}
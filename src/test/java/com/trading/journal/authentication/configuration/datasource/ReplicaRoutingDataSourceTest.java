@@ -0,0 +1,57 @@
+package com.trading.journal.authentication.configuration.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    ReplicaLagMonitor lagMonitor;
+
+    ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        lagMonitor = mock(ReplicaLagMonitor.class);
+        routingDataSource = new ReplicaRoutingDataSource(mock(DataSource.class), mock(DataSource.class), lagMonitor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @DisplayName("Read only transactions go to the replica when it is available")
+    @Test
+    void readOnlyToReplica() {
+        when(lagMonitor.isAvailable()).thenReturn(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(DataSourceRoute.REPLICA);
+    }
+
+    @DisplayName("Read only transactions fall back to the primary when the replica is lagging")
+    @Test
+    void readOnlyFallback() {
+        when(lagMonitor.isAvailable()).thenReturn(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(DataSourceRoute.PRIMARY);
+    }
+
+    @DisplayName("Read write transactions always go to the primary")
+    @Test
+    void readWriteToPrimary() {
+        when(lagMonitor.isAvailable()).thenReturn(true);
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(DataSourceRoute.PRIMARY);
+    }
+}
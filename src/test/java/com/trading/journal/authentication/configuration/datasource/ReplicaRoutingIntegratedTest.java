@@ -0,0 +1,72 @@
+package com.trading.journal.authentication.configuration.datasource;
+
+import com.trading.journal.authentication.PostgresReplicaTestContainerInitializer;
+import com.trading.journal.authentication.authority.service.AuthorityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Testcontainers
+@ContextConfiguration(initializers = PostgresReplicaTestContainerInitializer.class)
+class ReplicaRoutingIntegratedTest {
+
+    private static final String IN_RECOVERY = "SELECT pg_is_in_recovery()";
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    AuthorityService authorityService;
+
+    @BeforeEach
+    public void replicaAvailable() throws InterruptedException {
+        for (int attempt = 0; attempt < 30 && !replicaLagMonitor.isAvailable(); attempt++) {
+            TimeUnit.MILLISECONDS.sleep(500);
+            replicaLagMonitor.check();
+        }
+        assertThat(replicaLagMonitor.isAvailable()).isTrue();
+    }
+
+    @DisplayName("Read only transactions run on the replica")
+    @Test
+    void readOnlyOnReplica() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        Boolean inRecovery = transactionTemplate.execute(status -> jdbcTemplate.queryForObject(IN_RECOVERY, Boolean.class));
+
+        assertThat(inRecovery).isTrue();
+    }
+
+    @DisplayName("Read write transactions run on the primary")
+    @Test
+    void readWriteOnPrimary() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Boolean inRecovery = transactionTemplate.execute(status -> jdbcTemplate.queryForObject(IN_RECOVERY, Boolean.class));
+
+        assertThat(inRecovery).isFalse();
+    }
+
+    @DisplayName("Migrations applied on the primary are read from the replica")
+    @Test
+    void readAuthoritiesFromReplica() {
+        assertThat(authorityService.getAll()).extracting("name").contains("ROLE_USER", "ROLE_ADMIN", "TENANCY_ADMIN");
+    }
+}
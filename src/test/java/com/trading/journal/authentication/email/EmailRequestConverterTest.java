@@ -0,0 +1,26 @@
+package com.trading.journal.authentication.email;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailRequestConverterTest {
+
+    EmailRequestConverter converter = new EmailRequestConverter();
+
+    @DisplayName("Email request is stored as json and read back")
+    @Test
+    void roundTrip() {
+        EmailRequest request = new EmailRequest("Subject", "mail/template.html",
+                List.of(new EmailField("$NAME", "User Name"), new EmailField("$URL", "http://site.com?hash=123")),
+                List.of("mail@mail.com", "other@mail.com"));
+
+        String column = converter.convertToDatabaseColumn(request);
+
+        assertThat(column).contains("\"subject\":\"Subject\"");
+        assertThat(converter.convertToEntityAttribute(column)).isEqualTo(request);
+    }
+}
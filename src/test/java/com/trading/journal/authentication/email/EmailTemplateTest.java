@@ -0,0 +1,51 @@
+package com.trading.journal.authentication.email;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailTemplateTest {
+
+    @DisplayName("Render every occurrence of a placeholder")
+    @Test
+    void render() {
+        EmailTemplate template = EmailTemplate.compile("<a href=\"$URL\">$URL</a> to $NAME");
+
+        String rendered = template.render(Map.of("$URL", "http://app.com", "$NAME", "User"));
+
+        assertThat(rendered).isEqualTo("<a href=\"http://app.com\">http://app.com</a> to User");
+    }
+
+    @DisplayName("Placeholders without value are kept as they are")
+    @Test
+    void unknownPlaceholder() {
+        EmailTemplate template = EmailTemplate.compile("Hello $NAME, cost is $ 10");
+
+        assertThat(template.render(emptyMap())).isEqualTo("Hello $NAME, cost is $ 10");
+    }
+
+    @DisplayName("Values are not parsed as placeholders")
+    @Test
+    void valuesAreLiteral() {
+        EmailTemplate template = EmailTemplate.compile("$NAME $URL");
+
+        String rendered = template.render(Map.of("$NAME", "$URL", "$URL", "http://app.com"));
+
+        assertThat(rendered).isEqualTo("$URL http://app.com");
+    }
+
+    @DisplayName("Compose a template inside a layout placeholder")
+    @Test
+    void compose() {
+        EmailTemplate layout = EmailTemplate.compile("<body>$MESSAGE_BODY</body>");
+        EmailTemplate body = EmailTemplate.compile("<p>$NAME</p>");
+
+        String rendered = layout.compose("$MESSAGE_BODY", body).render(Map.of("$NAME", "User"));
+
+        assertThat(rendered).isEqualTo("<body><p>User</p></body>");
+    }
+}
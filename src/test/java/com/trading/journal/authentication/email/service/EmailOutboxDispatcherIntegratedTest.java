@@ -0,0 +1,107 @@
+package com.trading.journal.authentication.email.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.trading.journal.authentication.PostgresTestContainerInitializer;
+import com.trading.journal.authentication.email.EmailField;
+import com.trading.journal.authentication.email.EmailOutbox;
+import com.trading.journal.authentication.email.EmailOutboxRepository;
+import com.trading.journal.authentication.email.EmailOutboxStatus;
+import com.trading.journal.authentication.email.EmailRequest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "journal.authentication.email.outbox.enabled=true",
+        "journal.authentication.email.outbox.poll-interval=100ms",
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.username=sender@mail.com",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false"
+})
+@Testcontainers
+@ContextConfiguration(initializers = PostgresTestContainerInitializer.class)
+class EmailOutboxDispatcherIntegratedTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    EmailSender emailSender;
+
+    @Autowired
+    EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    EmailOutboxService emailOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        emailOutboxRepository.deleteAll();
+    }
+
+    @DisplayName("Emails written to the outbox are delivered by the dispatcher and marked as sent")
+    @Test
+    void dispatch() throws Exception {
+        EmailRequest request = new EmailRequest("Outbox subject", "mail/change-password-confirmation.html",
+                List.of(new EmailField("$NAME", "User Name")), List.of("receiver@mail.com"));
+
+        emailSender.send(request);
+
+        assertThat(greenMail.waitForIncomingEmail(10_000, 1)).isTrue();
+        MimeMessage[] messages = greenMail.getReceivedMessages();
+        assertThat(messages).hasSize(1);
+        assertThat(messages[0].getSubject()).isEqualTo("Outbox subject");
+        assertThat(messages[0].getAllRecipients()[0].toString()).isEqualTo("receiver@mail.com");
+
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+        while (emailOutboxRepository.findByStatus(EmailOutboxStatus.SENT).isEmpty() && Instant.now().isBefore(deadline)) {
+            Thread.sleep(100);
+        }
+        assertThat(emailOutboxRepository.findByStatus(EmailOutboxStatus.SENT)).hasSize(1)
+                .allSatisfy(sent -> assertThat(sent.getRequest().fields()).isEmpty());
+        assertThat(emailOutboxRepository.findByStatus(EmailOutboxStatus.PENDING)).isEmpty();
+    }
+
+    @DisplayName("Sent and dead emails older than the retention are purged, pending emails are kept")
+    @Test
+    void purge() {
+        LocalDateTime old = LocalDateTime.now().minusDays(8);
+        emailOutboxRepository.saveAll(List.of(
+                outbox(EmailOutboxStatus.SENT, old),
+                outbox(EmailOutboxStatus.DEAD, old),
+                outbox(EmailOutboxStatus.PENDING, old),
+                outbox(EmailOutboxStatus.SENT, LocalDateTime.now())));
+
+        assertThat(emailOutboxService.purge()).isEqualTo(2);
+
+        assertThat(emailOutboxRepository.findByStatus(EmailOutboxStatus.DEAD)).isEmpty();
+        assertThat(emailOutboxRepository.findByStatus(EmailOutboxStatus.SENT)).hasSize(1);
+        assertThat(emailOutboxRepository.findByStatus(EmailOutboxStatus.PENDING)).hasSize(1);
+    }
+
+    private static EmailOutbox outbox(EmailOutboxStatus status, LocalDateTime createdAt) {
+        return EmailOutbox.builder()
+                .request(new EmailRequest("Subject", "mail/change-password-confirmation.html", List.of(), List.of("receiver@mail.com")))
+                .status(status)
+                .attempts(1)
+                .nextAttemptAt(LocalDateTime.now().plusYears(1))
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,176 @@
+package com.trading.journal.authentication.email.service.impl;
+
+import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.email.EmailField;
+import com.trading.journal.authentication.email.EmailOutbox;
+import com.trading.journal.authentication.email.EmailOutboxProperties;
+import com.trading.journal.authentication.email.EmailOutboxRepository;
+import com.trading.journal.authentication.email.EmailOutboxStatus;
+import com.trading.journal.authentication.email.EmailRequest;
+import com.trading.journal.authentication.email.EmailRequestConverter;
+import com.trading.journal.authentication.email.service.EmailTransport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class EmailOutboxServiceImplTest {
+
+    @Mock
+    EmailOutboxRepository emailOutboxRepository;
+
+    @Mock
+    EmailTransport emailTransport;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    EmailOutboxServiceImpl emailOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        EmailOutboxProperties properties = new EmailOutboxProperties(true, Duration.ofSeconds(5), 10, 3, Duration.ofSeconds(30), Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofDays(7), Duration.ofHours(1));
+        emailOutboxService = new EmailOutboxServiceImpl(emailOutboxRepository, emailTransport, properties, new SimpleMeterRegistry(), transactionManager);
+    }
+
+    @DisplayName("Dispatch pending emails and mark them as sent")
+    @Test
+    void dispatchSent() {
+        EmailRequest request = request();
+        EmailOutbox email = EmailOutbox.pending(request);
+        when(emailOutboxRepository.findDispatchable(any(), eq(10))).thenReturn(List.of(email));
+
+        int dispatched = emailOutboxService.dispatchBatch();
+
+        assertThat(dispatched).isEqualTo(1);
+        assertThat(email.getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+        assertThat(email.getAttempts()).isEqualTo(1);
+        verify(emailTransport).deliver(request);
+        verify(emailOutboxRepository, times(2)).saveAll(List.of(email));
+    }
+
+    @DisplayName("Sent emails keep only subject, template and receipts, the template fields are dropped")
+    @Test
+    void dispatchSentRedacted() {
+        EmailOutbox email = EmailOutbox.pending(new EmailRequest("Subject", "template",
+                singletonList(new EmailField("$URL", "http://localhost/verify?hash=secret-token")), singletonList("mail@mail.com")));
+        when(emailOutboxRepository.findDispatchable(any(), anyInt())).thenReturn(List.of(email));
+
+        emailOutboxService.dispatchBatch();
+
+        assertThat(email.getRequest()).isEqualTo(new EmailRequest("Subject", "template", emptyList(), singletonList("mail@mail.com")));
+        assertThat(new EmailRequestConverter().convertToDatabaseColumn(email.getRequest())).doesNotContain("secret-token");
+    }
+
+    @DisplayName("Emails that failed keep their template fields until they are sent")
+    @Test
+    void dispatchRetryKeepsFields() {
+        EmailRequest request = request();
+        EmailOutbox email = EmailOutbox.pending(request);
+        when(emailOutboxRepository.findDispatchable(any(), anyInt())).thenReturn(List.of(email));
+        doThrow(new ApplicationException(HttpStatus.INTERNAL_SERVER_ERROR, "relay down")).when(emailTransport).deliver(any());
+
+        emailOutboxService.dispatchBatch();
+
+        assertThat(email.getRequest()).isEqualTo(request);
+    }
+
+    @DisplayName("Purge sent and dead emails older than the retention")
+    @Test
+    void purge() {
+        when(emailOutboxRepository.deleteFinished(eq(List.of(EmailOutboxStatus.SENT, EmailOutboxStatus.DEAD)),
+                argThat(before -> before.isBefore(LocalDateTime.now().minusDays(7).plusSeconds(1))
+                        && before.isAfter(LocalDateTime.now().minusDays(7).minusSeconds(5))))).thenReturn(3);
+
+        assertThat(emailOutboxService.purge()).isEqualTo(3);
+    }
+
+    @DisplayName("Lease the batch and commit before delivering, then record the outcome in a new transaction")
+    @Test
+    void dispatchOutsideTransaction() {
+        EmailRequest request = request();
+        EmailOutbox email = EmailOutbox.pending(request);
+        when(emailOutboxRepository.findDispatchable(any(), anyInt())).thenReturn(List.of(email));
+        doAnswer(invocation -> {
+            assertThat(email.getNextAttemptAt()).isAfter(LocalDateTime.now().plusMinutes(4));
+            return null;
+        }).when(emailTransport).deliver(any());
+
+        emailOutboxService.dispatchBatch();
+
+        InOrder inOrder = inOrder(transactionManager, emailOutboxRepository, emailTransport);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(emailOutboxRepository).saveAll(List.of(email));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(emailTransport).deliver(request);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(emailOutboxRepository).saveAll(List.of(email));
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @DisplayName("When delivery fails keep the email pending with exponential backoff")
+    @Test
+    void dispatchRetry() {
+        EmailOutbox email = EmailOutbox.pending(request());
+        when(emailOutboxRepository.findDispatchable(any(), anyInt())).thenReturn(List.of(email));
+        doThrow(new ApplicationException(HttpStatus.INTERNAL_SERVER_ERROR, "relay down")).when(emailTransport).deliver(any());
+
+        emailOutboxService.dispatchBatch();
+        assertThat(email.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+        assertThat(email.getAttempts()).isEqualTo(1);
+        assertThat(email.getLastError()).isEqualTo("500 relay down");
+        assertThat(email.getNextAttemptAt()).isBetween(LocalDateTime.now().plusSeconds(25), LocalDateTime.now().plusSeconds(31));
+
+        emailOutboxService.dispatchBatch();
+        assertThat(email.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+        assertThat(email.getNextAttemptAt()).isBetween(LocalDateTime.now().plusSeconds(55), LocalDateTime.now().plusSeconds(61));
+    }
+
+    @DisplayName("When delivery fails after max attempts move the email to dead letter")
+    @Test
+    void dispatchDead() {
+        EmailOutbox email = EmailOutbox.pending(request());
+        when(emailOutboxRepository.findDispatchable(any(), anyInt())).thenReturn(List.of(email));
+        doThrow(new ApplicationException(HttpStatus.INTERNAL_SERVER_ERROR, "relay down")).when(emailTransport).deliver(any());
+
+        emailOutboxService.dispatchBatch();
+        emailOutboxService.dispatchBatch();
+        emailOutboxService.dispatchBatch();
+
+        assertThat(email.getStatus()).isEqualTo(EmailOutboxStatus.DEAD);
+        assertThat(email.getAttempts()).isEqualTo(3);
+    }
+
+    @DisplayName("When there is nothing to dispatch, do not call the transport")
+    @Test
+    void dispatchEmpty() {
+        when(emailOutboxRepository.findDispatchable(any(), anyInt())).thenReturn(List.of());
+
+        assertThat(emailOutboxService.dispatchBatch()).isZero();
+        verify(emailTransport, never()).deliver(any());
+    }
+
+    private static EmailRequest request() {
+        return new EmailRequest("Subject", "template", singletonList(new EmailField("$NAME", "Name")), singletonList("mail@mail.com"));
+    }
+}
@@ -78,4 +78,40 @@ class TemplateFormatImplTest {
 
         assertThat(formatted).doesNotContain("$MESSAGE_BODY");
     }
-}
\ No newline at end of file
+
+    @DisplayName("Render the resource inside the email template body")
+    @Test
+    void render() {
+        String resource = "mail/registration.html";
+
+        List<EmailField> fields = Arrays.asList(
+                new EmailField("$NAME", "Application User Complete Name"),
+                new EmailField("$URL", "http://application.com")
+        );
+
+        TemplateFormatImpl templateFormat = new TemplateFormatImpl();
+        String rendered = templateFormat.render(resource, fields);
+
+        assertThat(rendered).isEqualTo(templateFormat.addBodyToEmail(templateFormat.format(resource, fields)));
+        assertThat(rendered).contains("Application User Complete Name");
+        assertThat(rendered).doesNotContain("$MESSAGE_BODY");
+        assertThat(rendered).doesNotContain("$NAME");
+        assertThat(rendered).doesNotContain("$URL");
+    }
+
+    @DisplayName("Preloaded templates render the same as templates loaded on demand")
+    @Test
+    void preload() {
+        String resource = "mail/registration.html";
+
+        List<EmailField> fields = Arrays.asList(
+                new EmailField("$NAME", "Application User Complete Name"),
+                new EmailField("$URL", "http://application.com")
+        );
+
+        TemplateFormatImpl preloaded = new TemplateFormatImpl();
+        preloaded.preload();
+
+        assertThat(preloaded.render(resource, fields)).isEqualTo(new TemplateFormatImpl().render(resource, fields));
+    }
+}
@@ -0,0 +1,101 @@
+package com.trading.journal.authentication.jwks.service.impl;
+
+import com.allanweber.jwttoken.data.JwtProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trading.journal.authentication.helper.PublicKeyHelper;
+import com.trading.journal.authentication.jwks.JsonWebKey;
+import com.trading.journal.authentication.jwks.JsonWebKeySet;
+import com.trading.journal.authentication.jwks.JwksProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwksServiceImplTest {
+
+    @TempDir
+    Path folder;
+
+    JwtProperties jwtProperties;
+
+    @BeforeEach
+    void setUp() {
+        jwtProperties = mock(JwtProperties.class);
+        when(jwtProperties.getPublicKey()).thenReturn(new ClassPathResource("public_key.pem"));
+    }
+
+    @DisplayName("Publish the configured public key as an RSA signing key identified by its thumbprint")
+    @Test
+    void currentKey() throws IOException {
+        JwksServiceImpl jwksService = new JwksServiceImpl(jwtProperties, new JwksProperties());
+
+        JsonWebKeySet keySet = new ObjectMapper().readValue(jwksService.body(), JsonWebKeySet.class);
+
+        assertThat(keySet.keys()).hasSize(1);
+        JsonWebKey key = keySet.keys().get(0);
+        RSAPublicKey publicKey = PublicKeyHelper.readPublicKey(new ClassPathResource("public_key.pem"));
+        assertThat(key.kty()).isEqualTo("RSA");
+        assertThat(key.use()).isEqualTo("sig");
+        assertThat(key.alg()).isEqualTo("RS256");
+        assertThat(key.kid()).isNotBlank();
+        assertThat(new BigInteger(1, Base64.getUrlDecoder().decode(key.n()))).isEqualTo(publicKey.getModulus());
+        assertThat(new BigInteger(1, Base64.getUrlDecoder().decode(key.e()))).isEqualTo(publicKey.getPublicExponent());
+        assertThat(jwksService.etag()).startsWith("\"").endsWith("\"");
+    }
+
+    @DisplayName("Additional keys are published once each and change the ETag")
+    @Test
+    void additionalKeys() throws IOException, GeneralSecurityException {
+        Resource rotated = pem(folder.resolve("rotated.pem"));
+        JwksServiceImpl single = new JwksServiceImpl(jwtProperties, new JwksProperties());
+        JwksServiceImpl rotation = new JwksServiceImpl(jwtProperties,
+                new JwksProperties(List.of(rotated, new ClassPathResource("public_key.pem")), Duration.ofDays(1)));
+
+        JsonWebKeySet keySet = new ObjectMapper().readValue(rotation.body(), JsonWebKeySet.class);
+
+        assertThat(keySet.keys()).hasSize(2);
+        assertThat(keySet.keys().get(0).kid()).isNotEqualTo(keySet.keys().get(1).kid());
+        assertThat(rotation.etag()).isNotEqualTo(single.etag());
+        assertThat(new JwksServiceImpl(jwtProperties, new JwksProperties(List.of(rotated), Duration.ofDays(1))).etag()).isEqualTo(rotation.etag());
+    }
+
+    @DisplayName("If-None-Match accepts the current ETag, weak or listed, and wildcard")
+    @Test
+    void matches() throws IOException {
+        JwksServiceImpl jwksService = new JwksServiceImpl(jwtProperties, new JwksProperties());
+        String etag = jwksService.etag();
+
+        assertThat(jwksService.matches(etag)).isTrue();
+        assertThat(jwksService.matches("W/" + etag)).isTrue();
+        assertThat(jwksService.matches("\"other\", " + etag)).isTrue();
+        assertThat(jwksService.matches("*")).isTrue();
+        assertThat(jwksService.matches("\"other\"")).isFalse();
+        assertThat(jwksService.matches(null)).isFalse();
+    }
+
+    private static Resource pem(Path path) throws IOException, GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        String encoded = Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(generator.generateKeyPair().getPublic().getEncoded());
+        Files.writeString(path, "-----BEGIN PUBLIC KEY-----\n" + encoded + "\n-----END PUBLIC KEY-----\n");
+        return new FileSystemResource(path);
+    }
+}
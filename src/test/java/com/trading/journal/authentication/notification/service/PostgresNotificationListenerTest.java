@@ -0,0 +1,49 @@
+package com.trading.journal.authentication.notification.service;
+
+import com.trading.journal.authentication.notification.NotificationProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PostgresNotificationListenerTest {
+
+    @DisplayName("Lower case identifier channels are accepted")
+    @Test
+    void validChannels() {
+        PostgresNotificationListener listener = listener("cache_invalidation", "refresh_token_revocation2");
+
+        assertThat(listener.isRunning()).isFalse();
+    }
+
+    @DisplayName("Channels that are not lower case identifiers are rejected on startup")
+    @Test
+    void invalidChannels() {
+        Stream.of("Cache_Invalidation", "cache-invalidation", "2cache", "cache; DROP TABLE Users", "").forEach(channel ->
+                assertThatThrownBy(() -> listener("cache_invalidation", channel))
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("'%s'".formatted(channel)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PostgresNotificationListener listener(String... channels) {
+        ObjectProvider<NotificationHandler> handlers = mock(ObjectProvider.class);
+        List<NotificationHandler> channelHandlers = Stream.of(channels).map(PostgresNotificationListenerTest::handler).toList();
+        when(handlers.orderedStream()).thenAnswer(invocation -> channelHandlers.stream());
+        return new PostgresNotificationListener(handlers, new NotificationProperties(), new DataSourceProperties());
+    }
+
+    private static NotificationHandler handler(String channel) {
+        NotificationHandler handler = mock(NotificationHandler.class);
+        when(handler.channel()).thenReturn(channel);
+        return handler;
+    }
+}
@@ -0,0 +1,74 @@
+package com.trading.journal.authentication.pageable;
+
+import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.tenancy.Tenancy;
+import com.trading.journal.authentication.user.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageCursorTest {
+
+    @DisplayName("Encode the sort values of a row and decode them back")
+    @Test
+    void encodeDecode() {
+        LocalDateTime createdAt = LocalDateTime.of(2023, 5, 1, 10, 30, 15);
+        User user = User.builder().id(7L).firstName("Angel").createdAt(createdAt).enabled(true).build();
+        Sort sort = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.asc("firstName"), Sort.Order.asc("enabled"), Sort.Order.asc("id"));
+
+        String cursor = PageCursor.encode(user, sort);
+        PageCursor decoded = PageCursor.decode(cursor, sort);
+
+        assertThat(cursor).doesNotContain("=", "+", "/");
+        assertThat(decoded.value(0, LocalDateTime.class)).isEqualTo(createdAt);
+        assertThat(decoded.value(1, String.class)).isEqualTo("Angel");
+        assertThat(decoded.value(2, Boolean.class)).isTrue();
+        assertThat(decoded.value(3, Long.class)).isEqualTo(7L);
+    }
+
+    @DisplayName("Cursor with a null value return bad request")
+    @Test
+    void nullValue() {
+        Sort sort = Sort.by(Sort.Order.asc("lastName"), Sort.Order.asc("id"));
+        PageCursor cursor = PageCursor.decode(PageCursor.encode(User.builder().id(7L).build(), sort), sort);
+
+        ApplicationException exception = assertThrows(ApplicationException.class, () -> cursor.value(0, String.class));
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(exception.getStatusText()).isEqualTo("Cursor is invalid");
+    }
+
+    @DisplayName("Cursor that is not valid return bad request")
+    @Test
+    void invalidCursor() {
+        Sort sort = Sort.by("id");
+
+        ApplicationException exception = assertThrows(ApplicationException.class, () -> PageCursor.decode("not a cursor!", sort));
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(exception.getStatusText()).isEqualTo("Cursor is invalid");
+    }
+
+    @DisplayName("Cursor created for another sort return bad request")
+    @Test
+    void cursorForAnotherSort() {
+        String cursor = PageCursor.encode(Tenancy.builder().id(1L).name("tenancy").build(), Sort.by("name", "id"));
+
+        ApplicationException exception = assertThrows(ApplicationException.class, () -> PageCursor.decode(cursor, Sort.by("id")));
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @DisplayName("Cursor value of the wrong type return bad request")
+    @Test
+    void wrongValueType() {
+        PageCursor cursor = new PageCursor(List.of("abc"));
+
+        ApplicationException exception = assertThrows(ApplicationException.class, () -> cursor.value(0, Long.class));
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
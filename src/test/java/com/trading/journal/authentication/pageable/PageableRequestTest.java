@@ -18,7 +18,7 @@ class PageableRequestTest {
     @Test
     void pageable() {
         String[] sort = new String[]{"name", "asc", "id", "desc", "age", "asc"};
-        PageableRequest pageableRequest = new PageableRequest(1, 20, sort, "something");
+        PageableRequest pageableRequest = new PageableRequest(1, 20, sort, "something", null);
 
         Pageable pageable = pageableRequest.pageable();
 
@@ -35,7 +35,7 @@ class PageableRequestTest {
     @Test
     void pageableSort() {
         String[] sort = new String[]{" name", "  asc", "id  ", "desc  ", "age ", " asc"};
-        PageableRequest pageableRequest = new PageableRequest(1, 20, sort, "something");
+        PageableRequest pageableRequest = new PageableRequest(1, 20, sort, "something", null);
 
         Pageable pageable = pageableRequest.pageable();
 
@@ -52,7 +52,7 @@ class PageableRequestTest {
     @Test
     void pageableSortException() {
         String[] sort = new String[]{"name", "desc", "age"};
-        PageableRequest pageableRequest = new PageableRequest(1, 20, sort, "something");
+        PageableRequest pageableRequest = new PageableRequest(1, 20, sort, "something", null);
 
         ApplicationException exception = assertThrows(ApplicationException.class, pageableRequest::pageable);
         assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
@@ -63,9 +63,31 @@ class PageableRequestTest {
     @Test
     void pageableDirectionException() {
         String[] sort = new String[]{"name", "asc", "id", "abc", "age", "asc"};
-        PageableRequest pageableRequest = new PageableRequest(1, 20, sort, "something");
+        PageableRequest pageableRequest = new PageableRequest(1, 20, sort, "something", null);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, pageableRequest::pageable);
         assertThat(exception.getMessage()).contains("Invalid value 'abc' for orders given; Has to be either 'desc' or 'asc' (case insensitive)");
     }
-}
\ No newline at end of file
+
+    @DisplayName("Keyset sort always ends with the id as tie breaker")
+    @Test
+    void keysetSort() {
+        String[] sort = new String[]{"name", "desc"};
+        PageableRequest pageableRequest = new PageableRequest(0, 20, sort, null, "");
+
+        Sort keysetSort = pageableRequest.keysetSort();
+
+        assertThat(pageableRequest.isKeyset()).isTrue();
+        assertThat(pageableRequest.keysetLimit()).isEqualTo(21);
+        assertThat(keysetSort.toList()).containsExactly(Sort.Order.desc("name"), Sort.Order.asc("id"));
+        assertThat(new PageableRequest(0, 20, new String[]{"id", "desc"}, null, "").keysetSort().toList()).containsExactly(Sort.Order.desc("id"));
+    }
+
+    @DisplayName("Without cursor the request is not keyset")
+    @Test
+    void notKeyset() {
+        PageableRequest pageableRequest = new PageableRequest(0, 20, null, null, null);
+
+        assertThat(pageableRequest.isKeyset()).isFalse();
+    }
+}
@@ -0,0 +1,119 @@
+package com.trading.journal.authentication.pageable.specifications;
+
+import com.trading.journal.authentication.PostgresTestContainerInitializer;
+import com.trading.journal.authentication.StatementCaptor;
+import com.trading.journal.authentication.pageable.PageableRequest;
+import com.trading.journal.authentication.tenancy.service.TenancyService;
+import com.trading.journal.authentication.user.service.UserManagementService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = StatementCaptor.PROPERTY)
+@Testcontainers
+@ContextConfiguration(initializers = PostgresTestContainerInitializer.class)
+class FilterLikeIndexIntegratedTest {
+
+    private static final int USERS = 50_000;
+
+    private static final int TENANCIES = 20_000;
+
+    private static final String SEED_EMAIL = "%@like-index.com";
+
+    private static final String SEED_TENANCY = "Like index %";
+
+    private static final int PAGE_SIZE = 10;
+
+    private static Long tenancyId;
+
+    @Autowired
+    UserManagementService userManagementService;
+
+    @Autowired
+    TenancyService tenancyService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    public static void seed(@Autowired JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO Tenancy (name) SELECT 'Like index ' || md5(i::text) FROM generate_series(1, ?) AS i", TENANCIES);
+        tenancyId = jdbcTemplate.queryForObject("SELECT min(id) FROM Tenancy WHERE name LIKE ?", Long.class, SEED_TENANCY);
+        jdbcTemplate.update("""
+                INSERT INTO Users (tenancyId, password, firstName, lastName, email, enabled, verified, createdAt)
+                SELECT ?, md5(i::text), 'First' || i, initcap(substr(md5(i::text), 1, 12)), 'user' || i || '@like-index.com', true, true, now()
+                FROM generate_series(1, ?) AS i
+                """, tenancyId, USERS);
+        jdbcTemplate.execute("ANALYZE Users");
+        jdbcTemplate.execute("ANALYZE Tenancy");
+    }
+
+    @AfterAll
+    public static void shutdown(@Autowired JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("DELETE FROM Users WHERE email LIKE ?", SEED_EMAIL);
+        jdbcTemplate.update("DELETE FROM Tenancy WHERE name LIKE ?", SEED_TENANCY);
+    }
+
+    @BeforeEach
+    public void clearStatements() {
+        StatementCaptor.clear();
+    }
+
+    @DisplayName("Substring search of users uses the trigram indexes")
+    @Test
+    void substringSearchUsesIndex() {
+        userManagementService.getAll(tenancyId, PageableRequest.builder().size(PAGE_SIZE).filter("wick").build());
+
+        String plan = explain(pageQuery(), "%wick%");
+
+        assertThat(plan).contains("usersfirstnametrgmidx", "userslastnametrgmidx", "usersemailtrgmidx");
+        assertThat(plan).doesNotContain("Seq Scan");
+    }
+
+    @DisplayName("Tenancy search uses the trigram index")
+    @Test
+    void tenancySearchUsesIndex() {
+        tenancyService.getAll(PageableRequest.builder().size(PAGE_SIZE).filter("abc1").build());
+
+        String plan = explain(pageQuery(), "%abc1%");
+
+        assertThat(plan).contains("tenancynametrgmidx");
+        assertThat(plan).doesNotContain("Seq Scan");
+    }
+
+    private String pageQuery() {
+        return StatementCaptor.first(sql -> sql.contains(" like ") && !sql.contains("count("));
+    }
+
+    private String explain(String sql, String pattern) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters(sql, pattern)));
+    }
+
+    private Object[] parameters(String sql, String pattern) {
+        List<Object> parameters = new ArrayList<>();
+        for (int index = sql.indexOf('?'); index >= 0; index = sql.indexOf('?', index + 1)) {
+            String before = sql.substring(0, index).trim().toLowerCase(Locale.ROOT);
+            if (before.endsWith("like")) {
+                parameters.add(pattern);
+            } else if (before.endsWith("=")) {
+                parameters.add(tenancyId);
+            } else {
+                parameters.add(PAGE_SIZE);
+            }
+        }
+        return parameters.toArray();
+    }
+}
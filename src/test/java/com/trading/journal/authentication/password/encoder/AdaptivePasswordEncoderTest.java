@@ -0,0 +1,66 @@
+package com.trading.journal.authentication.password.encoder;
+
+import com.trading.journal.authentication.password.properties.PasswordEncoderProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptivePasswordEncoderTest {
+
+    @DisplayName("Given a fixed strength, do not calibrate and encode with it")
+    @Test
+    void fixedStrength() {
+        AdaptivePasswordEncoder encoder = AdaptivePasswordEncoder.calibrated(new PasswordEncoderProperties(5, Duration.ofMillis(250), 4, 14));
+
+        String encoded = encoder.encode("my_password");
+
+        assertThat(encoder.getStrength()).isEqualTo(5);
+        assertThat(encoder.getMinStrength()).isEqualTo(4);
+        assertThat(encoded).startsWith("$2a$05$");
+        assertThat(encoder.matches("my_password", encoded)).isTrue();
+        assertThat(encoder.matches("other_password", encoded)).isFalse();
+    }
+
+    @DisplayName("Given a fixed strength below the minimum, the minimum is lowered to the strength so hashes are not rehashed on every sign in")
+    @Test
+    void fixedStrengthBelowMinimum() {
+        AdaptivePasswordEncoder encoder = AdaptivePasswordEncoder.calibrated(new PasswordEncoderProperties(5, Duration.ofMillis(250), 10, 14));
+
+        assertThat(encoder.getStrength()).isEqualTo(5);
+        assertThat(encoder.getMinStrength()).isEqualTo(5);
+        assertThat(encoder.upgradeEncoding(encoder.encode("password"))).isFalse();
+    }
+
+    @DisplayName("Calibration never goes below the minimum or above the maximum strength")
+    @Test
+    void calibrateBounds() {
+        assertThat(AdaptivePasswordEncoder.calibrate(Duration.ZERO, 4, 6)).isEqualTo(4);
+        assertThat(AdaptivePasswordEncoder.calibrate(Duration.ofMinutes(1), 4, 6)).isEqualTo(6);
+    }
+
+    @DisplayName("Calibration is used when no fixed strength is configured")
+    @Test
+    void calibrated() {
+        AdaptivePasswordEncoder encoder = AdaptivePasswordEncoder.calibrated(new PasswordEncoderProperties(null, Duration.ofMinutes(1), 4, 5));
+
+        assertThat(encoder.getStrength()).isEqualTo(5);
+        assertThat(encoder.getMinStrength()).isEqualTo(4);
+    }
+
+    @DisplayName("Only hashes below the minimum strength are rehashed, stronger hashes are never downgraded")
+    @Test
+    void upgradeEncoding() {
+        AdaptivePasswordEncoder encoder = new AdaptivePasswordEncoder(6, 5);
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("password"))).isFalse();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password"))).isFalse();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(7).encode("password"))).isFalse();
+        assertThat(encoder.upgradeEncoding("not a bcrypt hash")).isFalse();
+        assertThat(encoder.upgradeEncoding(null)).isFalse();
+    }
+}
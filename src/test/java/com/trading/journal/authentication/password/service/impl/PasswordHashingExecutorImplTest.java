@@ -0,0 +1,151 @@
+package com.trading.journal.authentication.password.service.impl;
+
+import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.password.properties.PasswordHashingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+class PasswordHashingExecutorImplTest {
+
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    PasswordHashingExecutorImpl hashingExecutor;
+
+    @AfterEach
+    void tearDown() {
+        hashingExecutor.destroy();
+    }
+
+    @DisplayName("Execute hashing on the pool and return its result")
+    @Test
+    void execute() {
+        hashingExecutor = new PasswordHashingExecutorImpl(new PasswordHashingProperties(2, 10, Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(5)), meterRegistry);
+
+        String result = hashingExecutor.execute(() -> Thread.currentThread().getName());
+
+        assertThat(result).startsWith("password-hashing-");
+        assertThat(meterRegistry.get("password.hashing.queue.wait").timer().count()).isEqualTo(1L);
+        assertThat(meterRegistry.get("password.hashing.queue.size").gauge().value()).isEqualTo(0D);
+    }
+
+    @DisplayName("Exceptions thrown by the hashing are propagated to the caller")
+    @Test
+    void executeException() {
+        hashingExecutor = new PasswordHashingExecutorImpl(new PasswordHashingProperties(1, 10, Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(5)), meterRegistry);
+
+        ApplicationException exception = assertThrows(ApplicationException.class, () -> hashingExecutor.execute(() -> {
+            throw new ApplicationException("Hashing failed");
+        }));
+
+        assertThat(exception.getStatusText()).isEqualTo("Hashing failed");
+    }
+
+    @DisplayName("When the wait queue is full, reject with service unavailable and retry after")
+    @Test
+    void queueFull() throws Exception {
+        hashingExecutor = new PasswordHashingExecutorImpl(new PasswordHashingProperties(1, 1, Duration.ofSeconds(5), Duration.ofSeconds(1), Duration.ofSeconds(3)), meterRegistry);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> hashingExecutor.execute(() -> {
+            running.countDown();
+            return await(release);
+        }));
+        running.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> hashingExecutor.execute(() -> true));
+        waitQueued();
+
+        ApplicationException exception = assertThrows(ApplicationException.class, () -> hashingExecutor.execute(() -> true));
+        release.countDown();
+
+        assertThat(exception.getStatusCode().value()).isEqualTo(503);
+        assertThat(exception.getResponseHeaders()).isNotNull();
+        assertThat(exception.getResponseHeaders().getFirst("Retry-After")).isEqualTo("3");
+        assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1D);
+    }
+
+    @DisplayName("When a task waited longer than the queue time budget, reject it without hashing")
+    @Test
+    void queueTimeExceeded() throws Exception {
+        hashingExecutor = new PasswordHashingExecutorImpl(new PasswordHashingProperties(1, 10, Duration.ofMillis(50), Duration.ofSeconds(5), Duration.ofSeconds(5)), meterRegistry);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> hashingExecutor.execute(() -> {
+            running.countDown();
+            return await(release);
+        }));
+        running.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Boolean> late = CompletableFuture.supplyAsync(() -> hashingExecutor.execute(() -> true));
+        waitQueued();
+        TimeUnit.MILLISECONDS.sleep(100);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(late).failsWithin(5, TimeUnit.SECONDS)
+                .withThrowableOfType(Exception.class)
+                .withCauseInstanceOf(ApplicationException.class);
+    }
+
+    @DisplayName("A caller waits at most the queue time budget plus the expected hash time, then gets service unavailable")
+    @Test
+    void callerTimeout() throws Exception {
+        hashingExecutor = new PasswordHashingExecutorImpl(new PasswordHashingProperties(1, 10, Duration.ofMillis(50), Duration.ofMillis(50), Duration.ofSeconds(5)), meterRegistry);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> hashingExecutor.execute(() -> {
+            running.countDown();
+            return await(release);
+        }));
+        running.await(5, TimeUnit.SECONDS);
+
+        long start = System.nanoTime();
+        ApplicationException exception = assertThrows(ApplicationException.class, () -> hashingExecutor.execute(() -> true));
+        Duration waited = Duration.ofNanos(System.nanoTime() - start);
+        release.countDown();
+
+        assertThat(exception.getStatusCode().value()).isEqualTo(503);
+        assertThat(waited).isLessThan(Duration.ofSeconds(1));
+        assertThat(meterRegistry.get("password.hashing.queue.size").gauge().value()).isEqualTo(0D);
+        assertThat(first).failsWithin(5, TimeUnit.SECONDS);
+    }
+
+    @DisplayName("Without a queue capacity the queue holds what the threads can hash within the queue time budget")
+    @Test
+    void derivedQueueCapacity() {
+        PasswordHashingProperties properties = new PasswordHashingProperties(2, null, Duration.ofSeconds(2), Duration.ofMillis(250), Duration.ofSeconds(5));
+
+        assertThat(properties.queueCapacity()).isEqualTo(16);
+        properties.setMaxQueueTime(Duration.ofMillis(100));
+        assertThat(properties.queueCapacity()).isEqualTo(1);
+        properties.setQueueCapacity(50);
+        assertThat(properties.queueCapacity()).isEqualTo(50);
+        hashingExecutor = new PasswordHashingExecutorImpl(properties, meterRegistry);
+    }
+
+    private void waitQueued() throws InterruptedException {
+        while (meterRegistry.get("password.hashing.queue.size").gauge().value() < 1) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
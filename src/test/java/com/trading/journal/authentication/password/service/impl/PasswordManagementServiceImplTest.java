@@ -1,12 +1,14 @@
 package com.trading.journal.authentication.password.service.impl;
 
 import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.TestTransactionManager;
 import com.trading.journal.authentication.authority.Authority;
 import com.trading.journal.authentication.authority.AuthorityCategory;
 import com.trading.journal.authentication.email.EmailField;
 import com.trading.journal.authentication.email.EmailRequest;
 import com.trading.journal.authentication.email.service.EmailSender;
 import com.trading.journal.authentication.password.ChangePassword;
+import com.trading.journal.authentication.password.service.PasswordService;
 import com.trading.journal.authentication.user.User;
 import com.trading.journal.authentication.user.service.UserService;
 import com.trading.journal.authentication.userauthority.UserAuthority;
@@ -19,13 +21,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
@@ -45,6 +52,12 @@ class PasswordManagementServiceImplTest {
     @Mock
     EmailSender emailSender;
 
+    @Mock
+    PasswordService encoder;
+
+    @Spy
+    TransactionOperations transactionOperations = new TransactionTemplate(new TestTransactionManager());
+
     @InjectMocks
     PasswordManagementServiceImpl passwordService;
 
@@ -96,7 +109,7 @@ class PasswordManagementServiceImplTest {
         String hash = UUID.randomUUID().toString();
 
         ChangePassword changePassword = new ChangePassword(email, hash, "dad231#$#4", "dad231#$#4123");
-        Verification verification = new Verification(1L, "anotheremail@mail.com", VerificationType.CHANGE_PASSWORD, VerificationStatus.PENDING, hash, LocalDateTime.now());
+        Verification verification = new Verification(1L, "anotheremail@mail.com", VerificationType.CHANGE_PASSWORD, VerificationStatus.PENDING, hash, LocalDateTime.now(), null, null);
 
         when(verificationService.retrieve(changePassword.hash())).thenReturn(verification);
 
@@ -117,7 +130,7 @@ class PasswordManagementServiceImplTest {
         String hash = UUID.randomUUID().toString();
 
         ChangePassword changePassword = new ChangePassword(email, hash, "dad231#$#4", "dad231#$#4123");
-        Verification verification = new Verification(1L, email, VerificationType.REGISTRATION, VerificationStatus.PENDING, hash, LocalDateTime.now());
+        Verification verification = new Verification(1L, email, VerificationType.REGISTRATION, VerificationStatus.PENDING, hash, LocalDateTime.now(), null, null);
 
         when(verificationService.retrieve(changePassword.hash())).thenReturn(verification);
 
@@ -155,10 +168,19 @@ class PasswordManagementServiceImplTest {
                 singletonList(user.getEmail()));
 
         ChangePassword changePassword = new ChangePassword(email, hash, "dad231#$#4", "dad231#$#4123");
-        Verification verification = new Verification(1L, email, VerificationType.CHANGE_PASSWORD, VerificationStatus.PENDING, hash, LocalDateTime.now());
+        Verification verification = new Verification(1L, email, VerificationType.CHANGE_PASSWORD, VerificationStatus.PENDING, hash, LocalDateTime.now(), null, null);
 
         when(verificationService.retrieve(changePassword.hash())).thenReturn(verification);
-        when(userService.changePassword(email, "dad231#$#4")).thenReturn(user);
+        AtomicBoolean encodedInTransaction = new AtomicBoolean(true);
+        AtomicBoolean changedInTransaction = new AtomicBoolean(false);
+        when(encoder.encodePassword("dad231#$#4")).thenAnswer(invocation -> {
+            encodedInTransaction.set(TransactionSynchronizationManager.isActualTransactionActive());
+            return "new_encoded_password";
+        });
+        when(userService.changePassword(email, "new_encoded_password")).thenAnswer(invocation -> {
+            changedInTransaction.set(TransactionSynchronizationManager.isActualTransactionActive());
+            return user;
+        });
         when(userService.getUserByEmail(changePassword.email())).thenReturn(Optional.of(user));
         doNothing().when(emailSender).send(emailRequest);
         doNothing().when(verificationService).verify(verification);
@@ -166,5 +188,7 @@ class PasswordManagementServiceImplTest {
         passwordService.changePassword(changePassword);
 
         verify(userService).verifyUser(email);
+        assertThat(encodedInTransaction).isFalse();
+        assertThat(changedInTransaction).isTrue();
     }
 }
\ No newline at end of file
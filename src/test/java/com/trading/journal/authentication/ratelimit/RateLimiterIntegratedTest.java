@@ -0,0 +1,93 @@
+package com.trading.journal.authentication.ratelimit;
+
+import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.PostgresTestContainerInitializer;
+import com.trading.journal.authentication.ratelimit.service.impl.RateLimiterImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Testcontainers
+@ContextConfiguration(initializers = PostgresTestContainerInitializer.class)
+class RateLimiterIntegratedTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.update("DELETE FROM RateLimitBuckets");
+    }
+
+    @DisplayName("Replicas leasing from the same bucket never grant more than its capacity together")
+    @Test
+    void sharedBudget() throws Exception {
+        RateLimitProperties.Bucket bucket = new RateLimitProperties.Bucket(50, 0, 10);
+        RateLimitProperties properties = new RateLimitProperties(true, Duration.ofMinutes(1), bucket, bucket, bucket, bucket);
+        List<RateLimiterImpl> replicas = List.of(
+                new RateLimiterImpl(properties, jdbcTemplate, new SimpleMeterRegistry()),
+                new RateLimiterImpl(properties, jdbcTemplate, new SimpleMeterRegistry())
+        );
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> attempts = IntStream.range(0, 200)
+                    .<Callable<Boolean>>mapToObj(attempt -> () -> acquire(replicas.get(attempt % replicas.size())))
+                    .toList();
+            long granted = 0;
+            for (Future<Boolean> attempt : executor.invokeAll(attempts)) {
+                granted += attempt.get() ? 1 : 0;
+            }
+            assertThat(granted).isEqualTo(50);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Double tokens = jdbcTemplate.queryForObject("SELECT tokens FROM RateLimitBuckets WHERE name = ?", Double.class, RateLimit.SIGN_IN.name());
+        assertThat(tokens).isZero();
+    }
+
+    @DisplayName("Tokens left in an expired lease go back to the bucket instead of being lost")
+    @Test
+    void expiredLeaseReturnsTokens() throws Exception {
+        RateLimitProperties.Bucket bucket = new RateLimitProperties.Bucket(10, 1, 10);
+        RateLimitProperties properties = new RateLimitProperties(true, Duration.ofMillis(200), bucket, bucket, bucket, bucket);
+        RateLimiterImpl first = new RateLimiterImpl(properties, jdbcTemplate, new SimpleMeterRegistry());
+        RateLimiterImpl second = new RateLimiterImpl(properties, jdbcTemplate, new SimpleMeterRegistry());
+
+        assertThat(acquire(first)).isTrue();
+        Thread.sleep(300);
+        assertThat(acquire(first)).isTrue();
+        first.release();
+
+        long granted = IntStream.range(0, 10).filter(attempt -> acquire(second)).count();
+        assertThat(granted).isBetween(8L, 10L);
+    }
+
+    private boolean acquire(RateLimiterImpl rateLimiter) {
+        boolean granted = true;
+        try {
+            rateLimiter.acquire(RateLimit.SIGN_IN);
+        } catch (ApplicationException e) {
+            granted = false;
+        }
+        return granted;
+    }
+}
@@ -0,0 +1,135 @@
+package com.trading.journal.authentication.ratelimit.service.impl;
+
+import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.ratelimit.RateLimit;
+import com.trading.journal.authentication.ratelimit.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class RateLimiterImplTest {
+
+    JdbcTemplate jdbcTemplate;
+
+    MeterRegistry meterRegistry;
+
+    AtomicLong clock;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong();
+    }
+
+    @DisplayName("Given a leased batch serve requests locally until the batch is used")
+    @Test
+    void leasedBatch() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), anyLong(), eq("SIGN_IN"), eq(5))).thenReturn(List.of(5L));
+        RateLimiterImpl rateLimiter = rateLimiter(properties(true));
+
+        IntStream.range(0, 10).forEach(request -> rateLimiter.acquire(RateLimit.SIGN_IN));
+
+        verify(jdbcTemplate).update(anyString(), eq("SIGN_IN"), eq(100), eq(100), eq(1.0));
+        verify(jdbcTemplate, times(2)).queryForList(anyString(), eq(Long.class), anyLong(), eq("SIGN_IN"), eq(5));
+        assertThat(meterRegistry.get("rate.limit.leased").tag("limit", "sign_in").counter().count()).isEqualTo(10);
+    }
+
+    @DisplayName("Given the shared bucket is empty reject with too many requests and back off before asking again")
+    @Test
+    void empty() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), anyLong(), eq("SIGN_UP"), eq(5))).thenReturn(List.of(0L));
+        RateLimiterImpl rateLimiter = rateLimiter(properties(true));
+
+        ApplicationException exception = assertThrows(ApplicationException.class, () -> rateLimiter.acquire(RateLimit.SIGN_UP));
+        assertThrows(ApplicationException.class, () -> rateLimiter.acquire(RateLimit.SIGN_UP));
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(exception.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+        assertThat(meterRegistry.get("rate.limit.rejected").tag("limit", "sign_up").counter().count()).isEqualTo(2);
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(Long.class), anyLong(), eq("SIGN_UP"), eq(5));
+
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertThrows(ApplicationException.class, () -> rateLimiter.acquire(RateLimit.SIGN_UP));
+        verify(jdbcTemplate, times(2)).queryForList(anyString(), eq(Long.class), anyLong(), eq("SIGN_UP"), eq(5));
+    }
+
+    @DisplayName("Given a lease expired return the unused tokens when leasing a new batch")
+    @Test
+    void expired() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), anyLong(), eq("VERIFICATION_SEND"), eq(5))).thenReturn(List.of(5L));
+        RateLimiterImpl rateLimiter = rateLimiter(properties(true));
+
+        rateLimiter.acquire(RateLimit.VERIFICATION_SEND);
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        rateLimiter.acquire(RateLimit.VERIFICATION_SEND);
+
+        verify(jdbcTemplate).queryForList(anyString(), eq(Long.class), eq(0L), eq("VERIFICATION_SEND"), eq(5));
+        verify(jdbcTemplate).queryForList(anyString(), eq(Long.class), eq(4L), eq("VERIFICATION_SEND"), eq(5));
+    }
+
+    @DisplayName("Given the application stops return the unused tokens to the shared bucket")
+    @Test
+    void release() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), anyLong(), eq("SIGN_UP"), eq(5))).thenReturn(List.of(5L));
+        RateLimiterImpl rateLimiter = rateLimiter(properties(true));
+
+        rateLimiter.acquire(RateLimit.SIGN_UP);
+        rateLimiter.acquire(RateLimit.SIGN_UP);
+        rateLimiter.release();
+
+        verify(jdbcTemplate).update(anyString(), eq(3L), eq("SIGN_UP"));
+    }
+
+    @DisplayName("Given the bucket row is missing define it again and lease")
+    @Test
+    void missingBucket() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), anyLong(), eq("PASSWORD_CHANGE_REQUEST"), eq(5)))
+                .thenReturn(List.of(), List.of(5L), List.of(), List.of(5L));
+        RateLimiterImpl rateLimiter = rateLimiter(properties(true));
+
+        rateLimiter.acquire(RateLimit.PASSWORD_CHANGE_REQUEST);
+
+        verify(jdbcTemplate, times(2)).update(anyString(), eq("PASSWORD_CHANGE_REQUEST"), eq(100), eq(100), eq(1.0));
+    }
+
+    @DisplayName("Given rate limiting is disabled never touch the database")
+    @Test
+    void disabled() {
+        RateLimiterImpl rateLimiter = rateLimiter(properties(false));
+
+        IntStream.range(0, 10).forEach(request -> rateLimiter.acquire(RateLimit.SIGN_IN));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private RateLimiterImpl rateLimiter(RateLimitProperties properties) {
+        return new RateLimiterImpl(properties, jdbcTemplate, meterRegistry, clock::get);
+    }
+
+    private RateLimitProperties properties(boolean enabled) {
+        RateLimitProperties.Bucket bucket = new RateLimitProperties.Bucket(100, 1, 5);
+        return new RateLimitProperties(enabled, Duration.ofSeconds(5), bucket, bucket, bucket, bucket);
+    }
+}
@@ -0,0 +1,61 @@
+package com.trading.journal.authentication.refreshtoken;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RevocationIndexTest {
+
+    @DisplayName("Revoked ids are found and other ids are not")
+    @Test
+    void revoke() {
+        RevocationIndex index = new RevocationIndex(1_000, 0.01);
+        LocalDateTime expiresAt = LocalDateTime.now().plusDays(1);
+
+        index.revoke("revoked", expiresAt);
+        index.revokeAll(Map.of("first", expiresAt, "second", expiresAt));
+
+        assertThat(index.isRevoked("revoked")).isTrue();
+        assertThat(index.isRevoked("first")).isTrue();
+        assertThat(index.isRevoked("second")).isTrue();
+        assertThat(index.isRevoked("active")).isFalse();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @DisplayName("Purge drops expired revocations and keeps the others after rebuilding the filter")
+    @Test
+    void purge() {
+        RevocationIndex index = new RevocationIndex(1_000, 0.01);
+        LocalDateTime now = LocalDateTime.now();
+
+        index.revoke("expired", now.minusMinutes(1));
+        index.revoke("active", now.plusMinutes(1));
+        index.purge(now);
+
+        assertThat(index.isRevoked("expired")).isFalse();
+        assertThat(index.isRevoked("active")).isTrue();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @DisplayName("More revocations than expected are still all found")
+    @Test
+    void overflow() {
+        RevocationIndex index = new RevocationIndex(10, 0.01);
+        LocalDateTime expiresAt = LocalDateTime.now().plusDays(1);
+        String[] revoked = IntStream.range(0, 1_000).mapToObj(jti -> UUID.randomUUID().toString()).toArray(String[]::new);
+
+        for (String jti : revoked) {
+            index.revoke(jti, expiresAt);
+        }
+        index.purge(LocalDateTime.now());
+
+        assertThat(revoked).allMatch(index::isRevoked);
+        assertThat(index.isRevoked(UUID.randomUUID().toString())).isFalse();
+    }
+}
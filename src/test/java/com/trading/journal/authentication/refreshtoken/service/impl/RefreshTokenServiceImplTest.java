@@ -0,0 +1,255 @@
+package com.trading.journal.authentication.refreshtoken.service.impl;
+
+import com.allanweber.jwttoken.data.JwtProperties;
+import com.allanweber.jwttoken.data.TokenData;
+import com.allanweber.jwttoken.helper.JwtConstants;
+import com.allanweber.jwttoken.service.PrivateKeyProvider;
+import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.authentication.AuthenticatedUser;
+import com.trading.journal.authentication.authentication.service.AuthenticatedUserService;
+import com.trading.journal.authentication.helper.PublicKeyHelper;
+import com.trading.journal.authentication.refreshtoken.RefreshTokenProperties;
+import com.trading.journal.authentication.refreshtoken.RefreshTokenRotation;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceImplTest {
+
+    private static final String USE = """
+            WITH used AS (UPDATE RefreshTokens SET used = TRUE WHERE jti = ? AND NOT used RETURNING family, email)
+            INSERT INTO RefreshTokens (jti, family, email, expiresAt) SELECT ?, family, email, ? FROM used
+            """;
+
+    private static final String USE_LEGACY = "INSERT INTO RefreshTokens (jti, family, email, expiresAt, used) VALUES (?, ?, ?, ?, TRUE) ON CONFLICT (jti) DO NOTHING";
+
+    private static final String LEGACY_USER = "SELECT id FROM Users WHERE email = ? AND enabled AND securityVersion = 0";
+
+    private static final String REVOKE_FAMILY = "INSERT INTO RevokedRefreshTokenFamilies (family, expiresAt) VALUES (?, ?) ON CONFLICT (family) DO NOTHING";
+
+    private static final AuthenticatedUser USER = new AuthenticatedUser(1L, "mail@mail.com", 1L, "tenancy", List.of("ROLE_USER"), 2L);
+
+    JdbcTemplate jdbcTemplate;
+
+    AuthenticatedUserService authenticatedUserService;
+
+    RefreshTokenProperties properties;
+
+    RefreshTokenServiceImpl refreshTokenService;
+
+    @BeforeEach
+    void setUp() throws IOException, GeneralSecurityException {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        JwtProperties jwtProperties = mock(JwtProperties.class);
+        when(jwtProperties.getPrivateKey()).thenReturn(new ClassPathResource("private_key.pem"));
+        when(jwtProperties.getPublicKey()).thenReturn(new ClassPathResource("public_key.pem"));
+        when(jwtProperties.getRefreshTokenExpiration()).thenReturn(86_400L);
+        when(jwtProperties.getIssuer()).thenReturn("https://tradejournal.biz");
+        when(jwtProperties.getAudience()).thenReturn("trade-journal");
+        PrivateKeyProvider privateKeyProvider = mock(PrivateKeyProvider.class);
+        when(privateKeyProvider.provide(any())).thenReturn(privateKey());
+        properties = new RefreshTokenProperties();
+        properties.getSync().setEnabled(false);
+        authenticatedUserService = mock(AuthenticatedUserService.class);
+        when(authenticatedUserService.getById(1L)).thenReturn(USER);
+        refreshTokenService = new RefreshTokenServiceImpl(jdbcTemplate, jwtProperties, privateKeyProvider, properties, authenticatedUserService);
+    }
+
+    @DisplayName("Rotating a refresh token uses it once and issues a new one for the same user")
+    @Test
+    void rotate() {
+        TokenData issued = refreshTokenService.issue(USER);
+        when(jdbcTemplate.update(eq(USE), anyString(), anyString(), any(LocalDateTime.class))).thenReturn(1);
+
+        RefreshTokenRotation rotation = refreshTokenService.rotate(issued.token());
+
+        assertThat(rotation.user()).isEqualTo(USER);
+        assertThat(rotation.refreshToken().token()).isNotEqualTo(issued.token());
+        verify(jdbcTemplate).update(eq(USE), anyString(), anyString(), any(LocalDateTime.class));
+        verify(jdbcTemplate).update(eq("INSERT INTO RefreshTokens (jti, family, email, expiresAt) VALUES (?, ?, ?, ?)"),
+                anyString(), anyString(), eq("mail@mail.com"), any(LocalDateTime.class));
+        verify(jdbcTemplate, never()).update(eq(REVOKE_FAMILY), anyString(), any(LocalDateTime.class));
+        verify(authenticatedUserService, never()).reload(any());
+    }
+
+    @DisplayName("Rotating a refresh token issued before a security change reloads the user and carries the new version")
+    @Test
+    void rotateSecurityChanged() throws IOException {
+        TokenData issued = refreshTokenService.issue(USER);
+        AuthenticatedUser changed = new AuthenticatedUser(1L, "mail@mail.com", 1L, "tenancy", List.of("ROLE_USER", "ROLE_ADMIN"), 3L);
+        when(authenticatedUserService.getById(1L)).thenReturn(changed);
+        when(authenticatedUserService.reload(1L)).thenReturn(changed);
+        when(jdbcTemplate.update(eq(USE), anyString(), anyString(), any(LocalDateTime.class))).thenReturn(1);
+
+        RefreshTokenRotation rotation = refreshTokenService.rotate(issued.token());
+        Long securityVersion = Jwts.parserBuilder()
+                .setSigningKey(publicKey())
+                .build()
+                .parseClaimsJws(rotation.refreshToken().token())
+                .getBody()
+                .get("securityVersion", Long.class);
+        refreshTokenService.rotate(rotation.refreshToken().token());
+
+        assertThat(rotation.user()).isEqualTo(changed);
+        assertThat(securityVersion).isEqualTo(3L);
+        verify(authenticatedUserService, times(1)).reload(1L);
+    }
+
+    @DisplayName("Using a refresh token twice revokes its family, the rotated token included")
+    @Test
+    void reuse() {
+        TokenData issued = refreshTokenService.issue(USER);
+        when(jdbcTemplate.update(eq(USE), anyString(), anyString(), any(LocalDateTime.class))).thenReturn(1, 0);
+        RefreshTokenRotation rotation = refreshTokenService.rotate(issued.token());
+
+        ApplicationException reused = assertThrows(ApplicationException.class, () -> refreshTokenService.rotate(issued.token()));
+        ApplicationException rotated = assertThrows(ApplicationException.class, () -> refreshTokenService.rotate(rotation.refreshToken().token()));
+
+        assertThat(reused.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(reused.getStatusText()).isEqualTo("Refresh token was revoked");
+        assertThat(rotated.getStatusText()).isEqualTo("Refresh token was revoked");
+        verify(jdbcTemplate, times(2)).update(eq(USE), anyString(), anyString(), any(LocalDateTime.class));
+        verify(jdbcTemplate).update(eq("DELETE FROM RefreshTokens WHERE family = ?"), anyString());
+        verify(jdbcTemplate).update(eq(REVOKE_FAMILY), anyString(), any(LocalDateTime.class));
+    }
+
+    @DisplayName("Revocations received from another replica reject the token without a database round trip")
+    @Test
+    void applyRevocation() throws IOException {
+        TokenData issued = refreshTokenService.issue(USER);
+        String family = Jwts.parserBuilder()
+                .setSigningKey(publicKey())
+                .build()
+                .parseClaimsJws(issued.token())
+                .getBody()
+                .get("family", String.class);
+
+        refreshTokenService.apply(family + "=" + LocalDateTime.now().plusDays(1));
+
+        assertThrows(ApplicationException.class, () -> refreshTokenService.rotate(issued.token()));
+        verify(jdbcTemplate, never()).update(eq(USE), anyString(), anyString(), any(LocalDateTime.class));
+    }
+
+    @DisplayName("Revoking a user rejects the tokens of every family the database revoked")
+    @Test
+    void revokeUser() throws IOException, SQLException {
+        TokenData issued = refreshTokenService.issue(USER);
+        String family = Jwts.parserBuilder()
+                .setSigningKey(publicKey())
+                .build()
+                .parseClaimsJws(issued.token())
+                .getBody()
+                .get("family", String.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getString(1)).thenReturn(family);
+        when(resultSet.getTimestamp(2)).thenReturn(Timestamp.valueOf(LocalDateTime.now().plusDays(1)));
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq("mail@mail.com"));
+
+        refreshTokenService.revokeUser("mail@mail.com");
+
+        ApplicationException exception = assertThrows(ApplicationException.class, () -> refreshTokenService.rotate(issued.token()));
+        assertThat(exception.getStatusText()).isEqualTo("Refresh token was revoked");
+        verify(jdbcTemplate, never()).update(eq(USE), anyString(), anyString(), any(LocalDateTime.class));
+    }
+
+    @DisplayName("A refresh token issued before rotation is accepted once and rotated into a tracked family")
+    @Test
+    void rotateLegacy() throws IOException, GeneralSecurityException {
+        String legacy = legacyToken();
+        AuthenticatedUser user = new AuthenticatedUser(1L, "mail@mail.com", 1L, "tenancy", List.of("ROLE_USER"), 0L);
+        when(authenticatedUserService.getById(1L)).thenReturn(user);
+        when(jdbcTemplate.queryForList(LEGACY_USER, Long.class, "mail@mail.com")).thenReturn(List.of(1L));
+        when(jdbcTemplate.update(eq(USE_LEGACY), anyString(), anyString(), eq("mail@mail.com"), any(LocalDateTime.class))).thenReturn(1, 0);
+
+        RefreshTokenRotation rotation = refreshTokenService.rotate(legacy);
+        ApplicationException replayed = assertThrows(ApplicationException.class, () -> refreshTokenService.rotate(legacy));
+        ApplicationException rotated = assertThrows(ApplicationException.class, () -> refreshTokenService.rotate(rotation.refreshToken().token()));
+
+        assertThat(rotation.user()).isEqualTo(user);
+        assertThat(replayed.getStatusText()).isEqualTo("Refresh token was revoked");
+        assertThat(rotated.getStatusText()).isEqualTo("Refresh token was revoked");
+        verify(jdbcTemplate).update(eq("INSERT INTO RefreshTokens (jti, family, email, expiresAt) VALUES (?, ?, ?, ?)"),
+                anyString(), anyString(), eq("mail@mail.com"), any(LocalDateTime.class));
+        verify(jdbcTemplate).update(eq(REVOKE_FAMILY), anyString(), any(LocalDateTime.class));
+    }
+
+    @DisplayName("A refresh token issued before rotation is rejected once the user had a security change")
+    @Test
+    void rotateLegacySecurityChanged() throws IOException, GeneralSecurityException {
+        String legacy = legacyToken();
+        when(jdbcTemplate.queryForList(LEGACY_USER, Long.class, "mail@mail.com")).thenReturn(List.of());
+
+        ApplicationException exception = assertThrows(ApplicationException.class, () -> refreshTokenService.rotate(legacy));
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(exception.getStatusText()).isEqualTo("Refresh token was revoked");
+        verify(jdbcTemplate, never()).update(eq(USE_LEGACY), anyString(), anyString(), anyString(), any(LocalDateTime.class));
+    }
+
+    @DisplayName("An access token or a malformed token is not accepted as refresh token")
+    @Test
+    void invalid() {
+        ApplicationException malformed = assertThrows(ApplicationException.class, () -> refreshTokenService.rotate("not_a_token"));
+
+        assertThat(malformed.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(malformed.getStatusText()).isEqualTo("Refresh token is invalid or is not a refresh token");
+        verify(jdbcTemplate, never()).update(eq(USE), anyString(), anyString(), any(LocalDateTime.class));
+    }
+
+    private static String legacyToken() throws IOException, GeneralSecurityException {
+        return Jwts.builder()
+                .signWith(privateKey(), SignatureAlgorithm.RS256)
+                .setSubject("mail@mail.com")
+                .setExpiration(Date.from(Instant.now().plusSeconds(3_600)))
+                .claim(JwtConstants.SCOPES, List.of(JwtConstants.REFRESH_TOKEN))
+                .compact();
+    }
+
+    private static PrivateKey privateKey() throws IOException, GeneralSecurityException {
+        String pem = new ClassPathResource("private_key.pem").getContentAsString(StandardCharsets.US_ASCII)
+                .replaceAll("-----(BEGIN|END) PRIVATE KEY-----", "")
+                .replaceAll("\\s", "");
+        return KeyFactory.getInstance("RSA").generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(pem)));
+    }
+
+    private static PublicKey publicKey() throws IOException {
+        return PublicKeyHelper.readPublicKey(new ClassPathResource("public_key.pem"));
+    }
+}
@@ -1,8 +1,10 @@
 package com.trading.journal.authentication.registration.service.impl;
 
 import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.TestTransactionManager;
 import com.trading.journal.authentication.authority.Authority;
 import com.trading.journal.authentication.authority.AuthorityCategory;
+import com.trading.journal.authentication.password.service.PasswordService;
 import com.trading.journal.authentication.registration.SignUpResponse;
 import com.trading.journal.authentication.registration.UserRegistration;
 import com.trading.journal.authentication.tenancy.Tenancy;
@@ -21,11 +23,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
@@ -51,6 +58,12 @@ public class RegistrationServiceImplTest {
     @Mock
     VerificationProperties verificationProperties;
 
+    @Mock
+    PasswordService passwordService;
+
+    @Spy
+    TransactionOperations transactionOperations = new TransactionTemplate(new TestTransactionManager());
+
     @InjectMocks
     RegistrationServiceImpl registrationService;
 
@@ -81,7 +94,8 @@ public class RegistrationServiceImplTest {
 
         Tenancy tenancy = Tenancy.builder().id(1L).name("tenancy1").build();
         when(tenancyService.create(argThat(ten -> ten.getName().equals("mail@mail.com")))).thenReturn(tenancy);
-        when(userService.createNewUser(userRegistration, tenancy)).thenReturn(user);
+        when(passwordService.encodePassword("123456")).thenReturn("encoded_password");
+        when(userService.createNewUser(userRegistration, tenancy, "encoded_password")).thenReturn(user);
         when(userAuthorityService.saveOrganisationAdminUserAuthorities(user)).thenReturn(emptyList());
         when(verificationProperties.isEnabled()).thenReturn(false);
 
@@ -118,7 +132,8 @@ public class RegistrationServiceImplTest {
 
         Tenancy tenancy = Tenancy.builder().id(1L).name("tenancy1").build();
         when(tenancyService.create(argThat(ten -> ten.getName().equals("mail@mail.com")))).thenReturn(tenancy);
-        when(userService.createNewUser(userRegistration, tenancy)).thenReturn(user);
+        when(passwordService.encodePassword("123456")).thenReturn("encoded_password");
+        when(userService.createNewUser(userRegistration, tenancy, "encoded_password")).thenReturn(user);
         when(userAuthorityService.saveOrganisationAdminUserAuthorities(user)).thenReturn(emptyList());
         when(userService.getUserByEmail("mail@mail.com")).thenReturn(Optional.of(user));
         when(verificationProperties.isEnabled()).thenReturn(true);
@@ -130,6 +145,64 @@ public class RegistrationServiceImplTest {
         assertThat(signUpResponse.enabled()).isFalse();
     }
 
+    @Test
+    @DisplayName("When user creation fails the tenancy is not deleted by hand, the transaction rolls it back")
+    void registryUserFails() {
+        UserRegistration userRegistration = new UserRegistration(
+                null,
+                "firstName",
+                "lastName",
+                "mail@mail.com",
+                "123456",
+                "123456",
+                false
+        );
+
+        Tenancy tenancy = Tenancy.builder().id(1L).name("tenancy1").build();
+        when(tenancyService.create(any())).thenReturn(tenancy);
+        when(passwordService.encodePassword("123456")).thenReturn("encoded_password");
+        when(userService.createNewUser(userRegistration, tenancy, "encoded_password")).thenThrow(new ApplicationException("User name or email already exist"));
+
+        assertThrows(ApplicationException.class, () -> registrationService.signUp(userRegistration));
+
+        verify(tenancyService, never()).delete(any());
+        verify(userAuthorityService, never()).saveOrganisationAdminUserAuthorities(any());
+        verify(verificationService, never()).send(any(), any());
+    }
+
+    @Test
+    @DisplayName("Password is hashed before the sign up transaction opens")
+    void registryHashesOutsideTransaction() {
+        UserRegistration userRegistration = new UserRegistration(
+                null,
+                "firstName",
+                "lastName",
+                "mail@mail.com",
+                "123456",
+                "123456",
+                false
+        );
+        User user = User.builder().id(1L).email("mail@mail.com").enabled(true).build();
+        Tenancy tenancy = Tenancy.builder().id(1L).name("tenancy1").build();
+        AtomicBoolean encodedInTransaction = new AtomicBoolean(true);
+        AtomicBoolean createdInTransaction = new AtomicBoolean(false);
+
+        when(passwordService.encodePassword("123456")).thenAnswer(invocation -> {
+            encodedInTransaction.set(TransactionSynchronizationManager.isActualTransactionActive());
+            return "encoded_password";
+        });
+        when(tenancyService.create(any())).thenReturn(tenancy);
+        when(userService.createNewUser(userRegistration, tenancy, "encoded_password")).thenAnswer(invocation -> {
+            createdInTransaction.set(TransactionSynchronizationManager.isActualTransactionActive());
+            return user;
+        });
+
+        registrationService.signUp(userRegistration);
+
+        assertThat(encodedInTransaction).isFalse();
+        assertThat(createdInTransaction).isTrue();
+    }
+
     @Test
     @DisplayName("Process email verification")
     void emailVerification() {
@@ -140,7 +213,7 @@ public class RegistrationServiceImplTest {
                 VerificationType.REGISTRATION,
                 VerificationStatus.PENDING,
                 hash,
-                LocalDateTime.now());
+                LocalDateTime.now(), null, null);
 
         when(verificationService.retrieve(hash)).thenReturn(verification);
         doNothing().when(userService).verifyUser(verification.getEmail());
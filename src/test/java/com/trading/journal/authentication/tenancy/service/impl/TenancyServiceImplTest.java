@@ -1,8 +1,11 @@
 package com.trading.journal.authentication.tenancy.service.impl;
 
+import com.trading.journal.authentication.cache.CacheNames;
+import com.trading.journal.authentication.cache.service.CacheInvalidationService;
 import com.trading.journal.authentication.pageable.PageResponse;
 import com.trading.journal.authentication.pageable.PageableRequest;
 import com.trading.journal.authentication.tenancy.Tenancy;
+import com.trading.journal.authentication.tenancy.TenancyInfo;
 import com.trading.journal.authentication.tenancy.TenancyException;
 import com.trading.journal.authentication.tenancy.TenancyRepository;
 import com.trading.journal.authentication.user.User;
@@ -13,10 +16,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.List;
 import java.util.Optional;
 
 import static java.util.Collections.singletonList;
@@ -35,13 +40,16 @@ class TenancyServiceImplTest {
     @Mock
     UserService userService;
 
+    @Mock
+    CacheInvalidationService cacheInvalidationService;
+
     @InjectMocks
     TenancyServiceImpl tenancyService;
 
     @DisplayName("Given page request page tenancies query without filter")
     @Test
     void pageWithoutFilter() {
-        PageableRequest pageableRequest = new PageableRequest(0, 10, null, null);
+        PageableRequest pageableRequest = new PageableRequest(0, 10, null, null, null);
 
         when(tenancyRepository.findAll(Specification.where(null), pageableRequest.pageable())).thenReturn(new PageImpl<>(singletonList(Tenancy.builder().id(1L).name("tenancy1").build()), pageableRequest.pageable(), 2));
         PageResponse<Tenancy> response = tenancyService.getAll(pageableRequest);
@@ -54,7 +62,7 @@ class TenancyServiceImplTest {
     @DisplayName("Given page request page tenancies query with filter")
     @Test
     void pageWithFilter() {
-        PageableRequest pageableRequest = new PageableRequest(0, 10, null, "any filter");
+        PageableRequest pageableRequest = new PageableRequest(0, 10, null, "any filter", null);
 
         when(tenancyRepository.findAll(any(), eq(pageableRequest.pageable()))).thenReturn(new PageImpl<>(singletonList(Tenancy.builder().id(1L).name("tenancy1").build()), pageableRequest.pageable(), 2));
         PageResponse<Tenancy> response = tenancyService.getAll(pageableRequest);
@@ -64,14 +72,49 @@ class TenancyServiceImplTest {
         assertThat(response.currentPage()).isEqualTo(0);
     }
 
+    @DisplayName("Given page request with cursor page tenancies by keyset without count")
+    @Test
+    void pageKeyset() {
+        PageableRequest pageableRequest = new PageableRequest(0, 2, null, null, "");
+        List<Tenancy> tenancies = List.of(
+                Tenancy.builder().id(1L).name("tenancy1").build(),
+                Tenancy.builder().id(2L).name("tenancy2").build(),
+                Tenancy.builder().id(3L).name("tenancy3").build()
+        );
+        doReturn(tenancies).when(tenancyRepository).findBy(any(), any());
+
+        PageResponse<Tenancy> response = tenancyService.getAll(pageableRequest);
+
+        assertThat(response.items()).extracting(Tenancy::getId).containsExactly(1L, 2L);
+        assertThat(response.nextCursor()).isNotBlank();
+        assertThat(response.totalItems()).isNull();
+        assertThat(response.totalPages()).isNull();
+        assertThat(response.currentPage()).isNull();
+        verify(tenancyRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @DisplayName("Given page request with cursor on the last page there is no next cursor")
+    @Test
+    void pageKeysetLastPage() {
+        PageableRequest pageableRequest = new PageableRequest(0, 2, null, null, "");
+        doReturn(List.of(Tenancy.builder().id(3L).name("tenancy3").build())).when(tenancyRepository).findBy(any(), any());
+
+        PageResponse<Tenancy> response = tenancyService.getAll(pageableRequest);
+
+        assertThat(response.items()).hasSize(1);
+        assertThat(response.nextCursor()).isNull();
+    }
+
     @DisplayName("Find tenancy by id")
     @Test
     void findById() {
         Tenancy tenancy = Tenancy.builder().id(1L).name("tenancy1").build();
         when(tenancyRepository.findById(1L)).thenReturn(Optional.of(tenancy));
 
-        Tenancy tenancy1 = tenancyService.getById(1L);
-        assertThat(tenancy1).isEqualTo(tenancy);
+        TenancyInfo tenancy1 = tenancyService.getById(1L);
+        assertThat(tenancy1.getId()).isEqualTo(1L);
+        assertThat(tenancy1.getName()).isEqualTo("tenancy1");
+        assertThat(tenancy1.getEnabled()).isTrue();
     }
 
     @DisplayName("Find tenancy by id Not found")
@@ -115,72 +158,76 @@ class TenancyServiceImplTest {
     @DisplayName("Disable tenancy by id")
     @Test
     void disable() {
-        Tenancy tenancy = Tenancy.builder().id(1L).name("tenancy1").build();
-        when(tenancyRepository.findById(1L)).thenReturn(Optional.of(tenancy));
-        when(tenancyRepository.save(argThat(saved -> saved.getEnabled().equals(false)))).thenReturn(tenancy);
+        when(tenancyRepository.updateEnabled(1L, false)).thenReturn(1);
         tenancyService.disable(1L);
+
+        verify(tenancyRepository, never()).save(any());
+        verify(cacheInvalidationService).evict(CacheNames.TENANCIES, 1L);
     }
 
     @DisplayName("Disable tenancy by id not found")
     @Test
     void disableError() {
-        when(tenancyRepository.findById(1L)).thenReturn(Optional.empty());
+        when(tenancyRepository.updateEnabled(1L, false)).thenReturn(0);
 
         TenancyException exception = assertThrows(TenancyException.class, () -> tenancyService.disable(1L));
         assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
         assertThat(exception.getStatusText()).isEqualTo("Tenancy id not found");
 
-        verify(tenancyRepository, never()).save(any());
+        verify(cacheInvalidationService, never()).evict(anyString(), anyLong());
     }
 
     @DisplayName("Enable tenancy by id")
     @Test
     void enable() {
-        Tenancy tenancy = Tenancy.builder().id(1L).name("tenancy1").enabled(false).build();
-        when(tenancyRepository.findById(1L)).thenReturn(Optional.of(tenancy));
-        when(tenancyRepository.save(argThat(saved -> saved.getEnabled().equals(true)))).thenReturn(tenancy);
+        when(tenancyRepository.updateEnabled(1L, true)).thenReturn(1);
         tenancyService.enable(1L);
+
+        verify(tenancyRepository, never()).save(any());
+        verify(cacheInvalidationService).evict(CacheNames.TENANCIES, 1L);
     }
 
     @DisplayName("Enable tenancy by id not found")
     @Test
     void enableError() {
-        when(tenancyRepository.findById(1L)).thenReturn(Optional.empty());
+        when(tenancyRepository.updateEnabled(1L, true)).thenReturn(0);
 
         TenancyException exception = assertThrows(TenancyException.class, () -> tenancyService.enable(1L));
         assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
         assertThat(exception.getStatusText()).isEqualTo("Tenancy id not found");
 
-        verify(tenancyRepository, never()).save(any());
+        verify(cacheInvalidationService, never()).evict(anyString(), anyLong());
     }
 
     @DisplayName("Set tenancy limit by id")
     @Test
     void setLimit() {
-        Tenancy tenancy = Tenancy.builder().id(1L).name("tenancy1").userLimit(1).userUsage(1).build();
-        when(tenancyRepository.findById(1L)).thenReturn(Optional.of(tenancy));
+        when(tenancyRepository.updateLimit(1L, 10)).thenReturn(1);
+        Tenancy tenancyNewLimit = Tenancy.builder().id(1L).name("tenancy1").userLimit(10).userUsage(1).build();
+        when(tenancyRepository.findById(1L)).thenReturn(Optional.of(tenancyNewLimit));
 
-        Tenancy tenancyNewLimit = Tenancy.builder().id(1L).name("tenancy1").userLimit(1).userUsage(1).build();
-        when(tenancyRepository.save(argThat(saved -> saved.getUserLimit().equals(10)))).thenReturn(tenancyNewLimit);
+        Tenancy tenancy = tenancyService.newLimit(1L, 10);
 
-        tenancyService.newLimit(1L, 10);
+        assertThat(tenancy.getUserLimit()).isEqualTo(10);
+        verify(tenancyRepository, never()).save(any());
+        verify(cacheInvalidationService).evict(CacheNames.TENANCIES, 1L);
     }
 
     @DisplayName("Set tenancy limit by id not found")
     @Test
     void limitNotFoundError() {
+        when(tenancyRepository.updateLimit(1L, 10)).thenReturn(0);
         when(tenancyRepository.findById(1L)).thenReturn(Optional.empty());
 
         TenancyException exception = assertThrows(TenancyException.class, () -> tenancyService.newLimit(1L, 10));
         assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
         assertThat(exception.getStatusText()).isEqualTo("Tenancy id not found");
-
-        verify(tenancyRepository, never()).save(any());
     }
 
     @DisplayName("Set tenancy limit by id limit is lower than usage")
     @Test
     void limitLowerError() {
+        when(tenancyRepository.updateLimit(1L, 10)).thenReturn(0);
         Tenancy tenancy = Tenancy.builder().id(1L).name("tenancy1").userLimit(15).userUsage(11).build();
         when(tenancyRepository.findById(1L)).thenReturn(Optional.of(tenancy));
 
@@ -188,38 +235,38 @@ class TenancyServiceImplTest {
         assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
         assertThat(exception.getStatusText()).isEqualTo("New tenancy limit is lower than the current usage");
 
-        verify(tenancyRepository, never()).save(any());
+        verify(cacheInvalidationService, never()).evict(anyString(), anyLong());
     }
 
     @DisplayName("Lower tenancy usage")
     @Test
     void lowerUsage() {
-        Tenancy savedTenancy = Tenancy.builder().id(1L).name("tenancy1").userLimit(10).userUsage(5).build();
+        when(tenancyRepository.releaseSeat(1L)).thenReturn(1);
+        Tenancy savedTenancy = Tenancy.builder().id(1L).name("tenancy1").userLimit(10).userUsage(4).build();
         when(tenancyRepository.findById(1L)).thenReturn(Optional.of(savedTenancy));
 
-        Tenancy tenancyToSave = Tenancy.builder().id(1L).name("tenancy1").userLimit(10).userUsage(4).build();
-        when(tenancyRepository.save(argThat(tenancy -> tenancy.getUserUsage().equals(4)))).thenReturn(tenancyToSave);
-
         Tenancy tenancy = tenancyService.lowerUsage(1L);
-        assertThat(tenancy).isEqualTo(tenancyToSave);
+        assertThat(tenancy).isEqualTo(savedTenancy);
+
+        verify(tenancyRepository, never()).save(any());
+        verify(cacheInvalidationService).evict(CacheNames.TENANCIES, 1L);
     }
 
     @DisplayName("Lower tenancy usage when usage and limit are zero do not change it")
     @Test
     void lowerUsageNotChange() {
+        when(tenancyRepository.releaseSeat(1L)).thenReturn(0);
         Tenancy savedTenancy = Tenancy.builder().id(1L).name("tenancy1").userLimit(0).userUsage(0).build();
         when(tenancyRepository.findById(1L)).thenReturn(Optional.of(savedTenancy));
 
-        Tenancy tenancyToSave = Tenancy.builder().id(1L).name("tenancy1").userLimit(0).userUsage(0).build();
-        when(tenancyRepository.save(argThat(tenancy -> tenancy.getUserUsage().equals(0)))).thenReturn(tenancyToSave);
-
         Tenancy tenancy = tenancyService.lowerUsage(1L);
-        assertThat(tenancy).isEqualTo(tenancyToSave);
+        assertThat(tenancy.getUserUsage()).isZero();
     }
 
     @DisplayName("Lower tenancy usage by id not found")
     @Test
     void lowerUsageNotFoundError() {
+        when(tenancyRepository.releaseSeat(1L)).thenReturn(0);
         when(tenancyRepository.findById(1L)).thenReturn(Optional.empty());
 
         TenancyException exception = assertThrows(TenancyException.class, () -> tenancyService.lowerUsage(1L));
@@ -232,19 +279,20 @@ class TenancyServiceImplTest {
     @DisplayName("Increase tenancy usage")
     @Test
     void increaseUsage() {
-        Tenancy savedTenancy = Tenancy.builder().id(1L).name("tenancy1").userLimit(10).userUsage(5).build();
+        when(tenancyRepository.reserveSeat(1L)).thenReturn(1);
+        Tenancy savedTenancy = Tenancy.builder().id(1L).name("tenancy1").userLimit(10).userUsage(6).build();
         when(tenancyRepository.findById(1L)).thenReturn(Optional.of(savedTenancy));
 
-        Tenancy tenancyToSave = Tenancy.builder().id(1L).name("tenancy1").userLimit(10).userUsage(6).build();
-        when(tenancyRepository.save(argThat(tenancy -> tenancy.getUserUsage().equals(6)))).thenReturn(tenancyToSave);
-
         Tenancy tenancy = tenancyService.increaseUsage(1L);
-        assertThat(tenancy).isEqualTo(tenancyToSave);
+        assertThat(tenancy).isEqualTo(savedTenancy);
+
+        verify(tenancyRepository, never()).save(any());
     }
 
     @DisplayName("Increase tenancy usage by id not found")
     @Test
     void increaseNotFoundError() {
+        when(tenancyRepository.reserveSeat(1L)).thenReturn(0);
         when(tenancyRepository.findById(1L)).thenReturn(Optional.empty());
 
         TenancyException exception = assertThrows(TenancyException.class, () -> tenancyService.increaseUsage(1L));
@@ -257,6 +305,7 @@ class TenancyServiceImplTest {
     @DisplayName("Increase tenancy usage has reach its limit return an exception")
     @Test
     void increaseLimitError() {
+        when(tenancyRepository.reserveSeat(1L)).thenReturn(0);
         Tenancy savedTenancy = Tenancy.builder().id(1L).name("tenancy1").userLimit(10).userUsage(10).build();
         when(tenancyRepository.findById(1L)).thenReturn(Optional.of(savedTenancy));
 
@@ -267,38 +316,6 @@ class TenancyServiceImplTest {
         verify(tenancyRepository, never()).save(any());
     }
 
-    @DisplayName("Increase tenancy allowed")
-    @Test
-    void increaseAllowed() {
-        Tenancy savedTenancy = Tenancy.builder().id(1L).name("tenancy1").userLimit(10).userUsage(5).build();
-        when(tenancyRepository.findById(1L)).thenReturn(Optional.of(savedTenancy));
-
-        boolean increaseUsageAllowed = tenancyService.increaseUsageAllowed(1L);
-        assertThat(increaseUsageAllowed).isTrue();
-    }
-
-    @DisplayName("Increase tenancy not allowed")
-    @Test
-    void increaseNotAllowed() {
-        Tenancy savedTenancy = Tenancy.builder().id(1L).name("tenancy1").userLimit(10).userUsage(10).build();
-        when(tenancyRepository.findById(1L)).thenReturn(Optional.of(savedTenancy));
-
-        boolean increaseUsageAllowed = tenancyService.increaseUsageAllowed(1L);
-        assertThat(increaseUsageAllowed).isFalse();
-    }
-
-    @DisplayName("Increase allowed by id not found")
-    @Test
-    void increaseAllowedNotFoundError() {
-        when(tenancyRepository.findById(1L)).thenReturn(Optional.empty());
-
-        TenancyException exception = assertThrows(TenancyException.class, () -> tenancyService.increaseUsageAllowed(1L));
-        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
-        assertThat(exception.getStatusText()).isEqualTo("Tenancy id not found");
-
-        verify(tenancyRepository, never()).save(any());
-    }
-
     @DisplayName("Find tenancy by user email return tenancy")
     @Test
     void findByEmail() {
@@ -332,6 +349,7 @@ class TenancyServiceImplTest {
         tenancyService.delete(tenancyId);
 
         verify(tenancyRepository).deleteById(tenancyId);
+        verify(cacheInvalidationService).evict(CacheNames.TENANCIES, tenancyId);
     }
 
     @DisplayName("Delete tenancy by id if there is users return exception")
@@ -346,5 +364,6 @@ class TenancyServiceImplTest {
         assertThat(exception.getStatusText()).isEqualTo("Delete this tenancy not allowed because there are users using it");
 
         verify(tenancyRepository, never()).deleteById(anyLong());
+        verify(cacheInvalidationService, never()).evict(anyString(), anyLong());
     }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.trading.journal.authentication.throttle;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SlidingWindowSketchTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @DisplayName("Count additions of the same key and keep other keys apart")
+    @Test
+    void count() {
+        SlidingWindowSketch sketch = new SlidingWindowSketch(4, 1024, 6, Duration.ofMinutes(1), 42L, 0);
+
+        assertThat(sketch.add("mail@mail.com", 0)).isEqualTo(1);
+        assertThat(sketch.add("mail@mail.com", SECOND)).isEqualTo(2);
+        assertThat(sketch.add("mail@mail.com", 2 * SECOND)).isEqualTo(3);
+
+        assertThat(sketch.estimate("mail@mail.com", 2 * SECOND)).isEqualTo(3);
+        assertThat(sketch.estimate("other@mail.com", 2 * SECOND)).isZero();
+    }
+
+    @DisplayName("Additions leave the estimate once their sub-window slides out")
+    @Test
+    void slide() {
+        SlidingWindowSketch sketch = new SlidingWindowSketch(4, 1024, 6, Duration.ofMinutes(1), 42L, 0);
+
+        IntStream.range(0, 3).forEach(attempt -> sketch.add("key", 0));
+        IntStream.range(0, 2).forEach(attempt -> sketch.add("key", 30 * SECOND));
+
+        assertThat(sketch.estimate("key", 59 * SECOND)).isEqualTo(5);
+        assertThat(sketch.estimate("key", 61 * SECOND)).isEqualTo(2);
+        assertThat(sketch.estimate("key", 91 * SECOND)).isZero();
+        assertThat(sketch.add("key", 10 * 60 * SECOND)).isEqualTo(1);
+    }
+
+    @DisplayName("Many distinct keys never undercount and barely overcount a quiet key")
+    @Test
+    void manyKeys() {
+        SlidingWindowSketch sketch = new SlidingWindowSketch(4, 4096, 6, Duration.ofMinutes(1), 42L, 0);
+
+        IntStream.range(0, 20_000).forEach(key -> sketch.add("attacker" + key + "@mail.com", SECOND));
+        IntStream.range(0, 3).forEach(attempt -> sketch.add("victim@mail.com", SECOND));
+
+        assertThat(sketch.estimate("victim@mail.com", SECOND)).isBetween(3, 5);
+        assertThat(IntStream.range(0, 20_000).map(key -> sketch.estimate("attacker" + key + "@mail.com", SECOND)).min().orElseThrow())
+                .isGreaterThanOrEqualTo(1);
+    }
+
+    @DisplayName("Width is rounded up to a power of two and invalid sizes are rejected")
+    @Test
+    void size() {
+        SlidingWindowSketch sketch = new SlidingWindowSketch(2, 1000, 2, Duration.ofSeconds(10), 42L, 0);
+        assertThat(sketch.add("key", 0)).isEqualTo(1);
+        assertThat(sketch.bucketDuration()).isEqualTo(Duration.ofSeconds(5));
+
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowSketch(0, 1024, 6, Duration.ofMinutes(1), 42L, 0));
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowSketch(4, 1024, 6, Duration.ZERO, 42L, 0));
+    }
+}
@@ -0,0 +1,86 @@
+package com.trading.journal.authentication.throttle.service.impl;
+
+import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.throttle.SignInThrottleProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SignInThrottleImplTest {
+
+    MeterRegistry meterRegistry;
+
+    AtomicLong clock;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong();
+    }
+
+    @DisplayName("Given too many attempts for the same email reject with too many requests and retry after")
+    @Test
+    void email() {
+        SignInThrottleImpl throttle = throttle(properties(true));
+
+        IntStream.range(0, 3).forEach(attempt -> throttle.check("mail@mail.com", "10.0.0." + attempt));
+        ApplicationException exception = assertThrows(ApplicationException.class, () -> throttle.check("MAIL@mail.com ", "10.0.0.9"));
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(exception.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("10");
+        assertThat(meterRegistry.get("sign.in.throttled").tag("key", "email").counter().count()).isEqualTo(1);
+        assertDoesNotThrow(() -> throttle.check("other@mail.com", "10.0.0.9"));
+    }
+
+    @DisplayName("Given too many attempts from the same address reject whatever the email")
+    @Test
+    void address() {
+        SignInThrottleImpl throttle = throttle(properties(true));
+
+        IntStream.range(0, 5).forEach(attempt -> throttle.check("mail" + attempt + "@mail.com", "10.0.0.1"));
+        ApplicationException exception = assertThrows(ApplicationException.class, () -> throttle.check("new@mail.com", "10.0.0.1"));
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(meterRegistry.get("sign.in.throttled").tag("key", "address").counter().count()).isEqualTo(1);
+    }
+
+    @DisplayName("Attempts are accepted again once the window has passed")
+    @Test
+    void window() {
+        SignInThrottleImpl throttle = throttle(properties(true));
+
+        IntStream.range(0, 3).forEach(attempt -> throttle.check("mail@mail.com", null));
+        assertThrows(ApplicationException.class, () -> throttle.check("mail@mail.com", null));
+
+        clock.addAndGet(Duration.ofSeconds(61).toNanos());
+        assertDoesNotThrow(() -> throttle.check("mail@mail.com", null));
+    }
+
+    @DisplayName("When disabled never reject")
+    @Test
+    void disabled() {
+        SignInThrottleImpl throttle = throttle(properties(false));
+
+        assertDoesNotThrow(() -> IntStream.range(0, 100).forEach(attempt -> throttle.check("mail@mail.com", "10.0.0.1")));
+    }
+
+    private SignInThrottleImpl throttle(SignInThrottleProperties properties) {
+        return new SignInThrottleImpl(properties, meterRegistry, clock::get, 42L);
+    }
+
+    private SignInThrottleProperties properties(boolean enabled) {
+        return new SignInThrottleProperties(enabled, Duration.ofMinutes(1), 6, 3, 5, 1024, 4);
+    }
+}
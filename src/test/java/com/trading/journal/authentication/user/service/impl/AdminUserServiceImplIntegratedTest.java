@@ -74,7 +74,7 @@ class AdminUserServiceImplIntegratedTest {
         adminUserService.createAdmin(adminRegistration);
 
         Long userId;
-        User applicationUser = userRepository.findByEmail(adminUserProperties.email()).get();
+        User applicationUser = userRepository.findWithAuthoritiesByEmail(adminUserProperties.email()).get();
         assertThat(applicationUser.getEnabled()).isFalse();
         assertThat(applicationUser.getVerified()).isFalse();
         userId = applicationUser.getId();
@@ -1,6 +1,10 @@
 package com.trading.journal.authentication.user.service.impl;
 
+import com.trading.journal.authentication.ApplicationException;
 import com.trading.journal.authentication.PostgresTestContainerInitializer;
+import com.trading.journal.authentication.pageable.PageCursor;
+import com.trading.journal.authentication.authority.Authority;
+import com.trading.journal.authentication.authority.AuthorityRepository;
 import com.trading.journal.authentication.pageable.PageResponse;
 import com.trading.journal.authentication.pageable.PageableRequest;
 import com.trading.journal.authentication.tenancy.Tenancy;
@@ -9,33 +13,50 @@ import com.trading.journal.authentication.user.User;
 import com.trading.journal.authentication.user.UserInfo;
 import com.trading.journal.authentication.user.UserRepository;
 import com.trading.journal.authentication.user.service.UserManagementService;
+import com.trading.journal.authentication.userauthority.UserAuthority;
+import com.trading.journal.authentication.userauthority.UserAuthorityRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.context.ContextConfiguration;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @Testcontainers
 @ContextConfiguration(initializers = PostgresTestContainerInitializer.class)
 class UserManagementServiceImplPageableIntegratedTest {
 
+    private static final long MAX_PAGE_STATEMENTS = 4;
+
     private static Tenancy tenancy;
     @Autowired
     UserManagementService userManagementService;
 
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
     @BeforeAll
-    public static void setUp(@Autowired UserRepository userRepository, @Autowired TenancyRepository tenancyRepository) {
+    public static void setUp(@Autowired UserRepository userRepository, @Autowired TenancyRepository tenancyRepository,
+                             @Autowired AuthorityRepository authorityRepository, @Autowired UserAuthorityRepository userAuthorityRepository) {
         tenancy = tenancyRepository.save(Tenancy.builder().name("tenancy").build());
+        List<Authority> authorities = authorityRepository.findAll();
         Stream<String> users = Stream.of(
                 "Andy Johnson", "Angel Duncan", "Angelo Wells", "Arthur Lawrence", "Bernard Myers", "Beth Guzman", "Blake Coleman", "Brian Mann", "Cameron Fleming", "Carlton Santos",
                 "Carrie Tate", "Catherine Jones", "Cecil Perkins", "Colin Ward", "Conrad Hernandez", "Dolores Williamson", "Doris Parker", "Earl Norris", "Eddie Massey", "Elena Boyd",
@@ -59,7 +80,7 @@ class UserManagementServiceImplPageableIntegratedTest {
                     .createdAt(LocalDateTime.now())
                     .tenancy(tenancy)
                     .build();
-        }).forEach(userRepository::save);
+        }).map(userRepository::save).forEach(user -> authorities.forEach(authority -> userAuthorityRepository.save(new UserAuthority(user, authority))));
     }
 
     @AfterAll
@@ -71,7 +92,7 @@ class UserManagementServiceImplPageableIntegratedTest {
     @DisplayName("Given default PageableRequest return first 10 items")
     @Test
     void plainPageable() {
-        PageableRequest pageableRequest = new PageableRequest(0, 10, null, null);
+        PageableRequest pageableRequest = new PageableRequest(0, 10, null, null, null);
         PageResponse<UserInfo> usersPage = userManagementService.getAll(tenancy.getId(), pageableRequest);
         assertThat(usersPage.items()).hasSize(10);
         assertThat(usersPage.currentPage()).isEqualTo(0);
@@ -84,7 +105,7 @@ class UserManagementServiceImplPageableIntegratedTest {
     @DisplayName("Get items in the middle pages")
     @Test
     void middlePage() {
-        PageableRequest pageableRequest = new PageableRequest(3, 10, null, null);
+        PageableRequest pageableRequest = new PageableRequest(3, 10, null, null, null);
         PageResponse<UserInfo> usersPage = userManagementService.getAll(tenancy.getId(), pageableRequest);
         assertThat(usersPage.items()).hasSize(10);
         assertThat(usersPage.currentPage()).isEqualTo(3);
@@ -98,7 +119,7 @@ class UserManagementServiceImplPageableIntegratedTest {
     @DisplayName("Page out of range return empty results")
     @Test
     void outOfRange() {
-        PageableRequest pageableRequest = new PageableRequest(5, 10, null, null);
+        PageableRequest pageableRequest = new PageableRequest(5, 10, null, null, null);
         PageResponse<UserInfo> usersPage = userManagementService.getAll(tenancy.getId(), pageableRequest);
         assertThat(usersPage.items()).hasSize(0);
         assertThat(usersPage.currentPage()).isEqualTo(5);
@@ -111,7 +132,7 @@ class UserManagementServiceImplPageableIntegratedTest {
     @Test
     void plainSort() {
         String[] sort = new String[]{"firstName", "desc"};
-        PageableRequest pageableRequest = new PageableRequest(0, 10, sort, null);
+        PageableRequest pageableRequest = new PageableRequest(0, 10, sort, null, null);
         PageResponse<UserInfo> usersPage = userManagementService.getAll(tenancy.getId(), pageableRequest);
         assertThat(usersPage.items()).hasSize(10);
         assertThat(usersPage.currentPage()).isEqualTo(0);
@@ -126,7 +147,7 @@ class UserManagementServiceImplPageableIntegratedTest {
     @Test
     void sortTwoColumns() {
         String[] sort = new String[]{"firstName", "desc", "lastName", "asc"};
-        PageableRequest pageableRequest = new PageableRequest(0, 10, sort, null);
+        PageableRequest pageableRequest = new PageableRequest(0, 10, sort, null, null);
         PageResponse<UserInfo> usersPage = userManagementService.getAll(tenancy.getId(), pageableRequest);
         assertThat(usersPage.items()).hasSize(10);
         assertThat(usersPage.currentPage()).isEqualTo(0);
@@ -140,7 +161,7 @@ class UserManagementServiceImplPageableIntegratedTest {
     @Test
     void filterFirstPage() {
         String filter = "son";
-        PageableRequest pageableRequest = new PageableRequest(0, 10, null, filter);
+        PageableRequest pageableRequest = new PageableRequest(0, 10, null, filter, null);
         PageResponse<UserInfo> usersPage = userManagementService.getAll(tenancy.getId(), pageableRequest);
         assertThat(usersPage.items()).hasSize(3);
         assertThat(usersPage.currentPage()).isEqualTo(0);
@@ -154,7 +175,7 @@ class UserManagementServiceImplPageableIntegratedTest {
     @Test
     void filterTwoPages() {
         String filter = "la";
-        PageableRequest pageableRequest = new PageableRequest(0, 4, null, filter);
+        PageableRequest pageableRequest = new PageableRequest(0, 4, null, filter, null);
         PageResponse<UserInfo> usersPage = userManagementService.getAll(tenancy.getId(), pageableRequest);
         assertThat(usersPage.items()).hasSize(4);
         assertThat(usersPage.currentPage()).isEqualTo(0);
@@ -163,7 +184,7 @@ class UserManagementServiceImplPageableIntegratedTest {
         assertThat(usersPage.items()).extracting(userInfo -> userInfo.getFirstName().concat(" ").concat(userInfo.getLastName()))
                 .containsExactly("Arthur Lawrence", "Blake Coleman", "Erma Black", "Larry Robbins");
 
-        pageableRequest = new PageableRequest(1, 4, null, filter);
+        pageableRequest = new PageableRequest(1, 4, null, filter, null);
         usersPage = userManagementService.getAll(tenancy.getId(), pageableRequest);
         assertThat(usersPage.items()).hasSize(2);
         assertThat(usersPage.currentPage()).isEqualTo(1);
@@ -177,7 +198,7 @@ class UserManagementServiceImplPageableIntegratedTest {
     @Test
     void filterEmpty() {
         String filter = "www";
-        PageableRequest pageableRequest = new PageableRequest(0, 4, null, filter);
+        PageableRequest pageableRequest = new PageableRequest(0, 4, null, filter, null);
         PageResponse<UserInfo> usersPage = userManagementService.getAll(tenancy.getId(), pageableRequest);
         assertThat(usersPage.items()).hasSize(0);
         assertThat(usersPage.currentPage()).isEqualTo(0);
@@ -191,7 +212,7 @@ class UserManagementServiceImplPageableIntegratedTest {
     void filterAndSort() {
         String filter = "la";
         String[] sort = new String[]{"lastName", "desc"};
-        PageableRequest pageableRequest = new PageableRequest(0, 4, sort, filter);
+        PageableRequest pageableRequest = new PageableRequest(0, 4, sort, filter, null);
         PageResponse<UserInfo> usersPage = userManagementService.getAll(tenancy.getId(), pageableRequest);
         assertThat(usersPage.items()).hasSize(4);
         assertThat(usersPage.currentPage()).isEqualTo(0);
@@ -200,7 +221,7 @@ class UserManagementServiceImplPageableIntegratedTest {
         assertThat(usersPage.items()).extracting(userInfo -> userInfo.getFirstName().concat(" ").concat(userInfo.getLastName()))
                 .containsExactly("Larry Robbins", "Arthur Lawrence", "Vera Lamb", "Blake Coleman");
 
-        pageableRequest = new PageableRequest(1, 4, sort, filter);
+        pageableRequest = new PageableRequest(1, 4, sort, filter, null);
         usersPage = userManagementService.getAll(tenancy.getId(), pageableRequest);
         assertThat(usersPage.items()).hasSize(2);
         assertThat(usersPage.currentPage()).isEqualTo(1);
@@ -209,4 +230,92 @@ class UserManagementServiceImplPageableIntegratedTest {
         assertThat(usersPage.items()).extracting(userInfo -> userInfo.getFirstName().concat(" ").concat(userInfo.getLastName()))
                 .containsExactly("Erma Black", "Laurie Adams");
     }
-}
\ No newline at end of file
+
+    @DisplayName("Given cursor PageableRequest walk all pages by keyset in the same order as offset pages")
+    @Test
+    void keysetPageable() {
+        String[] sort = new String[]{"lastName", "desc"};
+        List<String> expected = userManagementService.getAll(tenancy.getId(), new PageableRequest(0, 50, sort, null, null))
+                .items().stream().map(UserInfo::getEmail).toList();
+
+        List<String> emails = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        while (cursor != null) {
+            PageResponse<UserInfo> usersPage = userManagementService.getAll(tenancy.getId(), new PageableRequest(0, 10, sort, null, cursor));
+            assertThat(usersPage.totalItems()).isNull();
+            assertThat(usersPage.totalPages()).isNull();
+            assertThat(usersPage.items()).hasSizeLessThanOrEqualTo(10);
+            usersPage.items().forEach(user -> emails.add(user.getEmail()));
+            cursor = usersPage.nextCursor();
+            pages++;
+        }
+
+        assertThat(pages).isEqualTo(5);
+        assertThat(emails).containsExactlyElementsOf(expected);
+    }
+
+    @DisplayName("Given cursor PageableRequest with filter keep the filter between pages")
+    @Test
+    void keysetPageableFilter() {
+        String filter = "la";
+        PageResponse<UserInfo> usersPage = userManagementService.getAll(tenancy.getId(), new PageableRequest(0, 4, null, filter, ""));
+        assertThat(usersPage.nextCursor()).isNotNull();
+        assertThat(usersPage.items()).extracting(userInfo -> userInfo.getFirstName().concat(" ").concat(userInfo.getLastName()))
+                .containsExactly("Arthur Lawrence", "Blake Coleman", "Erma Black", "Larry Robbins");
+
+        PageResponse<UserInfo> secondPage = userManagementService.getAll(tenancy.getId(), new PageableRequest(0, 4, null, filter, usersPage.nextCursor()));
+        assertThat(secondPage.nextCursor()).isNull();
+        assertThat(secondPage.items()).extracting(userInfo -> userInfo.getFirstName().concat(" ").concat(userInfo.getLastName()))
+                .containsExactly("Laurie Adams", "Vera Lamb");
+    }
+
+    @DisplayName("Given cursor PageableRequest sorted by a nested property return bad request")
+    @Test
+    void keysetNestedSort() {
+        String[] sort = new String[]{"tenancy.name", "asc"};
+
+        ApplicationException exception = assertThrows(ApplicationException.class,
+                () -> userManagementService.getAll(tenancy.getId(), new PageableRequest(0, 10, sort, null, "")));
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @DisplayName("Given cursor PageableRequest sorted by an association return bad request")
+    @Test
+    void keysetAssociationSort() {
+        String[] sort = new String[]{"tenancy", "asc"};
+
+        ApplicationException exception = assertThrows(ApplicationException.class,
+                () -> userManagementService.getAll(tenancy.getId(), new PageableRequest(0, 10, sort, null, "")));
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @DisplayName("Given a cursor with a null sort value return bad request")
+    @Test
+    void keysetNullCursorValue() {
+        String[] sort = new String[]{"lastName", "desc"};
+        String cursor = PageCursor.encode(User.builder().id(1L).build(), Sort.by(Sort.Order.desc("lastName"), Sort.Order.asc("id")));
+
+        ApplicationException exception = assertThrows(ApplicationException.class,
+                () -> userManagementService.getAll(tenancy.getId(), new PageableRequest(0, 10, sort, null, cursor)));
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @DisplayName("Loading a page with authorities runs a fixed number of statements")
+    @Test
+    void pageStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        PageResponse<UserInfo> usersPage = userManagementService.getAll(tenancy.getId(), new PageableRequest(0, 50, null, null, null));
+        assertThat(usersPage.items()).hasSize(50);
+        assertThat(usersPage.items()).allSatisfy(user -> assertThat(user.getAuthorities()).containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN", "TENANCY_ADMIN"));
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_PAGE_STATEMENTS);
+
+        statistics.clear();
+        PageResponse<UserInfo> keysetPage = userManagementService.getAll(tenancy.getId(), new PageableRequest(0, 50, null, null, ""));
+        assertThat(keysetPage.items()).hasSize(50);
+        assertThat(keysetPage.items()).allSatisfy(user -> assertThat(user.getAuthorities()).hasSize(3));
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_PAGE_STATEMENTS);
+    }
+}
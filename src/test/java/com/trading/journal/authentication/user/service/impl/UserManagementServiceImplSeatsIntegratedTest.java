@@ -0,0 +1,189 @@
+package com.trading.journal.authentication.user.service.impl;
+
+import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.PostgresTestContainerInitializer;
+import com.trading.journal.authentication.registration.UserRegistration;
+import com.trading.journal.authentication.tenancy.Tenancy;
+import com.trading.journal.authentication.tenancy.TenancyException;
+import com.trading.journal.authentication.tenancy.TenancyRepository;
+import com.trading.journal.authentication.tenancy.service.TenancyService;
+import com.trading.journal.authentication.user.UserRepository;
+import com.trading.journal.authentication.user.service.UserManagementService;
+import com.trading.journal.authentication.verification.VerificationRepository;
+import com.trading.journal.authentication.verification.service.VerificationEmailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+
+@SpringBootTest
+@Testcontainers
+@ContextConfiguration(initializers = PostgresTestContainerInitializer.class)
+class UserManagementServiceImplSeatsIntegratedTest {
+
+    private static final int CREATORS = 64;
+
+    private static final int SEATS = 10;
+
+    @Autowired
+    UserManagementService userManagementService;
+
+    @Autowired
+    TenancyRepository tenancyRepository;
+
+    @Autowired
+    TenancyService tenancyService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    VerificationRepository verificationRepository;
+
+    @MockBean
+    VerificationEmailService verificationEmailService;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository.deleteAll();
+        verificationRepository.deleteAll();
+        tenancyRepository.deleteAll();
+        doNothing().when(verificationEmailService).sendEmail(any(), any());
+    }
+
+    @Test
+    @DisplayName("Concurrent creators never oversell the tenancy seats")
+    void concurrentCreators() throws Exception {
+        Long tenancyId = tenancyRepository.save(Tenancy.builder().name("seats").userLimit(SEATS).userUsage(0).build()).getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(CREATORS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int creator = 0; creator < CREATORS; creator++) {
+            UserRegistration registration = registration(String.format("user%s@mail.com", creator));
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    userManagementService.create(tenancyId, registration);
+                    return true;
+                } catch (TenancyException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int created = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(60, TimeUnit.SECONDS)) {
+                created++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(created).isEqualTo(SEATS);
+        assertThat(tenancyRepository.findById(tenancyId).get().getUserUsage()).isEqualTo(SEATS);
+        assertThat(userRepository.findAll()).filteredOn(user -> user.getTenancy().getId().equals(tenancyId)).hasSize(SEATS);
+    }
+
+    @Test
+    @DisplayName("Changing the tenancy status and limit while seats are reserved keeps the usage")
+    void adminChangesDuringCreators() throws Exception {
+        Long tenancyId = tenancyRepository.save(Tenancy.builder().name("seats").userLimit(SEATS).userUsage(0).build()).getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(CREATORS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean creating = new AtomicBoolean(true);
+        Future<?> admin = executor.submit(() -> {
+            start.await();
+            while (creating.get()) {
+                tenancyService.disable(tenancyId);
+                tenancyService.newLimit(tenancyId, SEATS);
+                tenancyService.enable(tenancyId);
+            }
+            return null;
+        });
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int creator = 0; creator < CREATORS; creator++) {
+            UserRegistration registration = registration(String.format("user%s@mail.com", creator));
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    userManagementService.create(tenancyId, registration);
+                    return true;
+                } catch (TenancyException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int created = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(60, TimeUnit.SECONDS)) {
+                created++;
+            }
+        }
+        creating.set(false);
+        admin.get(60, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        Tenancy tenancy = tenancyRepository.findById(tenancyId).get();
+        assertThat(created).isEqualTo(SEATS);
+        assertThat(tenancy.getUserUsage()).isEqualTo(SEATS);
+        assertThat(tenancy.getUserLimit()).isEqualTo(SEATS);
+        assertThat(tenancy.getEnabled()).isTrue();
+        assertThat(userRepository.findAll()).filteredOn(user -> user.getTenancy().getId().equals(tenancyId)).hasSize(SEATS);
+    }
+
+    @Test
+    @DisplayName("A limit lower than the reserved seats is refused")
+    void limitBelowUsage() {
+        Long tenancyId = tenancyRepository.save(Tenancy.builder().name("seats").userLimit(SEATS).userUsage(0).build()).getId();
+        userManagementService.create(tenancyId, registration("user1@mail.com"));
+        userManagementService.create(tenancyId, registration("user2@mail.com"));
+
+        assertThrows(TenancyException.class, () -> tenancyService.newLimit(tenancyId, 1));
+
+        Tenancy tenancy = tenancyRepository.findById(tenancyId).get();
+        assertThat(tenancy.getUserLimit()).isEqualTo(SEATS);
+        assertThat(tenancy.getUserUsage()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("A seat reserved for a user that fails to be created is given back")
+    void failedCreationReleasesSeat() {
+        Long tenancyId = tenancyRepository.save(Tenancy.builder().name("seats").userLimit(SEATS).userUsage(0).build()).getId();
+        userManagementService.create(tenancyId, registration("user@mail.com"));
+
+        assertThrows(ApplicationException.class, () -> userManagementService.create(tenancyId, registration("user@mail.com")));
+
+        assertThat(tenancyRepository.findById(tenancyId).get().getUserUsage()).isEqualTo(1);
+    }
+
+    private static UserRegistration registration(String email) {
+        return UserRegistration.builder()
+                .firstName("firstName")
+                .lastName("lastName")
+                .email(email)
+                .build();
+    }
+}
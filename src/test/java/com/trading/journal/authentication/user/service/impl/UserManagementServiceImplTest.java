@@ -1,12 +1,18 @@
 package com.trading.journal.authentication.user.service.impl;
 
 import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.TestTransactionManager;
 import com.trading.journal.authentication.authority.Authority;
 import com.trading.journal.authentication.authority.AuthorityCategory;
+import com.trading.journal.authentication.cache.CacheNames;
+import com.trading.journal.authentication.cache.service.CacheInvalidationService;
 import com.trading.journal.authentication.pageable.PageResponse;
 import com.trading.journal.authentication.pageable.PageableRequest;
+import com.trading.journal.authentication.password.service.PasswordService;
+import com.trading.journal.authentication.refreshtoken.service.RefreshTokenService;
 import com.trading.journal.authentication.registration.UserRegistration;
 import com.trading.journal.authentication.tenancy.Tenancy;
+import com.trading.journal.authentication.tenancy.TenancyException;
 import com.trading.journal.authentication.tenancy.service.TenancyService;
 import com.trading.journal.authentication.user.*;
 import com.trading.journal.authentication.user.service.UserService;
@@ -19,16 +25,24 @@ import com.trading.journal.authentication.verification.service.VerificationServi
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
@@ -55,13 +69,25 @@ class UserManagementServiceImplTest {
     @Mock
     VerificationService verificationService;
 
+    @Mock
+    RefreshTokenService refreshTokenService;
+
+    @Mock
+    CacheInvalidationService cacheInvalidationService;
+
+    @Mock
+    PasswordService passwordService;
+
+    @Spy
+    TransactionOperations transactionOperations = new TransactionTemplate(new TestTransactionManager());
+
     @InjectMocks
     UserManagementServiceImpl userManagementService;
 
     @DisplayName("Given page request page users query without filter")
     @Test
     void pageWithoutFilter() {
-        PageableRequest pageableRequest = new PageableRequest(0, 10, null, null);
+        PageableRequest pageableRequest = new PageableRequest(0, 10, null, null, null);
 
         when(userManagementRepository.findAll(any(), eq(pageableRequest.pageable()))).thenReturn(new PageImpl<>(
                 singletonList(User.builder()
@@ -78,8 +104,10 @@ class UserManagementServiceImplTest {
                 pageableRequest.pageable(),
                 2
         ));
+        when(userAuthorityService.getAuthoritiesName(singletonList(1L))).thenReturn(Map.of(1L, singletonList("ROLE_USER")));
         PageResponse<UserInfo> response = userManagementService.getAll(10L, pageableRequest);
         assertThat(response.items()).hasSize(1);
+        assertThat(response.items().get(0).getAuthorities()).containsExactly("ROLE_USER");
         assertThat(response.totalPages()).isEqualTo(1);
         assertThat(response.totalItems()).isEqualTo(1L);
         assertThat(response.currentPage()).isEqualTo(0);
@@ -88,7 +116,7 @@ class UserManagementServiceImplTest {
     @DisplayName("Given page request page users query with filter")
     @Test
     void pageWithFilter() {
-        PageableRequest pageableRequest = new PageableRequest(0, 10, null, "any string");
+        PageableRequest pageableRequest = new PageableRequest(0, 10, null, "any string", null);
 
         when(userManagementRepository.findAll(any(), eq(pageableRequest.pageable()))).thenReturn(new PageImpl<>(
                 singletonList(User.builder()
@@ -113,6 +141,25 @@ class UserManagementServiceImplTest {
         assertThat(response.currentPage()).isEqualTo(0);
     }
 
+    @DisplayName("Given page request with cursor page users by keyset without count")
+    @Test
+    void pageKeyset() {
+        PageableRequest pageableRequest = new PageableRequest(0, 1, null, null, "");
+
+        doReturn(Arrays.asList(
+                User.builder().id(1L).firstName("John").lastName("Wick").email("mail@mail.com").authorities(emptyList()).build(),
+                User.builder().id(2L).firstName("Mary").lastName("Wick").email("mary@mail.com").authorities(emptyList()).build()
+        )).when(userManagementRepository).findBy(any(), any());
+
+        PageResponse<UserInfo> response = userManagementService.getAll(1L, pageableRequest);
+        assertThat(response.items()).extracting(UserInfo::getId).containsExactly(1L);
+        assertThat(response.nextCursor()).isNotBlank();
+        assertThat(response.totalPages()).isNull();
+        assertThat(response.totalItems()).isNull();
+        assertThat(response.currentPage()).isNull();
+        verify(userManagementRepository, never()).findAll(any(), any(Pageable.class));
+    }
+
     @DisplayName("Given userId that exists return user")
     @Test
     void getUserById() {
@@ -165,6 +212,10 @@ class UserManagementServiceImplTest {
         when(userManagementRepository.save(argThat(user -> user.getEnabled().equals(false)))).thenReturn(applicationUser);
 
         userManagementService.disableUserById(10L, userId);
+
+        assertThat(applicationUser.getSecurityVersion()).isEqualTo(1L);
+        verify(refreshTokenService).revokeUser("mail@mail.com");
+        verify(cacheInvalidationService).evict(CacheNames.USERS, userId);
     }
 
     @DisplayName("Disable user that does not exists return not found exception")
@@ -234,6 +285,8 @@ class UserManagementServiceImplTest {
         userManagementService.deleteUserById(10L, userId);
 
         verify(userManagementRepository).delete(applicationUser);
+        verify(refreshTokenService).revokeUser(applicationUser.getEmail());
+        verify(cacheInvalidationService).evict(CacheNames.USERS, userId);
     }
 
     @DisplayName("Delete user that does not exists return not found exception")
@@ -277,6 +330,9 @@ class UserManagementServiceImplTest {
 
         List<UserAuthorityResponse> actualAuthorities = userManagementService.addAuthorities(10L, userId, change);
         assertThat(actualAuthorities).hasSize(2);
+        assertThat(applicationUser.getSecurityVersion()).isEqualTo(1L);
+        verify(userManagementRepository).save(applicationUser);
+        verify(cacheInvalidationService).evict(CacheNames.USERS, 1L);
     }
 
     @DisplayName("Add user authorities that does not exists return not found exception")
@@ -341,49 +397,77 @@ class UserManagementServiceImplTest {
     @Test
     void createUserTenancyException() {
         Long tenancyId = 1L;
-        when(tenancyService.getById(tenancyId)).thenThrow(new ApplicationException(""));
+        when(tenancyService.increaseUsage(tenancyId)).thenThrow(new TenancyException(HttpStatus.NOT_FOUND, "Tenancy id not found"));
 
-        assertThrows(ApplicationException.class,
+        assertThrows(TenancyException.class,
                 () -> userManagementService.create(tenancyId, UserRegistration.builder().build()));
 
-        verify(userService, never()).createNewUser(any(), any());
+        verify(userService, never()).createNewUser(any(), any(), any());
         verify(verificationService, never()).send(any(), any());
-        verify(tenancyService, never()).increaseUsage(anyLong());
     }
 
     @DisplayName("Create a new user when tenancy is not allowed to increase usage thrown an exception")
     @Test
     void createUserTenancyIncreaseNotAllowed() {
         Long tenancyId = 1L;
-        when(tenancyService.getById(tenancyId)).thenReturn(Tenancy.builder().userUsage(10).userLimit(10).build());
+        when(tenancyService.increaseUsage(tenancyId)).thenThrow(new TenancyException("Tenancy has reach its user limit"));
 
-        ApplicationException exception = assertThrows(ApplicationException.class,
+        TenancyException exception = assertThrows(TenancyException.class,
                 () -> userManagementService.create(tenancyId, UserRegistration.builder().build()));
 
         assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
         assertThat(exception.getStatusText()).isEqualTo("Tenancy has reach its user limit");
 
-        verify(userService, never()).createNewUser(any(), any());
+        verify(userService, never()).createNewUser(any(), any(), any());
         verify(verificationService, never()).send(any(), any());
-        verify(tenancyService, never()).increaseUsage(anyLong());
     }
 
     @DisplayName("Create a new user ")
     @Test
     void createUser() {
-        Tenancy tenancy = Tenancy.builder().id(1L).userUsage(1).userLimit(10).build();
-        when(tenancyService.getById(1L)).thenReturn(tenancy);
+        Tenancy tenancy = Tenancy.builder().id(1L).userUsage(2).userLimit(10).build();
 
         UserRegistration userRegistration = UserRegistration.builder().email("mail@mail.com").build();
         User user = User.builder().email("mail@mail.com").build();
 
-        when(userService.createNewUser(argThat(registration -> registration.getEmail().equals("mail@mail.com")), eq(tenancy))).thenReturn(user);
+        AtomicBoolean encodedInTransaction = new AtomicBoolean(true);
+        AtomicBoolean reservedInTransaction = new AtomicBoolean(false);
+
+        when(passwordService.encodePassword(anyString())).thenAnswer(invocation -> {
+            encodedInTransaction.set(TransactionSynchronizationManager.isActualTransactionActive());
+            return "encoded_password";
+        });
+        when(userService.createNewUser(argThat(registration -> registration.getEmail().equals("mail@mail.com")), eq(tenancy), eq("encoded_password"))).thenReturn(user);
         doNothing().when(verificationService).send(VerificationType.NEW_ORGANISATION_USER, user);
-        when(tenancyService.increaseUsage(1L)).thenReturn(tenancy);
+        when(tenancyService.increaseUsage(1L)).thenAnswer(invocation -> {
+            reservedInTransaction.set(TransactionSynchronizationManager.isActualTransactionActive());
+            return tenancy;
+        });
 
         UserInfo userInfo = userManagementService.create(1L, userRegistration);
 
         assertThat(userInfo.getEmail()).isEqualTo("mail@mail.com");
+        assertThat(encodedInTransaction).isFalse();
+        assertThat(reservedInTransaction).isTrue();
+    }
+
+    @DisplayName("Create a new user hashes the password before reserving the seat")
+    @Test
+    void createUserHashesBeforeSeat() {
+        Tenancy tenancy = Tenancy.builder().id(1L).userUsage(2).userLimit(10).build();
+        UserRegistration userRegistration = UserRegistration.builder().email("mail@mail.com").build();
+        User user = User.builder().email("mail@mail.com").build();
+
+        when(passwordService.encodePassword(anyString())).thenReturn("encoded_password");
+        when(tenancyService.increaseUsage(1L)).thenReturn(tenancy);
+        when(userService.createNewUser(any(), eq(tenancy), eq("encoded_password"))).thenReturn(user);
+
+        userManagementService.create(1L, userRegistration);
+
+        InOrder inOrder = inOrder(passwordService, tenancyService, userService);
+        inOrder.verify(passwordService).encodePassword(anyString());
+        inOrder.verify(tenancyService).increaseUsage(1L);
+        inOrder.verify(userService).createNewUser(any(), eq(tenancy), eq("encoded_password"));
     }
 
     @DisplayName("Request to delete me")
@@ -3,7 +3,9 @@ package com.trading.journal.authentication.user.service.impl;
 import com.trading.journal.authentication.ApplicationException;
 import com.trading.journal.authentication.authority.Authority;
 import com.trading.journal.authentication.authority.AuthorityCategory;
-import com.trading.journal.authentication.password.service.PasswordService;
+import com.trading.journal.authentication.cache.CacheNames;
+import com.trading.journal.authentication.cache.service.CacheInvalidationService;
+import com.trading.journal.authentication.refreshtoken.service.RefreshTokenService;
 import com.trading.journal.authentication.registration.UserRegistration;
 import com.trading.journal.authentication.user.User;
 import com.trading.journal.authentication.user.UserRepository;
@@ -38,10 +40,13 @@ public class UserServiceImplTest {
     UserAuthorityService userAuthorityService;
 
     @Mock
-    PasswordService passwordService;
+    VerificationProperties verificationProperties;
 
     @Mock
-    VerificationProperties verificationProperties;
+    RefreshTokenService refreshTokenService;
+
+    @Mock
+    CacheInvalidationService cacheInvalidationService;
 
     @InjectMocks
     UserServiceImpl applicationUserServiceImpl;
@@ -73,14 +78,14 @@ public class UserServiceImplTest {
 
         when(userRepository.existsByEmail(anyString())).thenReturn(false);
         when(userAuthorityService.saveCommonUserAuthorities(any())).thenReturn(singletonList(new UserAuthority(applicationUser, new Authority(1L, AuthorityCategory.COMMON_USER, "ROLE_USER"))));
-        when(passwordService.encodePassword(anyString())).thenReturn("sdsa54ds56a4ds564d");
         when(userRepository.save(any())).thenReturn(applicationUser);
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(applicationUser));
         when(verificationProperties.isEnabled()).thenReturn(false);
 
-        User newUser = applicationUserServiceImpl.createNewUser(userRegistration, null);
+        User newUser = applicationUserServiceImpl.createNewUser(userRegistration, null, "sdsa54ds56a4ds564d");
         assertThat(newUser.getEnabled()).isTrue();
         assertThat(newUser.getVerified()).isTrue();
+        verify(userRepository).save(argThat(user -> "sdsa54ds56a4ds564d".equals(user.getPassword())));
     }
 
     @Test
@@ -110,12 +115,11 @@ public class UserServiceImplTest {
 
         when(userRepository.existsByEmail(anyString())).thenReturn(false);
         when(userAuthorityService.saveCommonUserAuthorities(any())).thenReturn(singletonList(new UserAuthority(applicationUser, new Authority(1L, AuthorityCategory.COMMON_USER, "ROLE_USER"))));
-        when(passwordService.encodePassword(anyString())).thenReturn("sdsa54ds56a4ds564d");
         when(userRepository.save(any())).thenReturn(applicationUser);
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(applicationUser));
         when(verificationProperties.isEnabled()).thenReturn(true);
 
-        User newUser = applicationUserServiceImpl.createNewUser(userRegistration, null);
+        User newUser = applicationUserServiceImpl.createNewUser(userRegistration, null, "sdsa54ds56a4ds564d");
         assertThat(newUser.getEnabled()).isFalse();
         assertThat(newUser.getVerified()).isFalse();
     }
@@ -216,7 +220,7 @@ public class UserServiceImplTest {
 
         when(userRepository.existsByEmail(anyString())).thenReturn(true);
 
-        ApplicationException exception = assertThrows(ApplicationException.class, () -> applicationUserServiceImpl.createNewUser(userRegistration, null));
+        ApplicationException exception = assertThrows(ApplicationException.class, () -> applicationUserServiceImpl.createNewUser(userRegistration, null, "sdsa54ds56a4ds564d"));
         assertThat(exception.getStatusCode()).isEqualTo(BAD_REQUEST);
         assertThat(exception.getStatusText()).isEqualTo("User name or email already exist");
 
@@ -238,7 +242,7 @@ public class UserServiceImplTest {
 
         when(userRepository.existsByEmail(anyString())).thenReturn(true);
 
-        ApplicationException exception = assertThrows(ApplicationException.class, () -> applicationUserServiceImpl.createNewUser(userRegistration, null));
+        ApplicationException exception = assertThrows(ApplicationException.class, () -> applicationUserServiceImpl.createNewUser(userRegistration, null, "sdsa54ds56a4ds564d"));
         assertThat(exception.getStatusCode()).isEqualTo(BAD_REQUEST);
         assertThat(exception.getStatusText()).isEqualTo("User name or email already exist");
 
@@ -283,7 +287,6 @@ public class UserServiceImplTest {
                 .build();
 
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(applicationUser));
-        when(passwordService.encodePassword("password")).thenReturn("new_password_encoded");
 
         User userWithNewPassword = User.builder()
                 .id(1L)
@@ -298,13 +301,17 @@ public class UserServiceImplTest {
                 .build();
         when(userRepository.save(userWithNewPassword)).thenReturn(userWithNewPassword);
 
-        applicationUserServiceImpl.changePassword("mail@mail.com", "password");
+        applicationUserServiceImpl.changePassword("mail@mail.com", "new_password_encoded");
+
+        assertThat(applicationUser.getSecurityVersion()).isEqualTo(1L);
+        verify(refreshTokenService).revokeUser("mail@mail.com");
+        verify(cacheInvalidationService).evict(CacheNames.USERS, 1L);
     }
 
     @Test
     @DisplayName("Change password when user email does not exist return exception")
     void changePasswordException() {
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
-        assertThrows(ApplicationException.class, () -> applicationUserServiceImpl.changePassword("mail@mail.com", "password"), "User not found");
+        assertThrows(ApplicationException.class, () -> applicationUserServiceImpl.changePassword("mail@mail.com", "new_password_encoded"), "User not found");
     }
 }
@@ -0,0 +1,70 @@
+package com.trading.journal.authentication.userauthority.service.impl;
+
+import com.trading.journal.authentication.PostgresTestContainerInitializer;
+import com.trading.journal.authentication.user.User;
+import com.trading.journal.authentication.user.UserRepository;
+import com.trading.journal.authentication.userauthority.UserAuthority;
+import com.trading.journal.authentication.userauthority.service.UserAuthorityService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Testcontainers
+@Transactional
+@ContextConfiguration(initializers = PostgresTestContainerInitializer.class)
+class UserAuthorityServiceImplBatchIntegratedTest {
+
+    private static final int EXTRA_AUTHORITIES = 20;
+
+    @Autowired
+    UserAuthorityService userAuthorityService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @DisplayName("Granting every authority to a user is sent as one batched insert")
+    @Test
+    void grantAuthoritiesInBatch() {
+        jdbcTemplate.update("INSERT INTO Authorities (category, name) SELECT 'COMMON_USER', 'ROLE_BATCH_' || i FROM generate_series(1, ?) AS i", EXTRA_AUTHORITIES);
+        User user = userRepository.save(User.builder()
+                .email("batch@email.com")
+                .password("password")
+                .firstName("Batch")
+                .lastName("Insert")
+                .enabled(true)
+                .verified(true)
+                .createdAt(LocalDateTime.now())
+                .build());
+        entityManager.flush();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<UserAuthority> userAuthorities = userAuthorityService.saveAdminUserAuthorities(user);
+        entityManager.flush();
+
+        assertThat(userAuthorities).hasSizeGreaterThan(EXTRA_AUTHORITIES);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(userAuthorities.size());
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+    }
+}
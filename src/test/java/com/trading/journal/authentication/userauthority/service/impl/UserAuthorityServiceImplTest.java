@@ -6,6 +6,7 @@ import com.trading.journal.authentication.authority.service.AuthorityService;
 import com.trading.journal.authentication.user.AuthoritiesChange;
 import com.trading.journal.authentication.user.User;
 import com.trading.journal.authentication.userauthority.UserAuthority;
+import com.trading.journal.authentication.userauthority.UserAuthorityName;
 import com.trading.journal.authentication.userauthority.UserAuthorityRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,12 +18,15 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(SpringExtension.class)
@@ -55,12 +59,11 @@ class UserAuthorityServiceImplTest {
         Authority authority = Authority.builder().id(1L).category(AuthorityCategory.COMMON_USER).name("USER").build();
         when(authorityService.getAuthoritiesByCategory(AuthorityCategory.COMMON_USER)).thenReturn(singletonList(authority));
 
-        UserAuthority userAuthority = new UserAuthority(user, authority);
-        when(userAuthorityRepository.save(any())).thenReturn(userAuthority);
+        when(userAuthorityRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         List<UserAuthority> userAuthorities = userAuthorityService.saveCommonUserAuthorities(user);
         assertThat(userAuthorities).hasSize(1);
-        assertThat(userAuthorities.get(0)).isEqualTo(userAuthority);
+        assertThat(userAuthorities.get(0).getAuthority()).isEqualTo(authority);
     }
 
     @DisplayName("Given user for TWO authority when saving common authorities, save user authorities")
@@ -82,15 +85,12 @@ class UserAuthorityServiceImplTest {
         Authority authority2 = Authority.builder().id(2L).category(AuthorityCategory.COMMON_USER).name("ADMIN").build();
         when(authorityService.getAuthoritiesByCategory(AuthorityCategory.COMMON_USER)).thenReturn(Arrays.asList(authority1, authority2));
 
-        UserAuthority userAuthority1 = new UserAuthority(user, authority1);
-        UserAuthority userAuthority2 = new UserAuthority(user, authority2);
-        when(userAuthorityRepository.save(userAuthority1)).thenReturn(userAuthority1);
-        when(userAuthorityRepository.save(userAuthority2)).thenReturn(userAuthority2);
+        when(userAuthorityRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         List<UserAuthority> userAuthorities = userAuthorityService.saveCommonUserAuthorities(user);
-        assertThat(userAuthorities).hasSize(2);
+        assertThat(userAuthorities).extracting(UserAuthority::getAuthority).containsExactly(authority1, authority2);
 
-        verify(userAuthorityRepository, times(2)).save(any());
+        verify(userAuthorityRepository).saveAll(argThat((List<UserAuthority> authorities) -> authorities.size() == 2));
     }
 
     @DisplayName("Given user for admin authority when saving admin authorities, save user authorities")
@@ -112,14 +112,11 @@ class UserAuthorityServiceImplTest {
         Authority authorityUser = Authority.builder().id(1L).category(AuthorityCategory.COMMON_USER).name("USER").build();
         when(authorityService.getAll()).thenReturn(Arrays.asList(authorityAdmin, authorityUser));
 
-        UserAuthority userAuthorityUser = new UserAuthority(user, authorityAdmin);
-        UserAuthority userAuthorityAdmin = new UserAuthority(user, authorityUser);
-        when(userAuthorityRepository.save(userAuthorityUser)).thenReturn(userAuthorityUser);
-        when(userAuthorityRepository.save(userAuthorityAdmin)).thenReturn(userAuthorityAdmin);
+        when(userAuthorityRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         userAuthorityService.saveAdminUserAuthorities(user);
 
-        verify(userAuthorityRepository, times(2)).save(any());
+        verify(userAuthorityRepository).saveAll(argThat((List<UserAuthority> authorities) -> authorities.size() == 2));
     }
 
     @DisplayName("Given user for ONE authority when saving organisation authorities, save user authorities")
@@ -140,12 +137,11 @@ class UserAuthorityServiceImplTest {
         Authority authority = Authority.builder().id(1L).category(AuthorityCategory.ORGANISATION).name("ORG_USER").build();
         when(authorityService.getAuthoritiesByCategory(AuthorityCategory.ORGANISATION)).thenReturn(singletonList(authority));
 
-        UserAuthority userAuthority = new UserAuthority(user, authority);
-        when(userAuthorityRepository.save(any())).thenReturn(userAuthority);
+        when(userAuthorityRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         List<UserAuthority> userAuthorities = userAuthorityService.saveOrganisationAdminUserAuthorities(user);
         assertThat(userAuthorities).hasSize(1);
-        assertThat(userAuthorities.get(0)).isEqualTo(userAuthority);
+        assertThat(userAuthorities.get(0).getAuthority()).isEqualTo(authority);
     }
 
     @DisplayName("Add new authority to the user")
@@ -170,7 +166,7 @@ class UserAuthorityServiceImplTest {
 
         userAuthorityService.addAuthorities(user, authoritiesChange);
 
-        verify(userAuthorityRepository).save(any());
+        verify(userAuthorityRepository).saveAll(argThat((List<UserAuthority> authorities) -> authorities.size() == 1));
     }
 
     @DisplayName("Add new authority to the user but one of the authority requested to delete is not in user collection")
@@ -196,7 +192,7 @@ class UserAuthorityServiceImplTest {
 
         userAuthorityService.addAuthorities(user, authoritiesChange);
 
-        verify(userAuthorityRepository).save(any());
+        verify(userAuthorityRepository).saveAll(argThat((List<UserAuthority> authorities) -> authorities.size() == 1));
     }
 
     @DisplayName("Add two new authorities to the user")
@@ -222,7 +218,7 @@ class UserAuthorityServiceImplTest {
 
         userAuthorityService.addAuthorities(user, authoritiesChange);
 
-        verify(userAuthorityRepository, times(2)).save(any());
+        verify(userAuthorityRepository).saveAll(argThat((List<UserAuthority> authorities) -> authorities.size() == 2));
     }
 
     @DisplayName("No new authority to the user")
@@ -249,7 +245,7 @@ class UserAuthorityServiceImplTest {
 
         userAuthorityService.addAuthorities(user, authoritiesChange);
 
-        verify(userAuthorityRepository, never()).save(any());
+        verify(userAuthorityRepository).saveAll(argThat((List<UserAuthority> authorities) -> authorities.size() == 0));
     }
 
     @DisplayName("Delete authority from the user")
@@ -274,7 +270,7 @@ class UserAuthorityServiceImplTest {
 
         userAuthorityService.deleteAuthorities(user, authoritiesChange);
 
-        verify(userAuthorityRepository).delete(any());
+        verify(userAuthorityRepository).deleteAll(argThat((List<UserAuthority> authorities) -> authorities.size() == 1));
     }
 
     @DisplayName("Delete authority from the user but one of the authority requested to delete is not in user collection")
@@ -303,7 +299,7 @@ class UserAuthorityServiceImplTest {
 
         userAuthorityService.deleteAuthorities(user, authoritiesChange);
 
-        verify(userAuthorityRepository).delete(any());
+        verify(userAuthorityRepository).deleteAll(argThat((List<UserAuthority> authorities) -> authorities.size() == 1));
     }
 
     @DisplayName("Delete two new authorities from the user")
@@ -330,7 +326,7 @@ class UserAuthorityServiceImplTest {
 
         userAuthorityService.deleteAuthorities(user, authoritiesChange);
 
-        verify(userAuthorityRepository, times(2)).delete(any());
+        verify(userAuthorityRepository).deleteAll(argThat((List<UserAuthority> authorities) -> authorities.size() == 2));
     }
 
     @DisplayName("No deleted authorities from the user")
@@ -358,6 +354,33 @@ class UserAuthorityServiceImplTest {
 
         userAuthorityService.deleteAuthorities(user, authoritiesChange);
 
-        verify(userAuthorityRepository, never()).delete(any());
+        verify(userAuthorityRepository).deleteAll(argThat((List<UserAuthority> authorities) -> authorities.size() == 0));
     }
-}
\ No newline at end of file
+
+    @DisplayName("Given users ids return their authorities names grouped by user")
+    @Test
+    void authoritiesNameByUser() {
+        List<Long> userIds = Arrays.asList(1L, 2L, 3L);
+        when(userAuthorityRepository.findNamesByUserIds(userIds)).thenReturn(Arrays.asList(
+                new UserAuthorityName(1L, "ROLE_USER"),
+                new UserAuthorityName(1L, "ROLE_ADMIN"),
+                new UserAuthorityName(2L, "ROLE_USER")
+        ));
+
+        Map<Long, List<String>> authorities = userAuthorityService.getAuthoritiesName(userIds);
+
+        assertThat(authorities).hasSize(2);
+        assertThat(authorities.get(1L)).containsExactly("ROLE_USER", "ROLE_ADMIN");
+        assertThat(authorities.get(2L)).containsExactly("ROLE_USER");
+        assertThat(authorities).doesNotContainKey(3L);
+    }
+
+    @DisplayName("Given no users ids do not query authorities names")
+    @Test
+    void authoritiesNameNoUsers() {
+        Map<Long, List<String>> authorities = userAuthorityService.getAuthoritiesName(emptyList());
+
+        assertThat(authorities).isEmpty();
+        verify(userAuthorityRepository, never()).findNamesByUserIds(any());
+    }
+}
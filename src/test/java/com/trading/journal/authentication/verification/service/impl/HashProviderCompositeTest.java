@@ -0,0 +1,102 @@
+package com.trading.journal.authentication.verification.service.impl;
+
+import com.allanweber.jwttoken.data.AccessTokenInfo;
+import com.allanweber.jwttoken.service.JwtTokenProvider;
+import com.allanweber.jwttoken.service.JwtTokenReader;
+import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.verification.Verification;
+import com.trading.journal.authentication.verification.properties.VerificationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class HashProviderCompositeTest {
+
+    @Mock
+    JwtTokenReader jwtTokenReader;
+
+    @Mock
+    JwtTokenProvider jwtTokenProvider;
+
+    VerificationProperties verificationProperties;
+
+    HashProviderComposite hashProvider;
+
+    @BeforeEach
+    void setUp() {
+        verificationProperties = new VerificationProperties();
+        verificationProperties.setHashProvider("opaque");
+        hashProvider = new HashProviderComposite(jwtTokenProvider, jwtTokenReader, verificationProperties);
+    }
+
+    @DisplayName("New tokens are opaque and stored as their digest")
+    @Test
+    void generateOpaque() {
+        String hash = hashProvider.generateHash("mail@mail.com");
+
+        assertThat(hashProvider.storedHash(hash)).isEqualTo(new HashProviderOpaque().storedHash(hash));
+        verify(jwtTokenProvider, never()).generateTemporaryToken(anyString());
+    }
+
+    @DisplayName("Look up the digest first and then the legacy jwt as it was stored")
+    @Test
+    void lookupHashes() {
+        String digest = new HashProviderOpaque().storedHash("jwt-token");
+
+        assertThat(hashProvider.lookupHashes("jwt-token")).containsExactly(digest, "jwt-token");
+    }
+
+    @DisplayName("When the legacy fallback is disabled look up only the digest")
+    @Test
+    void lookupHashesWithoutFallback() {
+        verificationProperties.setLegacyJwtFallback(false);
+        String digest = new HashProviderOpaque().storedHash("jwt-token");
+
+        assertThat(hashProvider.lookupHashes("jwt-token")).containsExactly(digest);
+    }
+
+    @DisplayName("A verification found by the digest needs no jwt validation")
+    @Test
+    void validateOpaque() {
+        String token = hashProvider.generateHash("mail@mail.com");
+        Verification verification = Verification.builder().email("mail@mail.com").hash(hashProvider.storedHash(token)).build();
+
+        hashProvider.validate(token, verification);
+
+        verifyNoInteractions(jwtTokenReader);
+    }
+
+    @DisplayName("A legacy verification still checks the jwt signature and subject")
+    @Test
+    void validateLegacy() {
+        Verification verification = Verification.builder().email("mail@mail.com").hash("jwt-token").build();
+        when(jwtTokenReader.isTokenValid("jwt-token")).thenReturn(true);
+        when(jwtTokenReader.getTokenInfo("jwt-token")).thenReturn(new AccessTokenInfo("mail@mail.com", 1L, "tenancy", singletonList("TEMPORARY_TOKEN")));
+
+        hashProvider.validate("jwt-token", verification);
+
+        verify(jwtTokenReader).isTokenValid("jwt-token");
+    }
+
+    @DisplayName("A legacy verification with an expired jwt is rejected")
+    @Test
+    void validateLegacyExpired() {
+        Verification verification = Verification.builder().email("mail@mail.com").hash("jwt-token").build();
+        when(jwtTokenReader.isTokenValid("jwt-token")).thenReturn(false);
+
+        ApplicationException exception = assertThrows(ApplicationException.class, () -> hashProvider.validate("jwt-token", verification));
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+}
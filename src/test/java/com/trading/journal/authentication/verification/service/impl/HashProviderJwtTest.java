@@ -5,6 +5,7 @@ import com.allanweber.jwttoken.data.TokenData;
 import com.allanweber.jwttoken.service.JwtTokenProvider;
 import com.allanweber.jwttoken.service.JwtTokenReader;
 import com.trading.journal.authentication.ApplicationException;
+import com.trading.journal.authentication.verification.Verification;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -146,4 +147,34 @@ class HashProviderJwtTest {
         assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
         assertThat(exception.getStatusText()).isEqualTo("Invalid hash content");
     }
-}
\ No newline at end of file
+
+    @DisplayName("Jwt hash is stored as it is")
+    @Test
+    void storedHash() {
+        assertThat(hashProvider.storedHash("123")).isEqualTo("123");
+        verifyNoInteractions(jwtTokenReader);
+    }
+
+    @DisplayName("Validate a hash jwt issued for the verification email")
+    @Test
+    void validate() {
+        String hash = "123";
+        when(jwtTokenReader.isTokenValid(hash)).thenReturn(true);
+        when(jwtTokenReader.getTokenInfo(hash)).thenReturn(new AccessTokenInfo("mail@mail.com", 1L, "tenancy", singletonList("TEMPORARY_TOKEN")));
+
+        hashProvider.validate(hash, Verification.builder().email("mail@mail.com").build());
+    }
+
+    @DisplayName("Validate a hash jwt issued for another email return exception")
+    @Test
+    void validateAnotherEmail() {
+        String hash = "123";
+        when(jwtTokenReader.isTokenValid(hash)).thenReturn(true);
+        when(jwtTokenReader.getTokenInfo(hash)).thenReturn(new AccessTokenInfo("another@mail.com", 1L, "tenancy", singletonList("TEMPORARY_TOKEN")));
+        Verification verification = Verification.builder().email("mail@mail.com").build();
+
+        ApplicationException exception = assertThrows(ApplicationException.class, () -> hashProvider.validate(hash, verification));
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(exception.getStatusText()).isEqualTo("Request is invalid");
+    }
+}
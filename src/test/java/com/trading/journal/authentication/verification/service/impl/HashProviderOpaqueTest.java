@@ -0,0 +1,42 @@
+package com.trading.journal.authentication.verification.service.impl;
+
+import com.trading.journal.authentication.verification.Verification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashProviderOpaqueTest {
+
+    HashProviderOpaque hashProvider = new HashProviderOpaque();
+
+    @DisplayName("Generate a 256 bits url safe random token")
+    @Test
+    void generateHash() {
+        String hash = hashProvider.generateHash("mail@mail.com");
+
+        assertThat(Base64.getUrlDecoder().decode(hash)).hasSize(32);
+        assertThat(hash).doesNotContain("mail");
+        assertThat(hashProvider.generateHash("mail@mail.com")).isNotEqualTo(hash);
+    }
+
+    @DisplayName("Store the SHA-256 digest of the token")
+    @Test
+    void storedHash() {
+        String hash = hashProvider.generateHash("mail@mail.com");
+
+        String stored = hashProvider.storedHash(hash);
+
+        assertThat(stored).hasSize(64).matches("[0-9a-f]+").isNotEqualTo(hash);
+        assertThat(hashProvider.storedHash(hash)).isEqualTo(stored);
+        assertThat(hashProvider.storedHash("abc")).isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    }
+
+    @DisplayName("A token found by its digest is valid")
+    @Test
+    void validate() {
+        hashProvider.validate("token", Verification.builder().email("mail@mail.com").build());
+    }
+}
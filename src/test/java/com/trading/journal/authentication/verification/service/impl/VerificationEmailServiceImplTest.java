@@ -46,7 +46,7 @@ class VerificationEmailServiceImplTest {
 
         when(hostProperties.getFrontEnd()).thenReturn("http://site.com");
         when(hostProperties.getVerificationPage()).thenReturn("auth/email-verified");
-        Verification verification = new Verification(1L, "mail@mail.com", VerificationType.REGISTRATION, VerificationStatus.PENDING, hash, LocalDateTime.now());
+        Verification verification = new Verification(1L, "mail@mail.com", VerificationType.REGISTRATION, VerificationStatus.PENDING, "digest", LocalDateTime.now(), null, hash);
 
         User applicationUser = User.builder()
                 .id(1L)
@@ -85,7 +85,7 @@ class VerificationEmailServiceImplTest {
 
         when(hostProperties.getFrontEnd()).thenReturn("http://site.com");
         when(hostProperties.getChangePasswordPage()).thenReturn("auth/change-password");
-        Verification verification = new Verification(1L, "mail@mail.com", VerificationType.CHANGE_PASSWORD, VerificationStatus.PENDING, hash, LocalDateTime.now());
+        Verification verification = new Verification(1L, "mail@mail.com", VerificationType.CHANGE_PASSWORD, VerificationStatus.PENDING, "digest", LocalDateTime.now(), null, hash);
 
         User applicationUser = User.builder()
                 .id(1L)
@@ -124,7 +124,7 @@ class VerificationEmailServiceImplTest {
 
         when(hostProperties.getFrontEnd()).thenReturn("http://site.com");
         when(hostProperties.getVerificationPage()).thenReturn("auth/email-verified");
-        Verification verification = new Verification(1L, "mail@mail.com", VerificationType.ADMIN_REGISTRATION, VerificationStatus.PENDING, hash, LocalDateTime.now());
+        Verification verification = new Verification(1L, "mail@mail.com", VerificationType.ADMIN_REGISTRATION, VerificationStatus.PENDING, "digest", LocalDateTime.now(), null, hash);
 
         User applicationUser = User.builder()
                 .id(1L)
@@ -163,7 +163,7 @@ class VerificationEmailServiceImplTest {
 
         when(hostProperties.getFrontEnd()).thenReturn("http://site.com");
         when(hostProperties.getVerificationPage()).thenReturn("auth/email-verified");
-        Verification verification = new Verification(1L, "mail@mail.com", VerificationType.NEW_ORGANISATION_USER, VerificationStatus.PENDING, hash, LocalDateTime.now());
+        Verification verification = new Verification(1L, "mail@mail.com", VerificationType.NEW_ORGANISATION_USER, VerificationStatus.PENDING, "digest", LocalDateTime.now(), null, hash);
 
         User applicationUser = User.builder()
                 .id(1L)
@@ -202,7 +202,7 @@ class VerificationEmailServiceImplTest {
 
         when(hostProperties.getFrontEnd()).thenReturn("http://site.com");
         when(hostProperties.getVerificationPage()).thenReturn("auth/email-verified");
-        Verification verification = new Verification(1L, "mail@mail.com", VerificationType.DELETE_ME, VerificationStatus.PENDING, hash, LocalDateTime.now());
+        Verification verification = new Verification(1L, "mail@mail.com", VerificationType.DELETE_ME, VerificationStatus.PENDING, "digest", LocalDateTime.now(), null, hash);
 
         User applicationUser = User.builder()
                 .id(1L)
@@ -0,0 +1,105 @@
+package com.trading.journal.authentication.verification.service.impl;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.trading.journal.authentication.PostgresTestContainerInitializer;
+import com.trading.journal.authentication.email.EmailOutboxRepository;
+import com.trading.journal.authentication.email.EmailOutboxStatus;
+import com.trading.journal.authentication.registration.UserRegistration;
+import com.trading.journal.authentication.registration.service.RegistrationService;
+import com.trading.journal.authentication.tenancy.TenancyRepository;
+import com.trading.journal.authentication.user.UserRepository;
+import com.trading.journal.authentication.verification.Verification;
+import com.trading.journal.authentication.verification.VerificationRepository;
+import com.trading.journal.authentication.verification.VerificationType;
+import com.trading.journal.authentication.verification.service.VerificationEmailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = {
+        "journal.authentication.verification.enabled=true",
+        "journal.authentication.verification.hash-provider=opaque",
+        "journal.authentication.email.outbox.enabled=true",
+        "journal.authentication.email.outbox.poll-interval=100ms",
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.username=sender@mail.com",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false"
+})
+@Testcontainers
+@ContextConfiguration(initializers = PostgresTestContainerInitializer.class)
+class VerificationOutboxIntegratedTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    RegistrationService registrationService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TenancyRepository tenancyRepository;
+
+    @Autowired
+    VerificationRepository verificationRepository;
+
+    @Autowired
+    EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    VerificationEmailService verificationEmailService;
+
+    @BeforeEach
+    void setUp() {
+        emailOutboxRepository.deleteAll();
+        userRepository.deleteAll();
+        verificationRepository.deleteAll();
+        tenancyRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Once the verification email is sent the outbox keeps no copy of the opaque token, only its digest is stored")
+    void noRawTokenAfterDispatch() throws Exception {
+        registrationService.signUp(new UserRegistration(null, "firstName", "lastName", "outbox@mail.com", "dad231#$#4", "dad231#$#4", false));
+
+        ArgumentCaptor<Verification> captor = ArgumentCaptor.forClass(Verification.class);
+        verify(verificationEmailService).sendEmail(captor.capture(), any());
+        String token = captor.getValue().getToken();
+        assertThat(token).isNotBlank();
+
+        assertThat(greenMail.waitForIncomingEmail(10_000, 1)).isTrue();
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+        while (emailOutboxRepository.findByStatus(EmailOutboxStatus.SENT).isEmpty() && Instant.now().isBefore(deadline)) {
+            Thread.sleep(100);
+        }
+
+        assertThat(emailOutboxRepository.findByStatus(EmailOutboxStatus.SENT)).hasSize(1);
+        assertThat(jdbcTemplate.queryForList("SELECT request FROM EmailOutbox", String.class))
+                .isNotEmpty()
+                .noneMatch(request -> request.contains(token));
+        Verification verification = verificationRepository.getByTypeAndEmail(VerificationType.REGISTRATION, "outbox@mail.com").get();
+        assertThat(verification.getHash()).hasSize(64).isNotEqualTo(token);
+    }
+}
@@ -13,11 +13,13 @@ import com.trading.journal.authentication.verification.service.VerificationEmail
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -55,7 +57,7 @@ class VerificationServiceImplTest {
     @Test
     void registrationVerification() {
         String hash = UUID.randomUUID().toString();
-        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.REGISTRATION, VerificationStatus.PENDING, "12456", LocalDateTime.now());
+        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.REGISTRATION, VerificationStatus.PENDING, "12456", LocalDateTime.now(), null, null);
 
         User user = User.builder().id(1L).password("password").firstName("lastName").lastName("Wick").email("mail@mail.com").enabled(true).verified(true).createdAt(LocalDateTime.now()).authorities(List.of(new UserAuthority(null, new Authority(1L, AuthorityCategory.COMMON_USER, "ROLE_USER")))).build();
 
@@ -86,7 +88,7 @@ class VerificationServiceImplTest {
     @Test
     void changePasswordVerification() {
         String hash = UUID.randomUUID().toString();
-        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.CHANGE_PASSWORD, VerificationStatus.PENDING, "12456", LocalDateTime.now());
+        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.CHANGE_PASSWORD, VerificationStatus.PENDING, "12456", LocalDateTime.now(), null, null);
 
         User user = User.builder().id(1L).password("password").firstName("lastName").lastName("Wick").email("mail@mail.com").enabled(true).verified(true).createdAt(LocalDateTime.now()).authorities(List.of(new UserAuthority(null, new Authority(1L, AuthorityCategory.COMMON_USER, "ROLE_USER")))).build();
 
@@ -103,7 +105,7 @@ class VerificationServiceImplTest {
     @Test
     void adminRegistrationVerification() {
         String hash = UUID.randomUUID().toString();
-        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.ADMIN_REGISTRATION, VerificationStatus.PENDING, "12456", LocalDateTime.now());
+        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.ADMIN_REGISTRATION, VerificationStatus.PENDING, "12456", LocalDateTime.now(), null, null);
 
         User user = User.builder().id(1L).password("password").firstName("lastName").lastName("Wick").email("mail@mail.com").enabled(true).verified(true).createdAt(LocalDateTime.now()).authorities(List.of(new UserAuthority(null, new Authority(1L, AuthorityCategory.COMMON_USER, "ROLE_USER")))).build();
 
@@ -134,7 +136,7 @@ class VerificationServiceImplTest {
     @Test
     void orgUserRegistrationVerification() {
         String hash = UUID.randomUUID().toString();
-        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.NEW_ORGANISATION_USER, VerificationStatus.PENDING, "12456", LocalDateTime.now());
+        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.NEW_ORGANISATION_USER, VerificationStatus.PENDING, "12456", LocalDateTime.now(), null, null);
 
         User user = User.builder().id(1L).password("password").firstName("lastName").lastName("Wick").email("mail@mail.com").enabled(true).verified(true).createdAt(LocalDateTime.now()).authorities(List.of(new UserAuthority(null, new Authority(1L, AuthorityCategory.COMMON_USER, "ROLE_USER")))).build();
 
@@ -150,7 +152,7 @@ class VerificationServiceImplTest {
     @Test
     void DELETE_MEVerification() {
         String hash = UUID.randomUUID().toString();
-        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.DELETE_ME, VerificationStatus.PENDING, "12456", LocalDateTime.now());
+        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.DELETE_ME, VerificationStatus.PENDING, "12456", LocalDateTime.now(), null, null);
 
         User user = User.builder().id(1L).password("password").firstName("lastName").lastName("Wick").email("mail@mail.com").enabled(true).verified(true).createdAt(LocalDateTime.now()).authorities(List.of(new UserAuthority(null, new Authority(1L, AuthorityCategory.COMMON_USER, "ROLE_USER")))).build();
 
@@ -166,7 +168,7 @@ class VerificationServiceImplTest {
     @Test
     void registrationVerificationDeletePrevious() {
         String hash = UUID.randomUUID().toString();
-        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.REGISTRATION, VerificationStatus.PENDING, "12456", LocalDateTime.now());
+        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.REGISTRATION, VerificationStatus.PENDING, "12456", LocalDateTime.now(), null, null);
 
         User user = User.builder().id(1L).password("password").firstName("lastName").lastName("Wick").email("mail@mail.com").enabled(true).verified(true).createdAt(LocalDateTime.now()).authorities(List.of(new UserAuthority(null, new Authority(1L, AuthorityCategory.COMMON_USER, "ROLE_USER")))).build();
 
@@ -183,7 +185,7 @@ class VerificationServiceImplTest {
     @Test
     void DELETE_MEVerificationDeletePrevious() {
         String hash = UUID.randomUUID().toString();
-        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.DELETE_ME, VerificationStatus.PENDING, "12456", LocalDateTime.now());
+        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.DELETE_ME, VerificationStatus.PENDING, "12456", LocalDateTime.now(), null, null);
 
         User user = User.builder().id(1L).password("password").firstName("lastName").lastName("Wick").email("mail@mail.com").enabled(true).verified(true).createdAt(LocalDateTime.now()).authorities(List.of(new UserAuthority(null, new Authority(1L, AuthorityCategory.COMMON_USER, "ROLE_USER")))).build();
 
@@ -200,7 +202,7 @@ class VerificationServiceImplTest {
     @Test
     void changePasswordVerificationDeletePrevious() {
         String hash = UUID.randomUUID().toString();
-        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.CHANGE_PASSWORD, VerificationStatus.PENDING, "12456", LocalDateTime.now());
+        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.CHANGE_PASSWORD, VerificationStatus.PENDING, "12456", LocalDateTime.now(), null, null);
 
         User user = User.builder().id(1L).password("password").firstName("lastName").lastName("Wick").email("mail@mail.com").enabled(true).verified(true).createdAt(LocalDateTime.now()).authorities(List.of(new UserAuthority(null, new Authority(1L, AuthorityCategory.COMMON_USER, "ROLE_USER")))).build();
 
@@ -216,7 +218,7 @@ class VerificationServiceImplTest {
     @Test
     void adminRegistrationVerificationDeletePrevious() {
         String hash = UUID.randomUUID().toString();
-        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.ADMIN_REGISTRATION, VerificationStatus.PENDING, "12456", LocalDateTime.now());
+        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.ADMIN_REGISTRATION, VerificationStatus.PENDING, "12456", LocalDateTime.now(), null, null);
 
         User user = User.builder().id(1L).password("password").firstName("lastName").lastName("Wick").email("mail@mail.com").enabled(true).verified(true).createdAt(LocalDateTime.now()).authorities(List.of(new UserAuthority(null, new Authority(1L, AuthorityCategory.COMMON_USER, "ROLE_USER")))).build();
 
@@ -232,7 +234,7 @@ class VerificationServiceImplTest {
     @Test
     void orgUserVerificationDeletePrevious() {
         String hash = UUID.randomUUID().toString();
-        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.NEW_ORGANISATION_USER, VerificationStatus.PENDING, "12456", LocalDateTime.now());
+        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.NEW_ORGANISATION_USER, VerificationStatus.PENDING, "12456", LocalDateTime.now(), null, null);
 
         User user = User.builder().id(1L).password("password").firstName("lastName").lastName("Wick").email("mail@mail.com").enabled(true).verified(true).createdAt(LocalDateTime.now()).authorities(List.of(new UserAuthority(null, new Authority(1L, AuthorityCategory.COMMON_USER, "ROLE_USER")))).build();
 
@@ -249,10 +251,10 @@ class VerificationServiceImplTest {
     void retrieveRegistration() {
         String hash = "12456";
         String email = "mail@mail.com";
-        Verification verificationSaved = new Verification(1L, email, VerificationType.REGISTRATION, VerificationStatus.PENDING, hash, LocalDateTime.now());
+        Verification verificationSaved = new Verification(1L, email, VerificationType.REGISTRATION, VerificationStatus.PENDING, hash, LocalDateTime.now(), null, null);
 
-        when(hashProvider.readHashValue(hash)).thenReturn(email);
-        when(verificationRepository.getByHashAndEmail(hash, email)).thenReturn(Optional.of(verificationSaved));
+        when(hashProvider.lookupHashes(hash)).thenReturn(List.of(hash));
+        when(verificationRepository.getByHash(hash)).thenReturn(Optional.of(verificationSaved));
 
         Verification verification = verificationService.retrieve(hash);
         assertThat(verificationSaved).isEqualTo(verification);
@@ -263,10 +265,10 @@ class VerificationServiceImplTest {
     void retrieveChangePassword() {
         String hash = "12456";
         String email = "mail@mail.com";
-        Verification verificationSaved = new Verification(1L, email, VerificationType.CHANGE_PASSWORD, VerificationStatus.PENDING, hash, LocalDateTime.now());
+        Verification verificationSaved = new Verification(1L, email, VerificationType.CHANGE_PASSWORD, VerificationStatus.PENDING, hash, LocalDateTime.now(), null, null);
 
-        when(hashProvider.readHashValue(hash)).thenReturn(email);
-        when(verificationRepository.getByHashAndEmail(hash, email)).thenReturn(Optional.of(verificationSaved));
+        when(hashProvider.lookupHashes(hash)).thenReturn(List.of(hash));
+        when(verificationRepository.getByHash(hash)).thenReturn(Optional.of(verificationSaved));
 
         Verification verification = verificationService.retrieve(hash);
 
@@ -278,10 +280,10 @@ class VerificationServiceImplTest {
     void retrieveAdminRegistration() {
         String hash = "12456";
         String email = "mail@mail.com";
-        Verification verificationSaved = new Verification(1L, email, VerificationType.ADMIN_REGISTRATION, VerificationStatus.PENDING, hash, LocalDateTime.now());
+        Verification verificationSaved = new Verification(1L, email, VerificationType.ADMIN_REGISTRATION, VerificationStatus.PENDING, hash, LocalDateTime.now(), null, null);
 
-        when(hashProvider.readHashValue(hash)).thenReturn(email);
-        when(verificationRepository.getByHashAndEmail(hash, email)).thenReturn(Optional.of(verificationSaved));
+        when(hashProvider.lookupHashes(hash)).thenReturn(List.of(hash));
+        when(verificationRepository.getByHash(hash)).thenReturn(Optional.of(verificationSaved));
 
         Verification verification = verificationService.retrieve(hash);
 
@@ -293,10 +295,10 @@ class VerificationServiceImplTest {
     void retrieveNEW_ORGANISATION_USER() {
         String hash = "12456";
         String email = "mail@mail.com";
-        Verification verificationSaved = new Verification(1L, email, VerificationType.NEW_ORGANISATION_USER, VerificationStatus.PENDING, hash, LocalDateTime.now());
+        Verification verificationSaved = new Verification(1L, email, VerificationType.NEW_ORGANISATION_USER, VerificationStatus.PENDING, hash, LocalDateTime.now(), null, null);
 
-        when(hashProvider.readHashValue(hash)).thenReturn(email);
-        when(verificationRepository.getByHashAndEmail(hash, email)).thenReturn(Optional.of(verificationSaved));
+        when(hashProvider.lookupHashes(hash)).thenReturn(List.of(hash));
+        when(verificationRepository.getByHash(hash)).thenReturn(Optional.of(verificationSaved));
 
         Verification verification = verificationService.retrieve(hash);
 
@@ -308,10 +310,10 @@ class VerificationServiceImplTest {
     void retrieveDELETE_ME() {
         String hash = "12456";
         String email = "mail@mail.com";
-        Verification verificationSaved = new Verification(1L, email, VerificationType.DELETE_ME, VerificationStatus.PENDING, hash, LocalDateTime.now());
+        Verification verificationSaved = new Verification(1L, email, VerificationType.DELETE_ME, VerificationStatus.PENDING, hash, LocalDateTime.now(), null, null);
 
-        when(hashProvider.readHashValue(hash)).thenReturn(email);
-        when(verificationRepository.getByHashAndEmail(hash, email)).thenReturn(Optional.of(verificationSaved));
+        when(hashProvider.lookupHashes(hash)).thenReturn(List.of(hash));
+        when(verificationRepository.getByHash(hash)).thenReturn(Optional.of(verificationSaved));
 
         Verification verification = verificationService.retrieve(hash);
 
@@ -323,18 +325,56 @@ class VerificationServiceImplTest {
     void retrieveException() {
         String hash = "12456";
         String email = "mail@mail.com";
-        when(hashProvider.readHashValue(hash)).thenReturn(email);
-        when(verificationRepository.getByHashAndEmail(hash, email)).thenReturn(Optional.empty());
+        when(hashProvider.lookupHashes(hash)).thenReturn(List.of(hash));
+        when(verificationRepository.getByHash(hash)).thenReturn(Optional.empty());
 
         ApplicationException exception = assertThrows(ApplicationException.class, () -> verificationService.retrieve(hash));
         assertThat(exception.getStatusCode()).isEqualTo(BAD_REQUEST);
         assertThat(exception.getStatusText()).isEqualTo("Request is invalid");
+        verify(hashProvider, never()).validate(any(), any());
+    }
+
+    @DisplayName("Given hash of an expired Verification return exception")
+    @Test
+    void retrieveExpired() {
+        String hash = "12456";
+        String email = "mail@mail.com";
+        Verification verificationSaved = new Verification(1L, email, VerificationType.CHANGE_PASSWORD, VerificationStatus.PENDING, "digest", LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1), null);
+
+        when(hashProvider.lookupHashes(hash)).thenReturn(List.of("digest"));
+        when(verificationRepository.getByHash("digest")).thenReturn(Optional.of(verificationSaved));
+
+        ApplicationException exception = assertThrows(ApplicationException.class, () -> verificationService.retrieve(hash));
+        assertThat(exception.getStatusCode()).isEqualTo(BAD_REQUEST);
+        assertThat(exception.getStatusText()).isEqualTo("Request is invalid");
+        verify(hashProvider, never()).validate(any(), any());
+    }
+
+    @DisplayName("Send verification store the hash digest with expiry and email the token")
+    @Test
+    void sendStoresDigest() {
+        User user = User.builder().id(1L).password("password").firstName("lastName").lastName("Wick").email("mail@mail.com").enabled(true).verified(true).createdAt(LocalDateTime.now()).authorities(emptyList()).build();
+
+        when(verificationRepository.getByTypeAndEmail(VerificationType.CHANGE_PASSWORD, user.getEmail())).thenReturn(Optional.empty());
+        when(verificationProperties.getExpiration()).thenReturn(Duration.ofHours(1));
+        when(hashProvider.generateHash(user.getEmail())).thenReturn("token");
+        when(hashProvider.storedHash("token")).thenReturn("digest");
+
+        verificationService.send(VerificationType.CHANGE_PASSWORD, user);
+
+        ArgumentCaptor<Verification> captor = ArgumentCaptor.forClass(Verification.class);
+        verify(verificationRepository).save(captor.capture());
+        Verification verification = captor.getValue();
+        assertThat(verification.getHash()).isEqualTo("digest");
+        assertThat(verification.getToken()).isEqualTo("token");
+        assertThat(verification.getExpiresAt()).isBetween(LocalDateTime.now().plusMinutes(59), LocalDateTime.now().plusHours(1));
+        verify(verificationEmailService).sendEmail(verification, user);
     }
 
     @DisplayName("Given Verification REGISTRATION delete it when Verify")
     @Test
     void deleteRegistration() {
-        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.REGISTRATION, VerificationStatus.PENDING, "12456", LocalDateTime.now());
+        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.REGISTRATION, VerificationStatus.PENDING, "12456", LocalDateTime.now(), null, null);
 
         doNothing().when(verificationRepository).delete(verificationSaved);
 
@@ -349,7 +389,7 @@ class VerificationServiceImplTest {
     @DisplayName("Given Verification CHANGE_PASSWORD delete it when Verify")
     @Test
     void deleteChangePassword() {
-        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.CHANGE_PASSWORD, VerificationStatus.PENDING, "12456", LocalDateTime.now());
+        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.CHANGE_PASSWORD, VerificationStatus.PENDING, "12456", LocalDateTime.now(), null, null);
 
         doNothing().when(verificationRepository).delete(verificationSaved);
 
@@ -364,7 +404,7 @@ class VerificationServiceImplTest {
     @DisplayName("Given Verification DELETE_ME delete it when Verify")
     @Test
     void deleteDELETE_ME() {
-        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.DELETE_ME, VerificationStatus.PENDING, "12456", LocalDateTime.now());
+        Verification verificationSaved = new Verification(1L, "mail@mail.com", VerificationType.DELETE_ME, VerificationStatus.PENDING, "12456", LocalDateTime.now(), null, null);
 
         doNothing().when(verificationRepository).delete(verificationSaved);
 
@@ -382,9 +422,9 @@ class VerificationServiceImplTest {
         String hash = UUID.randomUUID().toString();
         String email = "mail@mail.com";
 
-        Verification adminRegistration = new Verification(1L, email, VerificationType.ADMIN_REGISTRATION, VerificationStatus.PENDING, "12456", LocalDateTime.now());
+        Verification adminRegistration = new Verification(1L, email, VerificationType.ADMIN_REGISTRATION, VerificationStatus.PENDING, "12456", LocalDateTime.now(), null, null);
 
-        Verification changerPassword = new Verification(1L, email, VerificationType.CHANGE_PASSWORD, VerificationStatus.PENDING, "12456", LocalDateTime.now());
+        Verification changerPassword = new Verification(1L, email, VerificationType.CHANGE_PASSWORD, VerificationStatus.PENDING, "12456", LocalDateTime.now(), null, null);
 
         User user = User.builder().id(1L).password("password").firstName("lastName").lastName("Wick").email("mail@mail.com").enabled(false).verified(false).createdAt(LocalDateTime.now()).authorities(emptyList()).build();
 
@@ -404,9 +444,9 @@ class VerificationServiceImplTest {
         String hash = UUID.randomUUID().toString();
         String email = "mail@mail.com";
 
-        Verification adminRegistration = new Verification(1L, email, VerificationType.NEW_ORGANISATION_USER, VerificationStatus.PENDING, "12456", LocalDateTime.now());
+        Verification adminRegistration = new Verification(1L, email, VerificationType.NEW_ORGANISATION_USER, VerificationStatus.PENDING, "12456", LocalDateTime.now(), null, null);
 
-        Verification changerPassword = new Verification(1L, email, VerificationType.CHANGE_PASSWORD, VerificationStatus.PENDING, "12456", LocalDateTime.now());
+        Verification changerPassword = new Verification(1L, email, VerificationType.CHANGE_PASSWORD, VerificationStatus.PENDING, "12456", LocalDateTime.now(), null, null);
 
         User user = User.builder().id(1L).password("password").firstName("lastName").lastName("Wick").email("mail@mail.com").enabled(false).verified(false).createdAt(LocalDateTime.now()).authorities(emptyList()).build();
 
@@ -425,7 +465,7 @@ class VerificationServiceImplTest {
     void getByEmail() {
         String email = "mail@mail.com";
 
-        List<Verification> verifications = asList(new Verification(1L, email, VerificationType.REGISTRATION, VerificationStatus.ERROR, "12456", LocalDateTime.now()), new Verification(1L, email, VerificationType.NEW_ORGANISATION_USER, VerificationStatus.PENDING, "12456", LocalDateTime.now()));
+        List<Verification> verifications = asList(new Verification(1L, email, VerificationType.REGISTRATION, VerificationStatus.ERROR, "12456", LocalDateTime.now(), null, null), new Verification(1L, email, VerificationType.NEW_ORGANISATION_USER, VerificationStatus.PENDING, "12456", LocalDateTime.now(), null, null));
 
         when(verificationRepository.getByEmail(email)).thenReturn(verifications);
 
@@ -453,7 +493,7 @@ class VerificationServiceImplTest {
 
         when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
 
-        Verification verificationSaved = new Verification(1L, email, VerificationType.NEW_ORGANISATION_USER, VerificationStatus.PENDING, "12456", LocalDateTime.now());
+        Verification verificationSaved = new Verification(1L, email, VerificationType.NEW_ORGANISATION_USER, VerificationStatus.PENDING, "12456", LocalDateTime.now(), null, null);
 
         when(verificationRepository.getByTypeAndEmail(VerificationType.REGISTRATION, email)).thenReturn(Optional.empty());
         when(hashProvider.generateHash(user.getEmail())).thenReturn("12456");